@@ -164,7 +164,8 @@ public class ExampleApplication {
         LOG.finer("Creating new sync Job.");
 
         final File assetsDir = new File(".", "downloaded-assets");
-        final SyncTargetJson syncTarget = new SyncTargetJson(assetsDir);
+        final SyncTargetJson syncTarget = new SyncTargetJson(assetsDir)
+            .setRetainAssets(settings.getSyncHeapBudgetMegabytes() <= 0);
         final ISmintIoSynchronization smintIoSync = new SmintIoSynchronization(
             new DefaultSyncTargetFactory()
                 .setSettingsProvider(() -> settings)
@@ -252,6 +253,18 @@ public class ExampleApplication {
             : settings.get("ImportLanguages"))).toArray(new String[0]);
 
 
+        final Double maxAssetsInFlightValue = (Double) (localSettings.get("MaxAssetsInFlight") != null
+            ? localSettings.get("MaxAssetsInFlight")
+            : settings.get("MaxAssetsInFlight"));
+        final int maxAssetsInFlight = maxAssetsInFlightValue != null ? maxAssetsInFlightValue.intValue()
+            : ISettingsModel.DEFAULT_MAX_ASSETS_IN_FLIGHT;
+        final Double heapBudgetValue = (Double) (localSettings.get("SyncHeapBudgetMB") != null
+            ? localSettings.get("SyncHeapBudgetMB")
+            : settings.get("SyncHeapBudgetMB"));
+        final int heapBudget = heapBudgetValue != null ? heapBudgetValue.intValue()
+            : ISettingsModel.DEFAULT_SYNC_HEAP_BUDGET_MB;
+
+
         final String redirectUri = localAuth.get("RedirectUri") != null ? localAuth.get("RedirectUri")
             : auth.get("RedirectUri");
         final URL oAuthUrl = redirectUri != null && !redirectUri.isEmpty() ? new URL(redirectUri) : null;
@@ -287,6 +300,16 @@ public class ExampleApplication {
             public URL getOAuthLocalUrlReceivingAccessData() {
                 return oAuthUrl;
             }
+
+            @Override
+            public int getMaxAssetsInFlight() {
+                return maxAssetsInFlight;
+            }
+
+            @Override
+            public int getSyncHeapBudgetMegabytes() {
+                return heapBudget;
+            }
         };
 
     }
@@ -0,0 +1,65 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.app.configuration.impl;
+
+import java.io.File;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import io.smint.clapi.consumer.integration.core.configuration.ISyncQuarantineStorage;
+import io.smint.clapi.consumer.integration.core.configuration.models.ISyncQuarantineModel;
+import io.smint.clapi.consumer.integration.core.configuration.models.impl.SyncQuarantineJsonConverter;
+
+
+/**
+ * Provides storage layer for the quarantined assets and stores it in file system.
+ *
+ */
+public class SyncQuarantineFileStorage extends FileModelStorage<ISyncQuarantineModel>
+    implements ISyncQuarantineStorage {
+
+    /**
+     * Create a new storage of the quarantined assets in a file.
+     *
+     * @param quarantineConverter the converter to read and write the JSON of the quarantine - must not be {@code null}.
+     * @param fileStorage         the file to store the quarantine to.
+     */
+    @Inject
+    public SyncQuarantineFileStorage(
+        final SyncQuarantineJsonConverter quarantineConverter,
+        @Named("smint.io-quarantine-file") final File fileStorage
+    ) {
+        super(quarantineConverter, fileStorage);
+    }
+
+
+    @Override
+    public ISyncQuarantineModel getQuarantineData() {
+        return this.get();
+    }
+
+
+    @Override
+    public SyncQuarantineFileStorage storeQuarantineData(final ISyncQuarantineModel newQuarantineData) {
+        this.store(newQuarantineData);
+        return this;
+    }
+}
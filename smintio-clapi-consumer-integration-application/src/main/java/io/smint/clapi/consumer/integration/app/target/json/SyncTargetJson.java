@@ -52,6 +52,12 @@ import io.smint.clapi.consumer.integration.core.target.impl.BaseSyncAsset;
  * Contains a memory-only list of stored/updates assets and meta data. All data is lost as soon as this class is subject
  * to garbage collecting.
  * </p>
+ *
+ * <p>
+ * For large tenants, keeping all assets in memory might exceed the available heap. In this case, retaining the assets
+ * can be disabled with {@link #setRetainAssets(boolean)}. Then only the mapping of IDs is kept and the binaries are
+ * moved to the target directory as soon as they are imported or updated.
+ * </p>
  */
 public class SyncTargetJson implements ISyncTarget {
 
@@ -67,6 +73,7 @@ public class SyncTargetJson implements ISyncTarget {
     private final File _assetBinariesDir;
 
     private Consumer<Void> _afterSyncCallback;
+    private boolean _retainAssets = true;
 
 
     public SyncTargetJson(final File assetBinaryDownloadsDirectory) {
@@ -224,7 +231,9 @@ public class SyncTargetJson implements ISyncTarget {
                 );
 
                 final String id = this.getNextId();
-                this._binaryAssets.put(id, newAsset);
+                if (this._retainAssets) {
+                    this._binaryAssets.put(id, newAsset);
+                }
                 this._mapSmintIoIdToMyId
                     .put("asset-" + newAsset.getTransactionUuid() + "_" + newAsset.getBinaryUuid(), id);
 
@@ -235,6 +244,10 @@ public class SyncTargetJson implements ISyncTarget {
                 } catch (FileNotFoundException | SmintIoAuthenticatorException excp) {
                     LOG.log(Level.SEVERE, "Failed to download asset to file!", excp);
                 }
+
+                if (!this._retainAssets) {
+                    this.moveToAssetsDir(newAsset, false);
+                }
             }
         }
     }
@@ -250,9 +263,22 @@ public class SyncTargetJson implements ISyncTarget {
                 }
 
                 final SyncAssetJsonImpl newAsset = (SyncAssetJsonImpl) asset;
-                final String id = this._mapSmintIoIdToMyId
-                    .get("asset-" + newAsset.getTransactionUuid() + "_" + newAsset.getBinaryUuid());
-                this._binaryAssets.put(id, asset);
+                if (this._retainAssets) {
+                    final String id = this._mapSmintIoIdToMyId
+                        .get("asset-" + newAsset.getTransactionUuid() + "_" + newAsset.getBinaryUuid());
+                    this._binaryAssets.put(id, asset);
+                    continue;
+                }
+
+                // the ID mapping is kept from the import, only the binary needs to be replaced
+                try {
+                    newAsset.getDownloadedFile();
+
+                } catch (FileNotFoundException | SmintIoAuthenticatorException excp) {
+                    LOG.log(Level.SEVERE, "Failed to download updated asset to file!", excp);
+                }
+
+                this.moveToAssetsDir(newAsset, true);
             }
         }
     }
@@ -264,7 +290,9 @@ public class SyncTargetJson implements ISyncTarget {
 
                 final SyncAssetJsonImpl newAsset = (SyncAssetJsonImpl) asset;
                 final String id = this.getNextId();
-                this._compoundAssets.put(id, newAsset);
+                if (this._retainAssets) {
+                    this._compoundAssets.put(id, newAsset);
+                }
                 this._mapSmintIoIdToMyId.put("asset-" + newAsset.getTransactionUuid() + "_compound", id);
             }
         }
@@ -272,7 +300,8 @@ public class SyncTargetJson implements ISyncTarget {
 
     @Override
     public void updateTargetCompoundAssets(final BaseSyncAsset[] updatedTargetCompoundAssets) {
-        if (updatedTargetCompoundAssets != null) {
+        // compound assets do not have a binary on their own, so only the ID mapping is kept if assets are not retained
+        if (updatedTargetCompoundAssets != null && this._retainAssets) {
             for (final BaseSyncAsset asset : updatedTargetCompoundAssets) {
 
                 final SyncAssetJsonImpl newAsset = (SyncAssetJsonImpl) asset;
@@ -286,33 +315,8 @@ public class SyncTargetJson implements ISyncTarget {
     public void afterAssetsSync() {
 
         // move every file to target output directory
-        final File assetsDir = this._assetBinariesDir;
-        assetsDir.mkdirs();
-
         for (final SyncAssetJsonImpl asset : this.getAllBinaryAssets()) {
-            try {
-                final File assetFile = asset.getDownloadedFile();
-                final File targetFile = new File(assetsDir, assetFile.getName());
-
-                if (!targetFile.exists() && !assetFile.renameTo(targetFile)) {
-                    // copy file and then delete
-                    try (
-                        final OutputStream target = new BufferedOutputStream(new FileOutputStream(targetFile));
-                        final InputStream source = new BufferedInputStream(new FileInputStream(assetFile));) {
-
-                        int chr = source.read();
-                        while (chr >= 0) {
-                            target.write(chr);
-                            chr = source.read();
-                        }
-                    }
-
-                    assetFile.delete();
-                }
-
-            } catch (SmintIoAuthenticatorException | IOException excp) {
-                LOG.log(Level.SEVERE, "Failed to move asset file for asset " + asset.getRecommendedFileName(), excp);
-            }
+            this.moveToAssetsDir(asset, false);
         }
     }
 
@@ -364,6 +368,62 @@ public class SyncTargetJson implements ISyncTarget {
     }
 
 
+    /**
+     * Whether all imported assets are kept in memory, to be available with {@link #getAllData()}.
+     *
+     * @return {@code true} if assets are retained, which is the default.
+     */
+    public boolean isRetainAssets() {
+        return this._retainAssets;
+    }
+
+
+    /**
+     * Sets whether to keep all imported assets in memory.
+     *
+     * @param retainAssets {@code false} to only keep the ID mapping and move binaries to the target directory at once.
+     * @return {@code this}
+     */
+    public SyncTargetJson setRetainAssets(final boolean retainAssets) {
+        this._retainAssets = retainAssets;
+        return this;
+    }
+
+
+    private void moveToAssetsDir(final SyncAssetJsonImpl asset, final boolean replaceExisting) {
+
+        final File assetsDir = this._assetBinariesDir;
+        assetsDir.mkdirs();
+
+        try {
+            final File assetFile = asset.getDownloadedFile();
+            final File targetFile = new File(assetsDir, assetFile.getName());
+            if (replaceExisting && targetFile.exists() && !targetFile.equals(assetFile) && !targetFile.delete()) {
+                LOG.warning("Failed to replace asset file " + targetFile.getAbsolutePath());
+            }
+
+            if (!targetFile.exists() && !assetFile.renameTo(targetFile)) {
+                // copy file and then delete
+                try (
+                    final OutputStream target = new BufferedOutputStream(new FileOutputStream(targetFile));
+                    final InputStream source = new BufferedInputStream(new FileInputStream(assetFile));) {
+
+                    int chr = source.read();
+                    while (chr >= 0) {
+                        target.write(chr);
+                        chr = source.read();
+                    }
+                }
+
+                assetFile.delete();
+            }
+
+        } catch (SmintIoAuthenticatorException | IOException excp) {
+            LOG.log(Level.SEVERE, "Failed to move asset file for asset " + asset.getRecommendedFileName(), excp);
+        }
+    }
+
+
     private String getNextId() {
         return String.valueOf(this._nextId++);
     }
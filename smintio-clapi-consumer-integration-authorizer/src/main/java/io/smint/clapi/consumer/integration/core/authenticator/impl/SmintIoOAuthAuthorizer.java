@@ -45,6 +45,7 @@ import io.smint.clapi.consumer.integration.core.configuration.models.ISettingsMo
 import io.smint.clapi.consumer.integration.core.configuration.models.impl.AuthTokenImpl;
 import io.smint.clapi.consumer.integration.core.exceptions.SmintIoAuthenticatorException;
 import io.smint.clapi.consumer.integration.core.exceptions.SmintIoAuthenticatorException.AuthenticatorError;
+import io.smint.clapi.consumer.integration.core.factory.impl.SmintIoHttpClientProvider;
 
 
 /**
@@ -65,13 +66,13 @@ public class SmintIoOAuthAuthorizer extends SmintIoAuthenticatorImpl implements
     private OAuth20Service _service;
 
     /**
-     * Initializes this instance with an internally used, default {@code OkHttpClient}.
+     * Initializes this instance with the shared, centrally configured {@code OkHttpClient}.
      *
      * @param settings     the settings to use for the authorizer, where to read OAuth redirect target URL from.
      * @param tokenStorage the token storage to use for newly created access token data.
      */
     public SmintIoOAuthAuthorizer(final Provider<ISettingsModel> settings, final IAuthTokenStorage tokenStorage) {
-        this(settings, tokenStorage, () -> new OkHttpClient());
+        this(settings, tokenStorage, new SmintIoHttpClientProvider());
     }
 
 
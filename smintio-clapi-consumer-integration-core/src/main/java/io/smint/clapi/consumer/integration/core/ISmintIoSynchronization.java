@@ -21,6 +21,11 @@ package io.smint.clapi.consumer.integration.core;
 
 import java.util.concurrent.Future;
 
+import io.smint.clapi.consumer.integration.core.factory.ISmintIoSyncFactory;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncAssetPublisher;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncProgressListener;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncRunReport;
+
 
 /**
  * Provides methods to handle the sync process from assets at Smint.io to a downstream synchronization target.
@@ -90,7 +95,8 @@ public interface ISmintIoSynchronization {
      * <p>
      * Only the schedule is stopped (removed) and the <a href="https://pusher.com/docs/channels">channel API</a> of
      * <a href="https://www.pusher.com">Pusher.com</a> is disconnected. Any currently running synchronization process is
-     * not terminated.
+     * cancelled. It stops as soon as the current request to Smint.io or the current call to the sync target returns.
+     * Assets of completed pages are kept, so the next synchronization continues after the last completed page.
      * </p>
      *
      * @return {@code this} in order to support <em>Fluent Interface</em> paradigm.
@@ -107,12 +113,18 @@ public interface ISmintIoSynchronization {
      * returned {@code Future} is going to wait for the termination of the already queued task.
      * </p>
      *
+     * <p>
+     * Once the job has finished, the returned {@code Future} provides the report of the run, which contains the number
+     * of imported assets, the time spent in each stage and any error that aborted the run. If the job has been merged
+     * with another one, the report of that run is provided.
+     * </p>
+     *
      * @param syncWithMetaData if {@code true} the sync job will synchronize the meta data too. If {@code false}, only
      *                         assets are synchronized.
-     * @return a {@code Future} that will return {@code null} in its {@link Future#get()} function, once synchronization
-     *         job has finished.
+     * @return a {@code Future} that will return the report of the run in its {@link Future#get()} function, once
+     *         synchronization job has finished. The report is {@code null} if the job has not been run at all.
      */
-    Future<Void> triggerSync(boolean syncWithMetaData);
+    Future<ISyncRunReport> triggerSync(boolean syncWithMetaData);
 
 
     /**
@@ -122,8 +134,49 @@ public interface ISmintIoSynchronization {
      * calls {@link #triggerSync(boolean)} with parameter {@code true}.
      * </p>
      *
-     * @return a {@code Future} that will return {@code null} in its {@link Future#get()} function, once synchronization
-     *         job has finished.
+     * @return a {@code Future} that will return the report of the run in its {@link Future#get()} function, once
+     *         synchronization job has finished.
+     */
+    Future<ISyncRunReport> triggerSync();
+
+
+    /**
+     * Registers a listener to observe the progress of all further synchronization runs.
+     *
+     * <p>
+     * The listener receives fetched pages, converted and imported assets, download progress, the time spent in each
+     * stage and the report of each run. It is called asynchronously, so a slow listener never stalls the
+     * synchronization.
+     * </p>
+     *
+     * @param listener the listener to add. Must not be {@code null}.
+     * @return {@code this} in order to support <em>Fluent Interface</em> paradigm.
+     * @throws IllegalStateException if the factory of the synchronization does not provide a job supervisor - see
+     *                               {@link ISmintIoSyncFactory#getJobSupervisor()}.
+     */
+    ISmintIoSynchronization addProgressListener(ISyncProgressListener listener);
+
+
+    /**
+     * Removes a listener of the progress of synchronization runs.
+     *
+     * @param listener the listener to remove.
+     * @return {@code this} in order to support <em>Fluent Interface</em> paradigm.
+     */
+    ISmintIoSynchronization removeProgressListener(ISyncProgressListener listener);
+
+
+    /**
+     * Provides the assets of Smint.io as a stream, as an alternative to synchronizing them with the sync target.
+     *
+     * <p>
+     * The subscriber requests assets at its own pace and acknowledges them once they have been stored. The continuation
+     * UUID is only stored after all assets of a page have been acknowledged. The stream must not be used while
+     * scheduled synchronization has been started with {@link #start()}, as both share the same continuation UUID. Meta
+     * data must have been synchronized before, eg: with {@link #triggerSync(boolean)}.
+     * </p>
+     *
+     * @return the publisher of the assets or {@code null} if streaming is not supported.
      */
-    Future<Void> triggerSync();
+    ISyncAssetPublisher getAssetPublisher();
 }
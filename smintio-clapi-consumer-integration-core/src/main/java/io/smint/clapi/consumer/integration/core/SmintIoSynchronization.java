@@ -28,24 +28,39 @@ import java.util.logging.Logger;
 
 import javax.inject.Inject;
 
+import io.smint.clapi.consumer.integration.core.configuration.ISyncJobDataStorage;
+import io.smint.clapi.consumer.integration.core.configuration.models.ISettingsModel;
+import io.smint.clapi.consumer.integration.core.configuration.models.ISyncJobDataModel;
 import io.smint.clapi.consumer.integration.core.factory.ISmintIoSyncFactory;
 import io.smint.clapi.consumer.integration.core.factory.ISyncTargetFactory;
 import io.smint.clapi.consumer.integration.core.factory.impl.SyncGuiceModule;
+import io.smint.clapi.consumer.integration.core.jobs.IQueuedSyncJob;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncAssetPublisher;
 import io.smint.clapi.consumer.integration.core.jobs.ISyncJob;
 import io.smint.clapi.consumer.integration.core.jobs.ISyncJobExecutionQueue;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncJobSupervisor;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncProgressListener;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncRunReport;
+import io.smint.clapi.consumer.integration.core.jobs.SyncJobPriorityEnum;
 import io.smint.clapi.consumer.integration.core.services.IPlatformScheduler;
 import io.smint.clapi.consumer.integration.core.services.IPushNotificationService;
+import io.smint.clapi.consumer.integration.core.services.ITenantJob;
+import io.smint.clapi.consumer.integration.core.services.impl.AdaptivePollingSchedule;
 
 
 /**
  * Provides initializing functions for the Smint.io synchronization process and handles the synchronization.
  *
- * <h2>Constant rate schedule</h2>
+ * <h2>Adaptive schedule</h2>
  * <p>
- * This class will manage creating a synchronization job and will schedule it in function {@link #start()}. The schedule
- * is set to constant rate of every 60 minutes. However, in case synchronization takes longer, the next scheduled task
- * is put into a waiting queue. The waiting queue consists of a single slot only. So any additional tasks to execute
- * because of the schedule is ignored and discarded. The still waiting task will handle its sync assets, too.
+ * This class will manage creating a synchronization job and will schedule it in function {@link #start()}. While push
+ * notifications are received, the schedule starts with a period of 60 minutes. While they are not, eg: because the
+ * connection is lost or no channel ID is set, the schedule uses {@link ISettingsModel#getMinPollIntervalSeconds()}.
+ * Scheduled runs not finding any changes make the schedule back off, up to
+ * {@link ISettingsModel#getMaxPollIntervalSeconds()} (see {@link AdaptivePollingSchedule}). In case synchronization
+ * takes longer, the next scheduled task is put into a waiting queue. The waiting queue consists of a single slot only.
+ * So any additional tasks to execute because of the schedule is ignored and discarded. The still waiting task will
+ * handle its sync assets, too.
  * </p>
  *
  * <h2>Dependency Injection</h2>
@@ -60,13 +75,19 @@ import io.smint.clapi.consumer.integration.core.services.IPushNotificationServic
  * <p>
  * Synchronization jobs are not allowed to run simultaneously. It simple does not make sense. So new events to trigger a
  * new job run add the new run to a waiting queue in case a job is currently running. Hence an instance of
- * {@link ISyncJobExecutionQueue} is used to detect and handle collisions.
+ * {@link ISyncJobExecutionQueue} is used to detect and handle collisions. Jobs triggered with {@link #triggerSync()}
+ * take precedence over jobs triggered by push events, which take precedence over scheduled jobs.
  * </p>
  */
 public class SmintIoSynchronization implements ISmintIoSynchronization {
 
     /**
-     * The rate (period) to execute the standard synchronization job, including meta-data synchronization.
+     * The rate (period) to execute the standard synchronization job, including meta-data synchronization, while push
+     * notifications are received.
+     *
+     * <p>
+     * The actual period adapts to push health and change rate, within the bounds of the settings.
+     * </p>
      */
     public static final long JOB_SCHEDULE_PERIOD_MILLISEC = 3600000L;
 
@@ -79,6 +100,8 @@ public class SmintIoSynchronization implements ISmintIoSynchronization {
     private String _scheduledJobKey;
     private IPlatformScheduler _scheduler;
     private ISyncJobExecutionQueue _executionQueue;
+    private AdaptivePollingSchedule _pollingSchedule;
+    private SyncGuiceModule _module;
 
     /**
      * Create a new Smint.io synchronization process handler.
@@ -97,6 +120,22 @@ public class SmintIoSynchronization implements ISmintIoSynchronization {
     }
 
 
+    /**
+     * Create a new Smint.io synchronization process handler using a pre-configured Guice module.
+     *
+     * <p>
+     * This is used by {@link SmintIoSynchronizationHost} to share resources among many tenants.
+     * </p>
+     *
+     * @param syncTargetFactory the user factory helping to create all target specific instances.
+     * @param module            the module to create the Guice injector with.
+     */
+    SmintIoSynchronization(final ISyncTargetFactory syncTargetFactory, final SyncGuiceModule module) {
+        this.init(syncTargetFactory, module);
+        this._scheduledJobKey = null;
+    }
+
+
     /**
      * Return the used factory.
      *
@@ -113,13 +152,36 @@ public class SmintIoSynchronization implements ISmintIoSynchronization {
         LOG.info("Starting Smint.io synchronization.");
 
         if (this._scheduledJobKey == null) {
+            final ISyncTargetFactory syncTargetFactory = this._factory.getSyncTargetFactory();
+            final AdaptivePollingSchedule schedule = new AdaptivePollingSchedule(
+                syncTargetFactory::getSettings, JOB_SCHEDULE_PERIOD_MILLISEC
+            );
+            final Runnable scheduledJob = this.createNewJob(
+                SyncJobPriorityEnum.ScheduledEnum,
+                true,
+                (ignore) -> schedule.finishPoll(this.getContinuationUuid())
+            );
+
+            final ISettingsModel settings = syncTargetFactory.getSettings();
+            this._pollingSchedule = schedule;
             this._scheduledJobKey = this._scheduler.scheduleAtFixedRate(
-                this.createNewJob(true, null), JOB_SCHEDULE_PERIOD_MILLISEC
+                new TenantJob(settings != null ? settings.getTenantId() : null, false, () -> {
+                    final IPushNotificationService push = this._factory.getNotificationService();
+                    if (schedule.startPollIfDue(push != null && push.isHealthy(), this.getContinuationUuid())) {
+                        scheduledJob.run();
+                    }
+                }),
+                schedule.getTickMillis()
             );
 
             final IPushNotificationService pushService = this._factory.getNotificationService();
             if (pushService != null) {
-                pushService.startNotificationService(this.createNewJob(false, null));
+                pushService.startNotificationService(
+                    createPushJobTrigger(
+                        this._scheduler,
+                        this.createNewJob(SyncJobPriorityEnum.PushEventEnum, false, null)
+                    )
+                );
             }
         }
 
@@ -141,6 +203,16 @@ public class SmintIoSynchronization implements ISmintIoSynchronization {
 
             this._scheduler.stopSchedule(this._scheduledJobKey);
             this._scheduledJobKey = null;
+            this._pollingSchedule = null;
+        }
+
+        final ISyncJobSupervisor supervisor = this._factory.getJobSupervisor();
+        // threads of a private pool must not outlive the synchronization, but the cancelled run might still use it
+        if (supervisor != null) {
+            supervisor.cancelRun("Synchronization has been stopped.");
+            supervisor.whenRunEnded(this._module::shutdownAssetConversionPool);
+        } else {
+            this._module.shutdownAssetConversionPool();
         }
 
         return this;
@@ -148,28 +220,76 @@ public class SmintIoSynchronization implements ISmintIoSynchronization {
 
 
     @Override
-    public Future<Void> triggerSync(final boolean syncWithMetaData) {
-
-        final CompletableFuture<Void> future = new CompletableFuture<>();
-        final Runnable syncJob = this.createNewJob(syncWithMetaData, (ignore) -> future.complete(null));
+    public Future<ISyncRunReport> triggerSync(final boolean syncWithMetaData) {
+
+        final CompletableFuture<ISyncRunReport> future = new CompletableFuture<>();
+        final Runnable syncJob = this.createNewJob(
+            SyncJobPriorityEnum.ManualEnum,
+            syncWithMetaData,
+            (ignore) -> {
+                final ISyncJobSupervisor supervisor = this._factory.getJobSupervisor();
+                future.complete(supervisor != null ? supervisor.getLastRunReport() : null);
+            }
+        );
         this._scheduler.scheduleForImmediateExecution(syncJob);
         return future;
     }
 
 
     @Override
-    public Future<Void> triggerSync() {
+    public Future<ISyncRunReport> triggerSync() {
         return this.triggerSync(true);
     }
 
 
+    @Override
+    public ISmintIoSynchronization addProgressListener(final ISyncProgressListener listener) {
+        Objects.requireNonNull(listener, "Invalid progress listener has been provided!");
+
+        final ISyncJobSupervisor supervisor = this._factory.getJobSupervisor();
+        if (supervisor == null) {
+            throw new IllegalStateException(
+                "Progress of synchronization runs is not available, as the factory does not provide a supervisor."
+            );
+        }
+        supervisor.addProgressListener(listener);
+        return this;
+    }
+
+
+    @Override
+    public ISmintIoSynchronization removeProgressListener(final ISyncProgressListener listener) {
+        final ISyncJobSupervisor supervisor = this._factory.getJobSupervisor();
+        if (supervisor != null) {
+            supervisor.removeProgressListener(listener);
+        }
+        return this;
+    }
+
+
+    @Override
+    public ISyncAssetPublisher getAssetPublisher() {
+        return this._factory.getAssetPublisher();
+    }
+
+
+    /**
+     * Provides the schedule of the synchronization runs, while started.
+     *
+     * @return the schedule or {@code null} if not started.
+     */
+    public AdaptivePollingSchedule getPollingSchedule() {
+        return this._pollingSchedule;
+    }
+
+
     /**
      * Initializes the Smint.io platform synchronization.
      *
      * <p>
      * An instance of <a href="https://github.com/google/guice"> Google's Guice</a> is created as Dependency Injection
      * system and used to create this required instance of {@link ISmintIoSyncFactory}. The Guice injector is created by
-     * calling {@link SyncGuiceModule#createSmintIoSyncFactory(ISyncTargetFactory)}.
+     * calling {@link SyncGuiceModule#createSmintIoSyncFactory(SyncGuiceModule)}.
      * </p>
      *
      * <p>
@@ -183,6 +303,11 @@ public class SmintIoSynchronization implements ISmintIoSynchronization {
      *                              {@code null}.
      */
     public SmintIoSynchronization init(final ISyncTargetFactory syncTargetFactory) {
+        return this.init(syncTargetFactory, null);
+    }
+
+
+    private SmintIoSynchronization init(final ISyncTargetFactory syncTargetFactory, final SyncGuiceModule module) {
 
         Objects.requireNonNull(syncTargetFactory, "The provided sync target factory is null!");
 
@@ -219,7 +344,8 @@ public class SmintIoSynchronization implements ISmintIoSynchronization {
         );
 
 
-        this._factory = SyncGuiceModule.createSmintIoSyncFactory(syncTargetFactory);
+        this._module = module != null ? module : new SyncGuiceModule(syncTargetFactory);
+        this._factory = SyncGuiceModule.createSmintIoSyncFactory(this._module);
 
         Objects.requireNonNull(this._factory, "No synchronization factory available!");
         Objects.requireNonNull(this._factory.getSyncTargetFactory(), "Failed to acquire sync target factory!");
@@ -235,7 +361,18 @@ public class SmintIoSynchronization implements ISmintIoSynchronization {
     }
 
 
-    private Runnable createNewJob(final boolean syncMetadata, final Consumer<Boolean> callBackWhenFinished) {
+    private String getContinuationUuid() {
+        final ISyncJobDataStorage storage = this._factory.getSyncTargetFactory().getJobDataStorage();
+        final ISyncJobDataModel syncData = storage != null ? storage.getSyncProcessData() : null;
+        return syncData != null ? syncData.getContinuationUuid() : null;
+    }
+
+
+    private Runnable createNewJob(
+        final SyncJobPriorityEnum priority,
+        final boolean syncMetadata,
+        final Consumer<Boolean> callBackWhenFinished
+    ) {
 
         final boolean isPushEventJob = !syncMetadata;
         final ISyncJob job = this._factory.createSyncJob();
@@ -247,21 +384,85 @@ public class SmintIoSynchronization implements ISmintIoSynchronization {
             } catch (final RuntimeException excp) {
                 LOG.log(Level.SEVERE, "Failed to execute synchronization job with Smint.io platform!", excp);
             }
-            if (callBackWhenFinished != null) {
-                try {
-                    callBackWhenFinished.accept(syncMetadata);
-                } catch (final RuntimeException excp) {
-                    LOG.log(Level.WARNING, "Exception in execution of job callback if job finished!", excp);
-                }
-            }
             // CHECKSTYLE ON: IllegalCatch
         };
 
         // first add the job to the queue, then execute the next item in the queue if any is waiting.
-        return () -> {
-            this._executionQueue
-                .addJob(isPushEventJob, checkedJob)
-                .run();
-        };
+        final ISettingsModel settings = this._factory.getSyncTargetFactory().getSettings();
+        return new TenantJob(settings != null ? settings.getTenantId() : null, isPushEventJob, () -> {
+            final IQueuedSyncJob queuedJob = this._executionQueue.offerJob(priority, syncMetadata, checkedJob);
+            if (queuedJob.isMerged()) {
+                LOG.info(() -> "Synchronization job has been merged with a waiting job of priority " + priority);
+            }
+
+            if (callBackWhenFinished != null) {
+                // the callback is called when the job, this one might have been merged with, has finished
+                queuedJob.getCompletion().whenComplete((ignore, error) -> {
+                    // CHECKSTYLE OFF: IllegalCatch
+                    try {
+                        callBackWhenFinished.accept(syncMetadata);
+                    } catch (final RuntimeException excp) {
+                        LOG.log(Level.WARNING, "Exception in execution of job callback if job finished!", excp);
+                    }
+                    // CHECKSTYLE ON: IllegalCatch
+                });
+            }
+
+            this._executionQueue.run();
+        });
+    }
+
+
+    /**
+     * Creates the job to be notified on push notifications, which hands over the synchronization job to the scheduler.
+     *
+     * <p>
+     * The synchronization job is never executed on the thread of the push notification service. Hence a scheduler
+     * shared by many tenants executes it like any other job, limiting the number of jobs running in parallel and
+     * applying the weight of the tenant and the threads reserved for incremental jobs.
+     * </p>
+     *
+     * @param scheduler the scheduler to execute the job with.
+     * @param pushJob   the synchronization job to execute on push notifications.
+     * @return the job to pass to the push notification service.
+     */
+    static Runnable createPushJobTrigger(final IPlatformScheduler scheduler, final Runnable pushJob) {
+        return () -> scheduler.scheduleForImmediateExecution(pushJob);
+    }
+
+
+    /**
+     * Tells schedulers shared by many tenants the tenant and the kind of a job.
+     */
+    static class TenantJob implements ITenantJob {
+
+        private final String _tenantId;
+        private final boolean _isIncremental;
+        private final Runnable _job;
+
+
+        TenantJob(final String tenantId, final boolean isIncremental, final Runnable job) {
+            this._tenantId = tenantId;
+            this._isIncremental = isIncremental;
+            this._job = job;
+        }
+
+
+        @Override
+        public void run() {
+            this._job.run();
+        }
+
+
+        @Override
+        public String getTenantId() {
+            return this._tenantId;
+        }
+
+
+        @Override
+        public boolean isIncremental() {
+            return this._isIncremental;
+        }
     }
 }
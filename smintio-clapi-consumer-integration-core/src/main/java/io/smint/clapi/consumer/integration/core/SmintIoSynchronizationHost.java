@@ -0,0 +1,382 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Logger;
+
+import okhttp3.OkHttpClient;
+
+import io.smint.clapi.consumer.integration.core.configuration.models.ISettingsModel;
+import io.smint.clapi.consumer.integration.core.factory.ISyncTargetFactory;
+import io.smint.clapi.consumer.integration.core.factory.impl.SmintIoHttpClientProvider;
+import io.smint.clapi.consumer.integration.core.factory.impl.SyncGuiceModule;
+import io.smint.clapi.consumer.integration.core.services.IPlatformScheduler;
+import io.smint.clapi.consumer.integration.core.services.impl.ConcurrencyLimiter;
+import io.smint.clapi.consumer.integration.core.services.impl.FairShareJobExecutor;
+import io.smint.clapi.consumer.integration.core.services.impl.NativeThreadPoolScheduler;
+import io.smint.clapi.consumer.integration.core.services.impl.SharedPusherConnection;
+
+
+/**
+ * Hosts the synchronization of many Smint.io tenants within a single JVM.
+ *
+ * <p>
+ * Every {@link SmintIoSynchronization} created with its public constructor creates its own scheduler with its own
+ * timer threads, a new thread for every job execution and its own pool to convert assets. Hence the number of threads
+ * and the memory footprint grow linearly with the number of tenants. This host registers many
+ * {@link ISyncTargetFactory} instances, one per tenant, and makes all of them share the same infrastructure:
+ * </p>
+ * <ul>
+ * <li>the HTTP client and its connection pool,</li>
+ * <li>a single scheduler with a single timer thread,</li>
+ * <li>a bounded pool of threads executing the synchronization jobs of all tenants,</li>
+ * <li>a limit of concurrent binary downloads,</li>
+ * <li>a single pool of threads to convert assets with and</li>
+ * <li>a single connection to the push notification service.</li>
+ * </ul>
+ *
+ * <p>
+ * Everything related to a tenant is still isolated: every tenant gets its own Guice injector, hence its own OAuth
+ * authorization, job data storage, rate limiter and job execution queue. Each tenant subscribes its own channel to
+ * the shared push notification connection, authorized with its own access token, and only receives the notifications
+ * of its own channel.
+ * </p>
+ *
+ * <h2>Fair share</h2>
+ * <p>
+ * Synchronization jobs of the same tenant never run simultaneously. Jobs of different tenants run in parallel, limited
+ * by the number of job threads passed to the constructor. Additional jobs are queued until a thread becomes available.
+ * The threads are shared among the tenants according to their weight with a {@link FairShareJobExecutor}. Jobs
+ * triggered by push notifications are incremental and always executed before scheduled jobs, which may need to
+ * synchronize a large backlog of assets. Some threads are reserved for incremental jobs, so the initial
+ * synchronization of some large tenants does not delay the handling of push notifications for all other tenants.
+ * </p>
+ *
+ * <p>
+ * Each tenant is given a slice of the concurrent binary downloads, relative to its weight. Every tenant is allowed at
+ * least a single download at any time.
+ * </p>
+ */
+public class SmintIoSynchronizationHost {
+
+    /**
+     * The default number of synchronization jobs of different tenants, that are executed in parallel.
+     *
+     * <pre>
+     * {@code DEFAULT_MAX_PARALLEL_JOBS} = {@value #DEFAULT_MAX_PARALLEL_JOBS}
+     * </pre>
+     */
+    public static final int DEFAULT_MAX_PARALLEL_JOBS = 4;
+
+
+    /**
+     * The default number of job threads, that only execute incremental synchronization jobs.
+     *
+     * <pre>
+     * {@code DEFAULT_RESERVED_INCREMENTAL_JOBS} = {@value #DEFAULT_RESERVED_INCREMENTAL_JOBS}
+     * </pre>
+     */
+    public static final int DEFAULT_RESERVED_INCREMENTAL_JOBS = 1;
+
+
+    /**
+     * The default number of binary downloads of all tenants, that are executed in parallel.
+     *
+     * <pre>
+     * {@code DEFAULT_MAX_PARALLEL_DOWNLOADS} = {@value #DEFAULT_MAX_PARALLEL_DOWNLOADS}
+     * </pre>
+     */
+    public static final int DEFAULT_MAX_PARALLEL_DOWNLOADS = 8;
+
+
+    private static final Logger LOG = Logger.getLogger(SmintIoSynchronizationHost.class.getName());
+
+
+    private final OkHttpClient _httpClient;
+    private final FairShareJobExecutor _jobExecutor;
+    private final IPlatformScheduler _scheduler;
+    private final ForkJoinPool _assetConversionPool;
+    private final ConcurrencyLimiter _downloadLimiter;
+    private final SharedPusherConnection _pushConnection;
+    private final Map<String, SmintIoSynchronization> _tenants = new LinkedHashMap<>();
+    private final Map<String, ConcurrencyLimiter> _tenantDownloadLimiters = new LinkedHashMap<>();
+    private boolean _isStarted;
+
+
+    /**
+     * Create a new host with {@link #DEFAULT_MAX_PARALLEL_JOBS} job threads and as many threads to convert assets as
+     * processors are available.
+     */
+    public SmintIoSynchronizationHost() {
+        this(DEFAULT_MAX_PARALLEL_JOBS, Runtime.getRuntime().availableProcessors());
+    }
+
+
+    /**
+     * Create a new host with default limits of incremental jobs and downloads.
+     *
+     * @param maxParallelJobs            the maximum number of synchronization jobs executed in parallel. Values lower
+     *                                   than {@code 1} are treated as {@code 1}.
+     * @param assetConversionParallelism the maximum number of threads converting assets for all tenants. Values lower
+     *                                   than {@code 1} are treated as {@code 1}.
+     */
+    public SmintIoSynchronizationHost(final int maxParallelJobs, final int assetConversionParallelism) {
+        this(
+            maxParallelJobs,
+            DEFAULT_RESERVED_INCREMENTAL_JOBS,
+            DEFAULT_MAX_PARALLEL_DOWNLOADS,
+            assetConversionParallelism
+        );
+    }
+
+
+    /**
+     * Create a new host.
+     *
+     * @param maxParallelJobs            the maximum number of synchronization jobs executed in parallel. Values lower
+     *                                   than {@code 1} are treated as {@code 1}.
+     * @param reservedIncrementalJobs    the number of job threads, that only execute incremental jobs. At least one
+     *                                   thread is always available to other jobs.
+     * @param maxParallelDownloads       the maximum number of binary downloads of all tenants executed in parallel or
+     *                                   a value lower than {@code 1} to not limit them.
+     * @param assetConversionParallelism the maximum number of threads converting assets for all tenants. Values lower
+     *                                   than {@code 1} are treated as {@code 1}.
+     */
+    public SmintIoSynchronizationHost(
+        final int maxParallelJobs,
+        final int reservedIncrementalJobs,
+        final int maxParallelDownloads,
+        final int assetConversionParallelism
+    ) {
+        this._jobExecutor = new FairShareJobExecutor(maxParallelJobs, reservedIncrementalJobs);
+        this._downloadLimiter = new ConcurrencyLimiter(null, maxParallelDownloads);
+
+        this._scheduler = new NativeThreadPoolScheduler(1, this._jobExecutor);
+        this._assetConversionPool = SyncGuiceModule.createAssetConversionPool(assetConversionParallelism);
+        this._httpClient = new SmintIoHttpClientProvider().get();
+        this._pushConnection = new SharedPusherConnection();
+    }
+
+
+    /**
+     * Register a new tenant with {@link FairShareJobExecutor#DEFAULT_WEIGHT} with this host.
+     *
+     * @param syncTargetFactory the factory of the tenant. Its settings must provide a tenant ID.
+     * @return the new synchronization process of the tenant - never {@code null}.
+     * @throws NullPointerException     if the factory is invalid or does not provide a tenant ID.
+     * @throws IllegalArgumentException if a tenant with the same tenant ID has already been registered.
+     * @see #register(ISyncTargetFactory, int)
+     */
+    public SmintIoSynchronization register(final ISyncTargetFactory syncTargetFactory) {
+        return this.register(syncTargetFactory, FairShareJobExecutor.DEFAULT_WEIGHT);
+    }
+
+
+    /**
+     * Register a new tenant with this host.
+     *
+     * <p>
+     * A new synchronization process is created for the tenant, sharing the infrastructure of this host. If the host has
+     * already been started, the new synchronization process is started, too.
+     * </p>
+     *
+     * @param syncTargetFactory the factory of the tenant. Its settings must provide a tenant ID.
+     * @param weight            the share of job threads and downloads the tenant receives relative to other tenants.
+     *                          Values lower than {@code 1} are treated as {@code 1}.
+     * @return the new synchronization process of the tenant - never {@code null}.
+     * @throws NullPointerException     if the factory is invalid or does not provide a tenant ID.
+     * @throws IllegalArgumentException if a tenant with the same tenant ID has already been registered.
+     */
+    public synchronized SmintIoSynchronization register(final ISyncTargetFactory syncTargetFactory, final int weight) {
+
+        Objects.requireNonNull(syncTargetFactory, "The provided sync target factory is null!");
+
+        final ISettingsModel settings = syncTargetFactory.getSettings();
+        final String tenantId = settings != null ? settings.getTenantId() : null;
+        Objects.requireNonNull(tenantId, "The provided sync target factory does not provide a tenant ID!");
+
+        if (this._tenants.containsKey(tenantId)) {
+            throw new IllegalArgumentException("The tenant '" + tenantId + "' has already been registered!");
+        }
+
+
+        final ConcurrencyLimiter tenantDownloadLimiter = new ConcurrencyLimiter(this._downloadLimiter, 0);
+        final SmintIoSynchronization synchronization = new SmintIoSynchronization(
+            syncTargetFactory,
+            new SyncGuiceModule(syncTargetFactory, this._httpClient, this._scheduler, this._assetConversionPool)
+                .setDownloadLimiter(tenantDownloadLimiter)
+                .setPushConnection(this._pushConnection)
+        );
+        this._tenants.put(tenantId, synchronization);
+        this._tenantDownloadLimiters.put(tenantId, tenantDownloadLimiter);
+        this._jobExecutor.setWeight(tenantId, weight);
+        this.rebalanceDownloads();
+
+        LOG.info(() -> "Registered Smint.io tenant '" + tenantId + "' with the synchronization host.");
+
+        if (this._isStarted) {
+            synchronization.start();
+        }
+        return synchronization;
+    }
+
+
+    /**
+     * Stop the synchronization of a tenant and remove it from this host.
+     *
+     * @param tenantId the ID of the tenant to remove.
+     * @return the removed synchronization process or {@code null} if no tenant with the ID has been registered.
+     */
+    public synchronized SmintIoSynchronization unregister(final String tenantId) {
+
+        final SmintIoSynchronization synchronization = tenantId != null ? this._tenants.remove(tenantId) : null;
+        if (synchronization != null) {
+            synchronization.stop();
+            this._jobExecutor.removeTenant(tenantId);
+            this._tenantDownloadLimiters.remove(tenantId);
+            this.rebalanceDownloads();
+            LOG.info(() -> "Removed Smint.io tenant '" + tenantId + "' from the synchronization host.");
+        }
+        return synchronization;
+    }
+
+
+    /**
+     * Return the synchronization process of a registered tenant.
+     *
+     * @param tenantId the ID of the tenant.
+     * @return the synchronization process or {@code null} if no tenant with the ID has been registered.
+     */
+    public synchronized SmintIoSynchronization getSynchronization(final String tenantId) {
+        return tenantId != null ? this._tenants.get(tenantId) : null;
+    }
+
+
+    /**
+     * Change the weight of a registered tenant.
+     *
+     * @param tenantId the ID of the tenant.
+     * @param weight   the share of job threads and downloads the tenant receives relative to other tenants. Values
+     *                 lower than {@code 1} are treated as {@code 1}.
+     * @return {@code this}
+     */
+    public synchronized SmintIoSynchronizationHost setWeight(final String tenantId, final int weight) {
+        if (tenantId != null && this._tenants.containsKey(tenantId)) {
+            this._jobExecutor.setWeight(tenantId, weight);
+            this.rebalanceDownloads();
+        }
+        return this;
+    }
+
+
+    /**
+     * Return the IDs of all registered tenants in the order of their registration.
+     *
+     * @return the tenant IDs - never {@code null}.
+     */
+    public synchronized String[] getTenantIds() {
+        return this._tenants.keySet().toArray(new String[this._tenants.size()]);
+    }
+
+
+    /**
+     * Start the synchronization of all registered tenants and of all tenants registered later on.
+     *
+     * @return {@code this}
+     */
+    public synchronized SmintIoSynchronizationHost start() {
+
+        LOG.info(() -> "Starting Smint.io synchronization of " + this._tenants.size() + " tenants.");
+
+        this._isStarted = true;
+        for (final SmintIoSynchronization synchronization : this._tenants.values()) {
+            synchronization.start();
+        }
+        return this;
+    }
+
+
+    /**
+     * Stop the synchronization of all registered tenants.
+     *
+     * <p>
+     * The tenants stay registered and can be started again with {@link #start()}. Already running jobs are not
+     * interrupted.
+     * </p>
+     *
+     * @return {@code this}
+     */
+    public synchronized SmintIoSynchronizationHost stop() {
+
+        LOG.info(() -> "Stopping Smint.io synchronization of " + this._tenants.size() + " tenants.");
+
+        this._isStarted = false;
+        for (final SmintIoSynchronization synchronization : this._tenants.values()) {
+            synchronization.stop();
+        }
+        return this;
+    }
+
+
+    /**
+     * Stop all tenants, remove them from this host and release all shared threads.
+     *
+     * <p>
+     * Already running jobs are finished but no new jobs are accepted. The host can not be used any longer afterwards.
+     * </p>
+     */
+    public synchronized void shutdown() {
+
+        this.stop();
+        this._tenants.clear();
+
+        this._tenantDownloadLimiters.clear();
+
+        this._pushConnection.disconnect();
+        this._scheduler.cancel();
+        this._jobExecutor.shutdown();
+        this._assetConversionPool.shutdown();
+    }
+
+
+    /**
+     * Split the shared download limit into slices relative to the weight of each tenant.
+     */
+    private void rebalanceDownloads() {
+
+        final int maxDownloads = this._downloadLimiter.getMaxPermits();
+
+        int totalWeight = 0;
+        for (final String tenantId : this._tenantDownloadLimiters.keySet()) {
+            totalWeight += this._jobExecutor.getWeight(tenantId);
+        }
+
+        for (final Map.Entry<String, ConcurrencyLimiter> entry : this._tenantDownloadLimiters.entrySet()) {
+            final int weight = this._jobExecutor.getWeight(entry.getKey());
+            entry.getValue().setMaxPermits(
+                maxDownloads > 0 ? Math.max(1, maxDownloads * weight / totalWeight) : 0
+            );
+        }
+    }
+}
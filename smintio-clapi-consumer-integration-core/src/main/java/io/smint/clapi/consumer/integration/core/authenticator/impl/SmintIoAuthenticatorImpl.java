@@ -46,6 +46,7 @@ import io.smint.clapi.consumer.integration.core.configuration.models.ISettingsMo
 import io.smint.clapi.consumer.integration.core.configuration.models.impl.AuthTokenImpl;
 import io.smint.clapi.consumer.integration.core.exceptions.SmintIoAuthenticatorException;
 import io.smint.clapi.consumer.integration.core.exceptions.SmintIoAuthenticatorException.AuthenticatorError;
+import io.smint.clapi.consumer.integration.core.factory.impl.SmintIoHttpClientProvider;
 
 
 /**
@@ -197,7 +198,7 @@ public class SmintIoAuthenticatorImpl implements ISmintIoAuthenticator {
         try {
 
             final OkHttpClient client = this._httpClientProvider != null ? this._httpClientProvider.get()
-                : new OkHttpClient();
+                : SmintIoHttpClientProvider.getSharedClient();
 
             final Response httpResponse = client.newCall(request).execute();
 
@@ -0,0 +1,59 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.configuration;
+
+import javax.inject.Provider;
+
+import io.smint.clapi.consumer.integration.core.configuration.models.ISyncQuarantineModel;
+
+
+/**
+ * Provides storage layer for assets, that failed to be synchronized and are retried later.
+ *
+ * <p>
+ * Once an asset failed, the synchronization continues with the remaining assets and the continuation UUID is stored as
+ * usual. Hence the Smint.io platform does not provide the failed asset again. It is only available from this storage.
+ * So it should be persisted to a storage system in order to restore it once the JVM has been stopped and/or restarted.
+ * The data is only written if assets are put into quarantine or released from it.
+ * </p>
+ *
+ * <p>
+ * Beware that multiple synchronization jobs/threads may access the same data. So do not forget to synchronize.
+ * </p>
+ */
+public interface ISyncQuarantineStorage extends Provider<ISyncQuarantineModel> {
+
+    /**
+     * Returns the quarantine that has previously been stored.
+     *
+     * @return An instance of {@link ISyncQuarantineModel} that has been previously been passed to
+     *         {@link #storeQuarantineData(ISyncQuarantineModel)} or {@code null}.
+     */
+    ISyncQuarantineModel getQuarantineData();
+
+
+    /**
+     * Stores a new quarantine to be made persistent and made available to the next run.
+     *
+     * @param newQuarantineData all assets in quarantine.
+     * @return {@code this} and implements Fluent Interface
+     */
+    ISyncQuarantineStorage storeQuarantineData(final ISyncQuarantineModel newQuarantineData);
+}
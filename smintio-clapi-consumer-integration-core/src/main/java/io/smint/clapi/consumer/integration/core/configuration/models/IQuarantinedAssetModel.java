@@ -0,0 +1,83 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.configuration.models;
+
+import java.time.OffsetDateTime;
+
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoAsset;
+
+
+/**
+ * An asset, that failed to be synchronized and has been put aside to be retried later.
+ *
+ * <p>
+ * The Smint.io API does not provide single assets. Hence the asset as received from Smint.io is kept, to be able to
+ * retry it without fetching pages again.
+ * </p>
+ */
+public interface IQuarantinedAssetModel {
+
+    /**
+     * Provides the UUID of the license purchase transaction of the asset, which identifies the quarantined asset.
+     *
+     * @return the UUID - never {@code null}.
+     */
+    String getLicensePurchaseTransactionUuid();
+
+
+    /**
+     * Provides the asset as it has been received from Smint.io.
+     *
+     * @return the asset - never {@code null}.
+     */
+    ISmintIoAsset getRawAsset();
+
+
+    /**
+     * Provides the error of the most recent attempt to synchronize the asset.
+     *
+     * @return the error message or {@code null} if none is available.
+     */
+    String getError();
+
+
+    /**
+     * Provides the number of failed attempts to synchronize the asset.
+     *
+     * @return the number of attempts, at least {@code 1}.
+     */
+    int getAttempts();
+
+
+    /**
+     * Provides the time the asset has been put into quarantine first.
+     *
+     * @return the time of the first failure.
+     */
+    OffsetDateTime getQuarantinedAt();
+
+
+    /**
+     * Provides the time the asset is retried next.
+     *
+     * @return the time of the next attempt or {@code null} if the asset is not retried anymore.
+     */
+    OffsetDateTime getNextRetryAt();
+}
@@ -83,6 +83,154 @@ import java.net.URL;
  */
 public interface ISettingsModel {
 
+    /**
+     * The default maximum rate of requests per second to the Smint.io platform.
+     *
+     * <pre>
+     * {@code DEFAULT_MAX_REQUESTS_PER_SECOND} = {@value #DEFAULT_MAX_REQUESTS_PER_SECOND}
+     * </pre>
+     */
+    double DEFAULT_MAX_REQUESTS_PER_SECOND = 10.0;
+
+
+    /**
+     * The default amount of requests to the Smint.io platform, that can be sent in a burst without waiting.
+     *
+     * <pre>
+     * {@code DEFAULT_MAX_REQUEST_BURST} = {@value #DEFAULT_MAX_REQUEST_BURST}
+     * </pre>
+     */
+    int DEFAULT_MAX_REQUEST_BURST = 10;
+
+
+    /**
+     * The default maximum number of assets that are converted and passed to the sync target at once.
+     *
+     * <p>
+     * A value of {@code 0} does not restrict the number, so all assets of a page fetched from Smint.io are in flight.
+     * </p>
+     *
+     * <pre>
+     * {@code DEFAULT_MAX_ASSETS_IN_FLIGHT} = {@value #DEFAULT_MAX_ASSETS_IN_FLIGHT}
+     * </pre>
+     */
+    int DEFAULT_MAX_ASSETS_IN_FLIGHT = 0;
+
+
+    /**
+     * The default heap budget in megabytes for synchronizing assets. A value of {@code 0} disables the budget.
+     *
+     * <pre>
+     * {@code DEFAULT_SYNC_HEAP_BUDGET_MB} = {@value #DEFAULT_SYNC_HEAP_BUDGET_MB}
+     * </pre>
+     */
+    int DEFAULT_SYNC_HEAP_BUDGET_MB = 0;
+
+
+    /**
+     * The default number of threads used to convert assets for the sync target. A value of {@code 1} converts all
+     * assets sequentially on the thread running the sync job.
+     *
+     * <pre>
+     * {@code DEFAULT_ASSET_CONVERSION_PARALLELISM} = {@value #DEFAULT_ASSET_CONVERSION_PARALLELISM}
+     * </pre>
+     */
+    int DEFAULT_ASSET_CONVERSION_PARALLELISM = 1;
+
+
+    /**
+     * The default time in seconds a single stage of a synchronization run may take before it is aborted. A value of
+     * {@code 0} disables the watchdog.
+     *
+     * <pre>
+     * {@code DEFAULT_SYNC_STAGE_TIMEOUT_SECONDS} = {@value #DEFAULT_SYNC_STAGE_TIMEOUT_SECONDS}
+     * </pre>
+     */
+    int DEFAULT_SYNC_STAGE_TIMEOUT_SECONDS = 1800;
+
+
+    /**
+     * The default shortest time in seconds between two scheduled synchronization runs, used while push notifications
+     * are not available.
+     *
+     * <pre>
+     * {@code DEFAULT_MIN_POLL_INTERVAL_SECONDS} = {@value #DEFAULT_MIN_POLL_INTERVAL_SECONDS}
+     * </pre>
+     */
+    int DEFAULT_MIN_POLL_INTERVAL_SECONDS = 300;
+
+
+    /**
+     * The default longest time in seconds between two scheduled synchronization runs, reached while push notifications
+     * work and no changes are found.
+     *
+     * <pre>
+     * {@code DEFAULT_MAX_POLL_INTERVAL_SECONDS} = {@value #DEFAULT_MAX_POLL_INTERVAL_SECONDS}
+     * </pre>
+     */
+    int DEFAULT_MAX_POLL_INTERVAL_SECONDS = 21600;
+
+
+    /**
+     * The default time in seconds to wait before a quarantined asset is retried for the first time.
+     *
+     * <pre>
+     * {@code DEFAULT_QUARANTINE_RETRY_SECONDS} = {@value #DEFAULT_QUARANTINE_RETRY_SECONDS}
+     * </pre>
+     */
+    int DEFAULT_QUARANTINE_RETRY_SECONDS = 900;
+
+
+    /**
+     * The default number of attempts to synchronize an asset, before it is not retried anymore.
+     *
+     * <pre>
+     * {@code DEFAULT_QUARANTINE_MAX_ATTEMPTS} = {@value #DEFAULT_QUARANTINE_MAX_ATTEMPTS}
+     * </pre>
+     */
+    int DEFAULT_QUARANTINE_MAX_ATTEMPTS = 10;
+
+
+    /**
+     * The default time, the generic meta data fetched from Smint.io is re-used without asking the Smint.io API again.
+     *
+     * <pre>
+     * {@code DEFAULT_METADATA_CACHE_SECONDS} = {@value #DEFAULT_METADATA_CACHE_SECONDS}
+     * </pre>
+     */
+    int DEFAULT_METADATA_CACHE_SECONDS = 60;
+
+
+    /**
+     * The default number of pages of assets, after which the continuation UUID is stored for the next run.
+     *
+     * <pre>
+     * {@code DEFAULT_CHECKPOINT_PAGES} = {@value #DEFAULT_CHECKPOINT_PAGES}
+     * </pre>
+     */
+    int DEFAULT_CHECKPOINT_PAGES = 1;
+
+
+    /**
+     * The default time in seconds, after which the continuation UUID is stored for the next run.
+     *
+     * <pre>
+     * {@code DEFAULT_CHECKPOINT_SECONDS} = {@value #DEFAULT_CHECKPOINT_SECONDS}
+     * </pre>
+     */
+    int DEFAULT_CHECKPOINT_SECONDS = 0;
+
+
+    /**
+     * The default maximum number of pages of assets to spool to disk before importing them in catch-up mode.
+     *
+     * <pre>
+     * {@code DEFAULT_CATCH_UP_SPOOL_PAGES} = {@value #DEFAULT_CATCH_UP_SPOOL_PAGES}
+     * </pre>
+     */
+    int DEFAULT_CATCH_UP_SPOOL_PAGES = 0;
+
+
     /**
      * The Smint.io tenant ID to use for synchronize all its assets.
      *
@@ -178,4 +326,248 @@ public interface ISettingsModel {
      * @return an array of languages to import.
      */
     String[] getImportLanguages();
+
+
+    /**
+     * The maximum sustained rate of requests per second sent to the Smint.io platform for this tenant.
+     *
+     * <p>
+     * All calls to the Smint.io RESTful API and all downloads of asset binaries share this limit (see
+     * {@link io.smint.clapi.consumer.integration.core.services.IRateLimiter}). Exceeding requests are delayed rather
+     * than being throttled by the Smint.io platform.
+     * </p>
+     *
+     * @return the maximum number of requests per second or {@code 0} to disable rate limiting. Defaults to
+     *         {@link #DEFAULT_MAX_REQUESTS_PER_SECOND}.
+     */
+    default double getMaxRequestsPerSecond() {
+        return DEFAULT_MAX_REQUESTS_PER_SECOND;
+    }
+
+
+    /**
+     * The number of requests to the Smint.io platform that may be sent in a burst, without being delayed.
+     *
+     * @return the burst size, defaults to {@link #DEFAULT_MAX_REQUEST_BURST}.
+     */
+    default int getMaxRequestBurst() {
+        return DEFAULT_MAX_REQUEST_BURST;
+    }
+
+
+    /**
+     * The maximum number of assets that are held in memory at the same time while synchronizing.
+     *
+     * <p>
+     * Assets are fetched from Smint.io in pages. With a limit set, each page is converted and passed to the sync
+     * target in slices of at most this size. References to the converted data are released as soon as the sync target
+     * accepted a slice, so it can be garbage collected while the rest of the page is processed.
+     * </p>
+     *
+     * @return the maximum number of assets in flight or {@code 0} to process each page as a whole. Defaults to
+     *         {@link #DEFAULT_MAX_ASSETS_IN_FLIGHT}.
+     */
+    default int getMaxAssetsInFlight() {
+        return DEFAULT_MAX_ASSETS_IN_FLIGHT;
+    }
+
+
+    /**
+     * The heap memory in megabytes the application is allowed to use while synchronizing assets.
+     *
+     * <p>
+     * If set, the number of assets in flight is reduced as soon as the used heap memory of the JVM approaches this
+     * budget, down to a single asset at a time. This helps running the synchronization in environments with tight
+     * memory restrictions, like small containers. The budget should be set somewhat below the maximum heap size
+     * ({@code -Xmx}) of the JVM.
+     * </p>
+     *
+     * @return the heap budget in megabytes or {@code 0} to disable it. Defaults to
+     *         {@link #DEFAULT_SYNC_HEAP_BUDGET_MB}.
+     */
+    default int getSyncHeapBudgetMegabytes() {
+        return DEFAULT_SYNC_HEAP_BUDGET_MB;
+    }
+
+
+    /**
+     * The number of threads used to convert assets from Smint.io to sync target assets in parallel.
+     *
+     * <p>
+     * Converting assets maps all meta data IDs, license terms and release details for each import language. For large
+     * pages and many languages this becomes a noticeable CPU cost, which can be spread among several threads. If
+     * larger than {@code 1}, the functions of
+     * {@link io.smint.clapi.consumer.integration.core.target.ISyncTargetDataFactory} are called concurrently and must
+     * be thread-safe. The order of assets passed to the sync target is not affected.
+     * </p>
+     *
+     * @return the number of threads to use for conversion. Defaults to {@link #DEFAULT_ASSET_CONVERSION_PARALLELISM}.
+     */
+    default int getAssetConversionParallelism() {
+        return DEFAULT_ASSET_CONVERSION_PARALLELISM;
+    }
+
+
+    /**
+     * The maximum time in seconds a single stage of a synchronization run may take.
+     *
+     * <p>
+     * Stages are fetching meta data, fetching a page of assets, converting assets, importing them into the sync target,
+     * including their downloads, and calling the hooks of the sync target. A stage exceeding this time budget is
+     * reported and the run is aborted, so a hung call does not block all following synchronization runs.
+     * </p>
+     *
+     * @return the time budget in seconds or {@code 0} to disable the watchdog. Defaults to
+     *         {@link #DEFAULT_SYNC_STAGE_TIMEOUT_SECONDS}.
+     */
+    default int getSyncStageTimeoutSeconds() {
+        return DEFAULT_SYNC_STAGE_TIMEOUT_SECONDS;
+    }
+
+
+    /**
+     * The shortest time in seconds between two scheduled synchronization runs.
+     *
+     * <p>
+     * Scheduled runs poll Smint.io for changes. While push notifications are not available, eg: because the connection
+     * is lost or no channel ID is set, polling uses this interval to keep data fresh.
+     * </p>
+     *
+     * @return the interval in seconds. Defaults to {@link #DEFAULT_MIN_POLL_INTERVAL_SECONDS}.
+     */
+    default int getMinPollIntervalSeconds() {
+        return DEFAULT_MIN_POLL_INTERVAL_SECONDS;
+    }
+
+
+    /**
+     * The longest time in seconds between two scheduled synchronization runs.
+     *
+     * <p>
+     * While push notifications work, changes are synchronized as soon as they are notified. So polling backs off up to
+     * this interval as long as scheduled runs do not find any changes.
+     * </p>
+     *
+     * @return the interval in seconds. Defaults to {@link #DEFAULT_MAX_POLL_INTERVAL_SECONDS}.
+     */
+    default int getMaxPollIntervalSeconds() {
+        return DEFAULT_MAX_POLL_INTERVAL_SECONDS;
+    }
+
+
+    /**
+     * The time in seconds to wait before a quarantined asset is retried for the first time.
+     *
+     * <p>
+     * Assets failing to be synchronized are put into quarantine, so the remaining assets keep flowing. They are retried
+     * by the next run after this time has passed. The time doubles with each failed attempt, up to one day.
+     * </p>
+     *
+     * @return the time in seconds. Defaults to {@link #DEFAULT_QUARANTINE_RETRY_SECONDS}.
+     */
+    default int getQuarantineRetrySeconds() {
+        return DEFAULT_QUARANTINE_RETRY_SECONDS;
+    }
+
+
+    /**
+     * The number of attempts to synchronize an asset, before it is not retried anymore.
+     *
+     * <p>
+     * Assets that are not retried anymore are kept in quarantine, until a newer version of the asset is synchronized.
+     * </p>
+     *
+     * @return the number of attempts or {@code 0} to retry forever. Defaults to
+     *         {@link #DEFAULT_QUARANTINE_MAX_ATTEMPTS}.
+     */
+    default int getQuarantineMaxAttempts() {
+        return DEFAULT_QUARANTINE_MAX_ATTEMPTS;
+    }
+
+
+    /**
+     * The time, the generic meta data fetched from Smint.io is re-used without asking the Smint.io API again.
+     *
+     * <p>
+     * In case an asset refers to a meta data key, that is not known to the sync target yet, the generic meta data is
+     * fetched from Smint.io and only the affected category is imported into the sync target. Within this time, no
+     * further request for the generic meta data is sent, even if the key could not be found.
+     * </p>
+     *
+     * <p>
+     * Afterwards the generic meta data is requested conditionally. If it has not been modified on Smint.io, the meta
+     * data converted previously is used again.
+     * </p>
+     *
+     * @return the time in seconds. Defaults to {@link #DEFAULT_METADATA_CACHE_SECONDS}.
+     */
+    default int getMetadataCacheSeconds() {
+        return DEFAULT_METADATA_CACHE_SECONDS;
+    }
+
+
+    /**
+     * The number of pages of assets, after which the continuation UUID is stored for the next run.
+     *
+     * <p>
+     * Assets are synchronized page by page. After each page, the continuation UUID is advanced and needs to be stored
+     * with {@link io.smint.clapi.consumer.integration.core.configuration.ISyncJobDataStorage} in order to continue
+     * from that page with the next run. Storing after every page keeps the number of assets to synchronize again
+     * after a crash at a minimum, but causes a synchronous write to the storage for each page. Storing less often
+     * reduces the writes, but more assets are synchronized again after a crash.
+     * </p>
+     *
+     * <p>
+     * Regardless of this value, the continuation UUID is always stored at the end of a run, in case the run fails or
+     * has been stopped and when the JVM shuts down during a run.
+     * </p>
+     *
+     * @return the number of pages or {@code 0} to store by time only (see {@link #getCheckpointSeconds()}). Defaults
+     *         to {@link #DEFAULT_CHECKPOINT_PAGES}.
+     */
+    default int getCheckpointPages() {
+        return DEFAULT_CHECKPOINT_PAGES;
+    }
+
+
+    /**
+     * The time in seconds, after which the continuation UUID is stored for the next run.
+     *
+     * <p>
+     * The time is checked whenever a page of assets has been finished. So the continuation UUID is stored after the
+     * first page, that finishes after the time has elapsed since the last time it had been stored. See
+     * {@link #getCheckpointPages()} for more details.
+     * </p>
+     *
+     * @return the time in seconds or {@code 0} to store by number of pages only. Defaults to
+     *         {@link #DEFAULT_CHECKPOINT_SECONDS}.
+     */
+    default int getCheckpointSeconds() {
+        return DEFAULT_CHECKPOINT_SECONDS;
+    }
+
+
+    /**
+     * The maximum number of pages of assets to spool to disk before importing them in catch-up mode.
+     *
+     * <p>
+     * After a long outage, there might be lots of pages pending for synchronization, in which the same license
+     * purchase transaction appears repeatedly, as its state changed several times. Without catch-up mode, each of these
+     * occurrences is converted, downloaded and imported on its own. In catch-up mode, the pending pages are fetched and
+     * spooled to a temporary file on local disk first - up to this number of pages. Then the spooled assets are
+     * collapsed to the latest state of each license purchase transaction, including all its binaries, and only these
+     * are imported into the sync target. Afterwards the next pages are spooled, if there are more.
+     * </p>
+     *
+     * <p>
+     * The continuation UUID is advanced only after all spooled assets have been imported. So a crash causes all spooled
+     * pages to be synchronized again.
+     * </p>
+     *
+     * @return the number of pages or {@code 0} to disable catch-up mode and import each page right after it has been
+     *         fetched. Defaults to {@link #DEFAULT_CATCH_UP_SPOOL_PAGES}.
+     */
+    default int getCatchUpSpoolPages() {
+        return DEFAULT_CATCH_UP_SPOOL_PAGES;
+    }
 }
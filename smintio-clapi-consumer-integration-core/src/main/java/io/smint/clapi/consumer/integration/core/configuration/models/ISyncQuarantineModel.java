@@ -0,0 +1,40 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.configuration.models;
+
+/**
+ * All assets of a tenant, that are kept in quarantine.
+ *
+ * <p>
+ * An asset is put into quarantine if it fails to be converted or to be imported to the sync target. The remaining
+ * assets of the page are synchronized anyway and the quarantined assets are retried by later runs. The quarantine must
+ * be kept across restarts of the JVM, as the Smint.io platform does not provide the asset again, once the page has been
+ * completed.
+ * </p>
+ */
+public interface ISyncQuarantineModel {
+
+    /**
+     * Provides the assets in quarantine.
+     *
+     * @return the assets or {@code null} if none is in quarantine.
+     */
+    IQuarantinedAssetModel[] getQuarantinedAssets();
+}
@@ -0,0 +1,99 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.configuration.models.impl;
+
+import java.time.OffsetDateTime;
+
+import io.smint.clapi.consumer.integration.core.configuration.models.IQuarantinedAssetModel;
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoAsset;
+
+
+/**
+ * POJO to hold a quarantined asset and to be serialized to JSON and read from it.
+ */
+public class QuarantinedAssetModelImpl implements IQuarantinedAssetModel {
+
+    private String licensePurchaseTransactionUuid = null;
+    private ISmintIoAsset rawAsset = null;
+    private String error = null;
+    private int attempts = 0;
+    private OffsetDateTime quarantinedAt = null;
+    private OffsetDateTime nextRetryAt = null;
+
+    @Override
+    public String getLicensePurchaseTransactionUuid() {
+        return this.licensePurchaseTransactionUuid;
+    }
+
+    public QuarantinedAssetModelImpl setLicensePurchaseTransactionUuid(final String licensePurchaseTransactionUuid) {
+        this.licensePurchaseTransactionUuid = licensePurchaseTransactionUuid;
+        return this;
+    }
+
+    @Override
+    public ISmintIoAsset getRawAsset() {
+        return this.rawAsset;
+    }
+
+    public QuarantinedAssetModelImpl setRawAsset(final ISmintIoAsset rawAsset) {
+        this.rawAsset = rawAsset;
+        return this;
+    }
+
+    @Override
+    public String getError() {
+        return this.error;
+    }
+
+    public QuarantinedAssetModelImpl setError(final String error) {
+        this.error = error;
+        return this;
+    }
+
+    @Override
+    public int getAttempts() {
+        return this.attempts;
+    }
+
+    public QuarantinedAssetModelImpl setAttempts(final int attempts) {
+        this.attempts = attempts;
+        return this;
+    }
+
+    @Override
+    public OffsetDateTime getQuarantinedAt() {
+        return this.quarantinedAt;
+    }
+
+    public QuarantinedAssetModelImpl setQuarantinedAt(final OffsetDateTime quarantinedAt) {
+        this.quarantinedAt = quarantinedAt;
+        return this;
+    }
+
+    @Override
+    public OffsetDateTime getNextRetryAt() {
+        return this.nextRetryAt;
+    }
+
+    public QuarantinedAssetModelImpl setNextRetryAt(final OffsetDateTime nextRetryAt) {
+        this.nextRetryAt = nextRetryAt;
+        return this;
+    }
+}
@@ -38,6 +38,20 @@ public class SettingsModelImpl implements ISettingsModel {
     private int _channelID;
     private String _tenantID;
     private String[] _importLanguages;
+    private double _maxRequestsPerSecond = DEFAULT_MAX_REQUESTS_PER_SECOND;
+    private int _maxRequestBurst = DEFAULT_MAX_REQUEST_BURST;
+    private int _maxAssetsInFlight = DEFAULT_MAX_ASSETS_IN_FLIGHT;
+    private int _syncHeapBudgetMegabytes = DEFAULT_SYNC_HEAP_BUDGET_MB;
+    private int _assetConversionParallelism = DEFAULT_ASSET_CONVERSION_PARALLELISM;
+    private int _syncStageTimeoutSeconds = DEFAULT_SYNC_STAGE_TIMEOUT_SECONDS;
+    private int _minPollIntervalSeconds = DEFAULT_MIN_POLL_INTERVAL_SECONDS;
+    private int _maxPollIntervalSeconds = DEFAULT_MAX_POLL_INTERVAL_SECONDS;
+    private int _quarantineRetrySeconds = DEFAULT_QUARANTINE_RETRY_SECONDS;
+    private int _quarantineMaxAttempts = DEFAULT_QUARANTINE_MAX_ATTEMPTS;
+    private int _metadataCacheSeconds = DEFAULT_METADATA_CACHE_SECONDS;
+    private int _checkpointPages = DEFAULT_CHECKPOINT_PAGES;
+    private int _checkpointSeconds = DEFAULT_CHECKPOINT_SECONDS;
+    private int _catchUpSpoolPages = DEFAULT_CATCH_UP_SPOOL_PAGES;
 
 
     @Inject
@@ -61,7 +75,21 @@ public class SettingsModelImpl implements ISettingsModel {
             .setOAuthClientSecret(copyFrom.getOAuthClientSecret())
             .setOAuthLocalUrlReceivingAccessData(copyFrom.getOAuthLocalUrlReceivingAccessData())
             .setChannelId(copyFrom.getChannelId())
-            .setImportLanguages(copyFrom.getImportLanguages());
+            .setImportLanguages(copyFrom.getImportLanguages())
+            .setMaxRequestsPerSecond(copyFrom.getMaxRequestsPerSecond())
+            .setMaxRequestBurst(copyFrom.getMaxRequestBurst())
+            .setMaxAssetsInFlight(copyFrom.getMaxAssetsInFlight())
+            .setSyncHeapBudgetMegabytes(copyFrom.getSyncHeapBudgetMegabytes())
+            .setAssetConversionParallelism(copyFrom.getAssetConversionParallelism())
+            .setSyncStageTimeoutSeconds(copyFrom.getSyncStageTimeoutSeconds())
+            .setMinPollIntervalSeconds(copyFrom.getMinPollIntervalSeconds())
+            .setMaxPollIntervalSeconds(copyFrom.getMaxPollIntervalSeconds())
+            .setQuarantineRetrySeconds(copyFrom.getQuarantineRetrySeconds())
+            .setQuarantineMaxAttempts(copyFrom.getQuarantineMaxAttempts())
+            .setMetadataCacheSeconds(copyFrom.getMetadataCacheSeconds())
+            .setCheckpointPages(copyFrom.getCheckpointPages())
+            .setCheckpointSeconds(copyFrom.getCheckpointSeconds())
+            .setCatchUpSpoolPages(copyFrom.getCatchUpSpoolPages());
     }
 
 
@@ -173,4 +201,257 @@ public class SettingsModelImpl implements ISettingsModel {
         this._importLanguages = newLanguagesToImport;
         return this;
     }
+
+
+    @Override
+    public double getMaxRequestsPerSecond() {
+        return this._maxRequestsPerSecond;
+    }
+
+
+    /**
+     * sets a new maximum rate of requests to the Smint.io platform and returns {@code this} for Fluent Interface.
+     *
+     * @param newMaxRequestsPerSecond the maximum number of requests per second or {@code 0} to disable the limit.
+     * @return {@code this}
+     */
+    public SettingsModelImpl setMaxRequestsPerSecond(final double newMaxRequestsPerSecond) {
+        this._maxRequestsPerSecond = newMaxRequestsPerSecond;
+        return this;
+    }
+
+
+    @Override
+    public int getMaxRequestBurst() {
+        return this._maxRequestBurst;
+    }
+
+
+    /**
+     * sets a new burst size of requests to the Smint.io platform and returns {@code this} for Fluent Interface.
+     *
+     * @param newMaxRequestBurst the number of requests that may be sent without delay.
+     * @return {@code this}
+     */
+    public SettingsModelImpl setMaxRequestBurst(final int newMaxRequestBurst) {
+        this._maxRequestBurst = newMaxRequestBurst;
+        return this;
+    }
+
+
+    @Override
+    public int getMaxAssetsInFlight() {
+        return this._maxAssetsInFlight;
+    }
+
+
+    /**
+     * sets a new maximum number of assets held in memory during sync and returns {@code this} for Fluent Interface.
+     *
+     * @param newMaxAssetsInFlight the maximum number of assets in flight or {@code 0} to process whole pages.
+     * @return {@code this}
+     */
+    public SettingsModelImpl setMaxAssetsInFlight(final int newMaxAssetsInFlight) {
+        this._maxAssetsInFlight = newMaxAssetsInFlight;
+        return this;
+    }
+
+
+    @Override
+    public int getSyncHeapBudgetMegabytes() {
+        return this._syncHeapBudgetMegabytes;
+    }
+
+
+    /**
+     * sets a new heap budget for synchronizing assets and returns {@code this} for Fluent Interface.
+     *
+     * @param newSyncHeapBudgetMegabytes the heap budget in megabytes or {@code 0} to disable the budget.
+     * @return {@code this}
+     */
+    public SettingsModelImpl setSyncHeapBudgetMegabytes(final int newSyncHeapBudgetMegabytes) {
+        this._syncHeapBudgetMegabytes = newSyncHeapBudgetMegabytes;
+        return this;
+    }
+
+
+    @Override
+    public int getAssetConversionParallelism() {
+        return this._assetConversionParallelism;
+    }
+
+
+    /**
+     * sets a new number of threads to convert assets with and returns {@code this} for Fluent Interface.
+     *
+     * @param newAssetConversionParallelism the number of threads or {@code 1} to convert sequentially.
+     * @return {@code this}
+     */
+    public SettingsModelImpl setAssetConversionParallelism(final int newAssetConversionParallelism) {
+        this._assetConversionParallelism = newAssetConversionParallelism;
+        return this;
+    }
+
+
+    @Override
+    public int getSyncStageTimeoutSeconds() {
+        return this._syncStageTimeoutSeconds;
+    }
+
+
+    /**
+     * sets a new time budget for each stage of a synchronization run and returns {@code this} for Fluent Interface.
+     *
+     * @param newSyncStageTimeoutSeconds the time budget in seconds or {@code 0} to disable the watchdog.
+     * @return {@code this}
+     */
+    public SettingsModelImpl setSyncStageTimeoutSeconds(final int newSyncStageTimeoutSeconds) {
+        this._syncStageTimeoutSeconds = newSyncStageTimeoutSeconds;
+        return this;
+    }
+
+
+    @Override
+    public int getMinPollIntervalSeconds() {
+        return this._minPollIntervalSeconds;
+    }
+
+
+    /**
+     * sets a new shortest interval of scheduled synchronization runs and returns {@code this} for Fluent Interface.
+     *
+     * @param newMinPollIntervalSeconds the interval in seconds used while push notifications are not available.
+     * @return {@code this}
+     */
+    public SettingsModelImpl setMinPollIntervalSeconds(final int newMinPollIntervalSeconds) {
+        this._minPollIntervalSeconds = newMinPollIntervalSeconds;
+        return this;
+    }
+
+
+    @Override
+    public int getMaxPollIntervalSeconds() {
+        return this._maxPollIntervalSeconds;
+    }
+
+
+    /**
+     * sets a new longest interval of scheduled synchronization runs and returns {@code this} for Fluent Interface.
+     *
+     * @param newMaxPollIntervalSeconds the interval in seconds polling backs off to while push notifications work.
+     * @return {@code this}
+     */
+    public SettingsModelImpl setMaxPollIntervalSeconds(final int newMaxPollIntervalSeconds) {
+        this._maxPollIntervalSeconds = newMaxPollIntervalSeconds;
+        return this;
+    }
+
+
+    @Override
+    public int getQuarantineRetrySeconds() {
+        return this._quarantineRetrySeconds;
+    }
+
+
+    /**
+     * sets a new time to wait before retrying a quarantined asset and returns {@code this} for Fluent Interface.
+     *
+     * @param newQuarantineRetrySeconds the time in seconds before the first retry, which doubles with each attempt.
+     * @return {@code this}
+     */
+    public SettingsModelImpl setQuarantineRetrySeconds(final int newQuarantineRetrySeconds) {
+        this._quarantineRetrySeconds = newQuarantineRetrySeconds;
+        return this;
+    }
+
+
+    @Override
+    public int getQuarantineMaxAttempts() {
+        return this._quarantineMaxAttempts;
+    }
+
+
+    /**
+     * sets a new number of attempts to synchronize an asset and returns {@code this} for Fluent Interface.
+     *
+     * @param newQuarantineMaxAttempts the number of attempts before giving up or {@code 0} to retry forever.
+     * @return {@code this}
+     */
+    public SettingsModelImpl setQuarantineMaxAttempts(final int newQuarantineMaxAttempts) {
+        this._quarantineMaxAttempts = newQuarantineMaxAttempts;
+        return this;
+    }
+
+
+    @Override
+    public int getMetadataCacheSeconds() {
+        return this._metadataCacheSeconds;
+    }
+
+
+    /**
+     * sets a new time to re-use fetched generic meta data and returns {@code this} for Fluent Interface.
+     *
+     * @param newMetadataCacheSeconds the time in seconds to re-use the generic meta data fetched from Smint.io.
+     * @return {@code this}
+     */
+    public SettingsModelImpl setMetadataCacheSeconds(final int newMetadataCacheSeconds) {
+        this._metadataCacheSeconds = newMetadataCacheSeconds;
+        return this;
+    }
+
+
+    @Override
+    public int getCheckpointPages() {
+        return this._checkpointPages;
+    }
+
+
+    /**
+     * sets a new number of pages, after which the continuation UUID is stored and returns {@code this} for Fluent
+     * Interface.
+     *
+     * @param newCheckpointPages the number of pages or {@code 0} to store by time only.
+     * @return {@code this}
+     */
+    public SettingsModelImpl setCheckpointPages(final int newCheckpointPages) {
+        this._checkpointPages = newCheckpointPages;
+        return this;
+    }
+
+
+    @Override
+    public int getCheckpointSeconds() {
+        return this._checkpointSeconds;
+    }
+
+
+    /**
+     * sets a new time, after which the continuation UUID is stored and returns {@code this} for Fluent Interface.
+     *
+     * @param newCheckpointSeconds the time in seconds or {@code 0} to store by number of pages only.
+     * @return {@code this}
+     */
+    public SettingsModelImpl setCheckpointSeconds(final int newCheckpointSeconds) {
+        this._checkpointSeconds = newCheckpointSeconds;
+        return this;
+    }
+
+
+    @Override
+    public int getCatchUpSpoolPages() {
+        return this._catchUpSpoolPages;
+    }
+
+
+    /**
+     * sets a new maximum number of pages to spool in catch-up mode and returns {@code this} for Fluent Interface.
+     *
+     * @param newCatchUpSpoolPages the number of pages or {@code 0} to disable catch-up mode.
+     * @return {@code this}
+     */
+    public SettingsModelImpl setCatchUpSpoolPages(final int newCatchUpSpoolPages) {
+        this._catchUpSpoolPages = newCatchUpSpoolPages;
+        return this;
+    }
 }
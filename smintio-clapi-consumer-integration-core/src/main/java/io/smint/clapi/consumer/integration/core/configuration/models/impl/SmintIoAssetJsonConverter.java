@@ -0,0 +1,118 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.configuration.models.impl;
+
+import java.lang.reflect.Type;
+
+import javax.inject.Inject;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonDeserializationContext;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonSerializationContext;
+import com.google.gson.JsonSerializer;
+
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoAsset;
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoBinary;
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoDownloadConstraints;
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoLicenseTerm;
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoReleaseDetails;
+import io.smint.clapi.consumer.integration.core.contracts.impl.SmintIoAssetImpl;
+import io.smint.clapi.consumer.integration.core.contracts.impl.SmintIoBinaryImpl;
+import io.smint.clapi.consumer.integration.core.contracts.impl.SmintIoDownloadConstraintsImpl;
+import io.smint.clapi.consumer.integration.core.contracts.impl.SmintIoLicenseTermImpl;
+import io.smint.clapi.consumer.integration.core.contracts.impl.SmintIoReleaseDetailsImpl;
+import io.smint.clapi.consumer.integration.core.factory.impl.SmintIoGsonProvider;
+
+
+/**
+ * Convert {@link ISmintIoAsset} to and from {@link java.lang.String} in JSON format.
+ *
+ * <p>
+ * The assets are restored with the implementations of the Smint.io data interfaces, eg: {@link SmintIoAssetImpl}.
+ * </p>
+ */
+public class SmintIoAssetJsonConverter extends ModelDataJsonConverter<ISmintIoAsset, SmintIoAssetImpl> {
+
+    public SmintIoAssetJsonConverter() {
+        this(new SmintIoGsonProvider().get());
+    }
+
+
+    @Inject
+    public SmintIoAssetJsonConverter(final Gson gson) {
+        super(registerTypeAdapters(gson.newBuilder()).create());
+        this.setClassOfModel(SmintIoAssetImpl.class);
+    }
+
+
+    /**
+     * Registers the implementations of all Smint.io data interfaces of an asset with the builder.
+     *
+     * @param builder the builder to register the type adapters with.
+     * @return the {@code builder}.
+     */
+    static GsonBuilder registerTypeAdapters(final GsonBuilder builder) {
+        return builder
+            .registerTypeAdapter(ISmintIoAsset.class, implementedBy(SmintIoAssetImpl.class))
+            .registerTypeAdapter(ISmintIoBinary.class, implementedBy(SmintIoBinaryImpl.class))
+            .registerTypeAdapter(ISmintIoLicenseTerm.class, implementedBy(SmintIoLicenseTermImpl.class))
+            .registerTypeAdapter(ISmintIoReleaseDetails.class, implementedBy(SmintIoReleaseDetailsImpl.class))
+            .registerTypeAdapter(
+                ISmintIoDownloadConstraints.class,
+                implementedBy(SmintIoDownloadConstraintsImpl.class)
+            );
+    }
+
+
+    private static <T> Object implementedBy(final Class<? extends T> implementation) {
+        return new InterfaceAdapter<T>(implementation);
+    }
+
+
+    /**
+     * Reads an interface with its implementation and writes it with its actual class, as Gson only knows its fields.
+     *
+     * @param <T> the interface.
+     */
+    private static final class InterfaceAdapter<T> implements JsonSerializer<T>, JsonDeserializer<T> {
+
+        private final Class<? extends T> _implementation;
+
+
+        InterfaceAdapter(final Class<? extends T> implementation) {
+            this._implementation = implementation;
+        }
+
+
+        @Override
+        public JsonElement serialize(final T src, final Type typeOfSrc, final JsonSerializationContext context) {
+            return context.serialize(src, src.getClass());
+        }
+
+
+        @Override
+        public T deserialize(final JsonElement json, final Type typeOfT, final JsonDeserializationContext context) {
+            return context.deserialize(json, this._implementation);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.configuration.models.impl;
+
+import javax.inject.Inject;
+
+import com.google.gson.Gson;
+
+import io.smint.clapi.consumer.integration.core.configuration.models.ISyncQuarantineModel;
+
+
+/**
+ * Convert {@link ISyncQuarantineModel} to and from {@link java.lang.String} in JSON format.
+ *
+ * <p>
+ * The POJO class {@link SyncQuarantineModelImpl} is used to hold the data in memory. The quarantined assets are
+ * restored with the implementations of the Smint.io data interfaces, eg:
+ * {@link io.smint.clapi.consumer.integration.core.contracts.impl.SmintIoAssetImpl} (see
+ * {@link SmintIoAssetJsonConverter}).
+ * </p>
+ */
+public class SyncQuarantineJsonConverter
+    extends ModelDataJsonConverter<ISyncQuarantineModel, SyncQuarantineModelImpl> {
+
+    @Inject
+    public SyncQuarantineJsonConverter(final Gson gson) {
+        super(SmintIoAssetJsonConverter.registerTypeAdapters(gson.newBuilder()).create());
+        this.setClassOfModel(SyncQuarantineModelImpl.class);
+    }
+}
@@ -0,0 +1,41 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.configuration.models.impl;
+
+import io.smint.clapi.consumer.integration.core.configuration.models.ISyncQuarantineModel;
+
+
+/**
+ * POJO to hold all quarantined assets and to be serialized to JSON and read from it.
+ */
+public class SyncQuarantineModelImpl implements ISyncQuarantineModel {
+
+    private QuarantinedAssetModelImpl[] quarantinedAssets = null;
+
+    @Override
+    public QuarantinedAssetModelImpl[] getQuarantinedAssets() {
+        return this.quarantinedAssets;
+    }
+
+    public SyncQuarantineModelImpl setQuarantinedAssets(final QuarantinedAssetModelImpl[] quarantinedAssets) {
+        this.quarantinedAssets = quarantinedAssets;
+        return this;
+    }
+}
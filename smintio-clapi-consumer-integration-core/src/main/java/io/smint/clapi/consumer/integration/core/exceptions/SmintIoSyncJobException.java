@@ -42,7 +42,22 @@ public class SmintIoSyncJobException extends RuntimeException {
         /**
          * A generic, unknown error occurred.
          */
-        Generic
+        Generic,
+
+        /**
+         * The synchronization has been cancelled on request, eg: because synchronization has been stopped.
+         */
+        Cancelled,
+
+        /**
+         * A stage of the synchronization exceeded its time budget and has been aborted by the watchdog.
+         */
+        Stalled,
+
+        /**
+         * An asset refers to a meta data key, that is not known to the sync target.
+         */
+        UnknownMetadata
     }
 
 
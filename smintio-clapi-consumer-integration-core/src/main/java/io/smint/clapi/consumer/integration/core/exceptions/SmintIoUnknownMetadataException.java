@@ -0,0 +1,78 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.exceptions;
+
+import io.smint.clapi.consumer.integration.core.jobs.SyncMetadataCategoryEnum;
+
+
+/**
+ * Thrown if an asset refers to a meta data key, for which no sync target ID is available.
+ *
+ * <p>
+ * Usually this happens if new meta data has been added to Smint.io since the last synchronization of the generic meta
+ * data. The category and key are available, so only the affected category needs to be synchronized again.
+ * </p>
+ */
+public class SmintIoUnknownMetadataException extends SmintIoSyncJobException {
+
+    private static final long serialVersionUID = 4967418346027381559L;
+
+
+    private final SyncMetadataCategoryEnum _category;
+    private final String _smintIoKey;
+
+
+    /**
+     * Create a new exception for an unknown meta data key.
+     *
+     * @param category   the category of the meta data.
+     * @param smintIoKey the Smint.io key, that is unknown.
+     * @param message    the exception message.
+     */
+    public SmintIoUnknownMetadataException(
+        final SyncMetadataCategoryEnum category,
+        final String smintIoKey,
+        final String message
+    ) {
+        super(SyncJobError.UnknownMetadata, message);
+        this._category = category;
+        this._smintIoKey = smintIoKey;
+    }
+
+
+    /**
+     * Provides the category of the unknown meta data key.
+     *
+     * @return the category.
+     */
+    public SyncMetadataCategoryEnum getCategory() {
+        return this._category;
+    }
+
+
+    /**
+     * Provides the Smint.io key, that is unknown to the sync target.
+     *
+     * @return the Smint.io key.
+     */
+    public String getSmintIoKey() {
+        return this._smintIoKey;
+    }
+}
@@ -19,8 +19,10 @@
 
 package io.smint.clapi.consumer.integration.core.factory;
 
+import io.smint.clapi.consumer.integration.core.jobs.ISyncAssetPublisher;
 import io.smint.clapi.consumer.integration.core.jobs.ISyncJob;
 import io.smint.clapi.consumer.integration.core.jobs.ISyncJobExecutionQueue;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncJobSupervisor;
 import io.smint.clapi.consumer.integration.core.services.IPlatformScheduler;
 import io.smint.clapi.consumer.integration.core.services.IPushNotificationService;
 
@@ -80,4 +82,20 @@ public interface ISmintIoSyncFactory {
      * @return {@code null} if no execution queue is available.
      */
     ISyncJobExecutionQueue getJobExecutionQueue();
+
+
+    /**
+     * Provides the publisher to stream assets with, as an alternative to synchronizing with a sync target.
+     *
+     * @return the publisher of the assets of the tenant, which is the same on each call.
+     */
+    ISyncAssetPublisher getAssetPublisher();
+
+
+    /**
+     * Provides the supervisor of all synchronization runs, which is used to cancel the current run.
+     *
+     * @return {@code null} if no supervisor is available.
+     */
+    ISyncJobSupervisor getJobSupervisor();
 }
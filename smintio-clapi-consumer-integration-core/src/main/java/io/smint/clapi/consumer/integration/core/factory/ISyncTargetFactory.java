@@ -21,6 +21,7 @@ package io.smint.clapi.consumer.integration.core.factory;
 
 import io.smint.clapi.consumer.integration.core.configuration.IAuthTokenStorage;
 import io.smint.clapi.consumer.integration.core.configuration.ISyncJobDataStorage;
+import io.smint.clapi.consumer.integration.core.configuration.ISyncQuarantineStorage;
 import io.smint.clapi.consumer.integration.core.configuration.models.ISettingsModel;
 import io.smint.clapi.consumer.integration.core.target.ISyncTarget;
 import io.smint.clapi.consumer.integration.core.target.ISyncTargetDataFactory;
@@ -89,6 +90,22 @@ public interface ISyncTargetFactory {
     ISyncJobDataStorage getJobDataStorage();
 
 
+    /**
+     * Creates a storage for the assets, that failed to be synchronized and are retried later on.
+     *
+     * <p>
+     * If this function returns {@code null}, then an in-memory storage is used as default. Hence failed assets are only
+     * retried as long as the sync jobs are running. If a failed asset is not updated on Smint.io afterwards, it will
+     * not be synchronized after a restart.
+     * </p>
+     *
+     * @return the same storage on each request or {@code null}.
+     */
+    default ISyncQuarantineStorage getQuarantineStorage() {
+        return null;
+    }
+
+
     /**
      * Get the factory to create sync target (DAM) specific data instances.
      *
@@ -25,6 +25,7 @@ import javax.inject.Singleton;
 
 import io.smint.clapi.consumer.integration.core.configuration.IAuthTokenStorage;
 import io.smint.clapi.consumer.integration.core.configuration.ISyncJobDataStorage;
+import io.smint.clapi.consumer.integration.core.configuration.ISyncQuarantineStorage;
 import io.smint.clapi.consumer.integration.core.configuration.models.ISettingsModel;
 import io.smint.clapi.consumer.integration.core.factory.ISyncTargetFactory;
 import io.smint.clapi.consumer.integration.core.target.ISyncTarget;
@@ -63,6 +64,7 @@ public class DefaultSyncTargetFactory implements ISyncTargetFactory {
 
     private IAuthTokenStorage _authTokenProvider;
     private ISyncJobDataStorage _jobDataStorage;
+    private ISyncQuarantineStorage _quarantineStorage;
     private ISyncTargetDataFactory _dataFactory;
     private Provider<ISettingsModel> _settingsProvider;
     private Provider<ISyncTarget> _syncTargetProvider;
@@ -134,6 +136,12 @@ public class DefaultSyncTargetFactory implements ISyncTargetFactory {
     }
 
 
+    @Override
+    public ISyncQuarantineStorage getQuarantineStorage() {
+        return this._quarantineStorage;
+    }
+
+
     @Override
     public ISyncTargetDataFactory getTargetDataFactory() {
         return this._dataFactory;
@@ -152,6 +160,12 @@ public class DefaultSyncTargetFactory implements ISyncTargetFactory {
     }
 
 
+    public DefaultSyncTargetFactory setQuarantineStorage(final ISyncQuarantineStorage quarantineStorage) {
+        this._quarantineStorage = quarantineStorage;
+        return this;
+    }
+
+
     public DefaultSyncTargetFactory setDataFactory(final ISyncTargetDataFactory dataFactory) {
         this._dataFactory = dataFactory;
         return this;
@@ -23,6 +23,7 @@ import java.io.File;
 import java.net.URL;
 import java.util.Objects;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Provider;
 
@@ -30,7 +31,10 @@ import okhttp3.OkHttpClient;
 
 import io.smint.clapi.consumer.integration.core.configuration.IAuthTokenStorage;
 import io.smint.clapi.consumer.integration.core.factory.ISmintIoDownloadProvider;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncJobSupervisor;
 import io.smint.clapi.consumer.integration.core.jobs.impl.BinaryAssetDownloader;
+import io.smint.clapi.consumer.integration.core.services.IConcurrencyLimiter;
+import io.smint.clapi.consumer.integration.core.services.IRateLimiter;
 
 
 /**
@@ -39,16 +43,48 @@ import io.smint.clapi.consumer.integration.core.jobs.impl.BinaryAssetDownloader;
  * <p>
  * The downloader uses the OAuth 2 data from {@code IAuthTokenStorage} to authorize the download with Smint.io.
  * </p>
+ *
+ * <p>
+ * Downloads use a client derived from the injected {@link OkHttpClient} with a longer read timeout (see
+ * {@link SmintIoHttpClientProvider#getDownloadClient(OkHttpClient)}), sharing its connection pool. If a supervisor
+ * of synchronization runs is available, all downloads are aborted as soon as the current run is cancelled and the
+ * downloaded bytes are recorded with the report of the current run.
+ * </p>
  */
 public class SmintIoDownloadProviderImpl implements ISmintIoDownloadProvider {
 
     private final OkHttpClient _httpClient;
     private final IAuthTokenStorage _authTokenStorage;
+    private final IRateLimiter _rateLimiter;
+    private final IConcurrencyLimiter _downloadLimiter;
+    private final ISyncJobSupervisor _jobSupervisor;
+
+    public SmintIoDownloadProviderImpl(
+        final IAuthTokenStorage authTokenStorage,
+        final OkHttpClient httpClient,
+        final IRateLimiter rateLimiter
+    ) {
+        this(authTokenStorage, httpClient, rateLimiter, null);
+    }
+
+
+    public SmintIoDownloadProviderImpl(
+        final IAuthTokenStorage authTokenStorage,
+        final OkHttpClient httpClient,
+        final IRateLimiter rateLimiter,
+        final IConcurrencyLimiter downloadLimiter
+    ) {
+        this(authTokenStorage, httpClient, rateLimiter, downloadLimiter, null);
+    }
+
 
     @Inject
     public SmintIoDownloadProviderImpl(
         final IAuthTokenStorage authTokenStorage,
-        final OkHttpClient httpClient
+        final OkHttpClient httpClient,
+        final IRateLimiter rateLimiter,
+        final IConcurrencyLimiter downloadLimiter,
+        @Nullable final ISyncJobSupervisor jobSupervisor
     ) {
         this._authTokenStorage = authTokenStorage;
 
@@ -58,12 +94,25 @@ public class SmintIoDownloadProviderImpl implements ISmintIoDownloadProvider {
             "No Smint.io authentication data available from authentication storage!"
         );
 
-        this._httpClient = httpClient;
+        this._httpClient = SmintIoHttpClientProvider.getCancellableClient(
+            SmintIoHttpClientProvider.getDownloadClient(httpClient), jobSupervisor
+        );
+        this._rateLimiter = rateLimiter;
+        this._downloadLimiter = downloadLimiter;
+        this._jobSupervisor = jobSupervisor;
     }
 
 
     @Override
     public Provider<File> createDownloaderForSmintIoUrl(final URL downloadFileUrl, final File targetFile) {
-        return new BinaryAssetDownloader(this._authTokenStorage, this._httpClient, downloadFileUrl, targetFile);
+        return new BinaryAssetDownloader(
+            this._authTokenStorage, this._httpClient, this._rateLimiter, downloadFileUrl, targetFile
+        )
+            .setDownloadLimiter(this._downloadLimiter)
+            .setDownloadedBytesConsumer(
+                this._jobSupervisor != null
+                    ? (bytes) -> this._jobSupervisor.getCurrentRecorder().recordDownloadedBytes(bytes)
+                    : null
+            );
     }
 }
@@ -0,0 +1,301 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.factory.impl;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Provider;
+
+import okhttp3.Call;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+import io.smint.clapi.consumer.integration.core.jobs.ICancellationToken;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncJobSupervisor;
+
+
+/**
+ * Provides the centrally configured {@link OkHttpClient}, that is shared by all requests to the Smint.io platform.
+ *
+ * <p>
+ * An {@link OkHttpClient} holds its own connection pool and thread pool for asynchronous calls. Creating more than a
+ * single instance prevents connections from being re-used across requests, which imposes a significant latency on
+ * every request due to TCP and TLS handshakes. Hence all parts of this library share the same instance, that is
+ * provided by {@link #get()}: the Smint.io API client, the authenticator and the downloader of asset binaries.
+ * </p>
+ *
+ * <p>
+ * The shared client is configured with:
+ * </p>
+ * <ul>
+ * <li>a connection pool of {@link #CONNECTION_POOL_MAX_IDLE} idle connections, that are kept alive for
+ * {@link #CONNECTION_KEEP_ALIVE_SECONDS} seconds,</li>
+ * <li>a dispatcher allowing {@link #DISPATCHER_MAX_REQUESTS} concurrent requests in total and
+ * {@link #DISPATCHER_MAX_REQUESTS_PER_HOST} per host,</li>
+ * <li>HTTP/2 with fallback to HTTP/1.1,</li>
+ * <li>transparent gzip compression, as provided by OkHttp as long as no {@code Accept-Encoding} header is set
+ * manually,</li>
+ * <li>a read timeout of {@link #API_READ_TIMEOUT_SECONDS} seconds, suitable for Smint.io API calls.</li>
+ * </ul>
+ *
+ * <p>
+ * Downloading large binaries may take much longer between two received network packages. So a separate client is
+ * provided for downloads with {@link #getDownloadClient(OkHttpClient)}, that uses a longer read timeout of
+ * {@link #DOWNLOAD_READ_TIMEOUT_SECONDS} seconds. It is derived from the API client with
+ * {@link OkHttpClient#newBuilder()} and therefore shares the connection pool and dispatcher.
+ * </p>
+ *
+ * <p>
+ * Calls made on behalf of a synchronization run need to be aborted as soon as the run is cancelled. Hence clients
+ * derived with {@link #getCancellableClient(OkHttpClient, ISyncJobSupervisor)} cancel all calls in flight with the
+ * cancellation token of the current run.
+ * </p>
+ */
+public class SmintIoHttpClientProvider implements Provider<OkHttpClient> {
+
+    /**
+     * The maximum number of idle connections kept in the connection pool.
+     *
+     * <pre>
+     * {@code CONNECTION_POOL_MAX_IDLE} = {@value #CONNECTION_POOL_MAX_IDLE}
+     * </pre>
+     */
+    public static final int CONNECTION_POOL_MAX_IDLE = 16;
+
+
+    /**
+     * The time in seconds an idle connection is kept alive in the connection pool.
+     *
+     * <pre>
+     * {@code CONNECTION_KEEP_ALIVE_SECONDS} = {@value #CONNECTION_KEEP_ALIVE_SECONDS}
+     * </pre>
+     */
+    public static final long CONNECTION_KEEP_ALIVE_SECONDS = 300;
+
+
+    /**
+     * The maximum number of asynchronous requests executed concurrently.
+     *
+     * <pre>
+     * {@code DISPATCHER_MAX_REQUESTS} = {@value #DISPATCHER_MAX_REQUESTS}
+     * </pre>
+     */
+    public static final int DISPATCHER_MAX_REQUESTS = 64;
+
+
+    /**
+     * The maximum number of asynchronous requests executed concurrently to a single host.
+     *
+     * <pre>
+     * {@code DISPATCHER_MAX_REQUESTS_PER_HOST} = {@value #DISPATCHER_MAX_REQUESTS_PER_HOST}
+     * </pre>
+     */
+    public static final int DISPATCHER_MAX_REQUESTS_PER_HOST = 16;
+
+
+    /**
+     * The timeout in seconds to establish a new connection.
+     *
+     * <pre>
+     * {@code CONNECT_TIMEOUT_SECONDS} = {@value #CONNECT_TIMEOUT_SECONDS}
+     * </pre>
+     */
+    public static final long CONNECT_TIMEOUT_SECONDS = 15;
+
+
+    /**
+     * The read timeout in seconds for calls to the Smint.io API.
+     *
+     * <pre>
+     * {@code API_READ_TIMEOUT_SECONDS} = {@value #API_READ_TIMEOUT_SECONDS}
+     * </pre>
+     */
+    public static final long API_READ_TIMEOUT_SECONDS = 30;
+
+
+    /**
+     * The read timeout in seconds for downloading asset binaries.
+     *
+     * <pre>
+     * {@code DOWNLOAD_READ_TIMEOUT_SECONDS} = {@value #DOWNLOAD_READ_TIMEOUT_SECONDS}
+     * </pre>
+     */
+    public static final long DOWNLOAD_READ_TIMEOUT_SECONDS = 300;
+
+
+    private static OkHttpClient sharedClient;
+    private static OkHttpClient sharedDownloadClient;
+
+
+    /**
+     * Provides the shared HTTP client for Smint.io API calls.
+     *
+     * @return the same instance on every call - never {@code null}.
+     */
+    @Override
+    public OkHttpClient get() {
+        return getSharedClient();
+    }
+
+
+    /**
+     * Provides the shared HTTP client for Smint.io API calls, creating it on first call.
+     *
+     * @return the same instance on every call - never {@code null}.
+     */
+    public static synchronized OkHttpClient getSharedClient() {
+
+        if (sharedClient == null) {
+
+            final Dispatcher dispatcher = new Dispatcher();
+            dispatcher.setMaxRequests(DISPATCHER_MAX_REQUESTS);
+            dispatcher.setMaxRequestsPerHost(DISPATCHER_MAX_REQUESTS_PER_HOST);
+
+            sharedClient = new OkHttpClient.Builder()
+                .connectionPool(
+                    new ConnectionPool(CONNECTION_POOL_MAX_IDLE, CONNECTION_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS)
+                )
+                .dispatcher(dispatcher)
+                .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectTimeout(CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .readTimeout(API_READ_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .retryOnConnectionFailure(true)
+                .build();
+        }
+
+        return sharedClient;
+    }
+
+
+    /**
+     * Provides the shared HTTP client for downloading asset binaries, derived from {@link #getSharedClient()}.
+     *
+     * @return the same instance on every call - never {@code null}.
+     */
+    public static synchronized OkHttpClient getSharedDownloadClient() {
+
+        if (sharedDownloadClient == null) {
+            sharedDownloadClient = deriveDownloadClient(getSharedClient());
+        }
+
+        return sharedDownloadClient;
+    }
+
+
+    /**
+     * Derives a client for downloading asset binaries from an API client.
+     *
+     * <p>
+     * The derived client shares connection pool and dispatcher with {@code apiClient} but uses a longer read timeout
+     * of {@link #DOWNLOAD_READ_TIMEOUT_SECONDS}.
+     * </p>
+     *
+     * @param apiClient the client to derive from. If {@code null} or the shared client, the shared download client is
+     *                  returned.
+     * @return a client for downloads - never {@code null}.
+     */
+    public static synchronized OkHttpClient getDownloadClient(final OkHttpClient apiClient) {
+
+        if (apiClient == null || apiClient == sharedClient) {
+            return getSharedDownloadClient();
+        }
+
+        return deriveDownloadClient(apiClient);
+    }
+
+
+    private static OkHttpClient deriveDownloadClient(final OkHttpClient apiClient) {
+        return apiClient.newBuilder()
+            .readTimeout(DOWNLOAD_READ_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+            .build();
+    }
+
+
+    /**
+     * Derives a client, whose calls are cancelled as soon as the current synchronization run is cancelled.
+     *
+     * <p>
+     * The derived client shares connection pool and dispatcher with {@code client}. Each call registers itself with
+     * the cancellation token of the run, that is current when the call starts, and removes itself when the call ends.
+     * </p>
+     *
+     * @param client     the client to derive from. If {@code null}, the shared client is used.
+     * @param supervisor the supervisor providing the cancellation token of the current run. If {@code null}, the
+     *                   {@code client} is returned without modification.
+     * @return a client - never {@code null}.
+     */
+    public static OkHttpClient getCancellableClient(final OkHttpClient client, final ISyncJobSupervisor supervisor) {
+
+        final OkHttpClient baseClient = client != null ? client : getSharedClient();
+        if (supervisor == null) {
+            return baseClient;
+        }
+
+        return baseClient.newBuilder()
+            .eventListenerFactory((call) -> new CancellingEventListener(supervisor))
+            .build();
+    }
+
+
+    /**
+     * Cancels a single call when the cancellation token of the run is cancelled.
+     */
+    private static final class CancellingEventListener extends EventListener {
+
+        private final ISyncJobSupervisor _supervisor;
+        private ICancellationToken.Registration _registration;
+
+
+        CancellingEventListener(final ISyncJobSupervisor supervisor) {
+            this._supervisor = supervisor;
+        }
+
+
+        @Override
+        public void callStart(final Call call) {
+            this._registration = this._supervisor.getCurrentToken().onCancel(call::cancel);
+        }
+
+
+        @Override
+        public void callEnd(final Call call) {
+            this.unregister();
+        }
+
+
+        @Override
+        public void callFailed(final Call call, final IOException ioe) {
+            this.unregister();
+        }
+
+
+        private void unregister() {
+            if (this._registration != null) {
+                this._registration.close();
+                this._registration = null;
+            }
+        }
+    }
+}
@@ -25,8 +25,10 @@ import javax.inject.Singleton;
 
 import io.smint.clapi.consumer.integration.core.factory.ISmintIoSyncFactory;
 import io.smint.clapi.consumer.integration.core.factory.ISyncTargetFactory;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncAssetPublisher;
 import io.smint.clapi.consumer.integration.core.jobs.ISyncJob;
 import io.smint.clapi.consumer.integration.core.jobs.ISyncJobExecutionQueue;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncJobSupervisor;
 import io.smint.clapi.consumer.integration.core.services.IPlatformScheduler;
 import io.smint.clapi.consumer.integration.core.services.IPushNotificationService;
 
@@ -50,21 +52,58 @@ public class SmintIoSyncFactoryFromDI implements ISmintIoSyncFactory {
     private final IPlatformScheduler _scheduler;
     private final IPushNotificationService _notificationService;
     private final ISyncJobExecutionQueue _jobExecutionQueue;
+    private final Provider<ISyncAssetPublisher> _assetPublisherProvider;
+    private final ISyncJobSupervisor _jobSupervisor;
 
     // CHECKSTYLE OFF: ParameterNumber
-    @Inject
     public SmintIoSyncFactoryFromDI(
         final ISyncTargetFactory syncTargetFactory,
         final Provider<ISyncJob> jobProvider,
         final IPlatformScheduler platformScheduler,
         final IPushNotificationService notificationService,
         final ISyncJobExecutionQueue jobExecutionQueue
+    ) {
+        this(syncTargetFactory, jobProvider, platformScheduler, notificationService, jobExecutionQueue, null);
+    }
+
+
+    public SmintIoSyncFactoryFromDI(
+        final ISyncTargetFactory syncTargetFactory,
+        final Provider<ISyncJob> jobProvider,
+        final IPlatformScheduler platformScheduler,
+        final IPushNotificationService notificationService,
+        final ISyncJobExecutionQueue jobExecutionQueue,
+        final Provider<ISyncAssetPublisher> assetPublisherProvider
+    ) {
+        this(
+            syncTargetFactory,
+            jobProvider,
+            platformScheduler,
+            notificationService,
+            jobExecutionQueue,
+            assetPublisherProvider,
+            null
+        );
+    }
+
+
+    @Inject
+    public SmintIoSyncFactoryFromDI(
+        final ISyncTargetFactory syncTargetFactory,
+        final Provider<ISyncJob> jobProvider,
+        final IPlatformScheduler platformScheduler,
+        final IPushNotificationService notificationService,
+        final ISyncJobExecutionQueue jobExecutionQueue,
+        final Provider<ISyncAssetPublisher> assetPublisherProvider,
+        final ISyncJobSupervisor jobSupervisor
     ) {
         this._syncTargetFactory = syncTargetFactory;
         this._jobProvider = jobProvider;
         this._scheduler = platformScheduler;
         this._notificationService = notificationService;
         this._jobExecutionQueue = jobExecutionQueue;
+        this._assetPublisherProvider = assetPublisherProvider;
+        this._jobSupervisor = jobSupervisor;
     }
     // CHECKSTYLE ON: ParameterNumber
 
@@ -97,4 +136,16 @@ public class SmintIoSyncFactoryFromDI implements ISmintIoSyncFactory {
         return this._jobExecutionQueue;
     }
 
+
+    @Override
+    public ISyncAssetPublisher getAssetPublisher() {
+        return this._assetPublisherProvider != null ? this._assetPublisherProvider.get() : null;
+    }
+
+
+    @Override
+    public ISyncJobSupervisor getJobSupervisor() {
+        return this._jobSupervisor;
+    }
+
 }
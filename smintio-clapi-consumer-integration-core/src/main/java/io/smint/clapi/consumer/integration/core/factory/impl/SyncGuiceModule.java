@@ -25,7 +25,10 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.ServiceLoader;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 
+import javax.annotation.Nullable;
 import javax.inject.Singleton;
 
 import com.google.gson.Gson;
@@ -41,7 +44,9 @@ import io.smint.clapi.consumer.integration.core.authenticator.impl.AuthTokenRefr
 import io.smint.clapi.consumer.integration.core.authenticator.impl.SmintIoAuthenticatorImpl;
 import io.smint.clapi.consumer.integration.core.configuration.IAuthTokenStorage;
 import io.smint.clapi.consumer.integration.core.configuration.ISyncJobDataStorage;
+import io.smint.clapi.consumer.integration.core.configuration.ISyncQuarantineStorage;
 import io.smint.clapi.consumer.integration.core.configuration.impl.SyncJobDataMemoryStorage;
+import io.smint.clapi.consumer.integration.core.configuration.impl.SyncQuarantineMemoryStorage;
 import io.smint.clapi.consumer.integration.core.configuration.models.ISettingsModel;
 import io.smint.clapi.consumer.integration.core.configuration.models.impl.SettingsModelImpl;
 import io.smint.clapi.consumer.integration.core.exceptions.SmintIoAuthenticatorException;
@@ -49,19 +54,29 @@ import io.smint.clapi.consumer.integration.core.exceptions.SmintIoAuthenticatorE
 import io.smint.clapi.consumer.integration.core.factory.ISmintIoDownloadProvider;
 import io.smint.clapi.consumer.integration.core.factory.ISmintIoSyncFactory;
 import io.smint.clapi.consumer.integration.core.factory.ISyncTargetFactory;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncAssetPublisher;
 import io.smint.clapi.consumer.integration.core.jobs.ISyncJob;
 import io.smint.clapi.consumer.integration.core.jobs.ISyncJobExecutionQueue;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncJobSupervisor;
 import io.smint.clapi.consumer.integration.core.jobs.ISyncMetadataIdMapper;
 import io.smint.clapi.consumer.integration.core.jobs.impl.DefaultSyncJob;
 import io.smint.clapi.consumer.integration.core.jobs.impl.DefaultSyncMetadataIdMapperImpl;
+import io.smint.clapi.consumer.integration.core.jobs.impl.SyncAssetPublisher;
 import io.smint.clapi.consumer.integration.core.jobs.impl.SyncJobExecutionQueueImpl;
+import io.smint.clapi.consumer.integration.core.jobs.impl.SyncJobSupervisorImpl;
 import io.smint.clapi.consumer.integration.core.providers.ISmintIoApiClient;
+import io.smint.clapi.consumer.integration.core.providers.ISmintIoAsyncApiClient;
 import io.smint.clapi.consumer.integration.core.providers.impl.SmintIoApiClientImpl;
+import io.smint.clapi.consumer.integration.core.services.IConcurrencyLimiter;
 import io.smint.clapi.consumer.integration.core.services.IPlatformScheduler;
 import io.smint.clapi.consumer.integration.core.services.IPlatformSchedulerProvider;
 import io.smint.clapi.consumer.integration.core.services.IPushNotificationService;
+import io.smint.clapi.consumer.integration.core.services.IRateLimiter;
+import io.smint.clapi.consumer.integration.core.services.impl.ConcurrencyLimiter;
 import io.smint.clapi.consumer.integration.core.services.impl.NativeThreadPoolScheduler;
 import io.smint.clapi.consumer.integration.core.services.impl.PusherService;
+import io.smint.clapi.consumer.integration.core.services.impl.SharedPusherConnection;
+import io.smint.clapi.consumer.integration.core.services.impl.TokenBucketRateLimiter;
 import io.smint.clapi.consumer.integration.core.target.ISyncTarget;
 import io.smint.clapi.consumer.integration.core.target.ISyncTargetDataFactory;
 
@@ -75,6 +90,12 @@ public class SyncGuiceModule extends AbstractModule {
     private IPlatformScheduler _scheduler;
     private OkHttpClient _httpClient;
     private ISyncJobDataStorage _jobStorage;
+    private ISyncQuarantineStorage _quarantineStorage;
+    private IRateLimiter _rateLimiter;
+    private ForkJoinPool _assetConversionPool;
+    private final boolean _isAssetConversionPoolShared;
+    private IConcurrencyLimiter _downloadLimiter;
+    private SharedPusherConnection _pushConnection;
 
 
     /**
@@ -83,7 +104,35 @@ public class SyncGuiceModule extends AbstractModule {
      * @param syncTargetFactory the custom sync target factory.
      */
     public SyncGuiceModule(final ISyncTargetFactory syncTargetFactory) {
+        this(syncTargetFactory, null, null, null);
+    }
+
+
+    /**
+     * Creates a new Google's Guice configuration module using resources shared with other tenants.
+     *
+     * <p>
+     * All shared resources are optional. In case any of them is {@code null}, a private instance is created on demand
+     * as if the module had been created with {@link #SyncGuiceModule(ISyncTargetFactory)}. Everything related to the
+     * tenant, like authorization, job data, rate limits and the push notifications, is never shared.
+     * </p>
+     *
+     * @param syncTargetFactory   the custom sync target factory.
+     * @param httpClient          the shared HTTP client or {@code null}.
+     * @param scheduler           the shared scheduler or {@code null}.
+     * @param assetConversionPool the shared pool to convert assets with or {@code null}.
+     */
+    public SyncGuiceModule(
+        final ISyncTargetFactory syncTargetFactory,
+        final OkHttpClient httpClient,
+        final IPlatformScheduler scheduler,
+        final ForkJoinPool assetConversionPool
+    ) {
         this._syncTargetFactory = syncTargetFactory;
+        this._httpClient = httpClient;
+        this._scheduler = scheduler;
+        this._assetConversionPool = assetConversionPool;
+        this._isAssetConversionPoolShared = assetConversionPool != null;
 
         Objects.requireNonNull(syncTargetFactory, "Invalid SyncTarget factory has been provided.");
         Objects.requireNonNull(
@@ -100,9 +149,43 @@ public class SyncGuiceModule extends AbstractModule {
      * @return a new injector - never {@code null}
      */
     public static ISmintIoSyncFactory createSmintIoSyncFactory(final ISyncTargetFactory syncTargetFactory) {
-        return Guice.createInjector(
-            new SyncGuiceModule(syncTargetFactory)
-        ).getInstance(ISmintIoSyncFactory.class);
+        return createSmintIoSyncFactory(new SyncGuiceModule(syncTargetFactory));
+    }
+
+
+    /**
+     * Create a new Google's Guice injector that makes use of the provided module.
+     *
+     * @param module the module to configure the injector with. Must not be {@code null}.
+     * @return a new injector - never {@code null}
+     */
+    public static ISmintIoSyncFactory createSmintIoSyncFactory(final SyncGuiceModule module) {
+        Objects.requireNonNull(module, "Invalid Guice module has been provided.");
+        return Guice.createInjector(module).getInstance(ISmintIoSyncFactory.class);
+    }
+
+
+    /**
+     * Create a new pool of threads to convert assets in parallel.
+     *
+     * <p>
+     * Threads are named {@code smint.io-asset-conversion-N} and are only started on demand.
+     * </p>
+     *
+     * @param parallelism the maximum number of threads. Values lower than {@code 1} are treated as {@code 1}.
+     * @return a new pool - never {@code null}
+     */
+    public static ForkJoinPool createAssetConversionPool(final int parallelism) {
+        return new ForkJoinPool(
+            Math.max(1, parallelism),
+            (pool) -> {
+                final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("smint.io-asset-conversion-" + thread.getPoolIndex());
+                return thread;
+            },
+            null,
+            false
+        );
     }
 
 
@@ -141,20 +224,191 @@ public class SyncGuiceModule extends AbstractModule {
     }
 
 
+    /**
+     * Returns the quarantine storage as fetched from
+     * {@link #getSyncTargetFactory()}{@code .}{@link ISyncTargetFactory#getQuarantineStorage()}
+     *
+     * <p>
+     * In case the sync target factory does not return an instance, the default {@link SyncQuarantineMemoryStorage} is
+     * used instead.
+     * </p>
+     *
+     * @return an ISyncQuarantineStorage - never {@code null}.
+     */
+    @Provides
+    public ISyncQuarantineStorage getQuarantineStorage() {
+
+        if (this._quarantineStorage == null) {
+            final ISyncTargetFactory factory = this.getSyncTargetFactory();
+            this._quarantineStorage = factory != null ? factory.getQuarantineStorage() : null;
+        }
+
+        if (this._quarantineStorage == null) {
+            this._quarantineStorage = new SyncQuarantineMemoryStorage();
+        }
+        return this._quarantineStorage;
+    }
+
+
     /**
      * Returns a singleton {@link OkHttpClient} instance.
      *
-     * @return a {@link OkHttpClient} or {@code null}.
+     * <p>
+     * The centrally configured client of {@link SmintIoHttpClientProvider} is used, so connections are re-used by all
+     * requests to Smint.io.
+     * </p>
+     *
+     * @return a {@link OkHttpClient} - never {@code null}.
      */
+    @Singleton
     @Provides
     public OkHttpClient getHttpClient() {
         if (this._httpClient == null) {
-            this._httpClient = new OkHttpClient.Builder().build();
+            this._httpClient = new SmintIoHttpClientProvider().get();
         }
         return this._httpClient;
     }
 
 
+    /**
+     * Provide the rate limiter shared by all requests to the Smint.io platform of this tenant.
+     *
+     * <p>
+     * The rate is read from the settings ({@link ISettingsModel#getMaxRequestsPerSecond()} and
+     * {@link ISettingsModel#getMaxRequestBurst()}). The rate limiter is a singleton and the same instance is returned
+     * for consecutive calls, so API calls and binary downloads share the same limit.
+     * </p>
+     *
+     * @return the rate limiter - never {@code null}
+     */
+    @Singleton
+    @Provides
+    public IRateLimiter getRateLimiter() {
+
+        if (this._rateLimiter == null) {
+            final ISettingsModel settings = this.getSettings();
+            this._rateLimiter = new TokenBucketRateLimiter(
+                settings.getMaxRequestsPerSecond(), settings.getMaxRequestBurst()
+            );
+        }
+
+        return this._rateLimiter;
+    }
+
+
+    /**
+     * Provide the limiter of concurrent binary downloads of this tenant.
+     *
+     * <p>
+     * Unless a limiter has been set with {@link #setDownloadLimiter(IConcurrencyLimiter)}, the number of concurrent
+     * downloads is not limited. The limiter is a singleton and the same instance is returned for consecutive calls.
+     * </p>
+     *
+     * @return the limiter - never {@code null}
+     */
+    @Singleton
+    @Provides
+    public IConcurrencyLimiter getDownloadLimiter() {
+        if (this._downloadLimiter == null) {
+            this._downloadLimiter = new ConcurrencyLimiter(null, 0);
+        }
+        return this._downloadLimiter;
+    }
+
+
+    /**
+     * Sets the limiter of concurrent binary downloads of this tenant and returns {@code this} for Fluent Interface.
+     *
+     * <p>
+     * This is used to give a tenant its slice of a limit shared with other tenants. It must be called before the
+     * injector is created.
+     * </p>
+     *
+     * @param downloadLimiter the limiter or {@code null} to not limit the number of concurrent downloads.
+     * @return {@code this}
+     */
+    public SyncGuiceModule setDownloadLimiter(final IConcurrencyLimiter downloadLimiter) {
+        this._downloadLimiter = downloadLimiter;
+        return this;
+    }
+
+
+    /**
+     * Provide the connection to Pusher.com shared with other tenants.
+     *
+     * <p>
+     * Unless a connection has been set with {@link #setPushConnection(SharedPusherConnection)}, there is none and the
+     * push notification service of this tenant opens a connection of its own.
+     * </p>
+     *
+     * @return the shared connection or {@code null}.
+     */
+    @Nullable
+    @Provides
+    public SharedPusherConnection getPushConnection() {
+        return this._pushConnection;
+    }
+
+
+    /**
+     * Sets the connection to Pusher.com shared with other tenants and returns {@code this} for Fluent Interface.
+     *
+     * <p>
+     * The channel of this tenant is subscribed to the shared connection, authorized with the access token of this
+     * tenant. It must be called before the injector is created.
+     * </p>
+     *
+     * @param pushConnection the shared connection or {@code null} to open a connection of its own.
+     * @return {@code this}
+     */
+    public SyncGuiceModule setPushConnection(final SharedPusherConnection pushConnection) {
+        this._pushConnection = pushConnection;
+        return this;
+    }
+
+
+    /**
+     * Provide the pool of threads to convert assets in parallel.
+     *
+     * <p>
+     * The parallelism is read from the settings ({@link ISettingsModel#getAssetConversionParallelism()}). Threads are
+     * only started on demand, so with a parallelism of {@code 1} no thread is ever created as all assets are converted
+     * on the thread of the sync job. The same instance is returned for consecutive calls, until it has been shut down
+     * with {@link #shutdownAssetConversionPool()}. In case a shared pool has been passed to the constructor, that one
+     * is returned instead.
+     * </p>
+     *
+     * @return the pool - never {@code null}
+     */
+    @Provides
+    public synchronized ForkJoinPool getAssetConversionPool() {
+
+        if (this._assetConversionPool == null) {
+            this._assetConversionPool = createAssetConversionPool(
+                this.getSettings().getAssetConversionParallelism()
+            );
+        }
+
+        return this._assetConversionPool;
+    }
+
+
+    /**
+     * Shuts down the pool of threads to convert assets, unless it has been passed to the constructor.
+     *
+     * <p>
+     * A shared pool is shut down by its creator. A private pool is created again on demand, in case the
+     * synchronization is started again.
+     * </p>
+     */
+    public synchronized void shutdownAssetConversionPool() {
+        if (!this._isAssetConversionPoolShared && this._assetConversionPool != null) {
+            this._assetConversionPool.shutdown();
+            this._assetConversionPool = null;
+        }
+    }
+
+
     /**
      * Provide a platform dependent scheduler.
      *
@@ -168,7 +422,8 @@ public class SyncGuiceModule extends AbstractModule {
      * </p>
      *
      * <p>
-     * The scheduler is a singleton and the same instance is returned for consecutive calls.
+     * The scheduler is a singleton and the same instance is returned for consecutive calls. In case a shared scheduler
+     * has been passed to the constructor, that one is returned instead.
      * </p>
      *
      * @return the first service found or {@code null} if there is none.
@@ -263,11 +518,14 @@ public class SyncGuiceModule extends AbstractModule {
         this.bind(Gson.class).toProvider(SmintIoGsonProvider.class);
 
         this.bind(ISyncJob.class).to(DefaultSyncJob.class);
+        this.bind(ISyncAssetPublisher.class).to(SyncAssetPublisher.class).in(Singleton.class);
         this.bind(ISmintIoSyncFactory.class).to(SmintIoSyncFactoryFromDI.class).in(Singleton.class);
         this.bind(IPushNotificationService.class).to(PusherService.class).in(Singleton.class);
         this.bind(ISmintIoAuthenticator.class).to(SmintIoAuthenticatorImpl.class).in(Singleton.class);
         this.bind(ISmintIoApiClient.class).to(SmintIoApiClientImpl.class);
+        this.bind(ISmintIoAsyncApiClient.class).to(SmintIoApiClientImpl.class);
         this.bind(ISyncJobExecutionQueue.class).to(SyncJobExecutionQueueImpl.class).in(Singleton.class);
+        this.bind(ISyncJobSupervisor.class).to(SyncJobSupervisorImpl.class).in(Singleton.class);
         this.bind(ISmintIoDownloadProvider.class).to(SmintIoDownloadProviderImpl.class).in(Singleton.class);
         this.bind(ISyncMetadataIdMapper.class).to(DefaultSyncMetadataIdMapperImpl.class).in(Singleton.class);
         this.bind(IAuthTokenRefreshUtility.class).to(AuthTokenRefreshUtilityImpl.class).in(Singleton.class);
@@ -0,0 +1,98 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.jobs;
+
+import io.smint.clapi.consumer.integration.core.exceptions.SmintIoSyncJobException;
+import io.smint.clapi.consumer.integration.core.exceptions.SmintIoSyncJobException.SyncJobError;
+
+
+/**
+ * Signals the cancellation of a single synchronization run to all code participating in it.
+ *
+ * <p>
+ * Cancellation is cooperative. Long running loops check {@link #isCancelled()} or call {@link #throwIfCancelled()}
+ * regularly. Blocking operations, like requests to the Smint.io platform, register an action with
+ * {@link #onCancel(Runnable)} to abort themselves.
+ * </p>
+ */
+public interface ICancellationToken {
+
+    /**
+     * Checks whether the run has been cancelled.
+     *
+     * @return {@code true} if the run has been cancelled.
+     */
+    boolean isCancelled();
+
+
+    /**
+     * Provides the reason of the cancellation.
+     *
+     * @return the reason or {@code null} if the run has not been cancelled.
+     */
+    String getCancellationReason();
+
+
+    /**
+     * Provides the kind of the cancellation.
+     *
+     * @return either {@link SyncJobError#Cancelled} or {@link SyncJobError#Stalled}, or {@code null} if the run has not
+     *         been cancelled.
+     */
+    SyncJobError getCancellationType();
+
+
+    /**
+     * Registers an action to be executed as soon as the run is cancelled.
+     *
+     * <p>
+     * If the run has already been cancelled, the action is executed immediately by the calling thread.
+     * </p>
+     *
+     * @param action the action to execute, which must not block.
+     * @return the registration, which removes the action once closed - never {@code null}.
+     */
+    Registration onCancel(final Runnable action);
+
+
+    /**
+     * Throws an exception in case the run has been cancelled.
+     *
+     * @throws SmintIoSyncJobException with the type and the reason of the cancellation, if cancelled.
+     */
+    default void throwIfCancelled() throws SmintIoSyncJobException {
+        if (this.isCancelled()) {
+            throw new SmintIoSyncJobException(this.getCancellationType(), this.getCancellationReason());
+        }
+    }
+
+
+    /**
+     * A registered action of {@link ICancellationToken#onCancel(Runnable)}.
+     */
+    interface Registration extends AutoCloseable {
+
+        /**
+         * Removes the action, so it is not executed on cancellation anymore.
+         */
+        @Override
+        void close();
+    }
+}
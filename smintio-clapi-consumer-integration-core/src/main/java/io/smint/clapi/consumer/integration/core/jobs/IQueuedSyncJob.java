@@ -0,0 +1,62 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.jobs;
+
+import java.util.concurrent.CompletableFuture;
+
+
+/**
+ * Tells the caller of {@link ISyncJobExecutionQueue#offerJob(SyncJobPriorityEnum, boolean, Runnable)} what happened to
+ * the job.
+ */
+public interface IQueuedSyncJob {
+
+    /**
+     * The priority of the waiting job, that will perform the task.
+     *
+     * @return the priority - never {@code null}.
+     */
+    SyncJobPriorityEnum getPriority();
+
+
+    /**
+     * Checks whether the offered job has been merged with another job, that has already been waiting.
+     *
+     * <p>
+     * In case it has been merged, the offered {@link Runnable} will never be executed. Instead the waiting job performs
+     * the task, which includes everything the offered job would have done.
+     * </p>
+     *
+     * @return {@code true} if the job has been merged or {@code false} if the offered job itself is waiting.
+     */
+    boolean isMerged();
+
+
+    /**
+     * Provides a future, that is completed as soon as the waiting job has been executed.
+     *
+     * <p>
+     * The future is completed exceptionally in case the job throws any exception.
+     * </p>
+     *
+     * @return the future - never {@code null}.
+     */
+    CompletableFuture<Void> getCompletion();
+}
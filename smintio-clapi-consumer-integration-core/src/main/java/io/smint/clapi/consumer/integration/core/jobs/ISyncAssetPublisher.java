@@ -0,0 +1,62 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.jobs;
+
+/**
+ * Publishes the converted assets of Smint.io as a stream with backpressure, as an alternative to a sync target.
+ *
+ * <p>
+ * Instead of receiving arrays of assets page by page with
+ * {@link io.smint.clapi.consumer.integration.core.target.ISyncTarget}, a subscriber requests as many assets as it can
+ * handle and acknowledges them once they have been stored. The interfaces follow the
+ * <a href="https://www.reactive-streams.org">Reactive Streams</a> contract, which is part of Java 9 and later as
+ * {@code java.util.concurrent.Flow}. Since this library is built for Java 8, its own interfaces are used. Adapting them
+ * to any reactive streams library requires just a few lines.
+ * </p>
+ *
+ * <h2>Acknowledging assets</h2>
+ * <p>
+ * The Smint.io platform provides assets in pages, each identified by a <em>continuation UUID</em>. The continuation
+ * UUID of a page is stored with {@link io.smint.clapi.consumer.integration.core.configuration.ISyncJobDataStorage} only
+ * after all assets of the page have been acknowledged with {@link ISyncAssetSubscription#acknowledge(long)}. So in case
+ * of a crash, the next subscription starts with the first page that has not been acknowledged completely.
+ * </p>
+ *
+ * <p>
+ * Only one subscription may be active at a time, as all subscriptions share the same continuation UUID. Additional
+ * subscribers are rejected with {@link ISyncAssetSubscriber#onError(Throwable)}. For the same reason the stream must
+ * not be used while scheduled synchronization is running for the same tenant.
+ * </p>
+ */
+public interface ISyncAssetPublisher {
+
+    /**
+     * Subscribes to the stream of assets, starting at the last stored continuation UUID.
+     *
+     * <p>
+     * {@link ISyncAssetSubscriber#onSubscribe(ISyncAssetSubscription)} is called asynchronously. No asset is fetched
+     * before the subscriber requests some with {@link ISyncAssetSubscription#request(long)}.
+     * </p>
+     *
+     * @param subscriber the subscriber to receive the assets. Must not be {@code null}.
+     * @throws NullPointerException if {@code subscriber} is {@code null}.
+     */
+    void subscribe(final ISyncAssetSubscriber subscriber) throws NullPointerException;
+}
@@ -0,0 +1,74 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.jobs;
+
+import io.smint.clapi.consumer.integration.core.target.impl.BaseSyncAsset;
+
+
+/**
+ * Receives the assets published by {@link ISyncAssetPublisher}.
+ *
+ * <p>
+ * All functions are called by the same thread one after the other, never concurrently. Assets are converted with the
+ * {@link io.smint.clapi.consumer.integration.core.target.ISyncTargetDataFactory} of the sync target factory, so the
+ * passed assets are instances created by it. Compound assets are followed by their parts, in the same order as passed
+ * to {@link io.smint.clapi.consumer.integration.core.target.ISyncTarget} by a scheduled synchronization.
+ * </p>
+ */
+public interface ISyncAssetSubscriber {
+
+    /**
+     * Called once the subscription has been established.
+     *
+     * @param subscription the subscription to request and acknowledge assets with.
+     */
+    void onSubscribe(final ISyncAssetSubscription subscription);
+
+
+    /**
+     * Receives the next asset that has been requested with {@link ISyncAssetSubscription#request(long)}.
+     *
+     * <p>
+     * Downloaded binary files of the asset are available until all assets have been acknowledged after
+     * {@link #onComplete()} or until the subscription terminates otherwise.
+     * </p>
+     *
+     * @param asset the converted asset - never {@code null}.
+     */
+    void onNext(final BaseSyncAsset asset);
+
+
+    /**
+     * Terminates the subscription because of an error.
+     *
+     * <p>
+     * No further function is called afterwards. Assets that have been acknowledged so far are kept committed.
+     * </p>
+     *
+     * @param error the cause of the failure.
+     */
+    void onError(final Throwable error);
+
+
+    /**
+     * Terminates the subscription because all available assets have been passed to {@link #onNext(BaseSyncAsset)}.
+     */
+    void onComplete();
+}
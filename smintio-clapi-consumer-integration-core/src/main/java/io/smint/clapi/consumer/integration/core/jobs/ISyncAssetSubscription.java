@@ -0,0 +1,72 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.jobs;
+
+import io.smint.clapi.consumer.integration.core.target.impl.BaseSyncAsset;
+
+
+/**
+ * Controls the flow of assets from an {@link ISyncAssetPublisher} to its {@link ISyncAssetSubscriber}.
+ *
+ * <p>
+ * All functions may be called from any thread, including from within the functions of the subscriber.
+ * </p>
+ */
+public interface ISyncAssetSubscription {
+
+    /**
+     * Requests more assets to be passed to {@link ISyncAssetSubscriber#onNext(BaseSyncAsset)}.
+     *
+     * <p>
+     * Requests are cumulative. A page of assets is only fetched from the Smint.io platform if assets have been
+     * requested and all assets of the previous page have been passed to the subscriber.
+     * </p>
+     *
+     * @param count the number of additional assets. Values less than {@code 1} terminate the subscription with an
+     *              {@link IllegalArgumentException}.
+     */
+    void request(final long count);
+
+
+    /**
+     * Stops passing assets to the subscriber and releases all resources.
+     *
+     * <p>
+     * Assets that have been passed to the subscriber but have not been acknowledged yet will be provided again by the
+     * next subscription. Acknowledgements received after cancelling are ignored.
+     * </p>
+     */
+    void cancel();
+
+
+    /**
+     * Acknowledges the next assets in the order they have been passed to the subscriber.
+     *
+     * <p>
+     * As soon as all assets of a page have been acknowledged, the continuation UUID of the page is stored, so these
+     * assets are not provided by the next subscription again.
+     * </p>
+     *
+     * @param count the number of assets that have been stored by the subscriber.
+     * @throws IllegalArgumentException if {@code count} is negative or more assets are acknowledged than have been
+     *                                  passed to the subscriber.
+     */
+    void acknowledge(final long count) throws IllegalArgumentException;
+}
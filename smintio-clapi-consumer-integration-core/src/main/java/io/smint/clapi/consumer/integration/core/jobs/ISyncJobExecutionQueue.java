@@ -25,41 +25,63 @@ package io.smint.clapi.consumer.integration.core.jobs;
  * <h2>Job runs</h2>
  * <p>
  * Jobs to copy from Smint.io to sync targets are not allowed to run simultaneously. It simple does not make sense. So
- * new events to trigger a new job run, add the new run to a waiting queue in case a job is currently running. More jobs
- * are just ignored, as the already waiting job will do the same task. Hence the waiting queue just consists of a single
- * slot.
+ * new events to trigger a new job run, add the new run to a waiting queue in case a job is currently running. For each
+ * priority (see {@link SyncJobPriorityEnum}) at most a single job is waiting. Jobs of higher priority are executed
+ * first, so manually triggered jobs are executed before jobs triggered by a push event, which are executed before
+ * scheduled jobs.
  * </p>
  *
+ * <h2>Merging jobs</h2>
  * <p>
- * Because jobs triggered by receiving a push event from <a href="htts://www.pusher.com">Pusher.com</a> do not sync meta
- * data by default, scheduled jobs are not rejected in case the last item in the queue is a push event, but the queue
- * reserves a special, additional slot for scheduled jobs for that.
+ * If a job of the same priority is already waiting, a new job is merged with it, as the waiting job will do the same
+ * task. Because jobs triggered by receiving a push event from <a href="htts://www.pusher.com">Pusher.com</a> do not
+ * sync meta data by default, the meta data flag is taken into account. In case the waiting job does not sync meta data
+ * but the new one does, the new job replaces the waiting one instead. So no task is ever lost.
+ * {@link #offerJob(SyncJobPriorityEnum, boolean, Runnable)} tells the caller, whether the job has been merged.
  * </p>
  */
 public interface ISyncJobExecutionQueue extends Runnable {
 
     /**
-     * Adds a scheduled job or put it in the waiting queue if a slot is available.
+     * Adds a job to the waiting queue or merges it with a waiting job of the same priority.
      *
      * <p>
-     * If another scheduled job is already waiting, this job is being silently ignored and no action is taken. If just a
-     * <em>push-event-job</em> is waiting, this job will be added as a second waiting job to a special slot.
+     * The job is not executed by this function. Call {@link #run()} afterwards to execute the waiting jobs.
      * </p>
      *
-     * @param job the job to run.
+     * @param priority          the priority of the job, depending on the event that triggered the job.
+     * @param isSyncingMetadata whether the job synchronizes meta data, too.
+     * @param job               the job to run.
+     * @return information about the queued job - never {@code null}.
+     * @throws NullPointerException if {@code priority} or {@code job} is {@code null}.
+     */
+    IQueuedSyncJob offerJob(final SyncJobPriorityEnum priority, final boolean isSyncingMetadata, final Runnable job)
+        throws NullPointerException;
+
+
+    /**
+     * Adds a scheduled job or merges it with a waiting scheduled job.
+     *
+     * <p>
+     * Calls {@link #offerJob(SyncJobPriorityEnum, boolean, Runnable)} with {@link SyncJobPriorityEnum#ScheduledEnum},
+     * synchronizing meta data.
+     * </p>
+     *
+     * @param job the job to run. If {@code null} no action is taken.
      * @return {@code this}
      */
     ISyncJobExecutionQueue addJobForScheduleEvent(final Runnable job);
 
 
     /**
-     * Adds a job because of a push event or add it to the waiting queue.
+     * Adds a job because of a push event or merges it with a waiting push event job.
      *
      * <p>
-     * If another job is already waiting, this job is being silently ignored and no action is taken.
+     * Calls {@link #offerJob(SyncJobPriorityEnum, boolean, Runnable)} with {@link SyncJobPriorityEnum#PushEventEnum},
+     * not synchronizing meta data.
      * </p>
      *
-     * @param job the job to run.
+     * @param job the job to run. If {@code null} no action is taken.
      * @return {@code this}
      */
     ISyncJobExecutionQueue addJobForPushEvent(final Runnable job);
@@ -84,7 +106,8 @@ public interface ISyncJobExecutionQueue extends Runnable {
      * Execute the next waiting job on the same thread if no other job is running.
      *
      * <p>
-     * The function returns immediately without executing anything, if a job is already running.
+     * The function returns immediately without executing anything, if a job is already running. Jobs are executed
+     * until no more jobs are waiting. Any job added while executing is executed by the same call, too.
      * </p>
      * {@inheritDoc}
      */
@@ -114,4 +137,16 @@ public interface ISyncJobExecutionQueue extends Runnable {
      * @return {@code true} if at least one job is waiting or {@code false}.
      */
     boolean isRunning();
+
+
+    /**
+     * Provides the current counters of the queue.
+     *
+     * <p>
+     * The call is non-blocking.
+     * </p>
+     *
+     * @return a snapshot of the counters - never {@code null}.
+     */
+    ISyncJobQueueMetrics getMetrics();
 }
@@ -0,0 +1,73 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.jobs;
+
+/**
+ * A snapshot of the counters of a {@link ISyncJobExecutionQueue}.
+ */
+public interface ISyncJobQueueMetrics {
+
+    /**
+     * The number of jobs offered to the queue.
+     *
+     * @return the number of all jobs offered since creating the queue.
+     */
+    long getOfferedJobs();
+
+
+    /**
+     * The number of offered jobs, that have been merged with jobs already waiting.
+     *
+     * @return the number of merged jobs since creating the queue.
+     */
+    long getMergedJobs();
+
+
+    /**
+     * The number of jobs, that have been executed.
+     *
+     * @return the number of executed jobs since creating the queue, including failed ones.
+     */
+    long getExecutedJobs();
+
+
+    /**
+     * The number of executed jobs, that have thrown an exception.
+     *
+     * @return the number of failed jobs since creating the queue.
+     */
+    long getFailedJobs();
+
+
+    /**
+     * The number of jobs currently waiting to be executed.
+     *
+     * @return the number of waiting jobs, which is at most the number of priorities.
+     */
+    int getWaitingJobs();
+
+
+    /**
+     * The longest time a job has been waiting before it has been executed.
+     *
+     * @return the maximum time in milliseconds since creating the queue.
+     */
+    long getMaxWaitMillis();
+}
@@ -0,0 +1,180 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.jobs;
+
+/**
+ * Supervises the synchronization runs of a single tenant, so they can be cancelled and do not stall forever.
+ *
+ * <h2>Cancellation</h2>
+ * <p>
+ * Each run of a synchronization job acquires a new {@link ICancellationToken} with {@link #beginRun()}. Any code
+ * participating in the run, like requests to the Smint.io API or downloads of binaries, gets hold of it with
+ * {@link #getCurrentToken()}. The run is cancelled with {@link #cancelRun(String)}.
+ * </p>
+ *
+ * <h2>Watchdog</h2>
+ * <p>
+ * Each stage of a run is announced with {@link #beginStage(SyncJobStageEnum)}. In case a stage takes longer than
+ * {@link io.smint.clapi.consumer.integration.core.configuration.models.ISettingsModel#getSyncStageTimeoutSeconds()},
+ * the watchdog reports the stalled stage, cancels the run and interrupts the thread executing it. Interrupting is the
+ * only way to abort a blocking call into the sync target. Hence, sync targets should respond to interrupts.
+ * </p>
+ *
+ * <h2>Run report</h2>
+ * <p>
+ * The figures of each run are collected with the {@link ISyncRunRecorder} provided by {@link #getCurrentRecorder()},
+ * including the time spent in each stage. Once the run has ended, they are available with
+ * {@link #getLastRunReport()}. Progress is passed to all listeners added with
+ * {@link #addProgressListener(ISyncProgressListener)} as soon as it has been made.
+ * </p>
+ *
+ * <p>
+ * Only a single run is supervised at a time. This matches {@link ISyncJobExecutionQueue}, which never executes two
+ * jobs of the same tenant at once.
+ * </p>
+ */
+public interface ISyncJobSupervisor {
+
+    /**
+     * Starts supervising a new run, executed by the calling thread.
+     *
+     * @return the cancellation token of the new run - never {@code null}.
+     */
+    ICancellationToken beginRun();
+
+
+    /**
+     * Stops supervising the run.
+     *
+     * <p>
+     * Any interrupt of the calling thread caused by the watchdog is cleared.
+     * </p>
+     *
+     * @param token the token returned by {@link #beginRun()}.
+     */
+    void endRun(final ICancellationToken token);
+
+
+    /**
+     * Announces the start of a stage of the current run.
+     *
+     * <p>
+     * The stage ends as soon as the returned stage is closed. Use it with a {@code try}-with-resources statement.
+     * </p>
+     *
+     * @param stage the stage that is about to start.
+     * @return the stage, that must be closed once the stage has finished - never {@code null}.
+     */
+    Stage beginStage(final SyncJobStageEnum stage);
+
+
+    /**
+     * Provides the cancellation token of the current run.
+     *
+     * @return the token of the current run or a token that is never cancelled if no run is active - never {@code null}.
+     */
+    ICancellationToken getCurrentToken();
+
+
+    /**
+     * Provides the stage of the current run.
+     *
+     * @return the current stage or {@code null} if no stage is active.
+     */
+    SyncJobStageEnum getCurrentStage();
+
+
+    /**
+     * Provides the recorder of the figures of the current run.
+     *
+     * @return the recorder of the current run or a recorder ignoring everything if no run is active - never
+     *         {@code null}.
+     */
+    ISyncRunRecorder getCurrentRecorder();
+
+
+    /**
+     * Provides the report of the current run, as far as it has been recorded yet.
+     *
+     * @return the report of the current run or an empty report if no run is active - never {@code null}.
+     */
+    ISyncRunReport getCurrentRunReport();
+
+
+    /**
+     * Provides the report of the most recent run that has ended.
+     *
+     * @return the report or {@code null} if no run has ended yet.
+     */
+    ISyncRunReport getLastRunReport();
+
+
+    /**
+     * Registers a listener to receive the progress of all further runs.
+     *
+     * @param listener the listener to add. Must not be {@code null}.
+     */
+    void addProgressListener(final ISyncProgressListener listener);
+
+
+    /**
+     * Removes a listener of the progress of runs.
+     *
+     * @param listener the listener to remove.
+     */
+    void removeProgressListener(final ISyncProgressListener listener);
+
+
+    /**
+     * Cancels the current run.
+     *
+     * @param reason the reason to report.
+     * @return {@code true} if a run has been cancelled or {@code false} if no run is active.
+     */
+    boolean cancelRun(final String reason);
+
+
+    /**
+     * Executes some action once the current run has ended.
+     *
+     * <p>
+     * The action is executed by the thread ending the run, after the run report has been passed to the listeners. If
+     * no run is active, the action is executed right away by the calling thread. This is used to release resources,
+     * which must not be released while a run still uses them.
+     * </p>
+     *
+     * @param action the action to execute.
+     * @throws NullPointerException if {@code action} is {@code null}.
+     */
+    void whenRunEnded(final Runnable action) throws NullPointerException;
+
+
+    /**
+     * A supervised stage, as returned by {@link ISyncJobSupervisor#beginStage(SyncJobStageEnum)}.
+     */
+    interface Stage extends AutoCloseable {
+
+        /**
+         * Ends the stage and stops the watchdog for it.
+         */
+        @Override
+        void close();
+    }
+}
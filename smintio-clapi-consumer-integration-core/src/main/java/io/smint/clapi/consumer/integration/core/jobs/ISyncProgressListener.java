@@ -0,0 +1,96 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.jobs;
+
+/**
+ * Receives the progress of synchronization runs, eg: to estimate the remaining time or to detect drops in throughput.
+ *
+ * <p>
+ * Listeners are registered with
+ * {@link io.smint.clapi.consumer.integration.core.ISmintIoSynchronization#addProgressListener(ISyncProgressListener)}.
+ * All functions are called asynchronously on a single thread, in the order the progress has been made. Hence a slow
+ * listener never stalls the synchronization. However, while too many calls are waiting for a slow listener, further
+ * counts are added up and passed in fewer calls. The end of a stage or a run is always passed. All functions do
+ * nothing by default, so listeners only override the progress they are interested in.
+ * </p>
+ */
+public interface ISyncProgressListener {
+
+    /**
+     * Is called after a page of assets has been fetched from Smint.io.
+     *
+     * @param assets the number of assets of the page.
+     */
+    default void onPageFetched(final int assets) {
+        // ignore
+    }
+
+
+    /**
+     * Is called after assets have been converted for the sync target.
+     *
+     * @param assets the number of converted assets.
+     */
+    default void onAssetsConverted(final int assets) {
+        // ignore
+    }
+
+
+    /**
+     * Is called after assets have been passed to the sync target.
+     *
+     * @param newAssets     the number of assets imported as new assets.
+     * @param updatedAssets the number of assets updated.
+     */
+    default void onAssetsImported(final int newAssets, final int updatedAssets) {
+        // ignore
+    }
+
+
+    /**
+     * Is called while binary files are downloaded from Smint.io.
+     *
+     * @param bytes the number of bytes downloaded since the previous call.
+     */
+    default void onDownloadProgress(final long bytes) {
+        // ignore
+    }
+
+
+    /**
+     * Is called after a stage of a run has ended.
+     *
+     * @param stage          the stage.
+     * @param durationMillis the time spent in the stage in milliseconds.
+     */
+    default void onStageFinished(final SyncJobStageEnum stage, final long durationMillis) {
+        // ignore
+    }
+
+
+    /**
+     * Is called after a run has ended.
+     *
+     * @param report the report of the run - never {@code null}.
+     */
+    default void onRunFinished(final ISyncRunReport report) {
+        // ignore
+    }
+}
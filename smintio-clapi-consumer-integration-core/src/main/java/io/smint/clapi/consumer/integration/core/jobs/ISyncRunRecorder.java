@@ -0,0 +1,103 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.jobs;
+
+/**
+ * Records the figures of the current synchronization run, to be reported with {@link ISyncRunReport}.
+ *
+ * <p>
+ * A recorder is acquired with {@link ISyncJobSupervisor#getCurrentRecorder()} by any code participating in a run, like
+ * requests to the Smint.io API or downloads of binaries. All functions may be called concurrently. Any progress is
+ * passed to the registered {@link ISyncProgressListener}, too.
+ * </p>
+ */
+public interface ISyncRunRecorder {
+
+    /**
+     * Records a page of assets fetched from Smint.io.
+     *
+     * @param assets the number of assets of the page.
+     */
+    void recordPageFetched(int assets);
+
+
+    /**
+     * Records assets converted for the sync target.
+     *
+     * @param assets the number of converted assets.
+     */
+    void recordConvertedAssets(int assets);
+
+
+    /**
+     * Records assets passed to the sync target.
+     *
+     * @param newAssets      the number of assets imported as new assets.
+     * @param updatedAssets  the number of assets updated.
+     * @param compoundAssets the number of compound assets among them.
+     */
+    void recordImportedAssets(int newAssets, int updatedAssets, int compoundAssets);
+
+
+    /**
+     * Records assets, that have not been passed to the sync target.
+     *
+     * @param count the number of skipped assets.
+     */
+    void recordSkippedAssets(int count);
+
+
+    /**
+     * Records assets, that failed to be converted or imported.
+     *
+     * @param count the number of failed assets.
+     */
+    void recordFailedAssets(int count);
+
+
+    /**
+     * Records data of binary files downloaded from Smint.io.
+     *
+     * @param bytes the number of bytes downloaded since the previous call.
+     */
+    void recordDownloadedBytes(long bytes);
+
+
+    /**
+     * Records a retried request to Smint.io, which is attributed to the current stage of the run.
+     */
+    void recordRetry();
+
+
+    /**
+     * Records the continuation UUID, that has been stored for the next run.
+     *
+     * @param continuationUuid the stored continuation UUID.
+     */
+    void recordContinuationUuid(String continuationUuid);
+
+
+    /**
+     * Records the error, that terminated the run.
+     *
+     * @param error the error.
+     */
+    void recordError(Exception error);
+}
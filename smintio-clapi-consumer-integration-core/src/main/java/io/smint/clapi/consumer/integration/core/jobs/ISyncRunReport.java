@@ -0,0 +1,168 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.jobs;
+
+/**
+ * Reports the outcome and the figures of a single synchronization run.
+ *
+ * <p>
+ * The report is collected by {@link ISyncJobSupervisor} while the run is executed. It is handed over to the sync target
+ * with {@link io.smint.clapi.consumer.integration.core.target.ISyncTarget#afterSync(ISyncRunReport)} and returned by
+ * {@link io.smint.clapi.consumer.integration.core.ISmintIoSynchronization#triggerSync(boolean)}. Values are read while
+ * the run might still be in progress, eg: during {@code afterSync}. Hence the duration of the final stage
+ * {@link SyncJobStageEnum#FinishEnum} is only complete after the run has ended.
+ * </p>
+ *
+ * <p>
+ * Compound assets are reported as new or updated assets, like all other assets, and additionally counted by
+ * {@link #getCompoundAssets()}. The parts of a compound asset are counted as assets on their own.
+ * </p>
+ */
+public interface ISyncRunReport {
+
+    /**
+     * Provides the time the run has been started at.
+     *
+     * @return the time in milliseconds since the epoch.
+     */
+    long getStartTime();
+
+
+    /**
+     * Provides the duration of the run.
+     *
+     * @return the duration in milliseconds until the run has ended or until now, if it is still running.
+     */
+    long getDurationMillis();
+
+
+    /**
+     * Provides the number of pages of assets fetched from Smint.io.
+     *
+     * @return the number of pages.
+     */
+    int getPagesFetched();
+
+
+    /**
+     * Provides the number of assets imported into the sync target as new assets.
+     *
+     * @return the number of new assets.
+     */
+    int getNewAssets();
+
+
+    /**
+     * Provides the number of assets updated in the sync target.
+     *
+     * @return the number of updated assets.
+     */
+    int getUpdatedAssets();
+
+
+    /**
+     * Provides the number of compound assets among the new and updated assets.
+     *
+     * @return the number of compound assets.
+     */
+    int getCompoundAssets();
+
+
+    /**
+     * Provides the number of assets received from Smint.io, that have not been passed to the sync target, eg: because
+     * they do not have any binary or a later state of the same asset has been passed on during the same run.
+     *
+     * @return the number of skipped assets.
+     */
+    int getSkippedAssets();
+
+
+    /**
+     * Provides the number of assets received from Smint.io, that failed to be converted or imported.
+     *
+     * @return the number of failed assets.
+     */
+    int getFailedAssets();
+
+
+    /**
+     * Provides the number of bytes of binary files downloaded from Smint.io.
+     *
+     * @return the number of bytes.
+     */
+    long getBytesDownloaded();
+
+
+    /**
+     * Provides the accumulated duration of a stage.
+     *
+     * <p>
+     * Stages like {@link SyncJobStageEnum#FetchAssetsEnum} are entered once for every page. The duration is the sum of
+     * all of them.
+     * </p>
+     *
+     * @param stage the stage.
+     * @return the duration in milliseconds or {@code 0} if the stage has not been entered.
+     */
+    long getStageDurationMillis(SyncJobStageEnum stage);
+
+
+    /**
+     * Provides the number of retried requests to Smint.io while in a stage.
+     *
+     * @param stage the stage.
+     * @return the number of retries.
+     */
+    int getStageRetries(SyncJobStageEnum stage);
+
+
+    /**
+     * Provides the number of all retried requests to Smint.io during the run.
+     *
+     * @return the number of retries, including those outside of any stage.
+     */
+    int getRetries();
+
+
+    /**
+     * Provides the continuation UUID stored at the end of the run, which the next run starts from.
+     *
+     * @return the continuation UUID or {@code null} if none has been available.
+     */
+    String getContinuationUuid();
+
+
+    /**
+     * Provides the error, that terminated the run.
+     *
+     * @return the error or {@code null} if the run has not failed.
+     */
+    Exception getError();
+
+
+    /**
+     * Checks whether the run has finished without any error.
+     *
+     * @return {@code true} if no error has been recorded.
+     */
+    default boolean isSuccessful() {
+        return this.getError() == null;
+    }
+}
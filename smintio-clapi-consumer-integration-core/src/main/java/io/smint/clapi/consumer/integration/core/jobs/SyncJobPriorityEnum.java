@@ -0,0 +1,50 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.jobs;
+
+/**
+ * Denotes the event that triggered a synchronization job, which defines its priority in {@link ISyncJobExecutionQueue}.
+ *
+ * <p>
+ * The constants are declared in ascending order of their priority. So waiting jobs with a higher
+ * {@link Enum#ordinal()} are executed first.
+ * </p>
+ */
+public enum SyncJobPriorityEnum {
+
+    /**
+     * The job has been started by the regular schedule.
+     *
+     * <p>
+     * As scheduled jobs run in regular intervals, delaying them a bit does not do any harm.
+     * </p>
+     */
+    ScheduledEnum,
+
+    /**
+     * The job has been started because of a push notification, indicating new assets being available.
+     */
+    PushEventEnum,
+
+    /**
+     * The job has been started on request by the user of this library, who is likely to wait for it.
+     */
+    ManualEnum
+}
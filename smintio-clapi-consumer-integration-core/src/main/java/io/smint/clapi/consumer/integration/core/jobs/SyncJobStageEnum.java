@@ -0,0 +1,58 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.jobs;
+
+/**
+ * The stages of a synchronization run, which are supervised by {@link ISyncJobSupervisor}.
+ */
+public enum SyncJobStageEnum {
+
+    /**
+     * Calling the hooks of the sync target before synchronizing, like
+     * {@link io.smint.clapi.consumer.integration.core.target.ISyncTarget#beforeSync()}.
+     */
+    PrepareEnum,
+
+    /**
+     * Fetching the generic meta data from Smint.io and importing it into the sync target.
+     */
+    GenericMetadataEnum,
+
+    /**
+     * Fetching a page of assets, including their binaries, from Smint.io.
+     */
+    FetchAssetsEnum,
+
+    /**
+     * Converting assets of Smint.io to the data structure of the sync target.
+     */
+    ConvertAssetsEnum,
+
+    /**
+     * Importing assets into the sync target, which includes downloading their binary files.
+     */
+    ImportAssetsEnum,
+
+    /**
+     * Calling the hooks of the sync target after synchronizing, like
+     * {@link io.smint.clapi.consumer.integration.core.target.ISyncTarget#afterSync()}.
+     */
+    FinishEnum
+}
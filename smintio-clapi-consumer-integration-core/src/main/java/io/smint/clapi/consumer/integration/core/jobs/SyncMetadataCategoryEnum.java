@@ -0,0 +1,108 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.jobs;
+
+/**
+ * The categories of the generic meta data of Smint.io, which are imported into the sync target.
+ *
+ * <p>
+ * The order of the values is the order the categories are imported into the sync target.
+ * </p>
+ *
+ * @see io.smint.clapi.consumer.integration.core.contracts.ISmintIoGenericMetadata
+ * @see ISyncMetadataIdMapper
+ */
+public enum SyncMetadataCategoryEnum {
+
+    /**
+     * The content providers, see {@link ISyncMetadataIdMapper#getContentProviderId(String)}.
+     */
+    ContentProvidersEnum,
+
+    /**
+     * The content types, see {@link ISyncMetadataIdMapper#getContentTypeId(String)}.
+     */
+    ContentTypesEnum,
+
+    /**
+     * The binary types, see {@link ISyncMetadataIdMapper#getBinaryTypeId(String)}.
+     */
+    BinaryTypesEnum,
+
+    /**
+     * The content categories, see {@link ISyncMetadataIdMapper#getContentCategoryId(String)}.
+     */
+    ContentCategoriesEnum,
+
+    /**
+     * The license types, see {@link ISyncMetadataIdMapper#getLicenseTypeId(String)}.
+     */
+    LicenseTypesEnum,
+
+    /**
+     * The release states, see {@link ISyncMetadataIdMapper#getReleaseStateId(String)}.
+     */
+    ReleaseStatesEnum,
+
+    /**
+     * The license exclusivities, see {@link ISyncMetadataIdMapper#getLicenseExclusivityId(String)}.
+     */
+    LicenseExclusivitiesEnum,
+
+    /**
+     * The license usages, see {@link ISyncMetadataIdMapper#getLicenseUsageId(String)}.
+     */
+    LicenseUsagesEnum,
+
+    /**
+     * The license sizes, see {@link ISyncMetadataIdMapper#getLicenseSizeId(String)}.
+     */
+    LicenseSizesEnum,
+
+    /**
+     * The license placements, see {@link ISyncMetadataIdMapper#getLicensePlacementId(String)}.
+     */
+    LicensePlacementsEnum,
+
+    /**
+     * The license distributions, see {@link ISyncMetadataIdMapper#getLicenseDistributionId(String)}.
+     */
+    LicenseDistributionsEnum,
+
+    /**
+     * The license geographies, see {@link ISyncMetadataIdMapper#getLicenseGeographyId(String)}.
+     */
+    LicenseGeographiesEnum,
+
+    /**
+     * The license industries, see {@link ISyncMetadataIdMapper#getLicenseIndustryId(String)}.
+     */
+    LicenseIndustriesEnum,
+
+    /**
+     * The license languages, see {@link ISyncMetadataIdMapper#getLicenseLanguageId(String)}.
+     */
+    LicenseLanguagesEnum,
+
+    /**
+     * The license usage limits, see {@link ISyncMetadataIdMapper#getLicenseUsageLimitId(String)}.
+     */
+    LicenseUsageLimitsEnum
+}
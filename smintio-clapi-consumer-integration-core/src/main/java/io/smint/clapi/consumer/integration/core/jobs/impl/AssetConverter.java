@@ -2,12 +2,11 @@ package io.smint.clapi.consumer.integration.core.jobs.impl;
 
 import java.io.File;
 import java.net.URL;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
-import java.util.function.Function;
+import java.util.function.BiFunction;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.inject.Inject;
@@ -18,8 +17,10 @@ import io.smint.clapi.consumer.integration.core.contracts.ISmintIoAsset;
 import io.smint.clapi.consumer.integration.core.contracts.ISmintIoBinary;
 import io.smint.clapi.consumer.integration.core.contracts.ISmintIoDownloadConstraints;
 import io.smint.clapi.consumer.integration.core.contracts.ISmintIoReleaseDetails;
+import io.smint.clapi.consumer.integration.core.exceptions.SmintIoUnknownMetadataException;
 import io.smint.clapi.consumer.integration.core.factory.ISmintIoDownloadProvider;
 import io.smint.clapi.consumer.integration.core.jobs.ISyncMetadataIdMapper;
+import io.smint.clapi.consumer.integration.core.jobs.SyncMetadataCategoryEnum;
 import io.smint.clapi.consumer.integration.core.target.ISyncDownloadConstraints;
 import io.smint.clapi.consumer.integration.core.target.ISyncLicenseTerm;
 import io.smint.clapi.consumer.integration.core.target.ISyncReleaseDetails;
@@ -45,10 +46,23 @@ class AssetConverter extends BaseSyncDataConverter<ISmintIoAsset, WrapperSyncAss
 
     private static final Logger LOG = Logger.getLogger(AssetConverter.class.getName());
 
+    // non-capturing method references are singletons, so mapping IDs does not allocate anything
+    private static final BiFunction<ISyncMetadataIdMapper, String, String> CONTENT_PROVIDER_ID =
+        ISyncMetadataIdMapper::getContentProviderId;
+    private static final BiFunction<ISyncMetadataIdMapper, String, String> CONTENT_TYPE_ID =
+        ISyncMetadataIdMapper::getContentTypeId;
+    private static final BiFunction<ISyncMetadataIdMapper, String, String> CONTENT_CATEGORY_ID =
+        ISyncMetadataIdMapper::getContentCategoryId;
+    private static final BiFunction<ISyncMetadataIdMapper, String, String> BINARY_TYPE_ID =
+        ISyncMetadataIdMapper::getBinaryTypeId;
+    private static final BiFunction<ISyncMetadataIdMapper, String, String> LICENSE_TYPE_ID =
+        ISyncMetadataIdMapper::getLicenseTypeId;
+
     private final ISyncTargetDataFactory _syncTargetDataFactory;
     private final ISyncMetadataIdMapper _idMapper;
     private final ISmintIoDownloadProvider _downloadProvider;
     private final File _temporaryDownloadFolder;
+    private final LicenseTermConverter _licenseTermConverter;
 
     /**
      * Initializes a new converter, using the {@code syncTarget} to map to sync target keys.
@@ -78,6 +92,8 @@ class AssetConverter extends BaseSyncDataConverter<ISmintIoAsset, WrapperSyncAss
         Objects.requireNonNull(downloadProvider, "No creator of binary asset downloader has been provided.");
         Objects.requireNonNull(temporaryDownloadFolder, "Temporary download folder is invalid <null>");
         Objects.requireNonNull(syncTargetDataFactory, "Provided sync target data factory is invalid <null>!");
+
+        this._licenseTermConverter = new LicenseTermConverter(syncTargetDataFactory, idMapper);
     }
 
 
@@ -89,14 +105,19 @@ class AssetConverter extends BaseSyncDataConverter<ISmintIoAsset, WrapperSyncAss
             return null;
         }
 
-        final List<BaseSyncAsset> assets = new ArrayList<>();
 
+        if (LOG.isLoggable(Level.FINE)) {
+            LOG.fine("Transforming Smint.io LPT " + rawAsset.getLicensePurchaseTransactionUuid() + " ...");
+        }
 
-        LOG.info(() -> "Transforming Smint.io LPT " + rawAsset.getLicensePurchaseTransactionUuid() + " ...");
 
+        // a compound asset is added in case of more than a single binary
+        final boolean isCompoundAsset = binaries.length > 1;
+        final WrapperSyncAsset[] assets = new WrapperSyncAsset[isCompoundAsset ? binaries.length + 1 : 1];
+        final BaseSyncAsset[] assetParts = isCompoundAsset ? new BaseSyncAsset[binaries.length] : null;
 
-        final List<BaseSyncAsset> assetPartAssets = new ArrayList<>();
-        for (final ISmintIoBinary binary : binaries) {
+        for (int i = 0; i < binaries.length; i++) {
+            final ISmintIoBinary binary = binaries[i];
 
             final URL downloadUrl = binary.getDownloadUrl();
             final String recommendedFileName = binary.getRecommendedFileName();
@@ -125,12 +146,14 @@ class AssetConverter extends BaseSyncDataConverter<ISmintIoAsset, WrapperSyncAss
                 .setRecommendedFileName(recommendedFileName)
                 .setDownloadedFileProvider(downloader);
 
-            assetPartAssets.add(targetAsset);
-            assets.add(targetAsset);
+            assets[i] = targetAsset;
+            if (assetParts != null) {
+                assetParts[i] = targetAsset;
+            }
         }
 
 
-        if (assetPartAssets.size() > 1) {
+        if (isCompoundAsset) {
             // we have a compound asset, consisting of more than one asset part
 
             final BaseSyncAsset syncTargetAsset = this._syncTargetDataFactory.createSyncCompoundAsset();
@@ -142,19 +165,22 @@ class AssetConverter extends BaseSyncDataConverter<ISmintIoAsset, WrapperSyncAss
             final WrapperSyncAsset targetCompoundAsset = new WrapperSyncAsset(syncTargetAsset);
 
             targetCompoundAsset
-                .setAssetParts(assetPartAssets.toArray(new BaseSyncAsset[assetPartAssets.size()]))
+                .setAssetParts(assetParts)
                 .setTransactionUuid(rawAsset.getLicensePurchaseTransactionUuid());
 
 
             this.setContentMetadata(targetCompoundAsset, rawAsset, null, this._idMapper);
             this.setLicenseMetadata(targetCompoundAsset, rawAsset, this._idMapper, this._syncTargetDataFactory);
 
-            assets.add(targetCompoundAsset);
+            assets[binaries.length] = targetCompoundAsset;
         }
 
-        LOG.info(() -> "Transformed Smint.io LPT " + rawAsset.getLicensePurchaseTransactionUuid());
 
-        return assets.toArray(new WrapperSyncAsset[assets.size()]);
+        if (LOG.isLoggable(Level.FINE)) {
+            LOG.fine("Transformed Smint.io LPT " + rawAsset.getLicensePurchaseTransactionUuid());
+        }
+
+        return assets;
     }
 
 
@@ -174,22 +200,28 @@ class AssetConverter extends BaseSyncDataConverter<ISmintIoAsset, WrapperSyncAss
             .setContentProvider(
                 this.convertId(
                     rawAsset.getContentProvider(),
-                    (id) -> idMapper.getContentProviderId(id),
-                    (id) -> "No sync target ID found for content provider ID: " + id
+                    idMapper,
+                    CONTENT_PROVIDER_ID,
+                    SyncMetadataCategoryEnum.ContentProvidersEnum,
+                    "No sync target ID found for content provider ID: "
                 )
             )
             .setContentType(
                 this.convertId(
                     contentTypeString,
-                    (id) -> idMapper.getContentTypeId(id),
-                    (id) -> "No sync target ID found for content type ID: " + id
+                    idMapper,
+                    CONTENT_TYPE_ID,
+                    SyncMetadataCategoryEnum.ContentTypesEnum,
+                    "No sync target ID found for content type ID: "
                 )
             )
             .setContentCategory(
                 this.convertId(
                     rawAsset.getContentCategory(),
-                    (id) -> idMapper.getContentCategoryId(id),
-                    (id) -> "No sync target ID found for content category ID: " + id
+                    idMapper,
+                    CONTENT_CATEGORY_ID,
+                    SyncMetadataCategoryEnum.ContentCategoriesEnum,
+                    "No sync target ID found for content category ID: "
                 )
             )
             .setSmintIoUrl(rawAsset.getSmintIoUrl())
@@ -247,8 +279,10 @@ class AssetConverter extends BaseSyncDataConverter<ISmintIoAsset, WrapperSyncAss
                 targetAsset.setBinaryType(
                     this.convertId(
                         binary.getBinaryType(),
-                        (id) -> idMapper.getBinaryTypeId(id),
-                        (id) -> "No sync target ID found for binary asset type ID " + id
+                        idMapper,
+                        BINARY_TYPE_ID,
+                        SyncMetadataCategoryEnum.BinaryTypesEnum,
+                        "No sync target ID found for binary asset type ID "
                     )
                 );
             }
@@ -280,8 +314,10 @@ class AssetConverter extends BaseSyncDataConverter<ISmintIoAsset, WrapperSyncAss
             .setLicenseType(
                 this.convertId(
                     rawAsset.getLicenseType(),
-                    (id) -> idMapper.getLicenseTypeId(id),
-                    (id) -> "No sync target ID found for license type ID " + id
+                    idMapper,
+                    LICENSE_TYPE_ID,
+                    SyncMetadataCategoryEnum.LicenseTypesEnum,
+                    "No sync target ID found for license type ID "
                 )
             )
             .setLicenseeUuid(rawAsset.getLicenseeUuid())
@@ -298,9 +334,12 @@ class AssetConverter extends BaseSyncDataConverter<ISmintIoAsset, WrapperSyncAss
 
         if (rawAsset.getLicenseTerms() != null && rawAsset.getLicenseTerms().length > 0) {
 
-            targetAsset.setLicenseTerms(
-                new LicenseTermConverter(syncTargetDataFactory, idMapper).convertAll(rawAsset.getLicenseTerms())
-            );
+            final LicenseTermConverter licenseTermConverter = idMapper == this._idMapper
+                && syncTargetDataFactory == this._syncTargetDataFactory
+                    ? this._licenseTermConverter
+                    : new LicenseTermConverter(syncTargetDataFactory, idMapper);
+
+            targetAsset.setLicenseTerms(licenseTermConverter.convertAll(rawAsset.getLicenseTerms()));
 
         }
 
@@ -380,7 +419,17 @@ class AssetConverter extends BaseSyncDataConverter<ISmintIoAsset, WrapperSyncAss
 
 
     private boolean isNullOrEmpty(final String value) {
-        return value == null || value.isEmpty() || value.matches("^\\s*$");
+        if (value == null || value.isEmpty()) {
+            return true;
+        }
+
+        // avoid compiling a regular expression for each check
+        for (int i = 0; i < value.length(); i++) {
+            if (!Character.isWhitespace(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private boolean isNullOrEmpty(final Map<?, ?> value) {
@@ -388,25 +437,36 @@ class AssetConverter extends BaseSyncDataConverter<ISmintIoAsset, WrapperSyncAss
     }
 
 
+    /**
+     * Maps a Smint.io ID to the sync target ID.
+     *
+     * @param id                 the Smint.io ID to map.
+     * @param idMapper           the mapper to use.
+     * @param mapping            the mapping function to call on {@code idMapper}.
+     * @param category           the category of the meta data the ID belongs to.
+     * @param errorMessagePrefix the message of the exception in case no sync target ID is available. The ID is
+     *                           appended, but only in case of an error.
+     * @return the sync target ID or {@code null} if {@code id} is {@code null} or empty.
+     * @throws SmintIoUnknownMetadataException if no sync target ID is available for a non-empty {@code id}.
+     */
     private String convertId(
         final String id,
-        final Function<String, String> converter,
-        final Function<String, String> errorMessageProvider
+        final ISyncMetadataIdMapper idMapper,
+        final BiFunction<ISyncMetadataIdMapper, String, String> mapping,
+        final SyncMetadataCategoryEnum category,
+        final String errorMessagePrefix
     ) {
 
-        if (!this.isNullOrEmpty(id)) {
-            return this.checkIdOrThrow(converter.apply(id), () -> errorMessageProvider.apply(id));
+        if (this.isNullOrEmpty(id)) {
+            return null;
         }
 
-        return null;
-    }
 
-
-    private String checkIdOrThrow(final String id, final Provider<String> messageProvider) {
-        if (this.isNullOrEmpty(id)) {
-            throw new NullPointerException(messageProvider.get());
+        final String targetId = mapping.apply(idMapper, id);
+        if (this.isNullOrEmpty(targetId)) {
+            throw new SmintIoUnknownMetadataException(category, id, errorMessagePrefix + id);
         }
 
-        return id;
+        return targetId;
     }
 }
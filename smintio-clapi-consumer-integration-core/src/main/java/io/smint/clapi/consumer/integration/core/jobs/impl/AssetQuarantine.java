@@ -0,0 +1,301 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.jobs.impl;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+
+import io.smint.clapi.consumer.integration.core.configuration.ISyncQuarantineStorage;
+import io.smint.clapi.consumer.integration.core.configuration.models.IQuarantinedAssetModel;
+import io.smint.clapi.consumer.integration.core.configuration.models.ISettingsModel;
+import io.smint.clapi.consumer.integration.core.configuration.models.ISyncQuarantineModel;
+import io.smint.clapi.consumer.integration.core.configuration.models.impl.QuarantinedAssetModelImpl;
+import io.smint.clapi.consumer.integration.core.configuration.models.impl.SyncQuarantineModelImpl;
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoAsset;
+
+
+/**
+ * Keeps assets, that failed to be synchronized, so they can be retried without aborting the whole page.
+ *
+ * <p>
+ * Each asset is identified by the UUID of its license purchase transaction. A failed asset is retried after
+ * {@link ISettingsModel#getQuarantineRetrySeconds()}, which doubles with each failed attempt up to
+ * {@link #MAX_RETRY_SECONDS}. After {@link ISettingsModel#getQuarantineMaxAttempts()} attempts, the asset is kept but
+ * not retried anymore. As soon as the asset has been synchronized, eg: because a newer version of it has been received
+ * from Smint.io, it is released from quarantine.
+ * </p>
+ *
+ * <p>
+ * All changes are written to the {@link ISyncQuarantineStorage} immediately, which is read once on first use.
+ * </p>
+ */
+@Singleton
+public class AssetQuarantine {
+
+    /**
+     * The longest time in seconds to wait before a quarantined asset is retried.
+     */
+    public static final long MAX_RETRY_SECONDS = 86400L;
+
+
+    private static final Logger LOG = Logger.getLogger(AssetQuarantine.class.getName());
+
+    private static final int MAX_BACKOFF_SHIFT = 30;
+
+
+    private final ISyncQuarantineStorage _storage;
+    private final Provider<ISettingsModel> _settingsProvider;
+    private Map<String, QuarantinedAssetModelImpl> _assets;
+
+
+    /**
+     * Create a new quarantine.
+     *
+     * @param storage  the storage to persist the quarantined assets with. Must not be {@code null}.
+     * @param settings the settings to read the retry policy from.
+     */
+    @Inject
+    public AssetQuarantine(final ISyncQuarantineStorage storage, final Provider<ISettingsModel> settings) {
+        this._storage = storage;
+        this._settingsProvider = settings;
+
+        Objects.requireNonNull(this._storage, "Quarantine storage must not be null!");
+        Objects.requireNonNull(this._settingsProvider, "Settings must not be null!");
+    }
+
+
+    /**
+     * Checks whether any asset is in quarantine.
+     *
+     * @return {@code true} if no asset is in quarantine.
+     */
+    public synchronized boolean isEmpty() {
+        return this.getAssets().isEmpty();
+    }
+
+
+    /**
+     * Provides all assets in quarantine.
+     *
+     * @return the assets in the order they have been put into quarantine - never {@code null}.
+     */
+    public synchronized List<IQuarantinedAssetModel> getQuarantinedAssets() {
+        return new ArrayList<>(this.getAssets().values());
+    }
+
+
+    /**
+     * Provides all assets in quarantine, whose next retry is due.
+     *
+     * @return the assets to retry now - never {@code null}.
+     */
+    public synchronized List<IQuarantinedAssetModel> getDueAssets() {
+        final OffsetDateTime now = OffsetDateTime.now();
+
+        final List<IQuarantinedAssetModel> dueAssets = new ArrayList<>();
+        for (final QuarantinedAssetModelImpl asset : this.getAssets().values()) {
+            if (asset.getNextRetryAt() != null && !asset.getNextRetryAt().isAfter(now)) {
+                dueAssets.add(asset);
+            }
+        }
+        return dueAssets;
+    }
+
+
+    /**
+     * Puts an asset into quarantine or records another failed attempt of an asset already in quarantine.
+     *
+     * @param rawAsset the asset as received from Smint.io.
+     * @param error    the error the synchronization failed with.
+     * @return {@code true} if the asset has been put into quarantine or {@code false} if it can not be identified.
+     */
+    public synchronized boolean quarantine(final ISmintIoAsset rawAsset, final Exception error) {
+        final String uuid = rawAsset != null ? rawAsset.getLicensePurchaseTransactionUuid() : null;
+        if (uuid == null || uuid.isEmpty()) {
+            return false;
+        }
+
+
+        final OffsetDateTime now = OffsetDateTime.now();
+        QuarantinedAssetModelImpl asset = this.getAssets().get(uuid);
+        if (asset == null) {
+            asset = new QuarantinedAssetModelImpl()
+                .setLicensePurchaseTransactionUuid(uuid)
+                .setQuarantinedAt(now);
+            this.getAssets().put(uuid, asset);
+        }
+
+        if (asset.getRawAsset() == null || !isOlder(rawAsset, asset.getRawAsset())) {
+            asset.setRawAsset(rawAsset);
+        }
+
+
+        final ISettingsModel settings = this._settingsProvider.get();
+        final int maxAttempts = settings != null ? settings.getQuarantineMaxAttempts() : 0;
+        final long retrySeconds = settings != null ? settings.getQuarantineRetrySeconds() : 0;
+
+        final int attempts = asset.getAttempts() + 1;
+        asset
+            .setAttempts(attempts)
+            .setError(error != null ? error.toString() : null)
+            .setNextRetryAt(
+                maxAttempts > 0 && attempts >= maxAttempts
+                    ? null
+                    : now.plusSeconds(getRetryDelay(retrySeconds, attempts))
+            );
+
+        if (asset.getNextRetryAt() != null) {
+            LOG.log(
+                Level.WARNING,
+                "Asset " + uuid + " failed to be synchronized and is retried at " + asset.getNextRetryAt(),
+                error
+            );
+        } else {
+            LOG.log(
+                Level.SEVERE,
+                "Asset " + uuid + " failed to be synchronized " + attempts + " times and is not retried anymore.",
+                error
+            );
+        }
+
+        this.store();
+        return true;
+    }
+
+
+    /**
+     * Postpones the next retry of an asset already in quarantine without counting another failed attempt.
+     *
+     * <p>
+     * This is used if the failure can not be blamed on the asset, eg: because all retried assets failed.
+     * </p>
+     *
+     * @param licensePurchaseTransactionUuid the UUID of the license purchase transaction of the asset.
+     * @param error                          the error the synchronization failed with.
+     * @return {@code true} if the asset is in quarantine and is going to be retried.
+     */
+    public synchronized boolean postpone(final String licensePurchaseTransactionUuid, final Exception error) {
+        final QuarantinedAssetModelImpl asset = licensePurchaseTransactionUuid != null
+            ? this.getAssets().get(licensePurchaseTransactionUuid)
+            : null;
+        if (asset == null || asset.getNextRetryAt() == null) {
+            return false;
+        }
+
+        final ISettingsModel settings = this._settingsProvider.get();
+        final long retrySeconds = settings != null ? settings.getQuarantineRetrySeconds() : 0;
+        asset
+            .setError(error != null ? error.toString() : null)
+            .setNextRetryAt(OffsetDateTime.now().plusSeconds(getRetryDelay(retrySeconds, asset.getAttempts())));
+
+        LOG.log(
+            Level.WARNING,
+            "Retrying asset " + licensePurchaseTransactionUuid + " failed and is postponed until "
+                + asset.getNextRetryAt(),
+            error
+        );
+        this.store();
+        return true;
+    }
+
+
+    /**
+     * Releases an asset from quarantine, as it has been synchronized.
+     *
+     * @param licensePurchaseTransactionUuid the UUID of the license purchase transaction of the asset.
+     * @return {@code true} if the asset has been in quarantine.
+     */
+    public synchronized boolean release(final String licensePurchaseTransactionUuid) {
+        if (licensePurchaseTransactionUuid == null || this.getAssets().remove(licensePurchaseTransactionUuid) == null) {
+            return false;
+        }
+
+        LOG.info(() -> "Asset " + licensePurchaseTransactionUuid + " has been released from quarantine.");
+        this.store();
+        return true;
+    }
+
+
+    /**
+     * Calculates the time to wait before the next attempt.
+     *
+     * @param retrySeconds the time to wait before the first retry.
+     * @param attempts     the number of failed attempts so far.
+     * @return the time in seconds, doubled for each failed attempt but at most {@link #MAX_RETRY_SECONDS}.
+     */
+    static long getRetryDelay(final long retrySeconds, final int attempts) {
+        final int shift = Math.min(Math.max(attempts - 1, 0), MAX_BACKOFF_SHIFT);
+        return Math.min(Math.max(retrySeconds, 0) << shift, MAX_RETRY_SECONDS);
+    }
+
+
+    private static boolean isOlder(final ISmintIoAsset asset, final ISmintIoAsset other) {
+        return asset.getLastUpdatedAt() != null && other.getLastUpdatedAt() != null
+            && asset.getLastUpdatedAt().isBefore(other.getLastUpdatedAt());
+    }
+
+
+    private Map<String, QuarantinedAssetModelImpl> getAssets() {
+        if (this._assets == null) {
+            this._assets = new LinkedHashMap<>();
+
+            final ISyncQuarantineModel data = this._storage.getQuarantineData();
+            final IQuarantinedAssetModel[] assets = data != null ? data.getQuarantinedAssets() : null;
+            if (assets != null) {
+                for (final IQuarantinedAssetModel asset : assets) {
+                    if (asset != null && asset.getLicensePurchaseTransactionUuid() != null
+                        && asset.getRawAsset() != null) {
+
+                        this._assets.put(
+                            asset.getLicensePurchaseTransactionUuid(),
+                            new QuarantinedAssetModelImpl()
+                                .setLicensePurchaseTransactionUuid(asset.getLicensePurchaseTransactionUuid())
+                                .setRawAsset(asset.getRawAsset())
+                                .setError(asset.getError())
+                                .setAttempts(asset.getAttempts())
+                                .setQuarantinedAt(asset.getQuarantinedAt())
+                                .setNextRetryAt(asset.getNextRetryAt())
+                        );
+                    }
+                }
+            }
+        }
+        return this._assets;
+    }
+
+
+    private void store() {
+        this._storage.storeQuarantineData(
+            new SyncQuarantineModelImpl().setQuarantinedAssets(
+                this._assets.values().toArray(new QuarantinedAssetModelImpl[this._assets.size()])
+            )
+        );
+    }
+}
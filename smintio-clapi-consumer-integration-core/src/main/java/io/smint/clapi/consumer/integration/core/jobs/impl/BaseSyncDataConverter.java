@@ -2,12 +2,17 @@ package io.smint.clapi.consumer.integration.core.jobs.impl;
 
 import java.lang.reflect.Array;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 import io.smint.clapi.consumer.integration.core.contracts.ISmintIoDataType;
+import io.smint.clapi.consumer.integration.core.exceptions.SmintIoUnknownMetadataException;
+import io.smint.clapi.consumer.integration.core.jobs.SyncMetadataCategoryEnum;
 import io.smint.clapi.consumer.integration.core.target.ISyncDataType;
 import io.smint.clapi.consumer.integration.core.target.ISyncTarget;
 
@@ -78,12 +83,166 @@ abstract class BaseSyncDataConverter<FromTypeT extends ISmintIoDataType, ToTypeT
             return (ToTypeT[]) Array.newInstance(this._targetType, 0);
         }
 
-        final List<ToTypeT> convertedItems = new ArrayList<>();
+        final List<ToTypeT> convertedItems = new ArrayList<>(sources.length);
         for (final FromTypeT source : sources) {
 
             final ToTypeT[] converted = this.convert(source);
             if (converted != null) {
-                convertedItems.addAll(Arrays.asList(converted));
+                for (final ToTypeT item : converted) {
+                    convertedItems.add(item);
+                }
+            }
+        }
+
+        return convertedItems.toArray((ToTypeT[]) Array.newInstance(this._targetType, convertedItems.size()));
+    }
+
+
+    /**
+     * Converts each item in the list in parallel, using {@link #convert(ISmintIoDataType)} on the provided pool.
+     *
+     * <p>
+     * Each source is converted by its own task. The order of the converted items is the same as with
+     * {@link #convertAll(ISmintIoDataType[])}. As soon as the first conversion fails, no further conversion is
+     * started, all pending tasks are cancelled and the exception of the first failure is thrown. Hence
+     * {@link #convert(ISmintIoDataType)} must be safe to be called concurrently.
+     * </p>
+     *
+     * <p>
+     * If there is no pool, or it does not support any parallelism, or there are less than two sources, then the
+     * conversion is performed sequentially on the current thread.
+     * </p>
+     *
+     * @param sources the list of original sources to convert.
+     * @param pool    the pool to perform the conversion with or {@code null} to convert sequentially.
+     * @return a converted list or {@code null} if {@code sources} is {@code null}
+     * @throws RuntimeException the first exception thrown by any conversion.
+     */
+    @SuppressWarnings("unchecked")
+    public ToTypeT[] convertAll(final FromTypeT[] sources, final ForkJoinPool pool) {
+        if (sources == null || sources.length < 2 || pool == null || pool.getParallelism() < 2) {
+            return this.convertAll(sources);
+        }
+
+
+        final AtomicReference<RuntimeException> firstFailure = new AtomicReference<>();
+        final List<ForkJoinTask<ToTypeT[]>> tasks = new ArrayList<>(sources.length);
+        for (final FromTypeT source : sources) {
+            tasks.add(pool.submit(() -> {
+                if (firstFailure.get() != null) {
+                    return null;
+                }
+
+                try {
+                    return this.convert(source);
+
+                    // CHECKSTYLE OFF: IllegalCatch
+                } catch (final RuntimeException excp) {
+                    firstFailure.compareAndSet(null, excp);
+                    throw excp;
+                }
+                // CHECKSTYLE ON: IllegalCatch
+            }));
+        }
+
+
+        final List<ToTypeT> convertedItems = new ArrayList<>(sources.length);
+        for (final ForkJoinTask<ToTypeT[]> task : tasks) {
+
+            final ToTypeT[] converted;
+            try {
+                converted = task.join();
+
+                // CHECKSTYLE OFF: IllegalCatch
+            } catch (final RuntimeException excp) {
+                // the first failure has been recorded already and is thrown below
+                break;
+            }
+            // CHECKSTYLE ON: IllegalCatch
+
+            if (converted != null) {
+                for (final ToTypeT item : converted) {
+                    convertedItems.add(item);
+                }
+            }
+        }
+
+
+        final RuntimeException failure = firstFailure.get();
+        if (failure != null) {
+            for (final ForkJoinTask<ToTypeT[]> task : tasks) {
+                task.cancel(false);
+            }
+            throw failure;
+        }
+
+        return convertedItems.toArray((ToTypeT[]) Array.newInstance(this._targetType, convertedItems.size()));
+    }
+
+
+    /**
+     * Converts each item in the list like {@link #convertAll(ISmintIoDataType[], ForkJoinPool)}, but isolates failures.
+     *
+     * <p>
+     * A failing conversion does not abort the conversion of the other items. Instead, the failed source and its error
+     * are passed to the {@code failureHandler} on the calling thread, in the order of the sources, after all items
+     * have been converted. The converted items of the failed sources are missing from the result.
+     * </p>
+     *
+     * @param sources        the list of original sources to convert.
+     * @param pool           the pool to perform the conversion with or {@code null} to convert sequentially.
+     * @param failureHandler receives each failed source with its error.
+     * @return a converted list or {@code null} if {@code sources} is {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public ToTypeT[] convertAll(
+        final FromTypeT[] sources,
+        final ForkJoinPool pool,
+        final BiConsumer<FromTypeT, RuntimeException> failureHandler
+    ) {
+        if (sources == null || failureHandler == null) {
+            return this.convertAll(sources, pool);
+        }
+
+
+        final RuntimeException[] failures = new RuntimeException[sources.length];
+        final Function<Integer, ToTypeT[]> conversion = (index) -> {
+            try {
+                return this.convert(sources[index]);
+
+                // CHECKSTYLE OFF: IllegalCatch
+            } catch (final RuntimeException excp) {
+                failures[index] = excp;
+                return null;
+            }
+            // CHECKSTYLE ON: IllegalCatch
+        };
+
+        final boolean isParallel = sources.length > 1 && pool != null && pool.getParallelism() > 1;
+        final List<ForkJoinTask<ToTypeT[]>> tasks = new ArrayList<>(isParallel ? sources.length : 0);
+        if (isParallel) {
+            for (int i = 0; i < sources.length; i++) {
+                final int index = i;
+                tasks.add(pool.submit(() -> conversion.apply(index)));
+            }
+        }
+
+
+        final List<ToTypeT> convertedItems = new ArrayList<>(sources.length);
+        for (int i = 0; i < sources.length; i++) {
+
+            // joining the task makes the failure recorded by it visible to this thread
+            final ToTypeT[] converted = isParallel ? tasks.get(i).join() : conversion.apply(i);
+            if (converted != null) {
+                for (final ToTypeT item : converted) {
+                    convertedItems.add(item);
+                }
+            }
+        }
+
+        for (int i = 0; i < sources.length; i++) {
+            if (failures[i] != null) {
+                failureHandler.accept(sources[i], failures[i]);
             }
         }
 
@@ -96,19 +255,21 @@ abstract class BaseSyncDataConverter<FromTypeT extends ISmintIoDataType, ToTypeT
      *
      * <p>
      * The mapping is performed by a function, that will receive a single Smint.io key and map it to a synchronization
-     * target key. The mapping function should return {@code null} for any parameter of value {@code null}. However, it
-     * must raise an exception, in case the Smint.io key can not be found on the sync target, rather than returning
-     * {@code null} in this case, too. The exception will abort the current sync process and requires further manual
-     * checks and SysAdmin assistance. Since all possible meta data is synchronized before any assets, a missing license
-     * meta data is a severe condition and hence must be checked manually!
+     * target key. The mapping function should return {@code null} for any parameter of value {@code null}. In case a
+     * non-empty Smint.io key can not be mapped, a {@link SmintIoUnknownMetadataException} is thrown. It contains the
+     * category of the key, so the sync job is able to import the missing meta data category and retry the conversion.
      * </p>
      *
      * @param smintIoKeys               the Smint.io keys to map.
+     * @param category                  the category of the meta data the keys belong to.
      * @param getTargetKeyForSmintIoKey the mapping function for the key, does the actual workload.
      * @return a list of mapped keys of the same size as the parameter.
+     * @throws SmintIoUnknownMetadataException if a non-empty Smint.io key can not be mapped.
      */
     protected String[] convertKeys(
-        final String[] smintIoKeys, final Function<String, String> getTargetKeyForSmintIoKey
+        final String[] smintIoKeys,
+        final SyncMetadataCategoryEnum category,
+        final Function<String, String> getTargetKeyForSmintIoKey
     ) {
 
         if (smintIoKeys == null || smintIoKeys.length == 0) {
@@ -121,9 +282,13 @@ abstract class BaseSyncDataConverter<FromTypeT extends ISmintIoDataType, ToTypeT
             final String smintIoKey = smintIoKeys[i];
             targetKeys[i] = getTargetKeyForSmintIoKey.apply(smintIoKey);
 
-            if (smintIoKey != null && !smintIoKey.isEmpty()) {
-                Objects
-                    .requireNonNull(targetKeys[i], "Failed to get sync target key for Smint.io API key " + smintIoKey);
+            if (targetKeys[i] == null && smintIoKey != null && !smintIoKey.isEmpty()) {
+                // create the message only in case of an error
+                throw new SmintIoUnknownMetadataException(
+                    category,
+                    smintIoKey,
+                    "Failed to get sync target key for Smint.io API key " + smintIoKey
+                );
             }
         }
 
@@ -10,6 +10,7 @@ import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.util.Objects;
+import java.util.function.LongConsumer;
 import java.util.logging.Logger;
 
 import javax.inject.Provider;
@@ -21,6 +22,9 @@ import okhttp3.Response;
 
 import io.smint.clapi.consumer.integration.core.configuration.IAuthTokenStorage;
 import io.smint.clapi.consumer.integration.core.configuration.models.IAuthTokenModel;
+import io.smint.clapi.consumer.integration.core.factory.impl.SmintIoHttpClientProvider;
+import io.smint.clapi.consumer.integration.core.services.IConcurrencyLimiter;
+import io.smint.clapi.consumer.integration.core.services.IRateLimiter;
 
 
 /**
@@ -32,6 +36,12 @@ import io.smint.clapi.consumer.integration.core.configuration.models.IAuthTokenM
  */
 public class BinaryAssetDownloader implements Provider<File> {
 
+    /**
+     * The number of downloaded bytes after which the progress of a download is reported.
+     */
+    public static final long DOWNLOAD_PROGRESS_BYTES = 1024L * 1024L;
+
+
     private static final Logger LOG = Logger.getLogger(BinaryAssetDownloader.class.getName());
 
 
@@ -39,14 +49,39 @@ public class BinaryAssetDownloader implements Provider<File> {
     private final File _targetFile;
     private final URL _sourceURL;
     private final IAuthTokenStorage _authTokenStorage;
+    private final IRateLimiter _rateLimiter;
+    private IConcurrencyLimiter _downloadLimiter;
+    private LongConsumer _downloadedBytesConsumer;
+
+    public BinaryAssetDownloader(
+        final IAuthTokenStorage authTokenStorage,
+        final OkHttpClient httpClient,
+        final URL sourceURL,
+        final File targetFile
+    ) {
+        this(authTokenStorage, httpClient, null, sourceURL, targetFile);
+    }
+
 
+    /**
+     * Create a new downloader that acquires a permit from a rate limiter before the download is started.
+     *
+     * @param authTokenStorage the storage to read the access token from. Must not be {@code null}.
+     * @param httpClient       the HTTP client to use for the download.
+     * @param rateLimiter      the rate limiter shared with all other requests to Smint.io or {@code null} to not limit
+     *                         the download.
+     * @param sourceURL        the URL to download from.
+     * @param targetFile       the file to store the downloaded data to.
+     */
     public BinaryAssetDownloader(
         final IAuthTokenStorage authTokenStorage,
         final OkHttpClient httpClient,
+        final IRateLimiter rateLimiter,
         final URL sourceURL,
         final File targetFile
     ) {
         this._authTokenStorage = authTokenStorage;
+        this._rateLimiter = rateLimiter;
 
         Objects.requireNonNull(this._authTokenStorage, "No Smint.io authentication storage has been provided!");
         Objects.requireNonNull(
@@ -75,7 +110,7 @@ public class BinaryAssetDownloader implements Provider<File> {
 
 
         if (this._httpClient == null) {
-            this._httpClient = new OkHttpClient();
+            this._httpClient = SmintIoHttpClientProvider.getSharedDownloadClient();
         }
 
 
@@ -110,6 +145,28 @@ public class BinaryAssetDownloader implements Provider<File> {
         LOG.finer(() -> "Creating HTTP client call to URL " + url);
         final Call call = this._httpClient.newCall(downloadRequest);
 
+        if (this._rateLimiter != null) {
+            this._rateLimiter.acquire();
+        }
+
+        final IConcurrencyLimiter downloadLimiter = this._downloadLimiter;
+        if (downloadLimiter != null && !downloadLimiter.acquire()) {
+            throw new RuntimeException("Interrupted while waiting to download binary file from " + url);
+        }
+
+        try {
+            return this.download(call, url);
+
+        } finally {
+            if (downloadLimiter != null) {
+                downloadLimiter.release();
+            }
+        }
+    }
+
+
+    private File download(final Call call, final URL url) {
+
         Response resp = null;
         try {
             LOG.finer(() -> "Executing HTTP client call, receiving response from URL " + url);
@@ -146,12 +203,23 @@ public class BinaryAssetDownloader implements Provider<File> {
 
             ) {
 
+                final LongConsumer downloadedBytesConsumer = this._downloadedBytesConsumer;
+                long bytes = 0;
                 int chr = in.read();
                 while (chr >= 0) {
                     out.write(chr);
+                    bytes++;
+                    if (bytes == DOWNLOAD_PROGRESS_BYTES && downloadedBytesConsumer != null) {
+                        downloadedBytesConsumer.accept(bytes);
+                        bytes = 0;
+                    }
                     chr = in.read();
                 }
 
+                if (bytes > 0 && downloadedBytesConsumer != null) {
+                    downloadedBytesConsumer.accept(bytes);
+                }
+
                 LOG.finer(
                     () -> "Successfully downloaded to target file " + this._targetFile.getAbsolutePath() + " from URL "
                         + url
@@ -186,4 +254,40 @@ public class BinaryAssetDownloader implements Provider<File> {
         this._httpClient = httpClient;
         return this;
     }
+
+    public IConcurrencyLimiter getDownloadLimiter() {
+        return this._downloadLimiter;
+    }
+
+    /**
+     * Sets the limiter of concurrent downloads and returns {@code this} for Fluent Interface.
+     *
+     * @param downloadLimiter the limiter to acquire a permit from before downloading or {@code null} to not limit the
+     *                        number of concurrent downloads.
+     * @return {@code this}
+     */
+    public BinaryAssetDownloader setDownloadLimiter(final IConcurrencyLimiter downloadLimiter) {
+        this._downloadLimiter = downloadLimiter;
+        return this;
+    }
+
+    public LongConsumer getDownloadedBytesConsumer() {
+        return this._downloadedBytesConsumer;
+    }
+
+    /**
+     * Sets the receiver of the progress of the download and returns {@code this} for Fluent Interface.
+     *
+     * <p>
+     * The receiver gets the number of bytes downloaded since its previous call, after every
+     * {@link #DOWNLOAD_PROGRESS_BYTES} bytes and at the end of the download.
+     * </p>
+     *
+     * @param downloadedBytesConsumer the receiver or {@code null} to not report the number of downloaded bytes.
+     * @return {@code this}
+     */
+    public BinaryAssetDownloader setDownloadedBytesConsumer(final LongConsumer downloadedBytesConsumer) {
+        this._downloadedBytesConsumer = downloadedBytesConsumer;
+        return this;
+    }
 }
@@ -0,0 +1,133 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.jobs.impl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.smint.clapi.consumer.integration.core.exceptions.SmintIoSyncJobException.SyncJobError;
+import io.smint.clapi.consumer.integration.core.jobs.ICancellationToken;
+
+
+/**
+ * A cancellation token, that is cancelled by calling {@link #cancel(SyncJobError, String)}.
+ *
+ * <p>
+ * Only the first cancellation is recorded. All registered actions are executed by the thread cancelling the token.
+ * </p>
+ */
+public class CancellationToken implements ICancellationToken {
+
+    private static final Logger LOG = Logger.getLogger(CancellationToken.class.getName());
+
+
+    private final Set<Runnable> _actions = new LinkedHashSet<>();
+    private volatile SyncJobError _cancellationType;
+    private volatile String _cancellationReason;
+
+
+    /**
+     * Cancels the token and executes all registered actions.
+     *
+     * @param type   the kind of the cancellation, usually {@link SyncJobError#Cancelled} or
+     *               {@link SyncJobError#Stalled}.
+     * @param reason the reason to report.
+     * @return {@code false} if the token had already been cancelled before.
+     */
+    public boolean cancel(final SyncJobError type, final String reason) {
+        Objects.requireNonNull(type, "Invalid cancellation type has been provided!");
+
+        final List<Runnable> actions;
+        synchronized (this._actions) {
+            if (this._cancellationType != null) {
+                return false;
+            }
+
+            this._cancellationReason = reason;
+            this._cancellationType = type;
+            actions = new ArrayList<>(this._actions);
+            this._actions.clear();
+        }
+
+        for (final Runnable action : actions) {
+            this.execute(action);
+        }
+        return true;
+    }
+
+
+    @Override
+    public boolean isCancelled() {
+        return this._cancellationType != null;
+    }
+
+
+    @Override
+    public String getCancellationReason() {
+        return this._cancellationReason;
+    }
+
+
+    @Override
+    public SyncJobError getCancellationType() {
+        return this._cancellationType;
+    }
+
+
+    @Override
+    public Registration onCancel(final Runnable action) {
+        Objects.requireNonNull(action, "Invalid action has been provided!");
+
+        // each registration is a distinct instance, so the same action may be registered more than once
+        final Runnable registeredAction = action::run;
+        synchronized (this._actions) {
+            if (this._cancellationType == null) {
+                this._actions.add(registeredAction);
+                return () -> {
+                    synchronized (this._actions) {
+                        this._actions.remove(registeredAction);
+                    }
+                };
+            }
+        }
+
+        this.execute(action);
+        return () -> {
+            // nothing to remove
+        };
+    }
+
+
+    private void execute(final Runnable action) {
+
+        // CHECKSTYLE OFF: IllegalCatch
+        try {
+            action.run();
+        } catch (final RuntimeException excp) {
+            LOG.log(Level.WARNING, "Failed to execute cancellation action.", excp);
+        }
+        // CHECKSTYLE ON: IllegalCatch
+    }
+}
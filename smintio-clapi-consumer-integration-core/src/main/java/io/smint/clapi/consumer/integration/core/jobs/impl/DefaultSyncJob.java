@@ -20,35 +20,50 @@
 package io.smint.clapi.consumer.integration.core.jobs.impl;
 
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Provider;
 
 import io.smint.clapi.consumer.integration.core.configuration.IAuthTokenStorage;
 import io.smint.clapi.consumer.integration.core.configuration.ISyncJobDataStorage;
+import io.smint.clapi.consumer.integration.core.configuration.impl.SyncQuarantineMemoryStorage;
 import io.smint.clapi.consumer.integration.core.configuration.models.IAuthTokenModel;
+import io.smint.clapi.consumer.integration.core.configuration.models.IQuarantinedAssetModel;
 import io.smint.clapi.consumer.integration.core.configuration.models.ISettingsModel;
 import io.smint.clapi.consumer.integration.core.configuration.models.ISyncJobDataModel;
-import io.smint.clapi.consumer.integration.core.configuration.models.impl.SyncJobDataModelImpl;
+import io.smint.clapi.consumer.integration.core.configuration.models.impl.SmintIoAssetJsonConverter;
 import io.smint.clapi.consumer.integration.core.contracts.ISmintIoAsset;
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoBinary;
 import io.smint.clapi.consumer.integration.core.contracts.ISmintIoGenericMetadata;
-import io.smint.clapi.consumer.integration.core.contracts.ISmintIoMetadataElement;
 import io.smint.clapi.consumer.integration.core.exceptions.SmintIoAuthenticatorException;
 import io.smint.clapi.consumer.integration.core.exceptions.SmintIoAuthenticatorException.AuthenticatorError;
 import io.smint.clapi.consumer.integration.core.exceptions.SmintIoSyncJobException;
 import io.smint.clapi.consumer.integration.core.exceptions.SmintIoSyncJobException.SyncJobError;
+import io.smint.clapi.consumer.integration.core.exceptions.SmintIoUnknownMetadataException;
 import io.smint.clapi.consumer.integration.core.factory.ISmintIoDownloadProvider;
+import io.smint.clapi.consumer.integration.core.jobs.ICancellationToken;
 import io.smint.clapi.consumer.integration.core.jobs.ISyncJob;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncJobSupervisor;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncJobSupervisor.Stage;
 import io.smint.clapi.consumer.integration.core.jobs.ISyncMetadataIdMapper;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncRunRecorder;
+import io.smint.clapi.consumer.integration.core.jobs.SyncJobStageEnum;
+import io.smint.clapi.consumer.integration.core.jobs.SyncMetadataCategoryEnum;
 import io.smint.clapi.consumer.integration.core.providers.ISmintIoApiClient;
 import io.smint.clapi.consumer.integration.core.providers.ISmintIoApiDataWithContinuation;
 import io.smint.clapi.consumer.integration.core.target.ISyncTarget;
@@ -78,6 +93,13 @@ import io.smint.clapi.consumer.integration.core.target.impl.BaseSyncAsset;
  * {@code boolean} parameter to {@link #synchronize(boolean)}. Hence at maximum two sync jobs may be waiting for the a
  * third currently running job to finish.
  * </p>
+ *
+ * <p>
+ * Each run is supervised by an {@link ISyncJobSupervisor}. The run checks its cancellation token between all pages and
+ * slices of assets and reports a cancelled or stalled run to the sync target with
+ * {@link ISyncTarget#handleSyncJobException(SmintIoSyncJobException)}. The continuation UUID of the last completed page
+ * is kept, so the next run continues from there.
+ * </p>
  */
 public class DefaultSyncJob implements ISyncJob {
 
@@ -92,6 +114,10 @@ public class DefaultSyncJob implements ISyncJob {
     private final ISyncTargetDataFactory _syncTargetDataFactory;
     private final ISmintIoDownloadProvider _downloadProvider;
     private final ISyncMetadataIdMapper _idMapper;
+    private final Provider<ForkJoinPool> _conversionPool;
+    private final ISyncJobSupervisor _supervisor;
+    private final AssetQuarantine _quarantine;
+    private final GenericMetadataRefresher _metadataRefresher;
 
 
     /**
@@ -108,7 +134,6 @@ public class DefaultSyncJob implements ISyncJob {
      * @param idMapper              a utility class to map from meta data Smint.io API IDs to sync target IDs.
      */
     // CHECKSTYLE OFF: ParameterNumber
-    @Inject
     public DefaultSyncJob(
         final Provider<ISettingsModel> settings,
         final IAuthTokenStorage authTokenStorage,
@@ -118,6 +143,142 @@ public class DefaultSyncJob implements ISyncJob {
         final ISyncJobDataStorage syncDataStorage,
         final ISmintIoDownloadProvider downloadProvider,
         final ISyncMetadataIdMapper idMapper
+    ) {
+        this(
+            settings,
+            authTokenStorage,
+            smintIoClient,
+            syncTarget,
+            syncTargetDataFactory,
+            syncDataStorage,
+            downloadProvider,
+            idMapper,
+            null
+        );
+    }
+
+
+    /**
+     * Create new sync job and provide all necessary parameters via parameters.
+     *
+     * @param settings              the settings to read tenant ID etc. from
+     * @param authTokenStorage      OAuth token for authorization to connect to Smint.io API
+     * @param smintIoClient         Smint.IO API wrapper instance
+     * @param syncTarget            the target to synchronize to
+     * @param syncTargetDataFactory the sync target data factory to create the data instance. Must not be {@code null}!
+     * @param syncDataStorage       storage to save some data between synchronization steps. Used for fetching the list
+     *                              of assets in chunks, as the list could be very long.
+     * @param downloadProvider      an instance to create file downloader for binary asset files.
+     * @param idMapper              a utility class to map from meta data Smint.io API IDs to sync target IDs.
+     * @param conversionPool        the provider of the pool to convert assets in parallel or {@code null} to convert
+     *                              sequentially. It is asked for every conversion, as the pool is replaced after
+     *                              the synchronization has been stopped and started again.
+     */
+    public DefaultSyncJob(
+        final Provider<ISettingsModel> settings,
+        final IAuthTokenStorage authTokenStorage,
+        final ISmintIoApiClient smintIoClient,
+        final ISyncTarget syncTarget,
+        final ISyncTargetDataFactory syncTargetDataFactory,
+        final ISyncJobDataStorage syncDataStorage,
+        final ISmintIoDownloadProvider downloadProvider,
+        final ISyncMetadataIdMapper idMapper,
+        @Nullable final Provider<ForkJoinPool> conversionPool
+    ) {
+        this(
+            settings,
+            authTokenStorage,
+            smintIoClient,
+            syncTarget,
+            syncTargetDataFactory,
+            syncDataStorage,
+            downloadProvider,
+            idMapper,
+            conversionPool,
+            null
+        );
+    }
+
+
+    /**
+     * Create new sync job and provide all necessary parameters via parameters.
+     *
+     * @param settings              the settings to read tenant ID etc. from
+     * @param authTokenStorage      OAuth token for authorization to connect to Smint.io API
+     * @param smintIoClient         Smint.IO API wrapper instance
+     * @param syncTarget            the target to synchronize to
+     * @param syncTargetDataFactory the sync target data factory to create the data instance. Must not be {@code null}!
+     * @param syncDataStorage       storage to save some data between synchronization steps. Used for fetching the list
+     *                              of assets in chunks, as the list could be very long.
+     * @param downloadProvider      an instance to create file downloader for binary asset files.
+     * @param idMapper              a utility class to map from meta data Smint.io API IDs to sync target IDs.
+     * @param conversionPool        the provider of the pool to convert assets in parallel or {@code null} to convert
+     *                              sequentially. It is asked for every conversion, as the pool is replaced after
+     *                              the synchronization has been stopped and started again.
+     * @param supervisor            the supervisor to cancel runs and to watch the time budget of their stages. If
+     *                              {@code null}, a private supervisor is used.
+     */
+    public DefaultSyncJob(
+        final Provider<ISettingsModel> settings,
+        final IAuthTokenStorage authTokenStorage,
+        final ISmintIoApiClient smintIoClient,
+        final ISyncTarget syncTarget,
+        final ISyncTargetDataFactory syncTargetDataFactory,
+        final ISyncJobDataStorage syncDataStorage,
+        final ISmintIoDownloadProvider downloadProvider,
+        final ISyncMetadataIdMapper idMapper,
+        @Nullable final Provider<ForkJoinPool> conversionPool,
+        @Nullable final ISyncJobSupervisor supervisor
+    ) {
+        this(
+            settings,
+            authTokenStorage,
+            smintIoClient,
+            syncTarget,
+            syncTargetDataFactory,
+            syncDataStorage,
+            downloadProvider,
+            idMapper,
+            conversionPool,
+            supervisor,
+            null
+        );
+    }
+
+
+    /**
+     * Create new sync job and provide all necessary parameters via parameters.
+     *
+     * @param settings              the settings to read tenant ID etc. from
+     * @param authTokenStorage      OAuth token for authorization to connect to Smint.io API
+     * @param smintIoClient         Smint.IO API wrapper instance
+     * @param syncTarget            the target to synchronize to
+     * @param syncTargetDataFactory the sync target data factory to create the data instance. Must not be {@code null}!
+     * @param syncDataStorage       storage to save some data between synchronization steps. Used for fetching the list
+     *                              of assets in chunks, as the list could be very long.
+     * @param downloadProvider      an instance to create file downloader for binary asset files.
+     * @param idMapper              a utility class to map from meta data Smint.io API IDs to sync target IDs.
+     * @param conversionPool        the provider of the pool to convert assets in parallel or {@code null} to convert
+     *                              sequentially. It is asked for every conversion, as the pool is replaced after
+     *                              the synchronization has been stopped and started again.
+     * @param supervisor            the supervisor to cancel runs and to watch the time budget of their stages. If
+     *                              {@code null}, a private supervisor is used.
+     * @param quarantine            the quarantine to put failed assets into. If {@code null}, a quarantine only kept in
+     *                              memory is used.
+     */
+    @Inject
+    public DefaultSyncJob(
+        final Provider<ISettingsModel> settings,
+        final IAuthTokenStorage authTokenStorage,
+        final ISmintIoApiClient smintIoClient,
+        final ISyncTarget syncTarget,
+        final ISyncTargetDataFactory syncTargetDataFactory,
+        final ISyncJobDataStorage syncDataStorage,
+        final ISmintIoDownloadProvider downloadProvider,
+        final ISyncMetadataIdMapper idMapper,
+        @Nullable final Provider<ForkJoinPool> conversionPool,
+        @Nullable final ISyncJobSupervisor supervisor,
+        @Nullable final AssetQuarantine quarantine
     ) {
         this._settingsProvider = settings;
         this._tokenStorage = authTokenStorage;
@@ -127,6 +288,11 @@ public class DefaultSyncJob implements ISyncJob {
         this._syncTargetDataFactory = syncTargetDataFactory;
         this._downloadProvider = downloadProvider;
         this._idMapper = idMapper;
+        this._conversionPool = conversionPool;
+        this._supervisor = supervisor != null ? supervisor : new SyncJobSupervisorImpl(settings);
+        this._quarantine = quarantine != null ? quarantine
+            : new AssetQuarantine(new SyncQuarantineMemoryStorage(), settings);
+        this._metadataRefresher = new GenericMetadataRefresher(smintIoClient, idMapper, settings);
 
 
         Objects.requireNonNull(this._syncTarget, "Synchronization target has not been provided!");
@@ -157,15 +323,18 @@ public class DefaultSyncJob implements ISyncJob {
         }
 
 
+        final ICancellationToken cancellationToken = this._supervisor.beginRun();
         try {
             final IAuthTokenModel authData = this._tokenStorage.getAuthData();
             this.validateAuthTokenForSync(authData);
 
 
-            final boolean cancelTask = !this._syncTarget.beforeSync();
-            if (cancelTask) {
-                LOG.info("'BeforeSync' task terminated with 'false', indicating to abort sync.");
-                return;
+            try (Stage stage = this._supervisor.beginStage(SyncJobStageEnum.PrepareEnum)) {
+                final boolean cancelTask = !this._syncTarget.beforeSync();
+                if (cancelTask) {
+                    LOG.info("'BeforeSync' task terminated with 'false', indicating to abort sync.");
+                    return;
+                }
             }
 
 
@@ -179,7 +348,9 @@ public class DefaultSyncJob implements ISyncJob {
                     );
                 }
 
-                this.synchronizeGenericMetadata(this._smintIoClient.getGenericMetadata(), this._syncTarget);
+                try (Stage stage = this._supervisor.beginStage(SyncJobStageEnum.GenericMetadataEnum)) {
+                    this.synchronizeGenericMetadata(this._smintIoClient.getGenericMetadata(), this._syncTarget);
+                }
             }
 
             this.synchronizeAssets(
@@ -189,25 +360,74 @@ public class DefaultSyncJob implements ISyncJob {
                 this._smintIoClient
             );
 
-            LOG.fine("calling afterSync() on sync target");
-            this._syncTarget.afterSync();
+            try (Stage stage = this._supervisor.beginStage(SyncJobStageEnum.FinishEnum)) {
+                LOG.fine("calling afterSync() on sync target");
+                this._syncTarget.afterSync(this._supervisor.getCurrentRunReport());
+            }
 
         } catch (final SmintIoAuthenticatorException authExcp) {
+            this._supervisor.getCurrentRecorder().recordError(authExcp);
             LOG.log(Level.SEVERE, "Authentication error in sync job", authExcp);
             this._syncTarget.handleAuthenticatorException(authExcp);
 
         } catch (final SmintIoSyncJobException jobExcp) {
-            LOG.log(Level.SEVERE, "General synchronization error in sync job", jobExcp);
-            this._syncTarget.handleSyncJobException(jobExcp);
+            this._supervisor.getCurrentRecorder().recordError(jobExcp);
+            if (!this.handleCancellation(cancellationToken, jobExcp)) {
+                LOG.log(Level.SEVERE, "General synchronization error in sync job", jobExcp);
+                this._syncTarget.handleSyncJobException(jobExcp);
+            }
 
             // CHECKSTYLE OFF: IllegalCatch
         } catch (final Exception excp) {
-            LOG.log(Level.SEVERE, "Arbitrary error in sync job", excp);
-            this._syncTarget.handleSyncJobException(
-                new SmintIoSyncJobException(SmintIoSyncJobException.SyncJobError.Generic, excp.getMessage(), excp)
-            );
+            this._supervisor.getCurrentRecorder().recordError(excp);
+            if (!this.handleCancellation(cancellationToken, excp)) {
+                LOG.log(Level.SEVERE, "Arbitrary error in sync job", excp);
+                this._syncTarget.handleSyncJobException(
+                    new SmintIoSyncJobException(SmintIoSyncJobException.SyncJobError.Generic, excp.getMessage(), excp)
+                );
+            }
             // CHECKSTYLE ON: IllegalCatch
+
+        } finally {
+            this._supervisor.endRun(cancellationToken);
+        }
+    }
+
+
+    /**
+     * Provides the supervisor of all runs of this job.
+     *
+     * @return the supervisor - never {@code null}.
+     */
+    public ISyncJobSupervisor getSupervisor() {
+        return this._supervisor;
+    }
+
+
+    /**
+     * Reports a cancelled run to the sync target.
+     *
+     * <p>
+     * Any error occurring after the run has been cancelled is considered to be caused by the cancellation, eg: an
+     * aborted request or an interrupted call to the sync target. Hence only the cancellation is reported.
+     * </p>
+     *
+     * @param cancellationToken the token of the run.
+     * @param cause             the error that terminated the run.
+     * @return {@code true} if the run has been cancelled and the cancellation has been reported.
+     */
+    private boolean handleCancellation(final ICancellationToken cancellationToken, final Exception cause) {
+        if (!cancellationToken.isCancelled()) {
+            return false;
         }
+
+        LOG.log(Level.WARNING, "Synchronization run has been aborted: " + cancellationToken.getCancellationReason());
+        this._syncTarget.handleSyncJobException(
+            new SmintIoSyncJobException(
+                cancellationToken.getCancellationType(), cancellationToken.getCancellationReason(), cause
+            )
+        );
+        return true;
     }
 
 
@@ -374,70 +594,18 @@ public class DefaultSyncJob implements ISyncJob {
         this._idMapper.clearMapping();
 
 
-        ISmintIoMetadataElement[] items = metaData.getContentProviders();
-        syncTarget.importContentProviders(items);
-        this._idMapper.addMappingOfContentProviders(items);
-
-        items = metaData.getContentTypes();
-        syncTarget.importContentTypes(items);
-        this._idMapper.addMappingOfContentTypes(items);
-
-        items = metaData.getBinaryTypes();
-        syncTarget.importBinaryTypes(items);
-        this._idMapper.addMappingOfBinaryTypes(items);
-
-        items = metaData.getContentCategories();
-        syncTarget.importContentCategories(items);
-        this._idMapper.addMappingOfContentCategories(items);
-
-
-        items = metaData.getLicenseTypes();
-        syncTarget.importLicenseTypes(items);
-        this._idMapper.addMappingOfLicenseTypes(items);
-
-        items = metaData.getReleaseStates();
-        syncTarget.importReleaseStates(items);
-        this._idMapper.addMappingOfReleaseStates(items);
-
-
-        items = metaData.getLicenseExclusivities();
-        syncTarget.importLicenseExclusivities(items);
-        this._idMapper.addMappingOfLicenseExclusivities(items);
-
-        items = metaData.getLicenseUsages();
-        syncTarget.importLicenseUsages(items);
-        this._idMapper.addMappingOfLicenseUsages(items);
-
-        items = metaData.getLicenseSizes();
-        syncTarget.importLicenseSizes(items);
-        this._idMapper.addMappingOfLicenseSizes(items);
-
-        items = metaData.getLicensePlacements();
-        syncTarget.importLicensePlacements(items);
-        this._idMapper.addMappingOfLicensePlacements(items);
-
-        items = metaData.getLicenseDistributions();
-        syncTarget.importLicenseDistributions(items);
-        this._idMapper.addMappingOfLicenseDistributions(items);
-
-        items = metaData.getLicenseGeographies();
-        syncTarget.importLicenseGeographies(items);
-        this._idMapper.addMappingOfLicenseGeographies(items);
-
-        items = metaData.getLicenseIndustries();
-        syncTarget.importLicenseIndustries(items);
-        this._idMapper.addMappingOfLicenseIndustries(items);
-
-        items = metaData.getLicenseLanguages();
-        syncTarget.importLicenseLanguages(items);
-        this._idMapper.addMappingOfLicenseLanguages(items);
-
-        items = metaData.getLicenseUsageLimits();
-        syncTarget.importLicenseUsageLimits(items);
-        this._idMapper.addMappingOfLicenseUsageLimits(items);
+        for (final SyncMetadataCategoryEnum category : SyncMetadataCategoryEnum.values()) {
+            GenericMetadataRefresher.importCategory(
+                category,
+                GenericMetadataRefresher.getElements(metaData, category),
+                syncTarget,
+                this._idMapper
+            );
+        }
 
 
         syncTarget.afterGenericMetadataSync();
+        this._metadataRefresher.remember(metaData);
 
         LOG.info("Finished Smint.io generic metadata synchronization");
     }
@@ -452,6 +620,27 @@ public class DefaultSyncJob implements ISyncJob {
      * temporary directory are deleted at the end of synchronizing.
      * </p>
      *
+     * <p>
+     * In case {@link ISettingsModel#getMaxAssetsInFlight()} or {@link ISettingsModel#getSyncHeapBudgetMegabytes()} is
+     * set, each chunk is further split into smaller slices, which are converted and passed to the sync target one after
+     * the other. The data of each slice is released as soon as the sync target accepted it.
+     * </p>
+     *
+     * <p>
+     * Assets, that failed in a previous run and are due to be retried, are synchronized first. Any asset failing to be
+     * synchronized is put into quarantine, so that it does not block the continuation of the synchronization.
+     * </p>
+     *
+     * <p>
+     * The continuation UUID is stored as configured with {@link ISettingsModel#getCheckpointPages()} and
+     * {@link ISettingsModel#getCheckpointSeconds()}, and always at the end of the run, even if it failed.
+     * </p>
+     *
+     * <p>
+     * In catch-up mode (see {@link ISettingsModel#getCatchUpSpoolPages()}), the pages are spooled to disk first and
+     * only the latest state of each license purchase transaction is synchronized.
+     * </p>
+     *
      * @param tenantId       the tenant ID is used forming a prefix for the temporary download directory.
      * @param syncTarget     the target to sync with.
      * @param jobDataStorage data storage for job data (eg: continuation ID).
@@ -474,10 +663,12 @@ public class DefaultSyncJob implements ISyncJob {
 
         LOG.info("Starting Smint.io asset synchronization...");
 
-        final boolean cancelAssetsSync = !syncTarget.beforeAssetsSync();
-        if (cancelAssetsSync) {
-            LOG.info("'BeforeAssetsSyncAsync' task aborted assets sync");
-            return;
+        try (Stage stage = this._supervisor.beginStage(SyncJobStageEnum.PrepareEnum)) {
+            final boolean cancelAssetsSync = !syncTarget.beforeAssetsSync();
+            if (cancelAssetsSync) {
+                LOG.info("'BeforeAssetsSyncAsync' task aborted assets sync");
+                return;
+            }
         }
 
         final Path tempFolderPath = Files.createTempDirectory("smint_io-sync-" + tenantId);
@@ -486,6 +677,28 @@ public class DefaultSyncJob implements ISyncJob {
         final ISyncJobDataModel syncDatabaseModel = jobDataStorage.getSyncProcessData();
         String continuationUuid = syncDatabaseModel != null ? syncDatabaseModel.getContinuationUuid() : null;
 
+        final ISyncRunRecorder recorder = this._supervisor.getCurrentRecorder();
+        recorder.recordContinuationUuid(continuationUuid);
+
+        final ISettingsModel settings = this._settingsProvider.get();
+        final SyncCheckpoint checkpoint = new SyncCheckpoint(
+            jobDataStorage,
+            recorder,
+            settings.getCheckpointPages(),
+            settings.getCheckpointSeconds()
+        ).registerShutdownHook();
+
+        // in catch-up mode, pages are spooled to disk and only the latest state of each asset is imported
+        final int spoolPages = Math.max(0, settings.getCatchUpSpoolPages());
+        final SyncAssetSpool spool = spoolPages > 0
+            ? new SyncAssetSpool(new File(tempFolder, "catch-up.spool"), new SmintIoAssetJsonConverter())
+            : null;
+        int spooledPages = 0;
+        int spooledPageSize = 0;
+        String spooledContinuationUuid = null;
+
+        final SyncAssetDeduplicator deduplicator = new SyncAssetDeduplicator();
+
         try {
             final ISyncTargetCapabilities capabilities = syncTarget.getCapabilities();
             final boolean isCompoundAssetsSupported = capabilities != null ? capabilities.isCompoundAssetsSupported()
@@ -494,134 +707,623 @@ public class DefaultSyncJob implements ISyncJob {
                 : false;
 
 
+            final SyncMemoryBudget memoryBudget = new SyncMemoryBudget(
+                settings.getMaxAssetsInFlight(),
+                settings.getSyncHeapBudgetMegabytes()
+            );
+            final AssetConverter converter = new AssetConverter(
+                this._syncTargetDataFactory,
+                this._idMapper,
+                this._downloadProvider,
+                tempFolder
+            );
+
+            this.retryQuarantinedAssets(syncTarget, converter, memoryBudget, recorder);
+
+
+            final ICancellationToken cancellationToken = this._supervisor.getCurrentToken();
+
             boolean moreChunksToLoad = true;
             while (moreChunksToLoad) {
 
-                final ISmintIoApiDataWithContinuation<ISmintIoAsset[]> rawAssetsInfo = smintIoClient
-                    .getAssets(continuationUuid, isCompoundAssetsSupported, isBinaryUpdatesSupported);
+                cancellationToken.throwIfCancelled();
+
+                final ISmintIoApiDataWithContinuation<ISmintIoAsset[]> rawAssetsInfo;
+                try (Stage stage = this._supervisor.beginStage(SyncJobStageEnum.FetchAssetsEnum)) {
+                    rawAssetsInfo = smintIoClient
+                        .getAssets(continuationUuid, isCompoundAssetsSupported, isBinaryUpdatesSupported);
+                }
 
                 moreChunksToLoad = rawAssetsInfo.hasAssets();
 
                 final String newContinuationUuid = rawAssetsInfo.getContinuationUuid();
                 final ISmintIoAsset[] rawAssets = rawAssetsInfo.getResult();
                 continuationUuid = newContinuationUuid;
+                recorder.recordPageFetched(rawAssets != null ? rawAssets.length : 0);
 
                 if (rawAssets != null && rawAssets.length > 0) {
 
                     moreChunksToLoad = true;
 
-                    final List<WrapperSyncAsset> newTargetAssets = new ArrayList<>();
-                    final List<WrapperSyncAsset> updatedTargetAssets = new ArrayList<>();
-                    final List<WrapperSyncAsset> newTargetCompoundAssets = new ArrayList<>();
-                    final List<WrapperSyncAsset> updatedTargetCompoundAssets = new ArrayList<>();
+                    if (spool != null) {
+                        spool.append(rawAssets);
+                        spooledPages++;
+                        spooledPageSize = Math.max(spooledPageSize, rawAssets.length);
+                        spooledContinuationUuid = newContinuationUuid;
 
-                    final WrapperSyncAsset[] targetAssets = new AssetConverter(
-                        this._syncTargetDataFactory,
-                        this._idMapper,
-                        this._downloadProvider,
-                        tempFolder
-                    ).convertAll(rawAssets);
-                    Objects.requireNonNull(targetAssets, "Conversion of assets from Smint.io failed.");
+                    } else {
+                        this.importPage(syncTarget, converter, memoryBudget, deduplicator, rawAssets, recorder);
 
-                    for (final WrapperSyncAsset targetAsset : targetAssets) {
+                        // advance continuation ID - only reached if all slices of the page have been synchronized
+                        checkpoint.advance(newContinuationUuid);
+                        LOG.info("Synchronized " + rawAssets.length + " Smint.io assets.");
+                    }
+                }
 
-                        if (targetAsset.isCompoundAsset()) {
+                if (spool != null && spooledPages > 0 && (spooledPages >= spoolPages || !moreChunksToLoad)) {
 
-                            // check for existing asset
-                            final String targetCompoundAssetUuid = this._syncTarget.getTargetCompoundAssetUuid(
-                                targetAsset.getTransactionUuid()
-                            );
+                    LOG.info(
+                        "Collapsed " + spool.getSpooledAssets() + " spooled Smint.io assets of " + spooledPages
+                            + " pages to " + spool.getCollapsedAssets() + " assets."
+                    );
 
-                            if (!this.isNullOrEmpty(targetCompoundAssetUuid)) {
-                                targetAsset.setTargetAssetUuid(targetCompoundAssetUuid);
-                                updatedTargetCompoundAssets.add(targetAsset);
+                    ISmintIoAsset[] collapsedAssets = spool.nextPage(spooledPageSize);
+                    while (collapsedAssets != null) {
+                        cancellationToken.throwIfCancelled();
+                        this.importPage(
+                            syncTarget, converter, memoryBudget, deduplicator, collapsedAssets, recorder
+                        );
+                        collapsedAssets = spool.nextPage(spooledPageSize);
+                    }
 
-                            } else {
-                                newTargetCompoundAssets.add(targetAsset);
-                            }
+                    // advance continuation ID - only reached if all spooled pages have been synchronized
+                    checkpoint.advance(spooledContinuationUuid);
+                    LOG.info("Synchronized " + spool.getCollapsedAssets() + " Smint.io assets.");
 
+                    spool.clear();
+                    spooledPages = 0;
+                    spooledPageSize = 0;
+                }
+            }
 
-                        } else {
+            checkpoint.flush();
+            LOG.info("Finished Smint.io asset synchronization");
 
-                            // check for existing asset
-                            final String targetAssetUuid = this._syncTarget.getTargetAssetBinaryUuid(
-                                targetAsset.getTransactionUuid(),
-                                targetAsset.getBinaryUuid()
-                            );
+            try (Stage stage = this._supervisor.beginStage(SyncJobStageEnum.FinishEnum)) {
+                syncTarget.afterAssetsSync();
+            }
+        } finally {
 
-                            if (!this.isNullOrEmpty(targetAssetUuid)) {
-                                targetAsset.setTargetAssetUuid(targetAssetUuid);
-                                updatedTargetAssets.add(targetAsset);
+            // store any progress of a failed or stopped run, so finished pages are not synchronized again
+            this.flushCheckpoint(checkpoint);
+            checkpoint.unregisterShutdownHook();
+            this.closeSpool(spool);
 
-                            } else {
-                                newTargetAssets.add(targetAsset);
-                            }
+            LOG.info(
+                () -> "Deleting temporary path: " + tempFolder.getAbsolutePath()
+            );
 
-                        }
+            // delete the temporary files and folder
+            Files.walk(tempFolderPath)
+                .map(Path::toFile)
+                .sorted(Comparator.reverseOrder())
+                .forEach(File::delete);
+        }
+    }
 
-                    }
 
+    /**
+     * Synchronizes a page of assets, split into slices as restricted by the memory budget.
+     *
+     * <p>
+     * Repeated occurrences of the same license purchase transaction are dropped before converting any asset, so that
+     * only its latest state is passed to the sync target - once per run. Dropped assets are recorded as skipped.
+     * </p>
+     *
+     * <p>
+     * A single asset failing to be converted or imported does not abort the page. Instead it is put into quarantine
+     * and retried later on. Only if the sync target rejected all assets passed to it with the same error, the failure
+     * is considered to be systemic (eg: the sync target is not available) and this error is thrown. This is decided on
+     * the whole page, regardless of the number of slices it has been split into. A page made of broken assets only is
+     * quarantined as a whole, so it never stalls the synchronization.
+     * </p>
+     *
+     * @param syncTarget   the target to sync with.
+     * @param converter    the converter to create the sync target assets with.
+     * @param memoryBudget the budget restricting the number of assets to synchronize at once.
+     * @param deduplicator the deduplicator of the current run.
+     * @param pageAssets   the page of assets from Smint.io to synchronize.
+     * @param recorder     the recorder of the figures of the current run.
+     * @throws Exception any exception thrown by the {@code syncTarget}
+     */
+    private void importPage(
+        final ISyncTarget syncTarget,
+        final AssetConverter converter,
+        final SyncMemoryBudget memoryBudget,
+        final SyncAssetDeduplicator deduplicator,
+        final ISmintIoAsset[] pageAssets,
+        final ISyncRunRecorder recorder
+    ) throws Exception {
+
+        final ISmintIoAsset[] rawAssets = deduplicator.collapse(pageAssets);
+        if (rawAssets != pageAssets) {
+            recorder.recordSkippedAssets(pageAssets.length - rawAssets.length);
+            LOG.info(
+                () -> "Dropped " + (pageAssets.length - rawAssets.length) + " repeated Smint.io assets of the page."
+            );
 
-                    if (!newTargetAssets.isEmpty()) {
-                        syncTarget.importNewTargetAssets(
-                            newTargetAssets.stream()
-                                .map((asset) -> asset.getWrapped())
-                                .toArray(BaseSyncAsset[]::new)
-                        );
-                    }
+            if (memoryBudget.isBounded()) {
+                // the assets are only referenced by the collapsed page from now on
+                Arrays.fill(pageAssets, null);
+            }
+        }
 
-                    if (!updatedTargetAssets.isEmpty()) {
-                        syncTarget.updateTargetAssets(
-                            updatedTargetAssets.stream()
-                                .map((asset) -> asset.getWrapped())
-                                .toArray(BaseSyncAsset[]::new)
-                        );
-                    }
+        final SyncBatchFailures failures = new SyncBatchFailures();
+        this.importSlices(syncTarget, converter, memoryBudget, rawAssets, recorder, failures);
 
-                    if (!newTargetCompoundAssets.isEmpty()) {
-                        syncTarget.importNewTargetCompoundAssets(
-                            newTargetCompoundAssets.stream()
-                                .map((asset) -> asset.getWrapped())
-                                .toArray(BaseSyncAsset[]::new)
-                        );
-                    }
+        if (failures.isSystemic()) {
+            // the sync target rejected every single asset of the page alike, which is no problem of the assets
+            recorder.recordFailedAssets(failures.getFailures().size());
+            throw failures.getTargetError();
+        }
 
-                    if (!updatedTargetCompoundAssets.isEmpty()) {
-                        syncTarget.updateTargetCompoundAssets(
-                            updatedTargetCompoundAssets.stream()
-                                .map((asset) -> asset.getWrapped())
-                                .toArray(BaseSyncAsset[]::new)
-                        );
-                    }
+        for (final Map.Entry<ISmintIoAsset, Exception> failure : failures.getFailures().entrySet()) {
+            this.quarantineAsset(failure.getKey(), failure.getValue(), recorder);
+        }
+    }
 
 
-                    // store continuation ID
-                    jobDataStorage.storeSyncProcessData(
-                        new SyncJobDataModelImpl().setContinuationUuid(newContinuationUuid)
-                    );
-                    LOG.info("Synchronized " + rawAssets.length + " Smint.io assets.");
+    /**
+     * Synchronizes assets in slices as restricted by the memory budget, collecting all failures.
+     *
+     * @param syncTarget   the target to sync with.
+     * @param converter    the converter to create the sync target assets with.
+     * @param memoryBudget the budget restricting the number of assets to synchronize at once.
+     * @param rawAssets    the assets from Smint.io to synchronize.
+     * @param recorder     the recorder of the figures of the current run.
+     * @param failures     the collector of the assets failing to be synchronized.
+     * @throws Exception any exception thrown by the {@code syncTarget}, that aborts the run.
+     */
+    private void importSlices(
+        final ISyncTarget syncTarget,
+        final AssetConverter converter,
+        final SyncMemoryBudget memoryBudget,
+        final ISmintIoAsset[] rawAssets,
+        final ISyncRunRecorder recorder,
+        final SyncBatchFailures failures
+    ) throws Exception {
+
+        final ICancellationToken cancellationToken = this._supervisor.getCurrentToken();
+
+        int offset = 0;
+        while (offset < rawAssets.length) {
+
+            cancellationToken.throwIfCancelled();
+
+            final int sliceSize = memoryBudget.nextSliceSize(rawAssets.length - offset);
+            final ISmintIoAsset[] slice = memoryBudget.isBounded()
+                ? Arrays.copyOfRange(rawAssets, offset, offset + sliceSize)
+                : rawAssets;
+
+            if (memoryBudget.isBounded()) {
+                // release the raw data of the slice from the page, so it can be collected once synced
+                Arrays.fill(rawAssets, offset, offset + sliceSize, null);
+            }
+
+            offset += sliceSize;
+            this.importAssets(syncTarget, converter, slice, recorder, failures);
+        }
+    }
+
+
+    /**
+     * Stores the continuation UUID of pages finished so far, without masking any exception causing the run to end.
+     *
+     * @param checkpoint the checkpoint to flush.
+     */
+    private void flushCheckpoint(final SyncCheckpoint checkpoint) {
+        try {
+            if (checkpoint.flush()) {
+                LOG.info("Stored continuation UUID of pages synchronized before the run ended.");
+            }
+
+            // CHECKSTYLE OFF: IllegalCatch
+        } catch (final RuntimeException excp) {
+            LOG.log(Level.SEVERE, "Failed to store continuation UUID of the synchronization!", excp);
+        }
+        // CHECKSTYLE ON: IllegalCatch
+    }
+
+
+    private void closeSpool(final SyncAssetSpool spool) {
+        if (spool != null) {
+            try {
+                spool.close();
+            } catch (final IOException excp) {
+                LOG.log(Level.WARNING, "Failed to close the spool file of catch-up mode!", excp);
+            }
+        }
+    }
+
+
+    /**
+     * Converts the assets and passes them to the sync target, either as new or as updated assets.
+     *
+     * <p>
+     * All converted data is only referenced locally, so it can be released as soon as the sync target accepted it. A
+     * single asset failing to be converted or imported does not abort the slice. Instead it is added to
+     * {@code failures}, which are decided on by the caller once the whole batch has been tried.
+     * </p>
+     *
+     * <p>
+     * Assets referring to meta data keys, that are unknown to the sync target, are paused until the affected meta data
+     * categories have been imported into the sync target. Then they are converted again.
+     * </p>
+     *
+     * @param syncTarget the target to sync with.
+     * @param converter  the converter to create the sync target assets with.
+     * @param rawAssets  the assets from Smint.io to synchronize.
+     * @param recorder   the recorder of the figures of the current run.
+     * @param failures   the collector of the assets failing to be synchronized.
+     * @throws Exception any exception thrown by the {@code syncTarget}, that aborts the run.
+     */
+    private void importAssets(
+        final ISyncTarget syncTarget,
+        final AssetConverter converter,
+        final ISmintIoAsset[] rawAssets,
+        final ISyncRunRecorder recorder,
+        final SyncBatchFailures failures
+    ) throws Exception {
+
+        int skippedAssets = 0;
+        final Map<String, ISmintIoAsset> rawAssetsByUuid = new LinkedHashMap<>();
+        for (final ISmintIoAsset rawAsset : rawAssets) {
+            final ISmintIoBinary[] binaries = rawAsset != null ? rawAsset.getBinaries() : null;
+            if (binaries == null || binaries.length == 0) {
+                skippedAssets++;
+            } else {
+                rawAssetsByUuid.put(rawAsset.getLicensePurchaseTransactionUuid(), rawAsset);
+            }
+        }
+        recorder.recordSkippedAssets(skippedAssets);
+
+
+        final Map<ISmintIoAsset, RuntimeException> conversionFailures = new LinkedHashMap<>();
+        WrapperSyncAsset[] targetAssets;
+        try (Stage stage = this._supervisor.beginStage(SyncJobStageEnum.ConvertAssetsEnum)) {
+            targetAssets = converter.convertAll(rawAssets, this.getConversionPool(), conversionFailures::put);
+        }
+        Objects.requireNonNull(targetAssets, "Conversion of assets from Smint.io failed.");
+
+        this._supervisor.getCurrentToken().throwIfCancelled();
+        targetAssets = this.resolveUnknownMetadata(syncTarget, converter, targetAssets, conversionFailures);
+
+        conversionFailures.forEach(failures::add);
+        recorder.recordConvertedAssets(targetAssets.length);
+
+        try (Stage stage = this._supervisor.beginStage(SyncJobStageEnum.ImportAssetsEnum)) {
+            this.importIsolated(syncTarget, targetAssets, rawAssetsByUuid, recorder, failures);
+        }
+    }
+
+
+    /**
+     * Imports the converted assets all at once and falls back to importing each asset on its own if that fails.
+     *
+     * <p>
+     * The assets are grouped by their license purchase transaction, so that the binaries of a compound asset are
+     * always imported together with the compound asset. Each group that fails is added to {@code failures}, each
+     * group that succeeds is counted as imported.
+     * </p>
+     */
+    private void importIsolated(
+        final ISyncTarget syncTarget,
+        final WrapperSyncAsset[] targetAssets,
+        final Map<String, ISmintIoAsset> rawAssetsByUuid,
+        final ISyncRunRecorder recorder,
+        final SyncBatchFailures failures
+    ) throws Exception {
+
+        if (targetAssets.length == 0) {
+            return;
+        }
+
+        try {
+            this.importConvertedAssets(syncTarget, targetAssets, recorder);
+            this.releaseAssets(targetAssets);
+            failures.addImported(
+                (int) Arrays.stream(targetAssets).map(WrapperSyncAsset::getTransactionUuid).distinct().count()
+            );
+            return;
+
+            // CHECKSTYLE OFF: IllegalCatch
+        } catch (final Exception excp) {
+            if (this.isAborting(excp)) {
+                recorder.recordFailedAssets(rawAssetsByUuid.size());
+                throw excp;
+            }
+            LOG.log(Level.WARNING, "Importing assets failed, importing each asset on its own.", excp);
+        }
+        // CHECKSTYLE ON: IllegalCatch
+
+
+        final Map<String, List<WrapperSyncAsset>> groups = new LinkedHashMap<>();
+        for (final WrapperSyncAsset targetAsset : targetAssets) {
+            groups.computeIfAbsent(targetAsset.getTransactionUuid(), (uuid) -> new ArrayList<>()).add(targetAsset);
+        }
+
+        int failedGroups = 0;
+        for (final Map.Entry<String, List<WrapperSyncAsset>> group : groups.entrySet()) {
+            final WrapperSyncAsset[] groupAssets = group.getValue().toArray(new WrapperSyncAsset[0]);
+            try {
+                this.importConvertedAssets(syncTarget, groupAssets, recorder);
+                this.releaseAssets(groupAssets);
+                failures.addImported(1);
+
+                // CHECKSTYLE OFF: IllegalCatch
+            } catch (final Exception excp) {
+                if (this.isAborting(excp)) {
+                    recorder.recordFailedAssets(groups.size() - failedGroups);
+                    throw excp;
                 }
+                failures.addTargetFailure(rawAssetsByUuid.get(group.getKey()), excp);
+                failedGroups++;
             }
+            // CHECKSTYLE ON: IllegalCatch
+        }
+    }
 
-            LOG.info("Finished Smint.io asset synchronization");
 
-            syncTarget.afterAssetsSync();
-        } finally {
+    /**
+     * Pauses the assets, that failed because of unknown meta data keys, until the meta data has been refreshed.
+     *
+     * <p>
+     * Only the categories of the unknown keys are imported into the sync target. Afterwards the paused assets are
+     * converted again. Assets still failing remain in {@code conversionFailures}.
+     * </p>
+     *
+     * @param syncTarget         the target to import the meta data into.
+     * @param converter          the converter to create the sync target assets with.
+     * @param targetAssets       the assets, that have been converted successfully.
+     * @param conversionFailures the assets, that failed to be converted, with their errors.
+     * @return the converted assets, including the ones converted after the meta data has been refreshed.
+     * @throws Exception any exception thrown by the Smint.io API client or the {@code syncTarget}
+     */
+    private WrapperSyncAsset[] resolveUnknownMetadata(
+        final ISyncTarget syncTarget,
+        final AssetConverter converter,
+        final WrapperSyncAsset[] targetAssets,
+        final Map<ISmintIoAsset, RuntimeException> conversionFailures
+    ) throws Exception {
+
+        final List<ISmintIoAsset> pausedAssets = new ArrayList<>();
+        final List<SmintIoUnknownMetadataException> unknownKeys = new ArrayList<>();
+        for (final Map.Entry<ISmintIoAsset, RuntimeException> failure : conversionFailures.entrySet()) {
+            if (failure.getValue() instanceof SmintIoUnknownMetadataException) {
+                pausedAssets.add(failure.getKey());
+                unknownKeys.add((SmintIoUnknownMetadataException) failure.getValue());
+            }
+        }
 
-            LOG.info(
-                () -> "Deleting temporary path: " + tempFolder.getAbsolutePath()
+        if (pausedAssets.isEmpty()) {
+            return targetAssets;
+        }
+
+
+        try (Stage stage = this._supervisor.beginStage(SyncJobStageEnum.GenericMetadataEnum)) {
+            if (!this._metadataRefresher.refresh(unknownKeys, syncTarget)) {
+                return targetAssets;
+            }
+        }
+
+
+        final WrapperSyncAsset[] resumedAssets;
+        try (Stage stage = this._supervisor.beginStage(SyncJobStageEnum.ConvertAssetsEnum)) {
+            pausedAssets.forEach(conversionFailures::remove);
+            resumedAssets = converter.convertAll(
+                pausedAssets.toArray(new ISmintIoAsset[pausedAssets.size()]),
+                this.getConversionPool(),
+                conversionFailures::put
             );
+        }
 
-            // delete the temporary files and folder
-            Files.walk(tempFolderPath)
-                .map(Path::toFile)
-                .sorted(Comparator.reverseOrder())
-                .forEach(File::delete);
+        final WrapperSyncAsset[] allAssets = Arrays.copyOf(targetAssets, targetAssets.length + resumedAssets.length);
+        System.arraycopy(resumedAssets, 0, allAssets, targetAssets.length, resumedAssets.length);
+        return allAssets;
+    }
+
+
+    /**
+     * Retries all quarantined assets, that are due to be retried, as a single batch.
+     *
+     * <p>
+     * If the sync target rejects all retried assets with the same error again, the failure can not be blamed on the
+     * assets (eg: the sync target is still not available). Then their retries are postponed without counting another
+     * failed attempt, so assets are not dropped from quarantine during an outage. Broken assets fail with errors of
+     * their own, so they count another attempt and are eventually dropped.
+     * </p>
+     *
+     * @param syncTarget   the target to sync with.
+     * @param converter    the converter to create the sync target assets with.
+     * @param memoryBudget the budget restricting the number of assets to synchronize at once.
+     * @param recorder     the recorder of the figures of the current run.
+     * @throws Exception any exception thrown by the {@code syncTarget}, that aborts the run.
+     */
+    private void retryQuarantinedAssets(
+        final ISyncTarget syncTarget,
+        final AssetConverter converter,
+        final SyncMemoryBudget memoryBudget,
+        final ISyncRunRecorder recorder
+    ) throws Exception {
+
+        if (this._quarantine.isEmpty()) {
+            return;
+        }
+
+        final List<ISmintIoAsset> dueAssets = new ArrayList<>();
+        for (final IQuarantinedAssetModel dueAsset : this._quarantine.getDueAssets()) {
+            if (dueAsset.getRawAsset() != null) {
+                dueAssets.add(dueAsset.getRawAsset());
+            }
+        }
+
+        if (dueAssets.isEmpty()) {
+            return;
+        }
+
+        LOG.info("Retrying " + dueAssets.size() + " quarantined Smint.io assets.");
+
+        final SyncBatchFailures failures = new SyncBatchFailures();
+        this.importSlices(
+            syncTarget, converter, memoryBudget, dueAssets.toArray(new ISmintIoAsset[dueAssets.size()]), recorder,
+            failures
+        );
+
+        final boolean isSystemic = failures.isSystemic();
+        for (final Map.Entry<ISmintIoAsset, Exception> failure : failures.getFailures().entrySet()) {
+            if (isSystemic && failures.isTargetFailure(failure.getKey())) {
+                this._quarantine.postpone(failure.getKey().getLicensePurchaseTransactionUuid(), failure.getValue());
+                recorder.recordFailedAssets(1);
+            } else {
+                this.quarantineAsset(failure.getKey(), failure.getValue(), recorder);
+            }
+        }
+    }
+
+
+    private void quarantineAsset(final ISmintIoAsset rawAsset, final Exception error, final ISyncRunRecorder recorder) {
+        if (rawAsset != null) {
+            this._quarantine.quarantine(rawAsset, error);
+            recorder.recordFailedAssets(1);
+        }
+    }
+
+
+    private void releaseAssets(final WrapperSyncAsset[] importedAssets) {
+        if (this._quarantine.isEmpty()) {
+            return;
+        }
+
+        for (final WrapperSyncAsset importedAsset : importedAssets) {
+            this._quarantine.release(importedAsset.getTransactionUuid());
+        }
+    }
+
+
+    private ForkJoinPool getConversionPool() {
+        return this._conversionPool != null ? this._conversionPool.get() : null;
+    }
+
+
+    private boolean isAborting(final Exception excp) {
+        return this._supervisor.getCurrentToken().isCancelled()
+            || excp instanceof InterruptedException
+            || excp instanceof SmintIoAuthenticatorException
+            || Thread.currentThread().isInterrupted();
+    }
+
+
+    private void importConvertedAssets(
+        final ISyncTarget syncTarget,
+        final WrapperSyncAsset[] targetAssets,
+        final ISyncRunRecorder recorder
+    ) throws Exception {
+
+        final List<WrapperSyncAsset> newTargetAssets = new ArrayList<>();
+        final List<WrapperSyncAsset> updatedTargetAssets = new ArrayList<>();
+        final List<WrapperSyncAsset> newTargetCompoundAssets = new ArrayList<>();
+        final List<WrapperSyncAsset> updatedTargetCompoundAssets = new ArrayList<>();
+
+        for (final WrapperSyncAsset targetAsset : targetAssets) {
+
+            if (targetAsset.isCompoundAsset()) {
+
+                // check for existing asset
+                final String targetCompoundAssetUuid = this._syncTarget.getTargetCompoundAssetUuid(
+                    targetAsset.getTransactionUuid()
+                );
+
+                if (!this.isNullOrEmpty(targetCompoundAssetUuid)) {
+                    targetAsset.setTargetAssetUuid(targetCompoundAssetUuid);
+                    updatedTargetCompoundAssets.add(targetAsset);
+
+                } else {
+                    newTargetCompoundAssets.add(targetAsset);
+                }
+
+
+            } else {
+
+                // check for existing asset
+                final String targetAssetUuid = this._syncTarget.getTargetAssetBinaryUuid(
+                    targetAsset.getTransactionUuid(),
+                    targetAsset.getBinaryUuid()
+                );
+
+                if (!this.isNullOrEmpty(targetAssetUuid)) {
+                    targetAsset.setTargetAssetUuid(targetAssetUuid);
+                    updatedTargetAssets.add(targetAsset);
+
+                } else {
+                    newTargetAssets.add(targetAsset);
+                }
+
+            }
+
+        }
+
+
+        if (!newTargetAssets.isEmpty()) {
+            syncTarget.importNewTargetAssets(
+                newTargetAssets.stream()
+                    .map((asset) -> asset.getWrapped())
+                    .toArray(BaseSyncAsset[]::new)
+            );
+        }
+
+        if (!updatedTargetAssets.isEmpty()) {
+            syncTarget.updateTargetAssets(
+                updatedTargetAssets.stream()
+                    .map((asset) -> asset.getWrapped())
+                    .toArray(BaseSyncAsset[]::new)
+            );
+        }
+
+        if (!newTargetCompoundAssets.isEmpty()) {
+            syncTarget.importNewTargetCompoundAssets(
+                newTargetCompoundAssets.stream()
+                    .map((asset) -> asset.getWrapped())
+                    .toArray(BaseSyncAsset[]::new)
+            );
+        }
+
+        if (!updatedTargetCompoundAssets.isEmpty()) {
+            syncTarget.updateTargetCompoundAssets(
+                updatedTargetCompoundAssets.stream()
+                    .map((asset) -> asset.getWrapped())
+                    .toArray(BaseSyncAsset[]::new)
+            );
         }
+
+        recorder.recordImportedAssets(
+            newTargetAssets.size() + newTargetCompoundAssets.size(),
+            updatedTargetAssets.size() + updatedTargetCompoundAssets.size(),
+            newTargetCompoundAssets.size() + updatedTargetCompoundAssets.size()
+        );
     }
 
 
     private boolean isNullOrEmpty(final String value) {
-        return value == null || value.isEmpty() || value.matches("^\\s*$");
+        if (value == null || value.isEmpty()) {
+            return true;
+        }
+
+        // avoid compiling a regular expression for each check
+        for (int i = 0; i < value.length(); i++) {
+            if (!Character.isWhitespace(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
     }
 }
@@ -0,0 +1,357 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.jobs.impl;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+
+import javax.inject.Provider;
+
+import io.smint.clapi.consumer.integration.core.configuration.models.ISettingsModel;
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoGenericMetadata;
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoMetadataElement;
+import io.smint.clapi.consumer.integration.core.exceptions.SmintIoUnknownMetadataException;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncMetadataIdMapper;
+import io.smint.clapi.consumer.integration.core.jobs.SyncMetadataCategoryEnum;
+import io.smint.clapi.consumer.integration.core.providers.ISmintIoApiClient;
+import io.smint.clapi.consumer.integration.core.target.ISyncTarget;
+
+
+/**
+ * Resolves meta data keys, that are unknown to the sync target, by importing only the affected categories.
+ *
+ * <p>
+ * New meta data might be added to Smint.io between two synchronizations of the generic meta data. Assets referring to
+ * such meta data can not be converted, as no sync target ID is available. Rather than synchronizing all categories of
+ * the generic meta data again, only the categories containing the unknown keys are imported into the sync target and
+ * added to the existing mapping of IDs.
+ * </p>
+ *
+ * <p>
+ * The generic meta data fetched from Smint.io is kept for {@link ISettingsModel#getMetadataCacheSeconds()}. Within
+ * this time, it is re-used to resolve unknown keys. If an unknown key is not part of it, no new request is sent to
+ * Smint.io until the time elapsed. This avoids fetching the generic meta data for each asset referring to meta data,
+ * that has been deleted on Smint.io.
+ * </p>
+ */
+class GenericMetadataRefresher {
+
+    private static final Logger LOG = Logger.getLogger(GenericMetadataRefresher.class.getName());
+    private static final long MILLIS_PER_SECOND = 1000L;
+
+
+    private final ISmintIoApiClient _smintIoClient;
+    private final ISyncMetadataIdMapper _idMapper;
+    private final Provider<ISettingsModel> _settingsProvider;
+    private final LongSupplier _clock;
+
+    private ISmintIoGenericMetadata _metadata;
+    private long _fetchedAt;
+
+
+    /**
+     * Create a new refresher of the generic meta data.
+     *
+     * @param smintIoClient the client to fetch the generic meta data with.
+     * @param idMapper      the mapping of IDs to extend.
+     * @param settings      the settings to read the time to re-use fetched meta data from.
+     */
+    GenericMetadataRefresher(
+        final ISmintIoApiClient smintIoClient,
+        final ISyncMetadataIdMapper idMapper,
+        final Provider<ISettingsModel> settings
+    ) {
+        this(smintIoClient, idMapper, settings, System::currentTimeMillis);
+    }
+
+
+    /**
+     * Create a new refresher of the generic meta data with a custom clock.
+     *
+     * @param smintIoClient the client to fetch the generic meta data with.
+     * @param idMapper      the mapping of IDs to extend.
+     * @param settings      the settings to read the time to re-use fetched meta data from.
+     * @param clock         provides the current time in milliseconds.
+     */
+    GenericMetadataRefresher(
+        final ISmintIoApiClient smintIoClient,
+        final ISyncMetadataIdMapper idMapper,
+        final Provider<ISettingsModel> settings,
+        final LongSupplier clock
+    ) {
+        this._smintIoClient = smintIoClient;
+        this._idMapper = idMapper;
+        this._settingsProvider = settings;
+        this._clock = clock;
+    }
+
+
+    /**
+     * Keeps the generic meta data, that has just been fetched and fully synchronized.
+     *
+     * @param metadata the generic meta data fetched from Smint.io.
+     */
+    public synchronized void remember(final ISmintIoGenericMetadata metadata) {
+        this._metadata = metadata;
+        this._fetchedAt = this._clock.getAsLong();
+    }
+
+
+    /**
+     * Imports the categories of the unknown meta data keys into the sync target and adds them to the mapping of IDs.
+     *
+     * @param unknownKeys the failures of the conversion of assets, due to unknown meta data keys.
+     * @param syncTarget  the sync target to import the meta data into.
+     * @return {@code true} if at least one unknown key has been imported, so converting the assets might succeed now.
+     * @throws Exception any exception thrown by the Smint.io API client or the sync target.
+     */
+    public synchronized boolean refresh(
+        final Collection<SmintIoUnknownMetadataException> unknownKeys,
+        final ISyncTarget syncTarget
+    ) throws Exception {
+
+        final Map<SyncMetadataCategoryEnum, Set<String>> keysByCategory = new EnumMap<>(SyncMetadataCategoryEnum.class);
+        for (final SmintIoUnknownMetadataException unknownKey : unknownKeys) {
+            if (unknownKey.getCategory() != null && unknownKey.getSmintIoKey() != null) {
+                keysByCategory
+                    .computeIfAbsent(unknownKey.getCategory(), (category) -> new HashSet<>())
+                    .add(unknownKey.getSmintIoKey());
+            }
+        }
+
+        if (keysByCategory.isEmpty()) {
+            return false;
+        }
+
+
+        if (!this.isCached()) {
+            LOG.info(() -> "Fetching generic meta data to resolve unknown keys: " + keysByCategory);
+            this.remember(this._smintIoClient.getGenericMetadata());
+        }
+
+
+        final Set<SyncMetadataCategoryEnum> categories = new HashSet<>();
+        for (final Map.Entry<SyncMetadataCategoryEnum, Set<String>> entry : keysByCategory.entrySet()) {
+            if (contains(getElements(this._metadata, entry.getKey()), entry.getValue())) {
+                categories.add(entry.getKey());
+            }
+        }
+
+        if (categories.isEmpty()) {
+            LOG.warning(() -> "Unknown meta data keys are not part of the generic meta data: " + keysByCategory);
+            return false;
+        }
+
+
+        if (!syncTarget.beforeGenericMetadataSync()) {
+            LOG.warning("'beforeGenericMetadataSync' task aborted importing meta data categories " + categories);
+            return false;
+        }
+
+        for (final SyncMetadataCategoryEnum category : SyncMetadataCategoryEnum.values()) {
+            if (categories.contains(category)) {
+                final ISmintIoMetadataElement[] elements = getElements(this._metadata, category);
+                clearTargetIds(elements);
+                importCategory(category, elements, syncTarget, this._idMapper);
+            }
+        }
+
+        syncTarget.afterGenericMetadataSync();
+
+        LOG.info(() -> "Imported meta data categories " + categories + " to resolve unknown keys.");
+        return true;
+    }
+
+
+    /**
+     * Provides the meta data elements of a category.
+     *
+     * @param metadata the generic meta data.
+     * @param category the category to read.
+     * @return the elements or {@code null} if {@code metadata} is {@code null} or the category is empty.
+     */
+    static ISmintIoMetadataElement[] getElements(
+        final ISmintIoGenericMetadata metadata,
+        final SyncMetadataCategoryEnum category
+    ) {
+        if (metadata == null) {
+            return null;
+        }
+
+        switch (category) {
+            case ContentProvidersEnum:
+                return metadata.getContentProviders();
+            case ContentTypesEnum:
+                return metadata.getContentTypes();
+            case BinaryTypesEnum:
+                return metadata.getBinaryTypes();
+            case ContentCategoriesEnum:
+                return metadata.getContentCategories();
+            case LicenseTypesEnum:
+                return metadata.getLicenseTypes();
+            case ReleaseStatesEnum:
+                return metadata.getReleaseStates();
+            case LicenseExclusivitiesEnum:
+                return metadata.getLicenseExclusivities();
+            case LicenseUsagesEnum:
+                return metadata.getLicenseUsages();
+            case LicenseSizesEnum:
+                return metadata.getLicenseSizes();
+            case LicensePlacementsEnum:
+                return metadata.getLicensePlacements();
+            case LicenseDistributionsEnum:
+                return metadata.getLicenseDistributions();
+            case LicenseGeographiesEnum:
+                return metadata.getLicenseGeographies();
+            case LicenseIndustriesEnum:
+                return metadata.getLicenseIndustries();
+            case LicenseLanguagesEnum:
+                return metadata.getLicenseLanguages();
+            case LicenseUsageLimitsEnum:
+                return metadata.getLicenseUsageLimits();
+            default:
+                throw new IllegalArgumentException("Unknown meta data category " + category);
+        }
+    }
+
+
+    /**
+     * Imports the meta data elements of a category into the sync target and adds them to the mapping of IDs.
+     *
+     * <p>
+     * Existing mappings are kept. Mappings of the same Smint.io keys are replaced.
+     * </p>
+     *
+     * @param category   the category of the elements.
+     * @param items      the elements to import.
+     * @param syncTarget the sync target to import the elements into.
+     * @param idMapper   the mapping of IDs to add the imported elements to.
+     */
+    static void importCategory(
+        final SyncMetadataCategoryEnum category,
+        final ISmintIoMetadataElement[] items,
+        final ISyncTarget syncTarget,
+        final ISyncMetadataIdMapper idMapper
+    ) {
+        switch (category) {
+            case ContentProvidersEnum:
+                syncTarget.importContentProviders(items);
+                idMapper.addMappingOfContentProviders(items);
+                break;
+            case ContentTypesEnum:
+                syncTarget.importContentTypes(items);
+                idMapper.addMappingOfContentTypes(items);
+                break;
+            case BinaryTypesEnum:
+                syncTarget.importBinaryTypes(items);
+                idMapper.addMappingOfBinaryTypes(items);
+                break;
+            case ContentCategoriesEnum:
+                syncTarget.importContentCategories(items);
+                idMapper.addMappingOfContentCategories(items);
+                break;
+            case LicenseTypesEnum:
+                syncTarget.importLicenseTypes(items);
+                idMapper.addMappingOfLicenseTypes(items);
+                break;
+            case ReleaseStatesEnum:
+                syncTarget.importReleaseStates(items);
+                idMapper.addMappingOfReleaseStates(items);
+                break;
+            case LicenseExclusivitiesEnum:
+                syncTarget.importLicenseExclusivities(items);
+                idMapper.addMappingOfLicenseExclusivities(items);
+                break;
+            case LicenseUsagesEnum:
+                syncTarget.importLicenseUsages(items);
+                idMapper.addMappingOfLicenseUsages(items);
+                break;
+            case LicenseSizesEnum:
+                syncTarget.importLicenseSizes(items);
+                idMapper.addMappingOfLicenseSizes(items);
+                break;
+            case LicensePlacementsEnum:
+                syncTarget.importLicensePlacements(items);
+                idMapper.addMappingOfLicensePlacements(items);
+                break;
+            case LicenseDistributionsEnum:
+                syncTarget.importLicenseDistributions(items);
+                idMapper.addMappingOfLicenseDistributions(items);
+                break;
+            case LicenseGeographiesEnum:
+                syncTarget.importLicenseGeographies(items);
+                idMapper.addMappingOfLicenseGeographies(items);
+                break;
+            case LicenseIndustriesEnum:
+                syncTarget.importLicenseIndustries(items);
+                idMapper.addMappingOfLicenseIndustries(items);
+                break;
+            case LicenseLanguagesEnum:
+                syncTarget.importLicenseLanguages(items);
+                idMapper.addMappingOfLicenseLanguages(items);
+                break;
+            case LicenseUsageLimitsEnum:
+                syncTarget.importLicenseUsageLimits(items);
+                idMapper.addMappingOfLicenseUsageLimits(items);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown meta data category " + category);
+        }
+    }
+
+
+    private boolean isCached() {
+        final ISettingsModel settings = this._settingsProvider.get();
+        final long cacheMillis = (settings != null ? settings.getMetadataCacheSeconds() : 0) * MILLIS_PER_SECOND;
+
+        return this._metadata != null && this._clock.getAsLong() - this._fetchedAt < cacheMillis;
+    }
+
+
+    /**
+     * Removes the IDs a sync target set with a previous import, so a target failing to set them again is detected.
+     */
+    private static void clearTargetIds(final ISmintIoMetadataElement[] elements) {
+        if (elements != null) {
+            for (final ISmintIoMetadataElement element : elements) {
+                if (element != null) {
+                    element.setTargetMetadataUuid(null);
+                }
+            }
+        }
+    }
+
+
+    private static boolean contains(final ISmintIoMetadataElement[] elements, final Set<String> keys) {
+        if (elements != null) {
+            for (final ISmintIoMetadataElement element : elements) {
+                if (element != null && keys.contains(element.getKey())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
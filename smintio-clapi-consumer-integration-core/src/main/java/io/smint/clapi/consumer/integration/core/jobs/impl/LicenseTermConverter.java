@@ -7,6 +7,7 @@ import javax.inject.Inject;
 
 import io.smint.clapi.consumer.integration.core.contracts.ISmintIoLicenseTerm;
 import io.smint.clapi.consumer.integration.core.jobs.ISyncMetadataIdMapper;
+import io.smint.clapi.consumer.integration.core.jobs.SyncMetadataCategoryEnum;
 import io.smint.clapi.consumer.integration.core.target.ISyncLicenseTerm;
 import io.smint.clapi.consumer.integration.core.target.ISyncTarget;
 import io.smint.clapi.consumer.integration.core.target.ISyncTargetDataFactory;
@@ -31,6 +32,17 @@ class LicenseTermConverter extends BaseSyncDataConverter<ISmintIoLicenseTerm, IS
     private final ISyncTargetDataFactory _syncTargetDataFactory;
     private final ISyncMetadataIdMapper _idMapper;
 
+    // bound method references are created only once, rather than for each license term
+    private final Function<String, String> _licenseExclusivityId;
+    private final Function<String, String> _licenseUsageId;
+    private final Function<String, String> _licenseSizeId;
+    private final Function<String, String> _licensePlacementId;
+    private final Function<String, String> _licenseDistributionId;
+    private final Function<String, String> _licenseGeographyId;
+    private final Function<String, String> _licenseIndustryId;
+    private final Function<String, String> _licenseLanguageId;
+    private final Function<String, String> _licenseUsageLimitId;
+
     /**
      * Initializes a new converter, using the {@code syncTarget} to map to sync target keys.
      *
@@ -51,6 +63,16 @@ class LicenseTermConverter extends BaseSyncDataConverter<ISmintIoLicenseTerm, IS
 
         Objects.requireNonNull(idMapper, "Provided ID mapper is invalid <null>");
         Objects.requireNonNull(syncTargetDataFactory, "Provided sync target data factory is invalid <null>");
+
+        this._licenseExclusivityId = idMapper::getLicenseExclusivityId;
+        this._licenseUsageId = idMapper::getLicenseUsageId;
+        this._licenseSizeId = idMapper::getLicenseSizeId;
+        this._licensePlacementId = idMapper::getLicensePlacementId;
+        this._licenseDistributionId = idMapper::getLicenseDistributionId;
+        this._licenseGeographyId = idMapper::getLicenseGeographyId;
+        this._licenseIndustryId = idMapper::getLicenseIndustryId;
+        this._licenseLanguageId = idMapper::getLicenseLanguageId;
+        this._licenseUsageLimitId = idMapper::getLicenseUsageLimitId;
     }
 
 
@@ -180,11 +202,15 @@ class LicenseTermConverter extends BaseSyncDataConverter<ISmintIoLicenseTerm, IS
      * Maps licence exclusivities keys.
      *
      * @param smintIoKeys the list of Smint.io keys.
-     * @return the result of calling {@link #convertKeys(String[], Function)} with providing the mapping function
-     *         {@link ISyncMetadataIdMapper#getLicenseExclusivityId(String)}
+     * @return the result of calling {@link #convertKeys(String[], SyncMetadataCategoryEnum, Function)} with providing
+     *         the mapping function {@link ISyncMetadataIdMapper#getLicenseExclusivityId(String)}
      */
     public String[] getLicenseExclusivitiesKeys(final String[] smintIoKeys) {
-        return this.convertKeys(smintIoKeys, this._idMapper::getLicenseExclusivityId);
+        return this.convertKeys(
+            smintIoKeys,
+            SyncMetadataCategoryEnum.LicenseExclusivitiesEnum,
+            this._licenseExclusivityId
+        );
     }
 
 
@@ -192,11 +218,11 @@ class LicenseTermConverter extends BaseSyncDataConverter<ISmintIoLicenseTerm, IS
      * Maps license usages keys.
      *
      * @param smintIoKeys the list of Smint.io keys.
-     * @return the result of calling {@link #convertKeys(String[], Function)} with providing the mapping function
-     *         {@link ISyncMetadataIdMapper#getLicenseUsageId(String)}
+     * @return the result of calling {@link #convertKeys(String[], SyncMetadataCategoryEnum, Function)} with providing
+     *         the mapping function {@link ISyncMetadataIdMapper#getLicenseUsageId(String)}
      */
     public String[] getLicenseUsagesKeys(final String[] smintIoKeys) {
-        return this.convertKeys(smintIoKeys, this._idMapper::getLicenseUsageId);
+        return this.convertKeys(smintIoKeys, SyncMetadataCategoryEnum.LicenseUsagesEnum, this._licenseUsageId);
     }
 
 
@@ -204,11 +230,11 @@ class LicenseTermConverter extends BaseSyncDataConverter<ISmintIoLicenseTerm, IS
      * Maps license size keys.
      *
      * @param smintIoKeys the list of Smint.io keys.
-     * @return the result of calling {@link #convertKeys(String[], Function)} with providing the mapping function
-     *         {@link ISyncMetadataIdMapper#getLicenseSizeId(String)}
+     * @return the result of calling {@link #convertKeys(String[], SyncMetadataCategoryEnum, Function)} with providing
+     *         the mapping function {@link ISyncMetadataIdMapper#getLicenseSizeId(String)}
      */
     public String[] getLicenseSizesKeys(final String[] smintIoKeys) {
-        return this.convertKeys(smintIoKeys, this._idMapper::getLicenseSizeId);
+        return this.convertKeys(smintIoKeys, SyncMetadataCategoryEnum.LicenseSizesEnum, this._licenseSizeId);
     }
 
 
@@ -216,11 +242,11 @@ class LicenseTermConverter extends BaseSyncDataConverter<ISmintIoLicenseTerm, IS
      * Maps license placement keys.
      *
      * @param smintIoKeys the list of Smint.io keys.
-     * @return the result of calling {@link #convertKeys(String[], Function)} with providing the mapping function
-     *         {@link ISyncMetadataIdMapper#getLicensePlacementId(String)}
+     * @return the result of calling {@link #convertKeys(String[], SyncMetadataCategoryEnum, Function)} with providing
+     *         the mapping function {@link ISyncMetadataIdMapper#getLicensePlacementId(String)}
      */
     public String[] getLicensePlacementsKeys(final String[] smintIoKeys) {
-        return this.convertKeys(smintIoKeys, this._idMapper::getLicensePlacementId);
+        return this.convertKeys(smintIoKeys, SyncMetadataCategoryEnum.LicensePlacementsEnum, this._licensePlacementId);
     }
 
 
@@ -228,11 +254,15 @@ class LicenseTermConverter extends BaseSyncDataConverter<ISmintIoLicenseTerm, IS
      * Maps license distribution keys.
      *
      * @param smintIoKeys the list of Smint.io keys.
-     * @return the result of calling {@link #convertKeys(String[], Function)} with providing the mapping function
-     *         {@link ISyncMetadataIdMapper#getLicenseDistributionId(String)}
+     * @return the result of calling {@link #convertKeys(String[], SyncMetadataCategoryEnum, Function)} with providing
+     *         the mapping function {@link ISyncMetadataIdMapper#getLicenseDistributionId(String)}
      */
     public String[] getLicenseDistributionsKeys(final String[] smintIoKeys) {
-        return this.convertKeys(smintIoKeys, this._idMapper::getLicenseDistributionId);
+        return this.convertKeys(
+            smintIoKeys,
+            SyncMetadataCategoryEnum.LicenseDistributionsEnum,
+            this._licenseDistributionId
+        );
     }
 
 
@@ -240,11 +270,11 @@ class LicenseTermConverter extends BaseSyncDataConverter<ISmintIoLicenseTerm, IS
      * Maps license geographical distribution keys.
      *
      * @param smintIoKeys the list of Smint.io keys.
-     * @return the result of calling {@link #convertKeys(String[], Function)} with providing the mapping function
-     *         {@link ISyncMetadataIdMapper#getLicenseGeographyId(String)}
+     * @return the result of calling {@link #convertKeys(String[], SyncMetadataCategoryEnum, Function)} with providing
+     *         the mapping function {@link ISyncMetadataIdMapper#getLicenseGeographyId(String)}
      */
     public String[] getLicenseGeographiesKeys(final String[] smintIoKeys) {
-        return this.convertKeys(smintIoKeys, this._idMapper::getLicenseGeographyId);
+        return this.convertKeys(smintIoKeys, SyncMetadataCategoryEnum.LicenseGeographiesEnum, this._licenseGeographyId);
     }
 
 
@@ -252,11 +282,11 @@ class LicenseTermConverter extends BaseSyncDataConverter<ISmintIoLicenseTerm, IS
      * Maps license industry keys.
      *
      * @param smintIoKeys the list of Smint.io keys.
-     * @return the result of calling {@link #convertKeys(String[], Function)} with providing the mapping function
-     *         {@link ISyncMetadataIdMapper#getLicenseIndustryId(String)}
+     * @return the result of calling {@link #convertKeys(String[], SyncMetadataCategoryEnum, Function)} with providing
+     *         the mapping function {@link ISyncMetadataIdMapper#getLicenseIndustryId(String)}
      */
     public String[] getLicenseIndustriesKeys(final String[] smintIoKeys) {
-        return this.convertKeys(smintIoKeys, this._idMapper::getLicenseIndustryId);
+        return this.convertKeys(smintIoKeys, SyncMetadataCategoryEnum.LicenseIndustriesEnum, this._licenseIndustryId);
     }
 
 
@@ -264,11 +294,11 @@ class LicenseTermConverter extends BaseSyncDataConverter<ISmintIoLicenseTerm, IS
      * Maps license language keys.
      *
      * @param smintIoKeys the list of Smint.io keys.
-     * @return the result of calling {@link #convertKeys(String[], Function)} with providing the mapping function
-     *         {@link ISyncMetadataIdMapper#getLicenseLanguageId(String)}
+     * @return the result of calling {@link #convertKeys(String[], SyncMetadataCategoryEnum, Function)} with providing
+     *         the mapping function {@link ISyncMetadataIdMapper#getLicenseLanguageId(String)}
      */
     public String[] getLicenseLanguagesKeys(final String[] smintIoKeys) {
-        return this.convertKeys(smintIoKeys, this._idMapper::getLicenseLanguageId);
+        return this.convertKeys(smintIoKeys, SyncMetadataCategoryEnum.LicenseLanguagesEnum, this._licenseLanguageId);
     }
 
 
@@ -276,10 +306,14 @@ class LicenseTermConverter extends BaseSyncDataConverter<ISmintIoLicenseTerm, IS
      * Maps license usage keys.
      *
      * @param smintIoKeys the list of Smint.io keys.
-     * @return the result of calling {@link #convertKeys(String[], Function)} with providing the mapping function
-     *         {@link ISyncMetadataIdMapper#getLicenseUsageId(String)}
+     * @return the result of calling {@link #convertKeys(String[], SyncMetadataCategoryEnum, Function)} with providing
+     *         the mapping function {@link ISyncMetadataIdMapper#getLicenseUsageId(String)}
      */
     public String[] getLicenseUsageLimitsKeys(final String[] smintIoKeys) {
-        return this.convertKeys(smintIoKeys, this._idMapper::getLicenseUsageLimitId);
+        return this.convertKeys(
+            smintIoKeys,
+            SyncMetadataCategoryEnum.LicenseUsageLimitsEnum,
+            this._licenseUsageLimitId
+        );
     }
 }
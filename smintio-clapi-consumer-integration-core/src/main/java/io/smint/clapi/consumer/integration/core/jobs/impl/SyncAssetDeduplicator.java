@@ -0,0 +1,127 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.jobs.impl;
+
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoAsset;
+
+
+/**
+ * Drops repeated occurrences of assets within a page and across pages of a single run.
+ *
+ * <p>
+ * The same license purchase transaction might be delivered more than once, as its state changed in between. Within a
+ * page, only the latest state is kept. An occurrence replaces a previous one, unless it has been updated earlier on
+ * Smint.io (see {@link ISmintIoAsset#getLastUpdatedAt()}). As each asset carries all its binaries, the latest state
+ * covers the latest version of all of its binaries, too.
+ * </p>
+ *
+ * <p>
+ * Across pages, an asset is only passed on if it has been updated strictly later than the state already passed on
+ * during the same run. Exact re-deliveries with the same time of update are dropped, so they are neither imported nor
+ * downloaded twice. Only the time of the last update of each license purchase transaction is kept in memory.
+ * </p>
+ */
+class SyncAssetDeduplicator {
+
+    private final Map<String, OffsetDateTime> _passedAssets = new HashMap<>();
+
+
+    /**
+     * Checks whether an asset has been updated on Smint.io earlier than its latest known state.
+     *
+     * @param lastUpdatedAt       the time of the last update of the asset to check.
+     * @param latestLastUpdatedAt the time of the last update of the latest known state.
+     * @return {@code true} if the asset is outdated. Assets without time of update are outdated in case the time of
+     *         the latest state is known.
+     */
+    static boolean isOutdated(final OffsetDateTime lastUpdatedAt, final OffsetDateTime latestLastUpdatedAt) {
+        return latestLastUpdatedAt != null
+            && (lastUpdatedAt == null || lastUpdatedAt.isBefore(latestLastUpdatedAt));
+    }
+
+
+    /**
+     * Drops all occurrences of assets from a page, that are not the latest state of its license purchase transaction.
+     *
+     * <p>
+     * All remaining assets are remembered as being passed on during this run. {@code null} elements and assets without
+     * license purchase transaction UUID are kept as they are.
+     * </p>
+     *
+     * @param rawAssets the page of assets to collapse.
+     * @return the collapsed assets in order of their latest occurrence or {@code rawAssets} itself, if nothing has been
+     *         dropped.
+     */
+    public ISmintIoAsset[] collapse(final ISmintIoAsset[] rawAssets) {
+        if (rawAssets == null || rawAssets.length == 0) {
+            return rawAssets;
+        }
+
+        final Map<String, Integer> latestOccurrences = new HashMap<>();
+        for (int i = 0; i < rawAssets.length; i++) {
+            final ISmintIoAsset rawAsset = rawAssets[i];
+            final String uuid = rawAsset != null ? rawAsset.getLicensePurchaseTransactionUuid() : null;
+            if (uuid == null) {
+                continue;
+            }
+
+            final Integer previous = latestOccurrences.get(uuid);
+            if (previous == null
+                || !isOutdated(rawAsset.getLastUpdatedAt(), rawAssets[previous].getLastUpdatedAt())) {
+                latestOccurrences.put(uuid, i);
+            }
+        }
+
+
+        final ISmintIoAsset[] collapsedAssets = new ISmintIoAsset[rawAssets.length];
+        int count = 0;
+        for (int i = 0; i < rawAssets.length; i++) {
+            final ISmintIoAsset rawAsset = rawAssets[i];
+            final String uuid = rawAsset != null ? rawAsset.getLicensePurchaseTransactionUuid() : null;
+
+            if (uuid != null) {
+                if (latestOccurrences.get(uuid) != i || this.isPassedAlready(uuid, rawAsset.getLastUpdatedAt())) {
+                    continue;
+                }
+
+                final OffsetDateTime lastUpdatedAt = rawAsset.getLastUpdatedAt();
+                if (lastUpdatedAt != null) {
+                    this._passedAssets.put(uuid, lastUpdatedAt);
+                }
+            }
+
+            collapsedAssets[count++] = rawAsset;
+        }
+
+        return count == rawAssets.length ? rawAssets : Arrays.copyOf(collapsedAssets, count);
+    }
+
+
+    private boolean isPassedAlready(final String uuid, final OffsetDateTime lastUpdatedAt) {
+        final OffsetDateTime passedLastUpdatedAt = this._passedAssets.get(uuid);
+        return passedLastUpdatedAt != null
+            && (lastUpdatedAt == null || !lastUpdatedAt.isAfter(passedLastUpdatedAt));
+    }
+}
@@ -0,0 +1,596 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.jobs.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Provider;
+
+import io.smint.clapi.consumer.integration.core.configuration.ISyncJobDataStorage;
+import io.smint.clapi.consumer.integration.core.configuration.models.ISettingsModel;
+import io.smint.clapi.consumer.integration.core.configuration.models.ISyncJobDataModel;
+import io.smint.clapi.consumer.integration.core.configuration.models.impl.SyncJobDataModelImpl;
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoAsset;
+import io.smint.clapi.consumer.integration.core.exceptions.SmintIoSyncJobException;
+import io.smint.clapi.consumer.integration.core.exceptions.SmintIoSyncJobException.SyncJobError;
+import io.smint.clapi.consumer.integration.core.factory.ISmintIoDownloadProvider;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncAssetPublisher;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncAssetSubscriber;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncAssetSubscription;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncMetadataIdMapper;
+import io.smint.clapi.consumer.integration.core.providers.ISmintIoApiClient;
+import io.smint.clapi.consumer.integration.core.providers.ISmintIoApiDataWithContinuation;
+import io.smint.clapi.consumer.integration.core.target.ISyncTarget;
+import io.smint.clapi.consumer.integration.core.target.ISyncTargetCapabilities;
+import io.smint.clapi.consumer.integration.core.target.ISyncTargetDataFactory;
+import io.smint.clapi.consumer.integration.core.target.impl.BaseSyncAsset;
+
+
+/**
+ * Publishes the assets of Smint.io one by one, as requested by the subscriber.
+ *
+ * <p>
+ * Pages of assets are fetched with {@link ISmintIoApiClient} only if the subscriber requested more assets than are
+ * available in memory. Each page is converted in slices, which are limited by the number of requested assets and by
+ * {@link ISettingsModel#getMaxAssetsInFlight()} and {@link ISettingsModel#getSyncHeapBudgetMegabytes()}. So the memory
+ * held by the stream is bound by the demand of the subscriber rather than by the size of a page.
+ * </p>
+ *
+ * <p>
+ * All signals to the subscriber are passed by a single thread at a time. Unless an executor has been set with
+ * {@link #setExecutor(Executor)}, each subscription creates its own thread named {@code smint.io-asset-stream}, which
+ * is terminated along with the subscription.
+ * </p>
+ *
+ * <p>
+ * The capabilities of the sync target are used to decide whether compound assets and binary updates are requested
+ * from Smint.io. The meta data must have been synchronized before, as the ID mapping is needed to convert the assets.
+ * </p>
+ */
+public class SyncAssetPublisher implements ISyncAssetPublisher {
+
+    private static final Logger LOG = Logger.getLogger(SyncAssetPublisher.class.getName());
+
+
+    private final Provider<ISettingsModel> _settingsProvider;
+    private final ISmintIoApiClient _smintIoClient;
+    private final ISyncTarget _syncTarget;
+    private final ISyncTargetDataFactory _syncTargetDataFactory;
+    private final ISyncJobDataStorage _syncDataStorage;
+    private final ISmintIoDownloadProvider _downloadProvider;
+    private final ISyncMetadataIdMapper _idMapper;
+    private final Provider<ForkJoinPool> _conversionPool;
+    private final AtomicBoolean _isSubscribed = new AtomicBoolean(false);
+    private Executor _executor;
+
+
+    // CHECKSTYLE OFF: ParameterNumber
+
+    /**
+     * Create a new publisher and provide all necessary parameters via parameters.
+     *
+     * @param settings              the settings to read the tenant ID and memory limits from.
+     * @param smintIoClient         Smint.IO API wrapper instance.
+     * @param syncTarget            the sync target to read the capabilities from.
+     * @param syncTargetDataFactory the factory to create the data instances of the published assets.
+     * @param syncDataStorage       storage to read and store the continuation UUID with.
+     * @param downloadProvider      an instance to create file downloader for binary asset files.
+     * @param idMapper              a utility class to map from meta data Smint.io API IDs to sync target IDs.
+     * @param conversionPool        the provider of the pool to convert assets in parallel or {@code null} to convert
+     *                              sequentially. It is asked for every conversion, as the pool is replaced after
+     *                              the synchronization has been stopped and started again.
+     */
+    @Inject
+    public SyncAssetPublisher(
+        final Provider<ISettingsModel> settings,
+        final ISmintIoApiClient smintIoClient,
+        final ISyncTarget syncTarget,
+        final ISyncTargetDataFactory syncTargetDataFactory,
+        final ISyncJobDataStorage syncDataStorage,
+        final ISmintIoDownloadProvider downloadProvider,
+        final ISyncMetadataIdMapper idMapper,
+        @Nullable final Provider<ForkJoinPool> conversionPool
+    ) {
+        this._settingsProvider = settings;
+        this._smintIoClient = smintIoClient;
+        this._syncTarget = syncTarget;
+        this._syncTargetDataFactory = syncTargetDataFactory;
+        this._syncDataStorage = syncDataStorage;
+        this._downloadProvider = downloadProvider;
+        this._idMapper = idMapper;
+        this._conversionPool = conversionPool;
+
+        Objects.requireNonNull(this._settingsProvider, "Settings must not be null!");
+        Objects.requireNonNull(this._smintIoClient, "Missing Smint.io API client!");
+        Objects.requireNonNull(this._syncTarget, "Synchronization target has not been provided!");
+        Objects.requireNonNull(this._syncTargetDataFactory, "Sync target data factory is missing!");
+        Objects.requireNonNull(this._syncDataStorage, "job data storage is missing!");
+        Objects.requireNonNull(this._idMapper, "ID mapper utility is missing!");
+    }
+    // CHECKSTYLE ON: ParameterNumber
+
+
+    /**
+     * Sets the executor to pass all signals to the subscribers with.
+     *
+     * <p>
+     * Fetching and converting assets is performed by the executor, too. Hence it should be allowed to block.
+     * </p>
+     *
+     * @param executor the executor or {@code null} to create a new thread for each subscription.
+     * @return {@code this}
+     */
+    public SyncAssetPublisher setExecutor(final Executor executor) {
+        this._executor = executor;
+        return this;
+    }
+
+
+    @Override
+    public void subscribe(final ISyncAssetSubscriber subscriber) throws NullPointerException {
+        Objects.requireNonNull(subscriber, "Invalid subscriber has been provided!");
+
+        final boolean isExclusive = this._isSubscribed.compareAndSet(false, true);
+        final AssetSubscription subscription = new AssetSubscription(subscriber, isExclusive, this._executor);
+        if (!isExclusive) {
+            subscription.fail(
+                new IllegalStateException("Another subscription is active, which is sharing the continuation UUID.")
+            );
+        }
+
+        subscription.schedule();
+    }
+
+
+    private ForkJoinPool getConversionPool() {
+        return this._conversionPool != null ? this._conversionPool.get() : null;
+    }
+
+
+    /**
+     * The subscription, which fetches, converts and passes the assets to the subscriber.
+     *
+     * <p>
+     * All work is done in {@link #drain()}, which is never executed concurrently. Any other thread just records its
+     * request and schedules {@link #drain()} to be executed by the executor.
+     * </p>
+     */
+    private class AssetSubscription implements ISyncAssetSubscription {
+
+        private final ISyncAssetSubscriber _subscriber;
+        private final boolean _isExclusive;
+        private final Executor _signalExecutor;
+        private final ExecutorService _ownedExecutor;
+
+        private final AtomicInteger _wip = new AtomicInteger();
+        private final AtomicLong _requested = new AtomicLong();
+        private final Deque<PageCommit> _pendingCommits = new ArrayDeque<>();
+        private long _acknowledged;
+        private boolean _isAcknowledgementClosed;
+        private volatile long _emitted;
+        private volatile boolean _isCancelled;
+        private volatile boolean _isCompleted;
+        private volatile Throwable _error;
+
+        // only accessed by the thread executing drain()
+        private final Deque<BaseSyncAsset> _convertedAssets = new ArrayDeque<>();
+        private boolean _isStarted;
+        private boolean _isTerminated;
+        private boolean _isLastPageLoaded;
+        private boolean _isCompoundAssetsSupported;
+        private boolean _isBinaryUpdatesSupported;
+        private long _enqueued;
+        private String _continuationUuid;
+        private ISmintIoAsset[] _rawAssets;
+        private int _rawOffset;
+        private AssetConverter _converter;
+        private SyncMemoryBudget _memoryBudget;
+        private Path _tempFolderPath;
+
+
+        AssetSubscription(final ISyncAssetSubscriber subscriber, final boolean isExclusive, final Executor executor) {
+            this._subscriber = subscriber;
+            this._isExclusive = isExclusive;
+            this._ownedExecutor = executor == null
+                ? Executors.newSingleThreadExecutor((runnable) -> {
+                    final Thread thread = new Thread(runnable, "smint.io-asset-stream");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+            this._signalExecutor = executor != null ? executor : this._ownedExecutor;
+        }
+
+
+        @Override
+        public void request(final long count) {
+            if (count <= 0) {
+                this.fail(new IllegalArgumentException("The number of requested assets must be positive: " + count));
+
+            } else {
+                this._requested.accumulateAndGet(
+                    count,
+                    (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added
+                );
+            }
+            this.schedule();
+        }
+
+
+        @Override
+        public void cancel() {
+            this._isCancelled = true;
+            this.schedule();
+        }
+
+
+        @Override
+        public void acknowledge(final long count) throws IllegalArgumentException {
+            if (count < 0) {
+                throw new IllegalArgumentException("The number of acknowledged assets must not be negative: " + count);
+            }
+
+            synchronized (this._pendingCommits) {
+                if (this._isAcknowledgementClosed) {
+                    return;
+                }
+
+                if (this._acknowledged + count > this._emitted) {
+                    throw new IllegalArgumentException(
+                        "More assets have been acknowledged than have been passed to the subscriber."
+                    );
+                }
+
+                this._acknowledged += count;
+                this.commitAcknowledgedPages();
+            }
+
+            if (this._isCompleted) {
+                this.schedule();
+            }
+        }
+
+
+        void fail(final Throwable error) {
+            if (this._error == null) {
+                this._error = error;
+            }
+        }
+
+
+        void schedule() {
+            try {
+                this._signalExecutor.execute(this::drain);
+
+            } catch (final RejectedExecutionException excp) {
+                LOG.log(Level.FINE, "Subscription has already been terminated.", excp);
+            }
+        }
+
+
+        private void drain() {
+            if (this._wip.getAndIncrement() != 0) {
+                return;
+            }
+
+            int missed = 1;
+            do {
+                if (!this._isTerminated) {
+                    this.drainLoop();
+                }
+                missed = this._wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+
+        private void drainLoop() {
+
+            // CHECKSTYLE OFF: IllegalCatch
+            try {
+                if (!this._isStarted) {
+                    this._isStarted = true;
+                    this._subscriber.onSubscribe(this);
+                }
+
+                while (!this._isTerminated) {
+
+                    final Throwable error = this._error;
+                    if (this._isCancelled) {
+                        this.terminate();
+
+                    } else if (error != null) {
+                        this.terminate();
+                        this._subscriber.onError(error);
+
+                    } else if (this._isCompleted) {
+                        if (this.isEverythingAcknowledged()) {
+                            this.terminate();
+                        }
+                        return;
+
+                    } else if (this._requested.get() == 0) {
+                        return;
+
+                    } else if (!this._convertedAssets.isEmpty()) {
+                        this.emit(this._convertedAssets.poll());
+
+                    } else if (!this.loadNextAssets()) {
+                        this._isCompleted = true;
+                        this._subscriber.onComplete();
+                    }
+                }
+
+            } catch (final RuntimeException excp) {
+                LOG.log(Level.SEVERE, "Subscriber of the asset stream failed, cancelling subscription.", excp);
+                if (!this._isTerminated) {
+                    this.terminate();
+                }
+            }
+            // CHECKSTYLE ON: IllegalCatch
+        }
+
+
+        private void emit(final BaseSyncAsset asset) {
+            if (this._requested.get() != Long.MAX_VALUE) {
+                this._requested.decrementAndGet();
+            }
+            this._emitted++;
+            this._subscriber.onNext(asset);
+        }
+
+
+        /**
+         * Converts the next slice of the current page, fetching the next page if necessary.
+         *
+         * @return {@code false} if there are no more assets available.
+         */
+        private boolean loadNextAssets() {
+
+            // CHECKSTYLE OFF: IllegalCatch
+            try {
+                if (this._converter == null) {
+                    this.prepare();
+                }
+
+                while (this._rawAssets == null) {
+                    if (this._isLastPageLoaded) {
+                        return false;
+                    }
+
+                    final ISmintIoApiDataWithContinuation<ISmintIoAsset[]> rawAssetsInfo = SyncAssetPublisher.this
+                        ._smintIoClient
+                        .getAssets(
+                            this._continuationUuid,
+                            this._isCompoundAssetsSupported,
+                            this._isBinaryUpdatesSupported
+                        );
+
+                    final ISmintIoAsset[] rawAssets = rawAssetsInfo.getResult();
+                    this._continuationUuid = rawAssetsInfo.getContinuationUuid();
+                    if (rawAssets != null && rawAssets.length > 0) {
+                        this._rawAssets = rawAssets;
+                        this._rawOffset = 0;
+
+                    } else {
+                        this._isLastPageLoaded = !rawAssetsInfo.hasAssets();
+                    }
+                }
+
+                this.convertNextSlice();
+                return true;
+
+            } catch (final Exception excp) {
+                LOG.log(Level.SEVERE, "Failed to load assets for the asset stream.", excp);
+                this.fail(
+                    excp instanceof SmintIoSyncJobException
+                        ? excp
+                        : new SmintIoSyncJobException(SyncJobError.Generic, excp.getMessage(), excp)
+                );
+                return true;
+            }
+            // CHECKSTYLE ON: IllegalCatch
+        }
+
+
+        private void convertNextSlice() {
+
+            final int remaining = this._rawAssets.length - this._rawOffset;
+            final int sliceSize = (int) Math.min(
+                this._memoryBudget.nextSliceSize(remaining),
+                Math.max(1L, this._requested.get())
+            );
+
+            final int sliceEnd = this._rawOffset + sliceSize;
+            final ISmintIoAsset[] slice = Arrays.copyOfRange(this._rawAssets, this._rawOffset, sliceEnd);
+
+            // release the raw data of the slice from the page, so it can be collected once acknowledged
+            Arrays.fill(this._rawAssets, this._rawOffset, sliceEnd, null);
+            this._rawOffset = sliceEnd;
+
+            final WrapperSyncAsset[] targetAssets = this._converter.convertAll(
+                slice,
+                SyncAssetPublisher.this.getConversionPool()
+            );
+            Objects.requireNonNull(targetAssets, "Conversion of assets from Smint.io failed.");
+
+            for (final WrapperSyncAsset targetAsset : targetAssets) {
+                this._convertedAssets.add(targetAsset.getWrapped());
+            }
+            this._enqueued += targetAssets.length;
+
+
+            if (this._rawOffset >= this._rawAssets.length) {
+                this._rawAssets = null;
+
+                synchronized (this._pendingCommits) {
+                    this._pendingCommits.add(new PageCommit(this._enqueued, this._continuationUuid));
+                    this.commitAcknowledgedPages();
+                }
+            }
+        }
+
+
+        private void prepare() throws IOException, SmintIoSyncJobException {
+
+            if (SyncAssetPublisher.this._idMapper.isEmpty()) {
+                throw new SmintIoSyncJobException(
+                    SyncJobError.Generic,
+                    "No meta data ID mapping is available to convert assets. Synchronize meta data first!"
+                );
+            }
+
+            final ISettingsModel settings = SyncAssetPublisher.this._settingsProvider.get();
+            final ISyncTargetCapabilities capabilities = SyncAssetPublisher.this._syncTarget.getCapabilities();
+            this._isCompoundAssetsSupported = capabilities != null && capabilities.isCompoundAssetsSupported();
+            this._isBinaryUpdatesSupported = capabilities != null && capabilities.isBinaryUpdatesSupported();
+
+            final ISyncJobDataModel syncDatabaseModel = SyncAssetPublisher.this._syncDataStorage.getSyncProcessData();
+            this._continuationUuid = syncDatabaseModel != null ? syncDatabaseModel.getContinuationUuid() : null;
+
+            this._memoryBudget = new SyncMemoryBudget(
+                settings.getMaxAssetsInFlight(),
+                settings.getSyncHeapBudgetMegabytes()
+            );
+            this._tempFolderPath = Files.createTempDirectory("smint_io-stream-" + settings.getTenantId());
+            this._converter = new AssetConverter(
+                SyncAssetPublisher.this._syncTargetDataFactory,
+                SyncAssetPublisher.this._idMapper,
+                SyncAssetPublisher.this._downloadProvider,
+                this._tempFolderPath.toFile()
+            );
+        }
+
+
+        /**
+         * Stores the continuation UUID of the last page, whose assets have all been acknowledged.
+         *
+         * <p>
+         * Must be called while holding the lock of {@link #_pendingCommits}.
+         * </p>
+         */
+        private void commitAcknowledgedPages() {
+
+            PageCommit lastCommit = null;
+            while (!this._pendingCommits.isEmpty()
+                && this._pendingCommits.peekFirst().getEndSequence() <= this._acknowledged) {
+
+                lastCommit = this._pendingCommits.pollFirst();
+            }
+
+            if (lastCommit != null) {
+                SyncAssetPublisher.this._syncDataStorage.storeSyncProcessData(
+                    new SyncJobDataModelImpl().setContinuationUuid(lastCommit.getContinuationUuid())
+                );
+            }
+        }
+
+
+        private boolean isEverythingAcknowledged() {
+            synchronized (this._pendingCommits) {
+                return this._acknowledged >= this._emitted;
+            }
+        }
+
+
+        private void terminate() {
+            this._isTerminated = true;
+
+            synchronized (this._pendingCommits) {
+                this._pendingCommits.clear();
+                this._isAcknowledgementClosed = true;
+            }
+
+            this._convertedAssets.clear();
+            this._rawAssets = null;
+            this._converter = null;
+
+            if (this._tempFolderPath != null) {
+                final Path tempFolderPath = this._tempFolderPath;
+                this._tempFolderPath = null;
+
+                LOG.info(() -> "Deleting temporary path of asset stream: " + tempFolderPath.toAbsolutePath());
+                try (Stream<Path> paths = Files.walk(tempFolderPath)) {
+                    paths
+                        .map(Path::toFile)
+                        .sorted(Comparator.reverseOrder())
+                        .forEach(File::delete);
+
+                } catch (final IOException excp) {
+                    LOG.log(Level.WARNING, "Failed to delete temporary path of asset stream.", excp);
+                }
+            }
+
+            if (this._isExclusive) {
+                SyncAssetPublisher.this._isSubscribed.set(false);
+            }
+
+            if (this._ownedExecutor != null) {
+                this._ownedExecutor.shutdown();
+            }
+        }
+    }
+
+
+    /**
+     * The continuation UUID to store as soon as all assets up to a sequence number have been acknowledged.
+     */
+    private static class PageCommit {
+
+        private final long _endSequence;
+        private final String _continuationUuid;
+
+
+        PageCommit(final long endSequence, final String continuationUuid) {
+            this._endSequence = endSequence;
+            this._continuationUuid = continuationUuid;
+        }
+
+
+        public long getEndSequence() {
+            return this._endSequence;
+        }
+
+
+        public String getContinuationUuid() {
+            return this._continuationUuid;
+        }
+    }
+}
@@ -0,0 +1,287 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.jobs.impl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import io.smint.clapi.consumer.integration.core.configuration.models.IModelStringConverter;
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoAsset;
+
+
+/**
+ * Spools pages of assets to a file on local disk and reads back only the latest state of each asset.
+ *
+ * <p>
+ * Each asset is written as a record to the spool file. In memory, only the position of the record holding the latest
+ * state of each license purchase transaction is kept. An occurrence replaces a previous one of the same license
+ * purchase transaction, unless it has been updated earlier on Smint.io (see {@link ISmintIoAsset#getLastUpdatedAt()}).
+ * As each asset carries all its binaries, its latest state covers the latest version of all of its binaries, too.
+ * </p>
+ *
+ * <p>
+ * Once all pages have been appended, the collapsed assets are read back with {@link #nextPage(int)} in the order of
+ * their latest occurrence. Records of outdated occurrences are skipped without parsing them.
+ * </p>
+ */
+class SyncAssetSpool implements Closeable {
+
+    private final File _spoolFile;
+    private final IModelStringConverter<ISmintIoAsset> _converter;
+
+    private final Map<String, LatestOccurrence> _latestOccurrences = new HashMap<>();
+    private final BitSet _selectedRecords = new BitSet();
+    private int _spooledAssets;
+    private int _readRecords;
+    private DataOutputStream _output;
+    private DataInputStream _input;
+
+
+    /**
+     * Initializes a new empty spool.
+     *
+     * @param spoolFile the file to spool the assets to. It is overwritten and deleted once the spool is cleared.
+     * @param converter the converter to write the assets as text and read them back. Must not be {@code null}.
+     */
+    SyncAssetSpool(final File spoolFile, final IModelStringConverter<ISmintIoAsset> converter) {
+        Objects.requireNonNull(spoolFile, "Provided spool file is <null>!");
+        Objects.requireNonNull(converter, "Provided asset converter is <null>!");
+
+        this._spoolFile = spoolFile;
+        this._converter = converter;
+    }
+
+
+    /**
+     * Writes a page of assets to the spool.
+     *
+     * @param rawAssets the assets to spool. {@code null} elements are ignored.
+     * @return {@code this}
+     * @throws IOException if writing the spool file fails.
+     * @throws IllegalStateException if reading the spooled assets has been started already.
+     */
+    public SyncAssetSpool append(final ISmintIoAsset[] rawAssets) throws IOException {
+        if (this._input != null) {
+            throw new IllegalStateException("Assets can not be spooled while reading them back!");
+        }
+        if (rawAssets == null) {
+            return this;
+        }
+
+        if (this._output == null) {
+            this._output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(this._spoolFile)));
+        }
+
+        for (final ISmintIoAsset rawAsset : rawAssets) {
+            if (rawAsset == null) {
+                continue;
+            }
+
+            final byte[] record = this.encode(rawAsset);
+            this._output.writeInt(record.length);
+            this._output.write(record);
+
+            final int recordIndex = this._spooledAssets++;
+            final String uuid = rawAsset.getLicensePurchaseTransactionUuid();
+            final LatestOccurrence previous = uuid != null ? this._latestOccurrences.get(uuid) : null;
+
+            if (previous != null && previous.isNewerThan(rawAsset.getLastUpdatedAt())) {
+                continue;
+            }
+
+            if (previous != null) {
+                this._selectedRecords.clear(previous._recordIndex);
+            }
+            if (uuid != null) {
+                this._latestOccurrences.put(uuid, new LatestOccurrence(recordIndex, rawAsset.getLastUpdatedAt()));
+            }
+            this._selectedRecords.set(recordIndex);
+        }
+
+        return this;
+    }
+
+
+    /**
+     * Counts all assets, that have been spooled.
+     *
+     * @return the number of spooled assets, including all outdated occurrences.
+     */
+    public int getSpooledAssets() {
+        return this._spooledAssets;
+    }
+
+
+    /**
+     * Counts the assets, that remain after outdated occurrences have been dropped.
+     *
+     * @return the number of assets, that will be read back with {@link #nextPage(int)}.
+     */
+    public int getCollapsedAssets() {
+        return this._selectedRecords.cardinality();
+    }
+
+
+    /**
+     * Reads back the next page of collapsed assets.
+     *
+     * <p>
+     * Once reading has been started, no more assets can be appended until the spool has been cleared.
+     * </p>
+     *
+     * @param maxPageSize the maximum number of assets to return, at least a single asset is returned.
+     * @return the assets or {@code null} if all collapsed assets have been read.
+     * @throws IOException if reading the spool file fails.
+     */
+    public ISmintIoAsset[] nextPage(final int maxPageSize) throws IOException {
+        if (this._output != null) {
+            this._output.close();
+            this._output = null;
+        }
+        if (this._spooledAssets == 0) {
+            return null;
+        }
+        if (this._input == null) {
+            this._input = new DataInputStream(new BufferedInputStream(new FileInputStream(this._spoolFile)));
+        }
+
+        final int pageSize = Math.max(1, maxPageSize);
+        final List<ISmintIoAsset> page = new ArrayList<>(Math.min(pageSize, this.getCollapsedAssets()));
+        while (page.size() < pageSize && this._readRecords < this._spooledAssets) {
+
+            final int recordIndex = this._readRecords++;
+            final int recordLength = this._input.readInt();
+            if (!this._selectedRecords.get(recordIndex)) {
+                this.skipRecord(recordLength);
+                continue;
+            }
+
+            final byte[] record = new byte[recordLength];
+            this._input.readFully(record);
+            page.add(this.decode(record));
+        }
+
+        return page.isEmpty() ? null : page.toArray(new ISmintIoAsset[page.size()]);
+    }
+
+
+    private byte[] encode(final ISmintIoAsset rawAsset) throws IOException {
+        try {
+            return this._converter.encode(rawAsset).getBytes(StandardCharsets.UTF_8);
+        } catch (final ParseException excp) {
+            throw new IOException("Failed to spool Smint.io asset " + rawAsset.getUuid(), excp);
+        }
+    }
+
+
+    private ISmintIoAsset decode(final byte[] record) throws IOException {
+        try {
+            return this._converter.decode(new String(record, StandardCharsets.UTF_8));
+        } catch (final ParseException excp) {
+            throw new IOException("Failed to read spooled Smint.io asset from " + this._spoolFile.getName(), excp);
+        }
+    }
+
+
+    private void skipRecord(final int recordLength) throws IOException {
+        int remaining = recordLength;
+        while (remaining > 0) {
+            final int skipped = this._input.skipBytes(remaining);
+            if (skipped <= 0) {
+                throw new EOFException("Spool file " + this._spoolFile.getName() + " has been truncated!");
+            }
+            remaining -= skipped;
+        }
+    }
+
+
+    /**
+     * Removes all spooled assets and deletes the spool file, so the spool can be used again.
+     *
+     * @return {@code this}
+     * @throws IOException if closing the spool file fails.
+     */
+    public SyncAssetSpool clear() throws IOException {
+        try {
+            if (this._output != null) {
+                this._output.close();
+            }
+            if (this._input != null) {
+                this._input.close();
+            }
+        } finally {
+            this._output = null;
+            this._input = null;
+            this._latestOccurrences.clear();
+            this._selectedRecords.clear();
+            this._spooledAssets = 0;
+            this._readRecords = 0;
+            this._spoolFile.delete();
+        }
+        return this;
+    }
+
+
+    @Override
+    public void close() throws IOException {
+        this.clear();
+    }
+
+
+    /**
+     * The position of the record holding the latest state of a license purchase transaction.
+     */
+    private static final class LatestOccurrence {
+
+        private final int _recordIndex;
+        private final OffsetDateTime _lastUpdatedAt;
+
+
+        LatestOccurrence(final int recordIndex, final OffsetDateTime lastUpdatedAt) {
+            this._recordIndex = recordIndex;
+            this._lastUpdatedAt = lastUpdatedAt;
+        }
+
+
+        /**
+         * Later occurrences win unless they have been updated earlier, as pages are delivered in order of change.
+         */
+        boolean isNewerThan(final OffsetDateTime lastUpdatedAt) {
+            return SyncAssetDeduplicator.isOutdated(lastUpdatedAt, this._lastUpdatedAt);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.jobs.impl;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoAsset;
+
+
+/**
+ * Collects the assets failing to be synchronized during a whole page or a whole pass of retries.
+ *
+ * <p>
+ * Failures are only decided on once all assets of the batch have been tried, regardless of how many slices the batch
+ * has been split into. The failure is considered to be systemic (eg: the sync target is not available), instead of
+ * being a problem of the assets, only if the sync target itself rejected several assets with the very same error and
+ * did not accept any other asset.
+ * </p>
+ */
+class SyncBatchFailures {
+
+    private final Map<ISmintIoAsset, Exception> _failures = new LinkedHashMap<>();
+    private final Map<ISmintIoAsset, Exception> _targetFailures = new LinkedHashMap<>();
+    private int _importedAssets;
+
+
+    /**
+     * Counts assets, that have been accepted by the sync target.
+     *
+     * @param count the number of assets to add.
+     * @return {@code this}
+     */
+    public SyncBatchFailures addImported(final int count) {
+        this._importedAssets += count;
+        return this;
+    }
+
+
+    /**
+     * Records an asset, that failed to be synchronized before it has been passed to the sync target.
+     *
+     * @param rawAsset the asset as received from Smint.io.
+     * @param error    the error the asset failed with.
+     * @return {@code this}
+     */
+    public SyncBatchFailures add(final ISmintIoAsset rawAsset, final Exception error) {
+        if (rawAsset != null) {
+            this._failures.put(rawAsset, error);
+        }
+        return this;
+    }
+
+
+    /**
+     * Records an asset, that has been rejected by the sync target.
+     *
+     * @param rawAsset the asset as received from Smint.io.
+     * @param error    the error the sync target rejected the asset with.
+     * @return {@code this}
+     */
+    public SyncBatchFailures addTargetFailure(final ISmintIoAsset rawAsset, final Exception error) {
+        if (rawAsset != null) {
+            this._failures.put(rawAsset, error);
+            this._targetFailures.put(rawAsset, error);
+        }
+        return this;
+    }
+
+
+    /**
+     * Provides the failed assets with their errors.
+     *
+     * @return the failed assets in the order they failed - never {@code null}.
+     */
+    public Map<ISmintIoAsset, Exception> getFailures() {
+        return Collections.unmodifiableMap(this._failures);
+    }
+
+
+    /**
+     * Checks whether an asset has been rejected by the sync target.
+     *
+     * @param rawAsset the asset as received from Smint.io.
+     * @return {@code true} if the sync target rejected the asset.
+     */
+    public boolean isTargetFailure(final ISmintIoAsset rawAsset) {
+        return this._targetFailures.containsKey(rawAsset);
+    }
+
+
+    /**
+     * Checks whether no asset failed.
+     *
+     * @return {@code true} if no asset failed.
+     */
+    public boolean isEmpty() {
+        return this._failures.isEmpty();
+    }
+
+
+    /**
+     * Checks whether the failures are systemic rather than a problem of the assets.
+     *
+     * <p>
+     * Assets failing before being passed to the sync target - like assets referring to unknown meta data - fail because
+     * of the data they carry, so they are left out. Assets rejected by the sync target only point to a failure of the
+     * sync target itself, if all of them failed with the same error. Broken assets fail with errors of their own, so
+     * a batch made of broken assets only is not systemic. A single rejected asset can not tell the difference, so at
+     * least two of them must have been rejected.
+     * </p>
+     *
+     * @return {@code true} if the sync target did not accept any asset and rejected more than one asset, all with the
+     *         same error.
+     */
+    public boolean isSystemic() {
+        if (this._importedAssets > 0 || this._targetFailures.size() < 2) {
+            return false;
+        }
+
+        final Exception firstError = this.getTargetError();
+        for (final Exception error : this._targetFailures.values()) {
+            if (!isSameError(firstError, error)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * Provides the error of the first asset, that has been rejected by the sync target.
+     *
+     * @return the first error of the sync target or {@code null} if the sync target did not reject any asset.
+     */
+    public Exception getTargetError() {
+        return this._targetFailures.isEmpty() ? null : this._targetFailures.values().iterator().next();
+    }
+
+
+    private static boolean isSameError(final Exception first, final Exception second) {
+        return first.getClass() == second.getClass() && Objects.equals(first.getMessage(), second.getMessage());
+    }
+}
@@ -0,0 +1,225 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.jobs.impl;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.smint.clapi.consumer.integration.core.configuration.ISyncJobDataStorage;
+import io.smint.clapi.consumer.integration.core.configuration.models.impl.SyncJobDataModelImpl;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncRunRecorder;
+
+
+/**
+ * Decides when the continuation UUID of the asset synchronization is stored to the job data storage.
+ *
+ * <p>
+ * Each finished page of assets advances the continuation UUID. Storing it after every page causes a synchronous write
+ * for each page, whereas storing it less often causes more assets to be synchronized again after a crash. So it is
+ * stored after a number of pages, after some time or both, whatever comes first. Any advanced continuation UUID, that
+ * has not been stored yet, is kept as dirty state and must be stored with {@link #flush()} once the run ends - no
+ * matter whether it succeeded or failed.
+ * </p>
+ *
+ * <p>
+ * The dirty state is stored, too, if the JVM shuts down while a run is in progress. Hence a shutdown hook is registered
+ * as long as the continuation UUID is not stored after every page.
+ * </p>
+ */
+class SyncCheckpoint {
+
+    private static final Logger LOG = Logger.getLogger(SyncCheckpoint.class.getName());
+
+
+    private final ISyncJobDataStorage _jobDataStorage;
+    private final ISyncRunRecorder _recorder;
+    private final int _everyPages;
+    private final long _everyMillis;
+    private final LongSupplier _clock;
+
+    private String _pendingContinuationUuid;
+    private boolean _isDirty;
+    private int _pagesSinceFlush;
+    private long _lastFlushMillis;
+    private Thread _shutdownHook;
+
+
+    /**
+     * Initializes a new checkpoint, measuring time with the system clock.
+     *
+     * @param jobDataStorage the storage to store the continuation UUID to. Must not be {@code null}.
+     * @param recorder       the recorder of the current run or {@code null}.
+     * @param everyPages     the number of pages after which to store or {@code 0} to store by time only.
+     * @param everySeconds   the time in seconds after which to store or {@code 0} to store by number of pages only.
+     */
+    SyncCheckpoint(
+        final ISyncJobDataStorage jobDataStorage,
+        final ISyncRunRecorder recorder,
+        final int everyPages,
+        final int everySeconds
+    ) {
+        this(jobDataStorage, recorder, everyPages, everySeconds, System::currentTimeMillis);
+    }
+
+
+    /**
+     * Initializes a new checkpoint.
+     *
+     * @param jobDataStorage the storage to store the continuation UUID to. Must not be {@code null}.
+     * @param recorder       the recorder of the current run or {@code null}.
+     * @param everyPages     the number of pages after which to store or {@code 0} to store by time only.
+     * @param everySeconds   the time in seconds after which to store or {@code 0} to store by number of pages only.
+     * @param clock          provides the current time in milliseconds. Must not be {@code null}.
+     */
+    SyncCheckpoint(
+        final ISyncJobDataStorage jobDataStorage,
+        final ISyncRunRecorder recorder,
+        final int everyPages,
+        final int everySeconds,
+        final LongSupplier clock
+    ) {
+        Objects.requireNonNull(jobDataStorage, "Provided job data storage is <null>!");
+        Objects.requireNonNull(clock, "Provided clock is <null>!");
+
+        this._jobDataStorage = jobDataStorage;
+        this._recorder = recorder;
+        this._everyPages = Math.max(0, everyPages);
+        this._everyMillis = TimeUnit.SECONDS.toMillis(Math.max(0, everySeconds));
+        this._clock = clock;
+        this._lastFlushMillis = clock.getAsLong();
+    }
+
+
+    /**
+     * Checks whether storing the continuation UUID is deferred beyond a single page.
+     *
+     * @return {@code true} if advanced continuation UUIDs may stay dirty after a page has been finished.
+     */
+    public boolean isDeferred() {
+        return this._everyPages != 1;
+    }
+
+
+    /**
+     * Checks whether an advanced continuation UUID has not been stored yet.
+     *
+     * @return {@code true} if {@link #flush()} would store a continuation UUID.
+     */
+    public synchronized boolean isDirty() {
+        return this._isDirty;
+    }
+
+
+    /**
+     * Advances the continuation UUID after a page of assets has been finished and stores it, if due.
+     *
+     * @param continuationUuid the continuation UUID to continue with after the finished page.
+     * @return {@code true} if the continuation UUID has been stored.
+     */
+    public synchronized boolean advance(final String continuationUuid) {
+        this._pendingContinuationUuid = continuationUuid;
+        this._isDirty = true;
+        this._pagesSinceFlush++;
+
+        final boolean pagesDue = this._everyPages > 0 && this._pagesSinceFlush >= this._everyPages;
+        final boolean timeDue = this._everyMillis > 0
+            && this._clock.getAsLong() - this._lastFlushMillis >= this._everyMillis;
+
+        return (pagesDue || timeDue) && this.flush();
+    }
+
+
+    /**
+     * Stores the advanced continuation UUID, if it has not been stored yet.
+     *
+     * @return {@code true} if the continuation UUID has been stored.
+     */
+    public synchronized boolean flush() {
+        if (!this._isDirty) {
+            return false;
+        }
+
+        this._jobDataStorage.storeSyncProcessData(
+            new SyncJobDataModelImpl().setContinuationUuid(this._pendingContinuationUuid)
+        );
+        if (this._recorder != null) {
+            this._recorder.recordContinuationUuid(this._pendingContinuationUuid);
+        }
+
+        this._isDirty = false;
+        this._pagesSinceFlush = 0;
+        this._lastFlushMillis = this._clock.getAsLong();
+        return true;
+    }
+
+
+    /**
+     * Registers a shutdown hook with the JVM to store any dirty state, if storing is deferred.
+     *
+     * @return {@code this}
+     */
+    public synchronized SyncCheckpoint registerShutdownHook() {
+        if (this.isDeferred() && this._shutdownHook == null) {
+            final Thread hook = new Thread(this::flushOnShutdown, "smint.io-sync-checkpoint");
+            try {
+                Runtime.getRuntime().addShutdownHook(hook);
+                this._shutdownHook = hook;
+            } catch (final IllegalStateException ignore) {
+                // JVM is already shutting down - dirty state is flushed at the end of the run, if it gets there
+            }
+        }
+        return this;
+    }
+
+
+    /**
+     * Removes the shutdown hook, that has been registered with {@link #registerShutdownHook()}.
+     *
+     * @return {@code this}
+     */
+    public synchronized SyncCheckpoint unregisterShutdownHook() {
+        if (this._shutdownHook != null) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(this._shutdownHook);
+            } catch (final IllegalStateException ignore) {
+                // JVM is shutting down and the hook is running or has been run already
+            }
+            this._shutdownHook = null;
+        }
+        return this;
+    }
+
+
+    private void flushOnShutdown() {
+        try {
+            if (this.flush()) {
+                LOG.info("Stored continuation UUID of Smint.io asset synchronization on shutdown.");
+            }
+
+            // CHECKSTYLE OFF: IllegalCatch
+        } catch (final RuntimeException excp) {
+            LOG.log(Level.SEVERE, "Failed to store continuation UUID on shutdown!", excp);
+        }
+        // CHECKSTYLE ON: IllegalCatch
+    }
+}
@@ -19,12 +19,20 @@
 
 package io.smint.clapi.consumer.integration.core.jobs.impl;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import javax.inject.Singleton;
 
+import io.smint.clapi.consumer.integration.core.jobs.IQueuedSyncJob;
 import io.smint.clapi.consumer.integration.core.jobs.ISyncJobExecutionQueue;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncJobQueueMetrics;
+import io.smint.clapi.consumer.integration.core.jobs.SyncJobPriorityEnum;
 
 
 /**
@@ -33,72 +41,87 @@ import io.smint.clapi.consumer.integration.core.jobs.ISyncJobExecutionQueue;
  * <h2>Job runs</h2>
  * <p>
  * Jobs to copy from Smint.io to sync targets are not allowed to run simultaneously. It simple does not make sense. So
- * new events to trigger a new job run, add the new run to a waiting queue in case a job is currently running. More jobs
- * are just ignored, as the already waiting job will do the same task. Hence the waiting queue just consists of a single
- * slot.
+ * new events to trigger a new job run, add the new run to a waiting queue in case a job is currently running. There is
+ * a single slot for each priority. More jobs of the same priority are merged with the waiting one, as the already
+ * waiting job will do the same task.
  * </p>
  *
+ * <h2>Lock-free state</h2>
  * <p>
- * Because jobs triggered by receiving a push event from <a href="htts://www.pusher.com">Pusher.com</a> do not sync meta
- * data by default, scheduled jobs are not rejected in case the last item in the queue is a push event, but the queue
- * reserves a special, additional slot for scheduled jobs for that.
+ * Whether a job is running and the waiting jobs are kept in a single immutable state, which is replaced with
+ * {@link AtomicReference#compareAndSet(Object, Object)}. Taking the running flag, taking the next job and releasing the
+ * running flag are each a single atomic transition. So no two threads are executing jobs at the same time and no job
+ * added while the last job is finishing is left behind without a thread to execute it.
  * </p>
  */
 @Singleton
 public class SyncJobExecutionQueueImpl implements ISyncJobExecutionQueue {
 
-    private static final int JOB_QUEUE_LENGTH = 1;
-    private static final int JOB_QUEUE_EXTRA_SLOTS = 1;
-    private static final int JOB_QUEUE_MAX_LENGTH = JOB_QUEUE_LENGTH + JOB_QUEUE_EXTRA_SLOTS;
+    private static final Logger LOG = Logger.getLogger(SyncJobExecutionQueueImpl.class.getName());
 
+    private static final SyncJobPriorityEnum[] PRIORITIES = SyncJobPriorityEnum.values();
 
-    private final List<JobDescription> _jobWaitingQueue = new ArrayList<>();
-    private final Object _runningJobSemaphore = new Object();
-    private boolean _isRunning = false;
 
-    @Override
-    public SyncJobExecutionQueueImpl addJobForScheduleEvent(final Runnable job) {
+    private final AtomicReference<QueueState> _state = new AtomicReference<>(
+        new QueueState(false, new WaitingJob[PRIORITIES.length])
+    );
+    private final AtomicLong _offeredJobs = new AtomicLong();
+    private final AtomicLong _mergedJobs = new AtomicLong();
+    private final AtomicLong _executedJobs = new AtomicLong();
+    private final AtomicLong _failedJobs = new AtomicLong();
+    private final AtomicLong _maxWaitNanos = new AtomicLong();
 
-        if (job == null) {
-            return this;
-        }
 
-        synchronized (this._jobWaitingQueue) {
-            if (this._jobWaitingQueue.size() >= JOB_QUEUE_MAX_LENGTH) {
-                return this;
+    @Override
+    public IQueuedSyncJob offerJob(
+        final SyncJobPriorityEnum priority,
+        final boolean isSyncingMetadata,
+        final Runnable job
+    ) throws NullPointerException {
+
+        Objects.requireNonNull(priority, "Invalid job priority has been provided!");
+        Objects.requireNonNull(job, "Invalid job has been provided!");
+
+        this._offeredJobs.incrementAndGet();
+        final int slot = priority.ordinal();
+
+        while (true) {
+            final QueueState current = this._state.get();
+            final WaitingJob waiting = current.getWaitingJob(slot);
+
+            if (waiting != null && (waiting.isSyncingMetadata() || !isSyncingMetadata)) {
+                this._mergedJobs.incrementAndGet();
+                LOG.fine(() -> "Merged job with waiting job of priority " + priority);
+                return new QueuedSyncJob(priority, true, waiting.getCompletion());
+            }
+
 
-            } else if (this._jobWaitingQueue.size() == JOB_QUEUE_LENGTH) {
+            // a waiting job not syncing meta data is replaced by the new one, taking over its waiting callers
+            final WaitingJob next = waiting != null
+                ? new WaitingJob(job, true, waiting.getCompletion(), waiting.getEnqueuedAtNanos())
+                : new WaitingJob(job, isSyncingMetadata, new CompletableFuture<>(), System.nanoTime());
 
-                // check for the last element to be a job triggered by push event
-                final JobDescription lastJob = this._jobWaitingQueue.get(this._jobWaitingQueue.size() - 1);
-                if (!lastJob.isPushEventJob()) {
-                    return this;
-                }
+            if (this._state.compareAndSet(current, current.withWaitingJob(slot, next))) {
+                return new QueuedSyncJob(priority, false, next.getCompletion());
             }
-
-            // add this job
-            this._jobWaitingQueue.add(new JobDescription().setJob(job).setIsPushEventJob(false));
         }
-
-        return this;
     }
 
 
     @Override
-    public SyncJobExecutionQueueImpl addJobForPushEvent(final Runnable job) {
-
-        if (job == null) {
-            return this;
+    public SyncJobExecutionQueueImpl addJobForScheduleEvent(final Runnable job) {
+        if (job != null) {
+            this.offerJob(SyncJobPriorityEnum.ScheduledEnum, true, job);
         }
+        return this;
+    }
 
-        synchronized (this._jobWaitingQueue) {
-            if (this._jobWaitingQueue.size() >= JOB_QUEUE_LENGTH) {
-                return this;
-            }
 
-            this._jobWaitingQueue.add(new JobDescription().setJob(job).setIsPushEventJob(true));
+    @Override
+    public SyncJobExecutionQueueImpl addJobForPushEvent(final Runnable job) {
+        if (job != null) {
+            this.offerJob(SyncJobPriorityEnum.PushEventEnum, false, job);
         }
-
         return this;
     }
 
@@ -116,85 +139,289 @@ public class SyncJobExecutionQueueImpl implements ISyncJobExecutionQueue {
     @Override
     public void run() {
 
-        if (this.isRunning()) {
-            return;
-        }
-
-
-        synchronized (this._runningJobSemaphore) {
-            this._isRunning = true;
-        }
-
-
-        do {
-
-            JobDescription nextJob = null;
-            synchronized (this._jobWaitingQueue) {
-                if (this._jobWaitingQueue.size() > 0) {
-                    nextJob = this._jobWaitingQueue.remove(0);
-                }
+        // take the running flag, if no other thread holds it
+        while (true) {
+            final QueueState current = this._state.get();
+            if (current.isRunning() || current.getHighestWaitingSlot() < 0) {
+                return;
             }
 
-            if (nextJob == null || nextJob.getJob() == null) {
+            if (this._state.compareAndSet(current, current.withRunning(true))) {
                 break;
             }
+        }
 
 
-            try {
-                nextJob.getJob().run();
+        boolean isReleased = false;
+        try {
+            while (!isReleased) {
+                final QueueState current = this._state.get();
+                final int slot = current.getHighestWaitingSlot();
 
-            } finally {
+                if (slot < 0) {
+                    // fails in case a new job has been added meanwhile, which is executed with the next iteration
+                    isReleased = this._state.compareAndSet(current, current.withRunning(false));
 
-                synchronized (nextJob) {
-                    nextJob.notifyAll();
+                } else if (this._state.compareAndSet(current, current.withWaitingJob(slot, null))) {
+                    this.execute(current.getWaitingJob(slot));
                 }
             }
-        } while (true);
-
 
-        synchronized (this._runningJobSemaphore) {
-            this._isRunning = false;
+        } finally {
+            while (!isReleased) {
+                final QueueState current = this._state.get();
+                isReleased = this._state.compareAndSet(current, current.withRunning(false));
+            }
         }
     }
 
 
     @Override
     public boolean hasWaitingJob() {
-        synchronized (this._jobWaitingQueue) {
-            return !this._jobWaitingQueue.isEmpty();
-        }
+        return this._state.get().getHighestWaitingSlot() >= 0;
     }
 
 
     @Override
     public boolean isRunning() {
-        synchronized (this._runningJobSemaphore) {
+        return this._state.get().isRunning();
+    }
+
+
+    @Override
+    public ISyncJobQueueMetrics getMetrics() {
+        return new QueueMetrics(
+            this._offeredJobs.get(),
+            this._mergedJobs.get(),
+            this._executedJobs.get(),
+            this._failedJobs.get(),
+            this._state.get().getWaitingJobCount(),
+            TimeUnit.NANOSECONDS.toMillis(this._maxWaitNanos.get())
+        );
+    }
+
+
+    private void execute(final WaitingJob job) {
+
+        final long waitNanos = System.nanoTime() - job.getEnqueuedAtNanos();
+        this._maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+
+        // CHECKSTYLE OFF: IllegalCatch
+        try {
+            job.getJob().run();
+            this._executedJobs.incrementAndGet();
+            job.getCompletion().complete(null);
+
+        } catch (final RuntimeException excp) {
+            this._executedJobs.incrementAndGet();
+            this._failedJobs.incrementAndGet();
+            LOG.log(Level.SEVERE, "Synchronization job failed!", excp);
+            job.getCompletion().completeExceptionally(excp);
+        }
+        // CHECKSTYLE ON: IllegalCatch
+    }
+
+
+    /**
+     * The immutable state of the queue.
+     */
+    private static class QueueState {
+
+        private final boolean _isRunning;
+        private final WaitingJob[] _waitingJobs;
+
+
+        QueueState(final boolean isRunning, final WaitingJob[] waitingJobs) {
+            this._isRunning = isRunning;
+            this._waitingJobs = waitingJobs;
+        }
+
+
+        public boolean isRunning() {
             return this._isRunning;
         }
+
+
+        public WaitingJob getWaitingJob(final int slot) {
+            return this._waitingJobs[slot];
+        }
+
+
+        public int getHighestWaitingSlot() {
+            for (int slot = this._waitingJobs.length - 1; slot >= 0; slot--) {
+                if (this._waitingJobs[slot] != null) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+
+
+        public int getWaitingJobCount() {
+            int count = 0;
+            for (final WaitingJob job : this._waitingJobs) {
+                if (job != null) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+
+        public QueueState withRunning(final boolean isRunning) {
+            return new QueueState(isRunning, this._waitingJobs);
+        }
+
+
+        public QueueState withWaitingJob(final int slot, final WaitingJob job) {
+            final WaitingJob[] waitingJobs = this._waitingJobs.clone();
+            waitingJobs[slot] = job;
+            return new QueueState(this._isRunning, waitingJobs);
+        }
     }
 
 
-    private static class JobDescription {
+    private static class WaitingJob {
+
+        private final Runnable _job;
+        private final boolean _isSyncingMetadata;
+        private final CompletableFuture<Void> _completion;
+        private final long _enqueuedAtNanos;
+
+
+        WaitingJob(
+            final Runnable job,
+            final boolean isSyncingMetadata,
+            final CompletableFuture<Void> completion,
+            final long enqueuedAtNanos
+        ) {
+            this._job = job;
+            this._isSyncingMetadata = isSyncingMetadata;
+            this._completion = completion;
+            this._enqueuedAtNanos = enqueuedAtNanos;
+        }
 
-        private Runnable _job = null;
-        private boolean _isPushEventJob = false;
 
         public Runnable getJob() {
             return this._job;
         }
 
-        public JobDescription setJob(final Runnable job) {
-            this._job = job;
-            return this;
+
+        public boolean isSyncingMetadata() {
+            return this._isSyncingMetadata;
+        }
+
+
+        public CompletableFuture<Void> getCompletion() {
+            return this._completion;
+        }
+
+
+        public long getEnqueuedAtNanos() {
+            return this._enqueuedAtNanos;
+        }
+    }
+
+
+    private static class QueuedSyncJob implements IQueuedSyncJob {
+
+        private final SyncJobPriorityEnum _priority;
+        private final boolean _isMerged;
+        private final CompletableFuture<Void> _completion;
+
+
+        QueuedSyncJob(
+            final SyncJobPriorityEnum priority,
+            final boolean isMerged,
+            final CompletableFuture<Void> completion
+        ) {
+            this._priority = priority;
+            this._isMerged = isMerged;
+            this._completion = completion;
+        }
+
+
+        @Override
+        public SyncJobPriorityEnum getPriority() {
+            return this._priority;
         }
 
-        public boolean isPushEventJob() {
-            return this._isPushEventJob;
+
+        @Override
+        public boolean isMerged() {
+            return this._isMerged;
         }
 
-        public JobDescription setIsPushEventJob(final boolean isPushEventJob) {
-            this._isPushEventJob = isPushEventJob;
-            return this;
+
+        @Override
+        public CompletableFuture<Void> getCompletion() {
+            return this._completion;
+        }
+    }
+
+
+    private static class QueueMetrics implements ISyncJobQueueMetrics {
+
+        private final long _offeredJobs;
+        private final long _mergedJobs;
+        private final long _executedJobs;
+        private final long _failedJobs;
+        private final int _waitingJobs;
+        private final long _maxWaitMillis;
+
+
+        // CHECKSTYLE OFF: ParameterNumber
+        QueueMetrics(
+            final long offeredJobs,
+            final long mergedJobs,
+            final long executedJobs,
+            final long failedJobs,
+            final int waitingJobs,
+            final long maxWaitMillis
+        ) {
+            this._offeredJobs = offeredJobs;
+            this._mergedJobs = mergedJobs;
+            this._executedJobs = executedJobs;
+            this._failedJobs = failedJobs;
+            this._waitingJobs = waitingJobs;
+            this._maxWaitMillis = maxWaitMillis;
+        }
+        // CHECKSTYLE ON: ParameterNumber
+
+
+        @Override
+        public long getOfferedJobs() {
+            return this._offeredJobs;
+        }
+
+
+        @Override
+        public long getMergedJobs() {
+            return this._mergedJobs;
+        }
+
+
+        @Override
+        public long getExecutedJobs() {
+            return this._executedJobs;
+        }
+
+
+        @Override
+        public long getFailedJobs() {
+            return this._failedJobs;
+        }
+
+
+        @Override
+        public int getWaitingJobs() {
+            return this._waitingJobs;
+        }
+
+
+        @Override
+        public long getMaxWaitMillis() {
+            return this._maxWaitMillis;
         }
     }
 }
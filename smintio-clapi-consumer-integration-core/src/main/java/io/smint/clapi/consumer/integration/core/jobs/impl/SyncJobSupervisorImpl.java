@@ -0,0 +1,348 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.jobs.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+
+import io.smint.clapi.consumer.integration.core.configuration.models.ISettingsModel;
+import io.smint.clapi.consumer.integration.core.exceptions.SmintIoSyncJobException;
+import io.smint.clapi.consumer.integration.core.exceptions.SmintIoSyncJobException.SyncJobError;
+import io.smint.clapi.consumer.integration.core.jobs.ICancellationToken;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncJobSupervisor;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncProgressListener;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncRunRecorder;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncRunReport;
+import io.smint.clapi.consumer.integration.core.jobs.SyncJobStageEnum;
+
+
+/**
+ * Supervises the synchronization runs of a single tenant, using a watchdog timer shared by all tenants.
+ *
+ * <p>
+ * The watchdog timer uses a single daemon thread named {@code smint.io-sync-watchdog}, that is created on first use.
+ * For each stage a timeout is scheduled with it, which is removed as soon as the stage ends in time.
+ * </p>
+ *
+ * <p>
+ * Binding a run to its thread, ending stages and runs and aborting a stalled stage are all synchronized with the same
+ * monitor. So a stage, that ends in time, is never aborted and the thread of a run is never interrupted once the run
+ * has ended, as the thread might already execute another job.
+ * </p>
+ */
+@Singleton
+public class SyncJobSupervisorImpl implements ISyncJobSupervisor {
+
+    private static final Logger LOG = Logger.getLogger(SyncJobSupervisorImpl.class.getName());
+
+    private static final ICancellationToken NEVER_CANCELLED = new CancellationToken();
+    private static final SyncRunReport NO_RECORDING = new SyncRunReport().finish();
+
+    private static ScheduledExecutorService watchdogTimer;
+
+
+    private final Provider<ISettingsModel> _settingsProvider;
+    private final SyncProgressDispatcher _progressDispatcher = new SyncProgressDispatcher();
+    private final Object _runLock = new Object();
+    private final List<Runnable> _endOfRunActions = new ArrayList<>();
+    private volatile CancellationToken _currentToken;
+    private volatile Thread _runningThread;
+    private volatile SyncJobStageEnum _currentStage;
+    private volatile Object _currentStageHandle;
+    private volatile SyncRunReport _currentReport;
+    private volatile SyncRunReport _lastReport;
+
+
+    /**
+     * Create a new supervisor.
+     *
+     * @param settings the settings to read the time budget of each stage from.
+     */
+    @Inject
+    public SyncJobSupervisorImpl(final Provider<ISettingsModel> settings) {
+        this._settingsProvider = settings;
+
+        Objects.requireNonNull(this._settingsProvider, "Settings must not be null!");
+    }
+
+
+    @Override
+    public ICancellationToken beginRun() {
+        final CancellationToken token = new CancellationToken();
+
+        synchronized (this._runLock) {
+            this._runningThread = Thread.currentThread();
+            this._currentStage = null;
+            this._currentStageHandle = null;
+            this._currentReport = new SyncRunReport(this._progressDispatcher);
+            this._currentToken = token;
+        }
+        return token;
+    }
+
+
+    @Override
+    public void endRun(final ICancellationToken token) {
+        final SyncRunReport report;
+        final Runnable[] endOfRunActions;
+        synchronized (this._runLock) {
+            if (token == null || token != this._currentToken) {
+                return;
+            }
+
+            endOfRunActions = this._endOfRunActions.toArray(new Runnable[this._endOfRunActions.size()]);
+            this._endOfRunActions.clear();
+
+            report = this._currentReport;
+            this._currentToken = null;
+            this._currentStage = null;
+            this._currentStageHandle = null;
+            this._currentReport = null;
+            this._runningThread = null;
+        }
+
+        if (report != null) {
+            if (token.isCancelled()) {
+                // kept only if no other error has been recorded before
+                report.recordError(
+                    new SmintIoSyncJobException(token.getCancellationType(), token.getCancellationReason())
+                );
+            }
+            report.finish();
+            this._lastReport = report;
+            LOG.info(() -> "Synchronization run finished: " + report);
+            this._progressDispatcher.onRunFinished(report);
+        }
+
+        for (final Runnable action : endOfRunActions) {
+            this.executeEndOfRunAction(action);
+        }
+
+        if (token.getCancellationType() == SyncJobError.Stalled && Thread.interrupted()) {
+            LOG.fine("Cleared interrupt of stalled synchronization run.");
+        }
+    }
+
+
+    @Override
+    public Stage beginStage(final SyncJobStageEnum stage) {
+        Objects.requireNonNull(stage, "Invalid stage has been provided!");
+
+        final CancellationToken token = this._currentToken;
+        if (token == null) {
+            return () -> {
+                // not supervised
+            };
+        }
+
+        token.throwIfCancelled();
+        final Object stageHandle = new Object();
+        synchronized (this._runLock) {
+            this._currentStage = stage;
+            this._currentStageHandle = stageHandle;
+        }
+
+        final SyncRunReport report = this._currentReport;
+        final long startNanos = System.nanoTime();
+        if (report != null) {
+            report.setCurrentStage(stage);
+        }
+        LOG.fine(() -> "Starting synchronization stage " + stage);
+
+
+        final ISettingsModel settings = this._settingsProvider.get();
+        final int timeoutSeconds = settings != null ? settings.getSyncStageTimeoutSeconds() : 0;
+        final Thread thread = this._runningThread;
+        final ScheduledFuture<?> watchdog = timeoutSeconds > 0
+            ? getWatchdogTimer().schedule(
+                () -> this.abortStalledStage(token, stage, stageHandle, thread, timeoutSeconds),
+                timeoutSeconds,
+                TimeUnit.SECONDS
+            )
+            : null;
+
+        return () -> {
+            synchronized (this._runLock) {
+                if (watchdog != null) {
+                    watchdog.cancel(false);
+                }
+                if (this._currentToken == token && this._currentStageHandle == stageHandle) {
+                    this._currentStage = null;
+                    this._currentStageHandle = null;
+                    if (report != null) {
+                        report.setCurrentStage(null);
+                    }
+                }
+            }
+            final long durationNanos = System.nanoTime() - startNanos;
+            if (report != null) {
+                report.addStageDuration(stage, durationNanos);
+            }
+            this._progressDispatcher.onStageFinished(stage, TimeUnit.NANOSECONDS.toMillis(durationNanos));
+        };
+    }
+
+
+    @Override
+    public ICancellationToken getCurrentToken() {
+        final ICancellationToken token = this._currentToken;
+        return token != null ? token : NEVER_CANCELLED;
+    }
+
+
+    @Override
+    public SyncJobStageEnum getCurrentStage() {
+        return this._currentStage;
+    }
+
+
+    @Override
+    public ISyncRunRecorder getCurrentRecorder() {
+        final ISyncRunRecorder report = this._currentReport;
+        return report != null ? report : NO_RECORDING;
+    }
+
+
+    @Override
+    public ISyncRunReport getCurrentRunReport() {
+        final ISyncRunReport report = this._currentReport;
+        return report != null ? report : NO_RECORDING;
+    }
+
+
+    @Override
+    public ISyncRunReport getLastRunReport() {
+        return this._lastReport;
+    }
+
+
+    @Override
+    public void addProgressListener(final ISyncProgressListener listener) {
+        this._progressDispatcher.addListener(listener);
+    }
+
+
+    @Override
+    public void removeProgressListener(final ISyncProgressListener listener) {
+        this._progressDispatcher.removeListener(listener);
+    }
+
+
+    @Override
+    public boolean cancelRun(final String reason) {
+        final CancellationToken token = this._currentToken;
+        if (token == null) {
+            return false;
+        }
+
+        LOG.info(() -> "Cancelling synchronization run: " + reason);
+        token.cancel(SyncJobError.Cancelled, reason);
+        return true;
+    }
+
+
+    @Override
+    public void whenRunEnded(final Runnable action) throws NullPointerException {
+        Objects.requireNonNull(action, "Invalid action has been provided!");
+
+        synchronized (this._runLock) {
+            if (this._currentToken != null) {
+                this._endOfRunActions.add(action);
+                return;
+            }
+        }
+
+        this.executeEndOfRunAction(action);
+    }
+
+
+    private void executeEndOfRunAction(final Runnable action) {
+        try {
+            action.run();
+
+            // CHECKSTYLE OFF: IllegalCatch
+        } catch (final RuntimeException excp) {
+            LOG.log(Level.WARNING, "Failed to execute action at the end of the synchronization run.", excp);
+        }
+        // CHECKSTYLE ON: IllegalCatch
+    }
+
+
+    private void abortStalledStage(
+        final CancellationToken token,
+        final SyncJobStageEnum stage,
+        final Object stageHandle,
+        final Thread thread,
+        final int timeoutSeconds
+    ) {
+        final String reason = "Synchronization stage " + stage + " exceeded its time budget of " + timeoutSeconds
+            + " seconds and has been aborted.";
+        final SmintIoSyncJobException stalled = new SmintIoSyncJobException(SyncJobError.Stalled, reason);
+
+        synchronized (this._runLock) {
+            if (this._currentToken != token || this._currentStageHandle != stageHandle) {
+                // the stage or the whole run has ended in the meantime
+                return;
+            }
+
+            if (thread != null) {
+                stalled.setStackTrace(thread.getStackTrace());
+            }
+
+            // the run is still bound to the thread while holding the lock, so the interrupt can not hit another job
+            if (token.cancel(SyncJobError.Stalled, reason) && thread != null && this._runningThread == thread) {
+                // the only way to abort blocking calls into the sync target
+                thread.interrupt();
+            }
+        }
+
+        LOG.log(Level.SEVERE, reason + " The stack trace shows where the synchronization stalled.", stalled);
+    }
+
+
+    /**
+     * Provides the timer shared by all instances to watch the time budget of the stages.
+     *
+     * @return the timer - never {@code null}.
+     */
+    private static synchronized ScheduledExecutorService getWatchdogTimer() {
+        if (watchdogTimer == null) {
+            final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, (job) -> {
+                final Thread thread = new Thread(job, "smint.io-sync-watchdog");
+                thread.setDaemon(true);
+                return thread;
+            });
+            timer.setRemoveOnCancelPolicy(true);
+            watchdogTimer = timer;
+        }
+        return watchdogTimer;
+    }
+}
@@ -0,0 +1,137 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.jobs.impl;
+
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+
+
+/**
+ * Determines how many assets may be converted and passed to the sync target at once, to keep memory usage bounded.
+ *
+ * <p>
+ * Two restrictions are applied. A fixed maximum number of assets in flight and a heap budget. The heap budget is
+ * checked before each slice of assets is processed. The remaining headroom of the budget is divided by an estimated
+ * size of a single converted asset. If the used heap already exceeds the budget, assets are processed one at a time,
+ * so the garbage collector is able to release previously synchronized data.
+ * </p>
+ *
+ * <p>
+ * If neither restriction is set, the whole page of assets is processed at once, which is the default behavior.
+ * </p>
+ */
+class SyncMemoryBudget {
+
+    /**
+     * The estimated amount of heap memory needed to hold a single asset during conversion and synchronization.
+     *
+     * <p>
+     * This includes the raw data from Smint.io, the converted sync target instance and any temporary data. Localized
+     * texts of all import languages and license terms can make up quite some data.
+     * </p>
+     *
+     * <pre>
+     * {@code ESTIMATED_BYTES_PER_ASSET} = {@value #ESTIMATED_BYTES_PER_ASSET}
+     * </pre>
+     */
+    public static final long ESTIMATED_BYTES_PER_ASSET = 256L * 1024L;
+
+
+    private static final Logger LOG = Logger.getLogger(SyncMemoryBudget.class.getName());
+    private static final long BYTES_PER_MEGABYTE = 1024L * 1024L;
+
+
+    private final int _maxAssetsInFlight;
+    private final long _heapBudgetBytes;
+    private final LongSupplier _usedHeapBytes;
+
+
+    /**
+     * Initializes a new budget, measuring the used heap of the current JVM.
+     *
+     * @param maxAssetsInFlight   the maximum number of assets in flight or {@code 0} for no limit.
+     * @param heapBudgetMegabytes the heap budget in megabytes or {@code 0} to disable the budget.
+     */
+    SyncMemoryBudget(final int maxAssetsInFlight, final int heapBudgetMegabytes) {
+        this(
+            maxAssetsInFlight,
+            heapBudgetMegabytes,
+            () -> Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory()
+        );
+    }
+
+
+    /**
+     * Initializes a new budget.
+     *
+     * @param maxAssetsInFlight   the maximum number of assets in flight or {@code 0} for no limit.
+     * @param heapBudgetMegabytes the heap budget in megabytes or {@code 0} to disable the budget.
+     * @param usedHeapBytes       provides the currently used heap memory in bytes. Must not be {@code null}.
+     */
+    SyncMemoryBudget(final int maxAssetsInFlight, final int heapBudgetMegabytes, final LongSupplier usedHeapBytes) {
+        this._maxAssetsInFlight = Math.max(0, maxAssetsInFlight);
+        this._heapBudgetBytes = Math.max(0, heapBudgetMegabytes) * BYTES_PER_MEGABYTE;
+        this._usedHeapBytes = usedHeapBytes;
+    }
+
+
+    /**
+     * Checks whether any restriction is active.
+     *
+     * @return {@code true} if pages might be split into slices.
+     */
+    public boolean isBounded() {
+        return this._maxAssetsInFlight > 0 || this._heapBudgetBytes > 0;
+    }
+
+
+    /**
+     * Calculates the number of assets to process next.
+     *
+     * @param remainingAssets the number of assets of the current page that still need to be processed.
+     * @return the number of assets to process next, at least {@code 1} and at most {@code remainingAssets}. If
+     *         {@code remainingAssets} is less than {@code 1}, then {@code 0} is returned.
+     */
+    public int nextSliceSize(final int remainingAssets) {
+
+        if (remainingAssets <= 0) {
+            return 0;
+        }
+
+
+        int sliceSize = remainingAssets;
+        if (this._maxAssetsInFlight > 0) {
+            sliceSize = Math.min(sliceSize, this._maxAssetsInFlight);
+        }
+
+
+        if (this._heapBudgetBytes > 0) {
+            final long headroom = this._heapBudgetBytes - this._usedHeapBytes.getAsLong();
+            final long affordableAssets = headroom / ESTIMATED_BYTES_PER_ASSET;
+
+            if (affordableAssets < sliceSize) {
+                LOG.fine(() -> "Heap budget restricts assets in flight to " + Math.max(1, affordableAssets));
+                sliceSize = (int) Math.max(1, affordableAssets);
+            }
+        }
+
+        return sliceSize;
+    }
+}
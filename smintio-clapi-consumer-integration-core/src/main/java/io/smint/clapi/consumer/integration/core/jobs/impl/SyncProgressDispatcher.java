@@ -0,0 +1,292 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.jobs.impl;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.smint.clapi.consumer.integration.core.jobs.ISyncProgressListener;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncRunReport;
+import io.smint.clapi.consumer.integration.core.jobs.SyncJobStageEnum;
+
+
+/**
+ * Passes progress to all registered listeners on a dispatcher thread, so slow listeners do not stall the run.
+ *
+ * <p>
+ * The dispatcher thread is named {@code smint.io-sync-progress} and is only created while listeners are registered and
+ * progress is being made. It times out when idle.
+ * </p>
+ *
+ * <p>
+ * At most {@link #MAX_PENDING_PROGRESS} calls are waiting for the listeners. Any further count of pages, assets or
+ * bytes is added to the latest waiting call of the same kind, so the listeners still receive the totals, just in fewer
+ * calls. The end of a stage or of a run is never merged nor dropped, as listeners rely on them to finish their
+ * estimates. Only a count, for which no call of the same kind is waiting, is dropped until the listeners catch up.
+ * </p>
+ */
+public class SyncProgressDispatcher implements ISyncProgressListener {
+
+    /**
+     * The maximum number of calls waiting for the listeners.
+     */
+    public static final int MAX_PENDING_PROGRESS = 1024;
+
+
+    private static final Logger LOG = Logger.getLogger(SyncProgressDispatcher.class.getName());
+
+    private static final int DISPATCHER_KEEP_ALIVE_SECONDS = 60;
+
+
+    private static final CountedProgress PAGE_FETCHED =
+        (listener, count, ignore) -> listener.onPageFetched(toInt(count));
+    private static final CountedProgress ASSETS_CONVERTED =
+        (listener, count, ignore) -> listener.onAssetsConverted(toInt(count));
+    private static final CountedProgress ASSETS_IMPORTED =
+        (listener, count, secondCount) -> listener.onAssetsImported(toInt(count), toInt(secondCount));
+    private static final CountedProgress DOWNLOAD_PROGRESS =
+        (listener, count, ignore) -> listener.onDownloadProgress(count);
+
+
+    private final List<ISyncProgressListener> _listeners = new CopyOnWriteArrayList<>();
+    private final Deque<Consumer<ISyncProgressListener>> _pendingProgress = new ArrayDeque<>();
+    private boolean _isDispatching;
+    private ThreadPoolExecutor _dispatcher;
+
+
+    /**
+     * Registers a listener to receive all further progress.
+     *
+     * @param listener the listener to add. Must not be {@code null}.
+     * @return {@code this}
+     */
+    public SyncProgressDispatcher addListener(final ISyncProgressListener listener) {
+        Objects.requireNonNull(listener, "Invalid progress listener has been provided!");
+        this._listeners.add(listener);
+        return this;
+    }
+
+
+    /**
+     * Removes a listener, which does not receive any progress that has been made afterwards.
+     *
+     * @param listener the listener to remove.
+     * @return {@code this}
+     */
+    public SyncProgressDispatcher removeListener(final ISyncProgressListener listener) {
+        this._listeners.remove(listener);
+        return this;
+    }
+
+
+    /**
+     * Checks whether any listener has been registered.
+     *
+     * @return {@code true} if progress is passed to any listener.
+     */
+    public boolean hasListeners() {
+        return !this._listeners.isEmpty();
+    }
+
+
+    @Override
+    public void onPageFetched(final int assets) {
+        this.dispatchCount(PAGE_FETCHED, assets, 0);
+    }
+
+
+    @Override
+    public void onAssetsConverted(final int assets) {
+        this.dispatchCount(ASSETS_CONVERTED, assets, 0);
+    }
+
+
+    @Override
+    public void onAssetsImported(final int newAssets, final int updatedAssets) {
+        this.dispatchCount(ASSETS_IMPORTED, newAssets, updatedAssets);
+    }
+
+
+    @Override
+    public void onDownloadProgress(final long bytes) {
+        this.dispatchCount(DOWNLOAD_PROGRESS, bytes, 0);
+    }
+
+
+    @Override
+    public void onStageFinished(final SyncJobStageEnum stage, final long durationMillis) {
+        this.dispatch((listener) -> listener.onStageFinished(stage, durationMillis));
+    }
+
+
+    @Override
+    public void onRunFinished(final ISyncRunReport report) {
+        this.dispatch((listener) -> listener.onRunFinished(report));
+    }
+
+
+    private void dispatchCount(final CountedProgress kind, final long count, final long secondCount) {
+        if (this._listeners.isEmpty()) {
+            return;
+        }
+
+        synchronized (this._pendingProgress) {
+            if (this._pendingProgress.size() >= MAX_PENDING_PROGRESS) {
+
+                final Iterator<Consumer<ISyncProgressListener>> pending = this._pendingProgress.descendingIterator();
+                while (pending.hasNext()) {
+                    final Consumer<ISyncProgressListener> progress = pending.next();
+                    if (progress instanceof PendingCount && ((PendingCount) progress).add(kind, count, secondCount)) {
+                        return;
+                    }
+                }
+
+                LOG.warning("Synchronization progress has been dropped for slow listeners.");
+                return;
+            }
+        }
+
+        this.dispatch(new PendingCount(kind, count, secondCount));
+    }
+
+
+    private void dispatch(final Consumer<ISyncProgressListener> progress) {
+        if (this._listeners.isEmpty()) {
+            return;
+        }
+
+        synchronized (this._pendingProgress) {
+            this._pendingProgress.addLast(progress);
+            if (this._isDispatching) {
+                return;
+            }
+            this._isDispatching = true;
+        }
+
+        this.getDispatcher().execute(this::dispatchPendingProgress);
+    }
+
+
+    private void dispatchPendingProgress() {
+        while (true) {
+            final Consumer<ISyncProgressListener> progress;
+            synchronized (this._pendingProgress) {
+                progress = this._pendingProgress.pollFirst();
+                if (progress == null) {
+                    this._isDispatching = false;
+                    return;
+                }
+            }
+
+            for (final ISyncProgressListener listener : this._listeners) {
+
+                // CHECKSTYLE OFF: IllegalCatch
+                try {
+                    progress.accept(listener);
+                } catch (final RuntimeException excp) {
+                    LOG.log(Level.WARNING, "Progress listener failed to process synchronization progress.", excp);
+                }
+                // CHECKSTYLE ON: IllegalCatch
+            }
+        }
+    }
+
+
+    private synchronized ThreadPoolExecutor getDispatcher() {
+        if (this._dispatcher == null) {
+            // only a single task is ever waiting, as all progress is kept in the pending progress
+            final ThreadPoolExecutor dispatcher = new ThreadPoolExecutor(
+                1,
+                1,
+                DISPATCHER_KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                (job) -> {
+                    final Thread thread = new Thread(job, "smint.io-sync-progress");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            );
+            dispatcher.allowCoreThreadTimeOut(true);
+            this._dispatcher = dispatcher;
+        }
+        return this._dispatcher;
+    }
+
+
+    private static int toInt(final long count) {
+        return (int) Math.min(count, Integer.MAX_VALUE);
+    }
+
+
+    /**
+     * Passes some counted progress to a listener.
+     */
+    @FunctionalInterface
+    private interface CountedProgress {
+
+        void passTo(ISyncProgressListener listener, long count, long secondCount);
+    }
+
+
+    /**
+     * A count waiting for the listeners, to which further counts of the same kind are added.
+     */
+    private static final class PendingCount implements Consumer<ISyncProgressListener> {
+
+        private final CountedProgress _kind;
+        private long _count;
+        private long _secondCount;
+
+
+        PendingCount(final CountedProgress kind, final long count, final long secondCount) {
+            this._kind = kind;
+            this._count = count;
+            this._secondCount = secondCount;
+        }
+
+
+        boolean add(final CountedProgress kind, final long count, final long secondCount) {
+            if (kind != this._kind) {
+                return false;
+            }
+
+            this._count += count;
+            this._secondCount += secondCount;
+            return true;
+        }
+
+
+        @Override
+        public void accept(final ISyncProgressListener listener) {
+            this._kind.passTo(listener, this._count, this._secondCount);
+        }
+    }
+}
@@ -0,0 +1,339 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.jobs.impl;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.smint.clapi.consumer.integration.core.jobs.ISyncProgressListener;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncRunRecorder;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncRunReport;
+import io.smint.clapi.consumer.integration.core.jobs.SyncJobStageEnum;
+
+
+/**
+ * Collects the figures of a single synchronization run.
+ *
+ * <p>
+ * All values may be recorded concurrently. As soon as the run has been finished with {@link #finish()}, any further
+ * recording is ignored, so late callbacks of asynchronous requests or downloads do not change the report.
+ * </p>
+ *
+ * <p>
+ * Progress, like fetched pages or downloaded bytes, is passed to a progress listener, if any.
+ * </p>
+ */
+public class SyncRunReport implements ISyncRunReport, ISyncRunRecorder {
+
+    private static final int STAGE_COUNT = SyncJobStageEnum.values().length;
+
+
+    private final ISyncProgressListener _progressListener;
+    private final long _startTime = System.currentTimeMillis();
+    private final long _startNanos = System.nanoTime();
+    private volatile long _durationNanos = -1;
+    private volatile SyncJobStageEnum _currentStage;
+    private volatile String _continuationUuid;
+    private final AtomicReference<Exception> _error = new AtomicReference<>();
+    private final AtomicInteger _pagesFetched = new AtomicInteger();
+    private final AtomicInteger _newAssets = new AtomicInteger();
+    private final AtomicInteger _updatedAssets = new AtomicInteger();
+    private final AtomicInteger _compoundAssets = new AtomicInteger();
+    private final AtomicInteger _skippedAssets = new AtomicInteger();
+    private final AtomicInteger _failedAssets = new AtomicInteger();
+    private final AtomicLong _bytesDownloaded = new AtomicLong();
+    private final AtomicInteger _retries = new AtomicInteger();
+    private final AtomicLongArray _stageNanos = new AtomicLongArray(STAGE_COUNT);
+    private final AtomicIntegerArray _stageRetries = new AtomicIntegerArray(STAGE_COUNT);
+
+
+    /**
+     * Create a new report of a run starting right now, without passing progress to any listener.
+     */
+    public SyncRunReport() {
+        this(null);
+    }
+
+
+    /**
+     * Create a new report of a run starting right now.
+     *
+     * @param progressListener the listener to pass all progress to or {@code null} to not pass it to anyone.
+     */
+    public SyncRunReport(final ISyncProgressListener progressListener) {
+        this._progressListener = progressListener;
+    }
+
+
+    /**
+     * Sets the stage the run is currently in, to attribute retries to.
+     *
+     * @param stage the current stage or {@code null} if the run is in between stages.
+     * @return {@code this}
+     */
+    public SyncRunReport setCurrentStage(final SyncJobStageEnum stage) {
+        this._currentStage = stage;
+        return this;
+    }
+
+
+    /**
+     * Adds the duration of a stage, which has been entered once again.
+     *
+     * @param stage         the stage.
+     * @param durationNanos the duration of the stage in nanoseconds.
+     * @return {@code this}
+     */
+    public SyncRunReport addStageDuration(final SyncJobStageEnum stage, final long durationNanos) {
+        Objects.requireNonNull(stage, "Invalid stage has been provided!");
+
+        if (!this.isFinished()) {
+            this._stageNanos.addAndGet(stage.ordinal(), durationNanos);
+        }
+        return this;
+    }
+
+
+    /**
+     * Ends the run and freezes the report.
+     *
+     * @return {@code this}
+     */
+    public SyncRunReport finish() {
+        if (!this.isFinished()) {
+            this._currentStage = null;
+            this._durationNanos = System.nanoTime() - this._startNanos;
+        }
+        return this;
+    }
+
+
+    /**
+     * Checks whether the run has ended.
+     *
+     * @return {@code true} if {@link #finish()} has been called.
+     */
+    public boolean isFinished() {
+        return this._durationNanos >= 0;
+    }
+
+
+    @Override
+    public void recordPageFetched(final int assets) {
+        if (!this.isFinished()) {
+            this._pagesFetched.incrementAndGet();
+            if (this._progressListener != null) {
+                this._progressListener.onPageFetched(assets);
+            }
+        }
+    }
+
+
+    @Override
+    public void recordConvertedAssets(final int assets) {
+        if (!this.isFinished() && this._progressListener != null) {
+            this._progressListener.onAssetsConverted(assets);
+        }
+    }
+
+
+    @Override
+    public void recordImportedAssets(final int newAssets, final int updatedAssets, final int compoundAssets) {
+        if (!this.isFinished()) {
+            this._newAssets.addAndGet(newAssets);
+            this._updatedAssets.addAndGet(updatedAssets);
+            this._compoundAssets.addAndGet(compoundAssets);
+            if (this._progressListener != null) {
+                this._progressListener.onAssetsImported(newAssets, updatedAssets);
+            }
+        }
+    }
+
+
+    @Override
+    public void recordSkippedAssets(final int count) {
+        if (!this.isFinished()) {
+            this._skippedAssets.addAndGet(count);
+        }
+    }
+
+
+    @Override
+    public void recordFailedAssets(final int count) {
+        if (!this.isFinished()) {
+            this._failedAssets.addAndGet(count);
+        }
+    }
+
+
+    @Override
+    public void recordDownloadedBytes(final long bytes) {
+        if (!this.isFinished()) {
+            this._bytesDownloaded.addAndGet(bytes);
+            if (this._progressListener != null) {
+                this._progressListener.onDownloadProgress(bytes);
+            }
+        }
+    }
+
+
+    @Override
+    public void recordRetry() {
+        if (!this.isFinished()) {
+            this._retries.incrementAndGet();
+
+            final SyncJobStageEnum stage = this._currentStage;
+            if (stage != null) {
+                this._stageRetries.incrementAndGet(stage.ordinal());
+            }
+        }
+    }
+
+
+    @Override
+    public void recordContinuationUuid(final String continuationUuid) {
+        if (!this.isFinished()) {
+            this._continuationUuid = continuationUuid;
+        }
+    }
+
+
+    @Override
+    public void recordError(final Exception error) {
+        if (!this.isFinished()) {
+            this._error.compareAndSet(null, error);
+        }
+    }
+
+
+    @Override
+    public long getStartTime() {
+        return this._startTime;
+    }
+
+
+    @Override
+    public long getDurationMillis() {
+        final long durationNanos = this._durationNanos;
+        return TimeUnit.NANOSECONDS.toMillis(durationNanos >= 0 ? durationNanos : System.nanoTime() - this._startNanos);
+    }
+
+
+    @Override
+    public int getPagesFetched() {
+        return this._pagesFetched.get();
+    }
+
+
+    @Override
+    public int getNewAssets() {
+        return this._newAssets.get();
+    }
+
+
+    @Override
+    public int getUpdatedAssets() {
+        return this._updatedAssets.get();
+    }
+
+
+    @Override
+    public int getCompoundAssets() {
+        return this._compoundAssets.get();
+    }
+
+
+    @Override
+    public int getSkippedAssets() {
+        return this._skippedAssets.get();
+    }
+
+
+    @Override
+    public int getFailedAssets() {
+        return this._failedAssets.get();
+    }
+
+
+    @Override
+    public long getBytesDownloaded() {
+        return this._bytesDownloaded.get();
+    }
+
+
+    @Override
+    public long getStageDurationMillis(final SyncJobStageEnum stage) {
+        return stage != null ? TimeUnit.NANOSECONDS.toMillis(this._stageNanos.get(stage.ordinal())) : 0;
+    }
+
+
+    @Override
+    public int getStageRetries(final SyncJobStageEnum stage) {
+        return stage != null ? this._stageRetries.get(stage.ordinal()) : 0;
+    }
+
+
+    @Override
+    public int getRetries() {
+        return this._retries.get();
+    }
+
+
+    @Override
+    public String getContinuationUuid() {
+        return this._continuationUuid;
+    }
+
+
+    @Override
+    public Exception getError() {
+        return this._error.get();
+    }
+
+
+    @Override
+    public String toString() {
+        final StringBuilder stages = new StringBuilder();
+        for (final SyncJobStageEnum stage : SyncJobStageEnum.values()) {
+            stages.append(stages.length() > 0 ? ", " : "")
+                .append(stage).append('=').append(this.getStageDurationMillis(stage)).append("ms")
+                .append('/').append(this.getStageRetries(stage));
+        }
+
+        final Exception error = this.getError();
+        return "pages=" + this.getPagesFetched()
+            + ", new=" + this.getNewAssets()
+            + ", updated=" + this.getUpdatedAssets()
+            + ", compound=" + this.getCompoundAssets()
+            + ", skipped=" + this.getSkippedAssets()
+            + ", failed=" + this.getFailedAssets()
+            + ", bytes=" + this.getBytesDownloaded()
+            + ", retries=" + this.getRetries()
+            + ", duration=" + this.getDurationMillis() + "ms"
+            + ", stages=[" + stages + "]"
+            + ", continuationUuid=" + this.getContinuationUuid()
+            + (error != null ? ", error=" + error : "");
+    }
+}
@@ -0,0 +1,72 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.providers;
+
+import java.util.concurrent.CompletableFuture;
+
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoAsset;
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoGenericMetadata;
+
+
+/**
+ * Asynchronously reads data to synchronize from the Smint.io API.
+ *
+ * <p>
+ * Contrary to {@link ISmintIoApiClient}, no function blocks the calling thread. Requests are sent without waiting for
+ * the response, and retries after failures are scheduled on a timer instead of sleeping. Hence many requests can be
+ * kept in flight with only a handful of threads.
+ * </p>
+ *
+ * <p>
+ * The returned futures are completed exceptionally with an
+ * {@link io.smint.clapi.consumer.generated.ApiException}, in case calling the Smint.io platform RESTful API failed
+ * even after all retries. Cancelling a future cancels the request in flight and all pending retries.
+ * </p>
+ */
+public interface ISmintIoAsyncApiClient {
+
+    /**
+     * Retrieves all meta data from the Smint.io API server that is to be synchronized to the target.
+     *
+     * @return a future to be completed with the meta data - never {@code null}.
+     * @see ISmintIoApiClient#getGenericMetadata()
+     */
+    CompletableFuture<ISmintIoGenericMetadata> getGenericMetadataAsync();
+
+
+    /**
+     * Retrieves the next chunk of assets from the Smint.io API server that are to be synchronized to the target.
+     *
+     * <p>
+     * The binaries of all assets of the chunk are requested in parallel.
+     * </p>
+     *
+     * @param continuationUuid      the continuation UUID as returned with the previous chunk.
+     * @param includeCompoundAssets set to {@code true} in case compound assets are supported by the synchronization
+     *                              target.
+     * @param includeBinaryUpdates  set to {@code true} in case updating binary assets is supported by the
+     *                              synchronization target.
+     * @return a future to be completed with the chunk of assets - never {@code null}.
+     * @see ISmintIoApiClient#getAssets(String, boolean, boolean)
+     */
+    CompletableFuture<ISmintIoApiDataWithContinuation<ISmintIoAsset[]>> getAssetsAsync(
+        final String continuationUuid, final boolean includeCompoundAssets, final boolean includeBinaryUpdates
+    );
+}
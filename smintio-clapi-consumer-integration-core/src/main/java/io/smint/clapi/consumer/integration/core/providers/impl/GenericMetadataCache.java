@@ -0,0 +1,203 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.providers.impl;
+
+import java.util.HashMap;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+import okhttp3.Request;
+import okhttp3.Response;
+
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoGenericMetadata;
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoMetadataElement;
+import io.smint.clapi.consumer.integration.core.contracts.impl.SmintIoGenericMetadataImpl;
+import io.smint.clapi.consumer.integration.core.contracts.impl.SmintIoMetadataElementImpl;
+
+
+/**
+ * Keeps the generic meta data converted from the last response of the Smint.io API, to avoid converting it again.
+ *
+ * <p>
+ * Within the time to live, the converted meta data is used without sending any request. Afterwards the request is
+ * sent conditionally with the {@code ETag} of the last response, in case the Smint.io API provided one. If the API
+ * responds with {@code 304 Not Modified}, the cached meta data is used again and its time to live starts over. Hence
+ * neither the response needs to be downloaded nor the meta data needs to be grouped by import languages again.
+ * </p>
+ *
+ * <p>
+ * The converted meta data depends on the tenant and the import languages. Hence the cache is only used if both are
+ * still the same as with the cached meta data.
+ * </p>
+ *
+ * <p>
+ * Sync targets store their IDs with the meta data elements (see
+ * {@link ISmintIoMetadataElement#setTargetMetadataUuid(String)}). Therefore the cache keeps a copy of its own and each
+ * caller receives a fresh copy without any sync target IDs, so no caller sees the changes of another.
+ * </p>
+ */
+class GenericMetadataCache {
+
+    static final String HEADER_ETAG = "ETag";
+    static final String HEADER_IF_NONE_MATCH = "If-None-Match";
+    static final int HTTP_NOT_MODIFIED = 304;
+
+
+    private final LongSupplier _clock;
+
+    private String _key;
+    private String _etag;
+    private ISmintIoGenericMetadata _metadata;
+    private long _storedAt;
+
+
+    /**
+     * Create a new empty cache.
+     */
+    GenericMetadataCache() {
+        this(System::currentTimeMillis);
+    }
+
+
+    /**
+     * Create a new empty cache with a custom clock.
+     *
+     * @param clock provides the current time in milliseconds.
+     */
+    GenericMetadataCache(final LongSupplier clock) {
+        this._clock = clock;
+    }
+
+
+    /**
+     * Provides the cached meta data, if it is still valid.
+     *
+     * @param key        the tenant and import languages of the requested meta data.
+     * @param timeToLive the time in milliseconds the cached meta data is used without asking the Smint.io API.
+     * @return a copy of the cached meta data or {@code null} if it has not been cached or its time to live elapsed.
+     */
+    public synchronized ISmintIoGenericMetadata get(final String key, final long timeToLive) {
+        if (this._metadata != null && Objects.equals(this._key, key)
+            && this._clock.getAsLong() - this._storedAt < timeToLive) {
+            return copyOf(this._metadata);
+        }
+        return null;
+    }
+
+
+    /**
+     * Adds the {@code If-None-Match} header to the request, if the cached meta data has an {@code ETag}.
+     *
+     * @param request the request to the Smint.io API.
+     * @param key     the tenant and import languages of the requested meta data.
+     * @return the conditional request or {@code request} if nothing has been cached.
+     */
+    public synchronized Request toConditionalRequest(final Request request, final String key) {
+        if (this._metadata == null || this._etag == null || !Objects.equals(this._key, key)) {
+            return request;
+        }
+        return request.newBuilder().header(HEADER_IF_NONE_MATCH, this._etag).build();
+    }
+
+
+    /**
+     * Provides the cached meta data, if the Smint.io API responded that it has not been modified.
+     *
+     * <p>
+     * The time to live of the cached meta data starts over in this case.
+     * </p>
+     *
+     * @param response the response of the Smint.io API.
+     * @param key      the tenant and import languages of the requested meta data.
+     * @return a copy of the cached meta data or {@code null} if the response contains new meta data.
+     */
+    public synchronized ISmintIoGenericMetadata getNotModified(final Response response, final String key) {
+        if (response.code() != HTTP_NOT_MODIFIED || this._metadata == null || !Objects.equals(this._key, key)) {
+            return null;
+        }
+
+        this._storedAt = this._clock.getAsLong();
+        return copyOf(this._metadata);
+    }
+
+
+    /**
+     * Stores the converted meta data of a response.
+     *
+     * @param response the response of the Smint.io API, to read the {@code ETag} from.
+     * @param key      the tenant and import languages of the meta data.
+     * @param metadata the converted meta data. A copy of it is cached, so it may be passed on to the caller.
+     * @return {@code metadata}
+     */
+    public synchronized ISmintIoGenericMetadata store(
+        final Response response,
+        final String key,
+        final ISmintIoGenericMetadata metadata
+    ) {
+        this._key = key;
+        this._etag = response != null ? response.header(HEADER_ETAG) : null;
+        this._metadata = metadata != null ? copyOf(metadata) : null;
+        this._storedAt = this._clock.getAsLong();
+        return metadata;
+    }
+
+
+    /**
+     * Creates a deep copy of the meta data without any IDs of the sync target.
+     *
+     * @param metadata the meta data to copy.
+     * @return a new instance, that does not share any meta data element with {@code metadata}.
+     */
+    static ISmintIoGenericMetadata copyOf(final ISmintIoGenericMetadata metadata) {
+        return new SmintIoGenericMetadataImpl()
+            .setContentProviders(copyOf(metadata.getContentProviders()))
+            .setContentTypes(copyOf(metadata.getContentTypes()))
+            .setBinaryTypes(copyOf(metadata.getBinaryTypes()))
+            .setContentCategories(copyOf(metadata.getContentCategories()))
+            .setLicenseTypes(copyOf(metadata.getLicenseTypes()))
+            .setReleaseStates(copyOf(metadata.getReleaseStates()))
+            .setLicenseExclusivities(copyOf(metadata.getLicenseExclusivities()))
+            .setLicenseUsages(copyOf(metadata.getLicenseUsages()))
+            .setLicenseSizes(copyOf(metadata.getLicenseSizes()))
+            .setLicensePlacements(copyOf(metadata.getLicensePlacements()))
+            .setLicenseDistributions(copyOf(metadata.getLicenseDistributions()))
+            .setLicenseGeographies(copyOf(metadata.getLicenseGeographies()))
+            .setLicenseIndustries(copyOf(metadata.getLicenseIndustries()))
+            .setLicenseLanguages(copyOf(metadata.getLicenseLanguages()))
+            .setLicenseUsageLimits(copyOf(metadata.getLicenseUsageLimits()));
+    }
+
+
+    private static ISmintIoMetadataElement[] copyOf(final ISmintIoMetadataElement[] elements) {
+        if (elements == null) {
+            return null;
+        }
+
+        final ISmintIoMetadataElement[] copies = new ISmintIoMetadataElement[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            final ISmintIoMetadataElement element = elements[i];
+            copies[i] = element == null ? null
+                : new SmintIoMetadataElementImpl()
+                    .setKey(element.getKey())
+                    .setValues(element.getValues() != null ? new HashMap<>(element.getValues()) : null);
+        }
+        return copies;
+    }
+}
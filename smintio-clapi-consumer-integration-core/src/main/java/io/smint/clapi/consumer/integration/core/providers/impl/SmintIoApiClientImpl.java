@@ -1,10 +1,11 @@
 package io.smint.clapi.consumer.integration.core.providers.impl;
 
+import java.io.IOException;
+import java.lang.reflect.Type;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.text.MessageFormat;
-import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -12,6 +13,13 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -21,6 +29,9 @@ import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Provider;
 
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.pivovarit.function.ThrowingFunction;
 import com.pivovarit.function.ThrowingSupplier;
 import com.pivovarit.function.exception.WrappedException;
 
@@ -30,10 +41,16 @@ import io.github.resilience4j.retry.RetryConfig;
 import io.github.resilience4j.retry.RetryRegistry;
 import io.vavr.control.Try;
 
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
 
 import io.smint.clapi.consumer.generated.ApiClient;
 import io.smint.clapi.consumer.generated.ApiException;
+import io.smint.clapi.consumer.generated.JSON;
 import io.smint.clapi.consumer.generated.api.DownloadsApi;
 import io.smint.clapi.consumer.generated.api.MetadataApi;
 import io.smint.clapi.consumer.generated.api.TransactionHistoryApi;
@@ -46,7 +63,6 @@ import io.smint.clapi.consumer.generated.models.LocalizedString;
 import io.smint.clapi.consumer.generated.models.SyncBinary;
 import io.smint.clapi.consumer.generated.models.SyncGenericMetadata;
 import io.smint.clapi.consumer.generated.models.SyncLicensePurchaseTransaction;
-import io.smint.clapi.consumer.generated.models.SyncLicensePurchaseTransactionQueryResult;
 import io.smint.clapi.consumer.generated.models.SyncLicenseTerm;
 import io.smint.clapi.consumer.integration.core.LocaleUtility;
 import io.smint.clapi.consumer.integration.core.authenticator.IAuthTokenRefreshUtility;
@@ -69,8 +85,13 @@ import io.smint.clapi.consumer.integration.core.contracts.impl.SmintIoMetadataEl
 import io.smint.clapi.consumer.integration.core.contracts.impl.SmintIoReleaseDetailsImpl;
 import io.smint.clapi.consumer.integration.core.exceptions.SmintIoAuthenticatorException;
 import io.smint.clapi.consumer.integration.core.exceptions.SmintIoSyncJobException;
+import io.smint.clapi.consumer.integration.core.factory.impl.SmintIoHttpClientProvider;
+import io.smint.clapi.consumer.integration.core.jobs.ICancellationToken;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncJobSupervisor;
 import io.smint.clapi.consumer.integration.core.providers.ISmintIoApiClient;
 import io.smint.clapi.consumer.integration.core.providers.ISmintIoApiDataWithContinuation;
+import io.smint.clapi.consumer.integration.core.providers.ISmintIoAsyncApiClient;
+import io.smint.clapi.consumer.integration.core.services.IRateLimiter;
 
 
 /**
@@ -81,8 +102,13 @@ import io.smint.clapi.consumer.integration.core.providers.ISmintIoApiDataWithCon
  * the Smint.io RESTful API. This is done by implementing classes - usually utilizing the available <em>Smint.io Client
  * API Consumer Library</em>.
  * </p>
+ *
+ * <p>
+ * All data can be read asynchronously, too (see {@link ISmintIoAsyncApiClient}). Asynchronous requests are enqueued
+ * with the HTTP client and retries are scheduled on a single timer thread, that is shared by all instances.
+ * </p>
  */
-public class SmintIoApiClientImpl implements ISmintIoApiClient {
+public class SmintIoApiClientImpl implements ISmintIoApiClient, ISmintIoAsyncApiClient {
 
 
     /**
@@ -190,42 +216,103 @@ public class SmintIoApiClientImpl implements ISmintIoApiClient {
 
 
     private static final Logger LOG = Logger.getLogger(SmintIoApiClientImpl.class.getName());
+    private static final long MILLIS_PER_SECOND = 1000L;
+    private static final Type SYNC_BINARY_LIST_TYPE = new TypeToken<List<SyncBinary>>() {
+    }.getType();
     private static final RetryRegistry RETRY_REGISTRY = RetryRegistry.of(
         RetryConfig.custom()
             .maxAttempts(RETRY_MAX_ATTEMPTS)
             .intervalFunction(IntervalFunction.ofExponentialBackoff(RETRY_WAIT_FOR_NEXT_RETRY, 2))
             .retryExceptions(Exception.class, ApiException.class)
+            .ignoreExceptions(SmintIoSyncJobException.class)
             .build()
     );
 
+    private static ScheduledExecutorService retryTimer;
+
 
     private final IAuthTokenStorage _authTokenStorage;
     private final Provider<ISettingsModel> _settings;
     private final IAuthTokenRefreshUtility _tokenRefreshUtility;
     private final OkHttpClient _httpClient;
+    private final IRateLimiter _rateLimiter;
+    private final ISyncJobSupervisor _jobSupervisor;
+    private final GenericMetadataCache _metadataCache = new GenericMetadataCache();
     private MetadataApi _metadataApi;
     private TransactionHistoryApi _transactionApi;
     private DownloadsApi _downloadsApi;
 
     // CHECKSTYLE OFF: ParameterNumber
 
+    public SmintIoApiClientImpl(
+        final Provider<ISettingsModel> settings,
+        final IAuthTokenStorage authTokenStorage,
+        final IAuthTokenRefreshUtility tokenRefreshUtility,
+        final OkHttpClient httpClient,
+        @Nullable final MetadataApi smintIoMetadataApi,
+        @Nullable final TransactionHistoryApi smintIoTransactionApi,
+        @Nullable final DownloadsApi smintIoDownloadsApi
+    ) {
+        this(
+            settings,
+            authTokenStorage,
+            tokenRefreshUtility,
+            httpClient,
+            null,
+            smintIoMetadataApi,
+            smintIoTransactionApi,
+            smintIoDownloadsApi
+        );
+    }
+
+
+    public SmintIoApiClientImpl(
+        final Provider<ISettingsModel> settings,
+        final IAuthTokenStorage authTokenStorage,
+        final IAuthTokenRefreshUtility tokenRefreshUtility,
+        final OkHttpClient httpClient,
+        @Nullable final IRateLimiter rateLimiter,
+        @Nullable final MetadataApi smintIoMetadataApi,
+        @Nullable final TransactionHistoryApi smintIoTransactionApi,
+        @Nullable final DownloadsApi smintIoDownloadsApi
+    ) {
+        this(
+            settings,
+            authTokenStorage,
+            tokenRefreshUtility,
+            httpClient,
+            rateLimiter,
+            null,
+            smintIoMetadataApi,
+            smintIoTransactionApi,
+            smintIoDownloadsApi
+        );
+    }
+
+
     @Inject
     public SmintIoApiClientImpl(
         final Provider<ISettingsModel> settings,
         final IAuthTokenStorage authTokenStorage,
         final IAuthTokenRefreshUtility tokenRefreshUtility,
         final OkHttpClient httpClient,
+        @Nullable final IRateLimiter rateLimiter,
+        @Nullable final ISyncJobSupervisor jobSupervisor,
         @Nullable final MetadataApi smintIoMetadataApi,
         @Nullable final TransactionHistoryApi smintIoTransactionApi,
         @Nullable final DownloadsApi smintIoDownloadsApi
     ) {
         this._settings = settings;
+        this._rateLimiter = rateLimiter;
+        this._jobSupervisor = jobSupervisor;
         this._authTokenStorage = authTokenStorage;
         this._tokenRefreshUtility = tokenRefreshUtility;
         this._metadataApi = smintIoMetadataApi;
         this._transactionApi = smintIoTransactionApi;
         this._downloadsApi = smintIoDownloadsApi;
-        this._httpClient = httpClient;
+        this._httpClient = jobSupervisor != null
+            ? SmintIoHttpClientProvider.getCancellableClient(httpClient, jobSupervisor)
+            : httpClient;
 
 
         Objects.requireNonNull(settings, "No settings provided to read tenant ID from.");
@@ -251,106 +338,60 @@ public class SmintIoApiClientImpl implements ISmintIoApiClient {
         LOG.info("Receiving generic metadata from Smint.io...");
         this.setupClapicOpenApiClient();
 
-        final SyncGenericMetadata syncGenericMetadata = this.retryApiRequest(
+        final String cacheKey = this.getGenericMetadataCacheKey();
+        final ISmintIoGenericMetadata cachedMetadata = this._metadataCache
+            .get(cacheKey, this.getGenericMetadataTimeToLive());
+        if (cachedMetadata != null) {
+            LOG.info("Using generic metadata recently received from Smint.io");
+            return cachedMetadata;
+        }
+
+        final ISmintIoGenericMetadata smintIoGenericMetadata = this.retryApiRequest(
             ThrowingSupplier.sneaky(() -> {
-                final MetadataApi metadataApi = this.getMetadataApiClient();
-                this.setAccessTokenToApi(this.getAuthToken().getAccessToken());
-                return metadataApi.getGenericMetadataForSync();
+                final Call call = this.createGenericMetadataCall(cacheKey);
+                try (final Response response = call.execute()) {
+                    return this.decodeGenericMetadata(response, cacheKey);
+                } catch (final IOException excp) {
+                    throw new ApiException(excp);
+                }
             })
         );
 
+        LOG.info("Received generic metadata from Smint.io");
+        return smintIoGenericMetadata;
+    }
 
-        final ISettingsModel settings = this.getSettings();
-        final List<Locale> importLanguages = Arrays.asList(settings.getImportLanguages())
-            .stream()
-            .map((lang) -> LocaleUtility.covertToISO2Locale(new Locale(lang)))
-            .collect(Collectors.toList());
 
-        final SmintIoGenericMetadataImpl smintIoGenericMetadata = new SmintIoGenericMetadataImpl()
-            .setContentCategories(
-                this.getGroupedMetadataElementsForImportLanguages(
-                    importLanguages, syncGenericMetadata.getContentCategories()
-                )
-            )
-            .setContentProviders(
-                this.getGroupedMetadataElementsForImportLanguages(importLanguages, syncGenericMetadata.getProviders())
-            )
-            .setContentTypes(
-                this.getGroupedMetadataElementsForImportLanguages(
-                    importLanguages, syncGenericMetadata.getContentTypes()
-                )
-            )
-            .setBinaryTypes(
-                this.getGroupedMetadataElementsForImportLanguages(
-                    importLanguages, syncGenericMetadata.getBinaryTypes()
-                )
-            )
+    @Override
+    public CompletableFuture<ISmintIoGenericMetadata> getGenericMetadataAsync() {
 
-            .setLicenseTypes(
-                this.getGroupedMetadataElementsForImportLanguages(
-                    importLanguages, syncGenericMetadata.getLicenseTypes()
-                )
-            )
-            .setReleaseStates(
-                this.getGroupedMetadataElementsForImportLanguages(
-                    importLanguages, syncGenericMetadata.getReleaseStates()
-                )
-            )
+        LOG.info("Receiving generic metadata from Smint.io asynchronously...");
 
-            .setLicenseExclusivities(
-                this.getGroupedMetadataElementsForImportLanguages(
-                    importLanguages, syncGenericMetadata.getLicenseExclusivities()
-                )
-            )
-            .setLicenseUsages(
-                this.getGroupedMetadataElementsForImportLanguages(
-                    importLanguages, syncGenericMetadata.getLicenseUsages()
-                )
-            )
-            .setLicenseSizes(
-                this.getGroupedMetadataElementsForImportLanguages(
-                    importLanguages, syncGenericMetadata.getLicenseSizes()
-                )
-            )
-            .setLicensePlacements(
-                this.getGroupedMetadataElementsForImportLanguages(
-                    importLanguages, syncGenericMetadata.getLicensePlacements()
-                )
-            )
-            .setLicenseDistributions(
-                this.getGroupedMetadataElementsForImportLanguages(
-                    importLanguages, syncGenericMetadata.getLicenseDistributions()
-                )
-            )
-            .setLicenseGeographies(
-                this.getGroupedMetadataElementsForImportLanguages(
-                    importLanguages, syncGenericMetadata.getLicenseGeographies()
-                )
-            )
-            .setLicenseIndustries(
-                this.getGroupedMetadataElementsForImportLanguages(
-                    importLanguages, syncGenericMetadata.getLicenseIndustries()
-                )
-            )
-            .setLicenseLanguages(
-                Arrays.stream(
-                    this.getGroupedMetadataElementsForImportLanguages(
-                        importLanguages, syncGenericMetadata.getLicenseLanguages()
-                    )
-                ).map(
-                    (elem) -> new SmintIoMetadataElementImpl()
-                        .setValues(elem.getValues())
-                        .setKey(this.convertApiLanguage(elem.getKey()))
-                ).toArray(ISmintIoMetadataElement[]::new)
-            )
-            .setLicenseUsageLimits(
-                this.getGroupedMetadataElementsForImportLanguages(
-                    importLanguages, syncGenericMetadata.getLicenseUsageLimits()
-                )
-            );
+        final String cacheKey;
 
-        LOG.info("Received generic metadata from Smint.io");
-        return smintIoGenericMetadata;
+        // CHECKSTYLE OFF: IllegalCatch
+        try {
+            this.setupClapicOpenApiClient();
+            cacheKey = this.getGenericMetadataCacheKey();
+        } catch (final RuntimeException excp) {
+            return this.failedFuture(excp);
+        }
+        // CHECKSTYLE ON: IllegalCatch
+
+        final ISmintIoGenericMetadata cachedMetadata = this._metadataCache
+            .get(cacheKey, this.getGenericMetadataTimeToLive());
+        if (cachedMetadata != null) {
+            LOG.info("Using generic metadata recently received from Smint.io");
+            return CompletableFuture.completedFuture(cachedMetadata);
+        }
+
+        return this.<ISmintIoGenericMetadata>retryApiRequestAsync(
+            () -> this.createGenericMetadataCall(cacheKey),
+            (response) -> this.decodeGenericMetadata(response, cacheKey)
+        ).thenApply((smintIoGenericMetadata) -> {
+            LOG.info("Received generic metadata from Smint.io");
+            return smintIoGenericMetadata;
+        });
     }
 
 
@@ -373,6 +414,71 @@ public class SmintIoApiClientImpl implements ISmintIoApiClient {
     }
 
 
+    @Override
+    public CompletableFuture<ISmintIoApiDataWithContinuation<ISmintIoAsset[]>> getAssetsAsync(
+        final String continuationUuid, final boolean includeCompoundAssets, final boolean includeBinaryUpdates
+    ) {
+
+        LOG.info("Receiving assets from Smint.io asynchronously...");
+
+        final List<Locale> importLanguages;
+        final SmintIoAssetStreamDecoder decoder;
+
+        // CHECKSTYLE OFF: IllegalCatch
+        try {
+            this.setupClapicOpenApiClient();
+
+            final ISettingsModel settings = this.getSettings();
+            importLanguages = this.getImportLanguages(settings);
+            decoder = new SmintIoAssetStreamDecoder(
+                new JSON().getGson(), this, importLanguages, settings.getTenantId()
+            );
+
+        } catch (final RuntimeException excp) {
+            return this.failedFuture(excp);
+        }
+        // CHECKSTYLE ON: IllegalCatch
+
+
+        return this.<SmintIoApiDataWithContinuationImpl<List<SmintIoAssetImpl>>>retryApiRequestAsync(
+            () -> {
+                final TransactionHistoryApi transactionApi = this.getTransactionApiClient();
+                this.setAccessTokenToApi(this.getAuthToken().getAccessToken());
+                return transactionApi.getLicensePurchaseTransactionsForSyncCall(
+                    continuationUuid, SMINT_IO_ASSET_LIST_CHUNKSIZE, null
+                );
+            },
+            (response) -> this.decodeResponse(response, decoder)
+
+        ).thenCompose((page) -> {
+
+            // request the binaries of all assets at once
+            @SuppressWarnings("unchecked")
+            final CompletableFuture<ISmintIoAsset>[] assets = page.getResult()
+                .stream()
+                .map(
+                    (asset) -> this
+                        .loadBinariesAsync(asset, importLanguages, includeCompoundAssets, includeBinaryUpdates)
+                )
+                .toArray(CompletableFuture[]::new);
+
+            return CompletableFuture.allOf(assets).thenApply((ignore) -> {
+
+                final ISmintIoAsset[] result = Arrays.stream(assets)
+                    .map(CompletableFuture::join)
+                    .toArray(ISmintIoAsset[]::new);
+
+                LOG.info(() -> "Received " + result.length + " assets from Smint.io");
+
+                return new SmintIoApiDataWithContinuationImpl<ISmintIoAsset[]>()
+                    .setResult(result)
+                    .setContinuationUuid(page.getContinuationUuid())
+                    .setHasAssets(page.hasAssets());
+            });
+        });
+    }
+
+
     /**
      * Provide the settings as passed to the constructor.
      *
@@ -434,6 +540,149 @@ public class SmintIoApiClientImpl implements ISmintIoApiClient {
     }
 
 
+    /**
+     * Creates the request for the generic meta data, which is conditional if a previous response is cached.
+     *
+     * @param cacheKey the key of the cached meta data, see {@link #getGenericMetadataCacheKey()}.
+     * @return the call to execute.
+     * @throws ApiException if the generated client fails to create the call.
+     */
+    private Call createGenericMetadataCall(final String cacheKey) throws ApiException {
+        final MetadataApi metadataApi = this.getMetadataApiClient();
+        this.setAccessTokenToApi(this.getAuthToken().getAccessToken());
+
+        final Call call = metadataApi.getGenericMetadataForSyncCall(null);
+        final Request request = this._metadataCache.toConditionalRequest(call.request(), cacheKey);
+        return request == call.request() ? call : this.getApiClient().getHttpClient().newCall(request);
+    }
+
+
+    /**
+     * Decodes and converts the generic meta data, unless the Smint.io API responded that it has not been modified.
+     *
+     * @param response the response to decode. It is not closed by this function.
+     * @param cacheKey the key of the cached meta data, see {@link #getGenericMetadataCacheKey()}.
+     * @return the converted generic meta data.
+     * @throws ApiException if the API responds with an error or reading the response fails.
+     */
+    private ISmintIoGenericMetadata decodeGenericMetadata(final Response response, final String cacheKey)
+        throws ApiException {
+
+        final ISmintIoGenericMetadata notModified = this._metadataCache.getNotModified(response, cacheKey);
+        if (notModified != null) {
+            LOG.info("Generic metadata has not been modified on Smint.io");
+            return notModified;
+        }
+
+        final SyncGenericMetadata syncGenericMetadata = this.getApiClient()
+            .handleResponse(response, SyncGenericMetadata.class);
+        return this._metadataCache.store(response, cacheKey, this.convertGenericMetadata(syncGenericMetadata));
+    }
+
+
+    private String getGenericMetadataCacheKey() {
+        final ISettingsModel settings = this.getSettings();
+        return settings.getTenantId() + "|" + this.getImportLanguages(settings);
+    }
+
+
+    private long getGenericMetadataTimeToLive() {
+        final ISettingsModel settings = this.getSettings();
+        return settings != null ? settings.getMetadataCacheSeconds() * MILLIS_PER_SECOND : 0;
+    }
+
+
+    private ISmintIoGenericMetadata convertGenericMetadata(final SyncGenericMetadata syncGenericMetadata) {
+
+        final List<Locale> importLanguages = this.getImportLanguages(this.getSettings());
+
+        final SmintIoGenericMetadataImpl smintIoGenericMetadata = new SmintIoGenericMetadataImpl()
+            .setContentCategories(
+                this.getGroupedMetadataElementsForImportLanguages(
+                    importLanguages, syncGenericMetadata.getContentCategories()
+                )
+            )
+            .setContentProviders(
+                this.getGroupedMetadataElementsForImportLanguages(importLanguages, syncGenericMetadata.getProviders())
+            )
+            .setContentTypes(
+                this.getGroupedMetadataElementsForImportLanguages(
+                    importLanguages, syncGenericMetadata.getContentTypes()
+                )
+            )
+            .setBinaryTypes(
+                this.getGroupedMetadataElementsForImportLanguages(
+                    importLanguages, syncGenericMetadata.getBinaryTypes()
+                )
+            )
+
+            .setLicenseTypes(
+                this.getGroupedMetadataElementsForImportLanguages(
+                    importLanguages, syncGenericMetadata.getLicenseTypes()
+                )
+            )
+            .setReleaseStates(
+                this.getGroupedMetadataElementsForImportLanguages(
+                    importLanguages, syncGenericMetadata.getReleaseStates()
+                )
+            )
+
+            .setLicenseExclusivities(
+                this.getGroupedMetadataElementsForImportLanguages(
+                    importLanguages, syncGenericMetadata.getLicenseExclusivities()
+                )
+            )
+            .setLicenseUsages(
+                this.getGroupedMetadataElementsForImportLanguages(
+                    importLanguages, syncGenericMetadata.getLicenseUsages()
+                )
+            )
+            .setLicenseSizes(
+                this.getGroupedMetadataElementsForImportLanguages(
+                    importLanguages, syncGenericMetadata.getLicenseSizes()
+                )
+            )
+            .setLicensePlacements(
+                this.getGroupedMetadataElementsForImportLanguages(
+                    importLanguages, syncGenericMetadata.getLicensePlacements()
+                )
+            )
+            .setLicenseDistributions(
+                this.getGroupedMetadataElementsForImportLanguages(
+                    importLanguages, syncGenericMetadata.getLicenseDistributions()
+                )
+            )
+            .setLicenseGeographies(
+                this.getGroupedMetadataElementsForImportLanguages(
+                    importLanguages, syncGenericMetadata.getLicenseGeographies()
+                )
+            )
+            .setLicenseIndustries(
+                this.getGroupedMetadataElementsForImportLanguages(
+                    importLanguages, syncGenericMetadata.getLicenseIndustries()
+                )
+            )
+            .setLicenseLanguages(
+                Arrays.stream(
+                    this.getGroupedMetadataElementsForImportLanguages(
+                        importLanguages, syncGenericMetadata.getLicenseLanguages()
+                    )
+                ).map(
+                    (elem) -> new SmintIoMetadataElementImpl()
+                        .setValues(elem.getValues())
+                        .setKey(this.convertApiLanguage(elem.getKey()))
+                ).toArray(ISmintIoMetadataElement[]::new)
+            )
+            .setLicenseUsageLimits(
+                this.getGroupedMetadataElementsForImportLanguages(
+                    importLanguages, syncGenericMetadata.getLicenseUsageLimits()
+                )
+            );
+
+        return smintIoGenericMetadata;
+    }
+
+
     private void setupClapicOpenApiClient() {
 
         final ISettingsModel settings = this.getSettings();
@@ -452,9 +701,8 @@ public class SmintIoApiClientImpl implements ISmintIoApiClient {
         this.setAccessTokenToApi(authToken.getAccessToken());
 
 
-        if (this._httpClient != null) {
-            apiClient.setHttpClient(this._httpClient);
-        }
+        // never let the generated client use its own connection pool
+        apiClient.setHttpClient(this.getHttpClient());
     }
 
 
@@ -507,7 +755,7 @@ public class SmintIoApiClientImpl implements ISmintIoApiClient {
     }
 
 
-    private Map<Locale, String[]> getGroupedValuesForImportLanguages(
+    Map<Locale, String[]> getGroupedValuesForImportLanguages(
         final List<Locale> importLanguages, final List<LocalizedMetadataElement> localizedString
     ) {
 
@@ -551,7 +799,7 @@ public class SmintIoApiClientImpl implements ISmintIoApiClient {
     }
 
 
-    private Map<Locale, String[]> getGroupedUrlValuesForImportLanguages(
+    Map<Locale, String[]> getGroupedUrlValuesForImportLanguages(
         final List<Locale> importLanguages, final List<LocalizedMetadataElement> localizedString
     ) {
 
@@ -595,7 +843,7 @@ public class SmintIoApiClientImpl implements ISmintIoApiClient {
     }
 
 
-    private Map<Locale, String> getValuesForImportLanguages(
+    Map<Locale, String> getValuesForImportLanguages(
         final List<Locale> importLanguages, final List<LocalizedString> localizedStrings
     ) {
 
@@ -663,11 +911,28 @@ public class SmintIoApiClientImpl implements ISmintIoApiClient {
 
     private <T> T retryApiRequest(final Supplier<T> func) throws ApiException {
 
+        // every single try needs a permit as it is sent to the Smint.io API
+        final AtomicInteger attempts = new AtomicInteger();
+        final Supplier<T> rateLimitedFunc = () -> {
+
+            // a cancelled run must not send any further request
+            if (this._jobSupervisor != null) {
+                this._jobSupervisor.getCurrentToken().throwIfCancelled();
+                if (attempts.incrementAndGet() > 1) {
+                    this._jobSupervisor.getCurrentRecorder().recordRetry();
+                }
+            }
+            if (this._rateLimiter != null) {
+                this._rateLimiter.acquire();
+            }
+            return func.get();
+        };
+
         return Retry.decorateTrySupplier(
 
             RETRY_REGISTRY.retry("retryApiRequestSupplier"),
 
-            () -> Try.ofSupplier(func)
+            () -> Try.ofSupplier(rateLimitedFunc)
                 .recoverWith(
                     WrappedException.class, (wrappedError) -> {
 
@@ -702,70 +967,335 @@ public class SmintIoApiClientImpl implements ISmintIoApiClient {
     }
 
 
+    /**
+     * Sends a request to the Smint.io API asynchronously and retries it on failure, without blocking any thread.
+     *
+     * <p>
+     * Retries use the same number of attempts and the same exponential backoff as synchronous requests, but are
+     * scheduled on the shared retry timer instead of sleeping. The timer only schedules the tries, which are executed
+     * by the executor of the HTTP client. In case of an authorization failure, the OAuth token is refreshed there
+     * before the next try.
+     * </p>
+     *
+     * @param callFactory     creates a new call to the Smint.io API for every try.
+     * @param responseHandler decodes the response. It must not close the response.
+     * @return a future to be completed with the decoded response.
+     */
+    private <T> CompletableFuture<T> retryApiRequestAsync(
+        final ThrowingSupplier<Call, ApiException> callFactory,
+        final ThrowingFunction<Response, T, ApiException> responseHandler
+    ) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        this.enqueueApiRequest(callFactory, responseHandler, result, 1);
+        return result;
+    }
+
+
+    private <T> void enqueueApiRequest(
+        final ThrowingSupplier<Call, ApiException> callFactory,
+        final ThrowingFunction<Response, T, ApiException> responseHandler,
+        final CompletableFuture<T> result,
+        final int attempt
+    ) {
+
+        if (result.isDone()) {
+            return;
+        }
+
+        final ICancellationToken token = this._jobSupervisor != null ? this._jobSupervisor.getCurrentToken() : null;
+        if (token != null && token.isCancelled()) {
+            result.completeExceptionally(
+                new SmintIoSyncJobException(token.getCancellationType(), token.getCancellationReason())
+            );
+            return;
+        }
+
+
+        // every single try needs a permit as it is sent to the Smint.io API
+        final long waitForPermit = this._rateLimiter != null ? this._rateLimiter.reserve() : 0;
+        if (waitForPermit > 0) {
+            this.scheduleApiRequest(
+                () -> this.executeApiRequest(callFactory, responseHandler, result, attempt),
+                waitForPermit,
+                result
+            );
+
+        } else {
+            this.executeApiRequest(callFactory, responseHandler, result, attempt);
+        }
+    }
+
+
+    private <T> void executeApiRequest(
+        final ThrowingSupplier<Call, ApiException> callFactory,
+        final ThrowingFunction<Response, T, ApiException> responseHandler,
+        final CompletableFuture<T> result,
+        final int attempt
+    ) {
+
+        if (result.isDone()) {
+            return;
+        }
+
+
+        final Call call;
+
+        // CHECKSTYLE OFF: IllegalCatch
+        try {
+            call = callFactory.get();
+        } catch (final ApiException | RuntimeException excp) {
+            this.retryApiRequestLater(excp, callFactory, responseHandler, result, attempt);
+            return;
+        }
+        // CHECKSTYLE ON: IllegalCatch
+
+        result.whenComplete((ignore, error) -> {
+            if (result.isCancelled()) {
+                call.cancel();
+            }
+        });
+
+
+        call.enqueue(new Callback() {
+
+            @Override
+            public void onFailure(final Call failedCall, final IOException excp) {
+                SmintIoApiClientImpl.this
+                    .retryApiRequestLater(new ApiException(excp), callFactory, responseHandler, result, attempt);
+            }
+
+
+            @Override
+            public void onResponse(final Call successfulCall, final Response response) {
+
+                final T value;
+
+                // CHECKSTYLE OFF: IllegalCatch
+                try (final Response closedResponse = response) {
+                    value = responseHandler.apply(response);
+                } catch (final ApiException | RuntimeException excp) {
+                    SmintIoApiClientImpl.this
+                        .retryApiRequestLater(excp, callFactory, responseHandler, result, attempt);
+                    return;
+                }
+                // CHECKSTYLE ON: IllegalCatch
+
+                result.complete(value);
+            }
+        });
+    }
+
+
+    private <T> void retryApiRequestLater(
+        final Exception error,
+        final ThrowingSupplier<Call, ApiException> callFactory,
+        final ThrowingFunction<Response, T, ApiException> responseHandler,
+        final CompletableFuture<T> result,
+        final int attempt
+    ) {
+
+        LOG.log(Level.SEVERE, "Error communicating to Smint.io", error);
+
+        if (attempt >= RETRY_MAX_ATTEMPTS || result.isDone()) {
+            result.completeExceptionally(error);
+            return;
+        }
+
+
+        if (this._jobSupervisor != null) {
+            this._jobSupervisor.getCurrentRecorder().recordRetry();
+        }
+
+        final long waitForRetry = RETRY_WAIT_FOR_NEXT_RETRY * (1L << (attempt - 1));
+        this.scheduleApiRequest(
+            () -> {
+                if (error instanceof ApiException
+                    && (((ApiException) error).getCode() == HttpURLConnection.HTTP_FORBIDDEN
+                        || ((ApiException) error).getCode() == HttpURLConnection.HTTP_UNAUTHORIZED)) {
+
+                    // try to re-authenticate
+                    try {
+                        final IAuthTokenModel authData = this._tokenRefreshUtility
+                            .refreshOAuthToken(this.getAuthToken());
+                        this.getAuthTokenStorage().storeAuthData(authData);
+                        this.setAccessTokenToApi(authData.getAccessToken());
+                    } catch (final SmintIoAuthenticatorException authError) {
+                        LOG.log(Level.WARNING, "Failed to authenticate with Smint.io platform API.", authError);
+                    }
+                }
+
+                this.enqueueApiRequest(callFactory, responseHandler, result, attempt + 1);
+            },
+            waitForRetry,
+            result
+        );
+    }
+
+
+    /**
+     * Schedules a job of an asynchronous request to be executed by the executor of the HTTP client after a delay.
+     *
+     * <p>
+     * The shared retry timer is only used to wait for the delay, so blocking jobs - like refreshing the OAuth token -
+     * never stall the retries of other requests. If the job fails or can not be executed, the request fails, too.
+     * </p>
+     *
+     * @param job         the job to execute.
+     * @param delayMillis the delay in milliseconds to wait before the job is executed.
+     * @param result      the future of the request, to be completed exceptionally on failure.
+     */
+    private <T> void scheduleApiRequest(final Runnable job, final long delayMillis, final CompletableFuture<T> result) {
+        getRetryTimer().schedule(
+            () -> {
+                try {
+                    this.getHttpClient().dispatcher().executorService().execute(() -> {
+                        // CHECKSTYLE OFF: IllegalCatch
+                        try {
+                            job.run();
+                        } catch (final RuntimeException excp) {
+                            result.completeExceptionally(excp);
+                        }
+                        // CHECKSTYLE ON: IllegalCatch
+                    });
+                } catch (final RejectedExecutionException excp) {
+                    result.completeExceptionally(excp);
+                }
+            },
+            delayMillis,
+            TimeUnit.MILLISECONDS
+        );
+    }
+
+
+    private OkHttpClient getHttpClient() {
+        return this._httpClient != null ? this._httpClient : SmintIoHttpClientProvider.getSharedClient();
+    }
+
+
+    private <T> CompletableFuture<T> failedFuture(final Throwable error) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        result.completeExceptionally(error);
+        return result;
+    }
+
+
+    /**
+     * Provides the timer shared by all instances to schedule retries of asynchronous requests.
+     *
+     * <p>
+     * The timer uses a single daemon thread, that is created on first use. It must only be used to wait for delays,
+     * never to execute any blocking code.
+     * </p>
+     *
+     * @return the timer - never {@code null}.
+     */
+    private static synchronized ScheduledExecutorService getRetryTimer() {
+        if (retryTimer == null) {
+            final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, (job) -> {
+                final Thread thread = new Thread(job, "smint.io-api-retry");
+                thread.setDaemon(true);
+                return thread;
+            });
+            timer.setRemoveOnCancelPolicy(true);
+            retryTimer = timer;
+        }
+        return retryTimer;
+    }
+
+
     private ISmintIoApiDataWithContinuation<ISmintIoAsset[]> loadAssets(
         final String continuationUuid, final boolean includeCoundAssets, final boolean includeBinaryUpdates
     ) throws ApiException {
 
         this.setupClapicOpenApiClient();
 
-        final SyncLicensePurchaseTransactionQueryResult syncLptQueryResult = this.retryApiRequest(
+        final ISettingsModel settings = this.getSettings();
+        final List<Locale> importLanguages = this.getImportLanguages(settings);
+        final SmintIoAssetStreamDecoder decoder = new SmintIoAssetStreamDecoder(
+            new JSON().getGson(), this, importLanguages, settings.getTenantId()
+        );
+
+        final SmintIoApiDataWithContinuationImpl<List<SmintIoAssetImpl>> page = this.retryApiRequest(
             ThrowingSupplier.sneaky(
                 () -> {
                     final TransactionHistoryApi transactionApi = this.getTransactionApiClient();
                     this.setAccessTokenToApi(this.getAuthToken().getAccessToken());
-                    return transactionApi
-                        .getLicensePurchaseTransactionsForSync(continuationUuid, SMINT_IO_ASSET_LIST_CHUNKSIZE);
+                    final Call call = transactionApi.getLicensePurchaseTransactionsForSyncCall(
+                        continuationUuid, SMINT_IO_ASSET_LIST_CHUNKSIZE, null
+                    );
+                    try (final Response response = call.execute()) {
+                        return this.decodeResponse(response, decoder);
+                    } catch (final IOException excp) {
+                        throw new ApiException(excp);
+                    }
                 }
             )
         );
 
 
-        if (syncLptQueryResult == null) {
-            return new SmintIoApiDataWithContinuationImpl<ISmintIoAsset[]>()
-                .setResult(new ISmintIoAsset[0]);
+        // the response stream has been closed already, so fetching binaries does not hold any network resources
+        final ISmintIoAsset[] result = page.getResult()
+            .stream()
+            .map((asset) -> this.loadBinaries(asset, importLanguages, includeCoundAssets, includeBinaryUpdates))
+            .toArray(ISmintIoAsset[]::new);
 
-        } else if (syncLptQueryResult.getCount() == 0) {
-            return new SmintIoApiDataWithContinuationImpl<ISmintIoAsset[]>()
-                .setContinuationUuid(syncLptQueryResult.getContinuationUuid())
-                .setResult(new ISmintIoAsset[0]);
-        }
 
+        return new SmintIoApiDataWithContinuationImpl<ISmintIoAsset[]>()
+            .setResult(result)
+            .setContinuationUuid(page.getContinuationUuid())
+            .setHasAssets(page.hasAssets());
+    }
 
-        // convert the assets and filter for assets to be ignored or other invalid assets
-        final List<SyncLicensePurchaseTransaction> validAssets = syncLptQueryResult.getLicensePurchaseTransactions()
-            .stream()
-            .filter((lpt) -> lpt != null && lpt.getContentElement() != null)
-            .collect(Collectors.toList());
 
-        // are there any valid assets that are not to be ignored for sync?
-        final boolean hasAnyAssets = validAssets.size() > 0;
+    /**
+     * Decodes the response body of the Smint.io API while it is streamed.
+     *
+     * @param response the response to decode. It is not closed by this function.
+     * @param decoder  the decoder to use for the response body.
+     * @return the decoded page of assets, without any binaries.
+     * @throws ApiException if the API responds with an error or reading the response fails.
+     */
+    private SmintIoApiDataWithContinuationImpl<List<SmintIoAssetImpl>> decodeResponse(
+        final Response response, final SmintIoAssetStreamDecoder decoder
+    ) throws ApiException {
 
-        // convert to synchronizable assets
-        final ISmintIoAsset[] result = validAssets
-            .stream()
-            .filter((lpt) -> lpt.getCanBeSynced() == null || lpt.getCanBeSynced().booleanValue())
-            .map((lpt) -> this.convertApiAsset(lpt, includeCoundAssets, includeBinaryUpdates))
-            .filter((asset) -> asset != null)
-            .toArray(ISmintIoAsset[]::new);
+        try {
 
+            final ResponseBody body = response.body();
+            if (!response.isSuccessful()) {
+                throw new ApiException(
+                    response.message(),
+                    response.code(),
+                    response.headers().toMultimap(),
+                    body != null ? body.string() : null
+                );
+            }
 
-        return new SmintIoApiDataWithContinuationImpl<ISmintIoAsset[]>()
-            .setResult(result)
-            .setContinuationUuid(syncLptQueryResult.getContinuationUuid())
-            .setHasAssets(hasAnyAssets);
+            if (body == null) {
+                return new SmintIoApiDataWithContinuationImpl<List<SmintIoAssetImpl>>()
+                    .setResult(new ArrayList<>());
+            }
+
+            try (final JsonReader reader = new JsonReader(body.charStream())) {
+                return decoder.decodePage(reader);
+            }
+
+        } catch (final IOException excp) {
+            throw new ApiException(excp);
+        }
     }
 
 
-    private ISmintIoLicenseTerm[] getLicenseTerms(
-        final List<Locale> importLanguages, final SyncLicensePurchaseTransaction lpt
+    ISmintIoLicenseTerm[] getLicenseTerms(
+        final List<Locale> importLanguages, final List<SyncLicenseTerm> licenseTerms
     ) {
 
-        if (lpt.getLicenseTerms() == null || lpt.getLicenseTerms().size() == 0) {
+        if (licenseTerms == null || licenseTerms.size() == 0) {
             return null;
         }
 
 
-        return lpt.getLicenseTerms().stream()
+        return licenseTerms.stream()
             .map(
                 (licenseTerm) -> new SmintIoLicenseTermImpl()
                     .setSequenceNumber(licenseTerm.getSequenceNumber())
@@ -798,12 +1328,45 @@ public class SmintIoApiClientImpl implements ISmintIoApiClient {
     }
 
 
-    private ISmintIoDownloadConstraints getDownloadConstraints(final SyncLicensePurchaseTransaction lpt) {
-        if (lpt == null || lpt.getLicenseDownloadConstraints() == null) {
+    /**
+     * Determines whether an asset is restricted to editorial use, as defined by its license terms.
+     *
+     * @param licenseTerms the license terms of the asset or {@code null}.
+     * @return {@code true} if any license term restricts to editorial use, {@code false} if at least one license term
+     *         states no restriction or {@code null} if this information is not available.
+     */
+    Boolean getIsEditorialUse(final List<SyncLicenseTerm> licenseTerms) {
+
+        if (licenseTerms == null) {
+            return null;
+        }
+
+
+        Boolean isEditorialUse = null;
+        for (final SyncLicenseTerm licenceTerm : licenseTerms) {
+
+            // make sure we do not store editorial use information if no information is there!
+            if (licenceTerm != null && licenceTerm.getIsEditorialUse() != null) {
+                if (licenceTerm.getIsEditorialUse().booleanValue()) {
+                    // if we have a restrictions, always indicate
+                    return true;
+
+                } else if (isEditorialUse == null) {
+                    // if we have no restriction, only store, if we have no other restriction
+                    isEditorialUse = false;
+                }
+            }
+        }
+
+        return isEditorialUse;
+    }
+
+
+    ISmintIoDownloadConstraints getDownloadConstraints(final LicenseDownloadConstraints restricts) {
+        if (restricts == null) {
             return null;
         }
 
-        final LicenseDownloadConstraints restricts = lpt.getLicenseDownloadConstraints();
         return new SmintIoDownloadConstraintsImpl()
             .setMaxUsers(restricts.getEffectiveMaxUsers())
             .setMaxDownloads(restricts.getEffectiveMaxDownloads())
@@ -814,11 +1377,20 @@ public class SmintIoApiClientImpl implements ISmintIoApiClient {
     private ISmintIoReleaseDetails getReleaseDetails(
         final List<Locale> importLanguages, final SyncLicensePurchaseTransaction lpt
     ) {
-        if (lpt == null || lpt.getContentElement() == null || lpt.getContentElement().getReleaseDetails() == null) {
+        if (lpt == null || lpt.getContentElement() == null) {
             return null;
         }
 
-        final LocalizedReleaseDetails releaseDetails = lpt.getContentElement().getReleaseDetails();
+        return this.getReleaseDetails(importLanguages, lpt.getContentElement().getReleaseDetails());
+    }
+
+
+    ISmintIoReleaseDetails getReleaseDetails(
+        final List<Locale> importLanguages, final LocalizedReleaseDetails releaseDetails
+    ) {
+        if (releaseDetails == null) {
+            return null;
+        }
 
         return new SmintIoReleaseDetailsImpl()
             .setModelReleaseState(releaseDetails.getModelReleaseState())
@@ -841,200 +1413,177 @@ public class SmintIoApiClientImpl implements ISmintIoApiClient {
     }
 
 
-    private ISmintIoAsset convertApiAsset(
-        final SyncLicensePurchaseTransaction apiAsset,
+    /**
+     * Fetches the binaries of an asset from the Smint.io API and stores them with the asset.
+     *
+     * @param asset                the asset to load the binaries for.
+     * @param importLanguages      the languages to import.
+     * @param includeCoundAssets   whether compound assets are supported by the sync target.
+     * @param includeBinaryUpdates whether binary updates are supported by the sync target.
+     * @return the {@code asset}.
+     */
+    private ISmintIoAsset loadBinaries(
+        final SmintIoAssetImpl asset,
+        final List<Locale> importLanguages,
         final boolean includeCoundAssets,
         final boolean includeBinaryUpdates
     ) {
 
-        if (apiAsset == null || apiAsset.getContentElement() == null) {
-            return null;
+        List<SyncBinary> binaries = null;
+        try {
+            binaries = this.retryApiRequest(
+                ThrowingSupplier.sneaky(() -> {
+                    this.setAccessTokenToApi(this.getAuthToken().getAccessToken());
+                    return this._downloadsApi.getLicensePurchaseTransactionBinariesForSync(
+                        asset.getCartPurchaseTransactionUuid(),
+                        asset.getLicensePurchaseTransactionUuid()
+                    );
+                })
+            );
+        } catch (final ApiException excp) {
+            LOG.log(
+                Level.SEVERE,
+                "Failed to read binaries of content UUID " + asset.getUuid() + " from Smint.io API: ", excp
+            );
         }
 
+        return this.setBinaries(asset, binaries, importLanguages, includeCoundAssets, includeBinaryUpdates);
+    }
 
-        final ISettingsModel settings = this.getSettings();
-        final List<Locale> importLanguages = Arrays.asList(settings.getImportLanguages())
-            .stream()
-            .map((lang) -> LocaleUtility.covertToISO2Locale(new Locale(lang)))
-            .collect(Collectors.toList());
-
-
-        Boolean isEditorialUse = null;
-
-        List<SyncLicenseTerm> licenseTerms = apiAsset.getLicenseTerms();
-        if (licenseTerms == null) {
-            licenseTerms = new ArrayList<>();
-        }
 
+    /**
+     * Asynchronously fetches the binaries of an asset from the Smint.io API and stores them with the asset.
+     *
+     * @param asset                 the asset to load the binaries for.
+     * @param importLanguages       the languages to import.
+     * @param includeCompoundAssets whether compound assets are supported by the sync target.
+     * @param includeBinaryUpdates  whether binary updates are supported by the sync target.
+     * @return a future to be completed with the {@code asset}.
+     */
+    private CompletableFuture<ISmintIoAsset> loadBinariesAsync(
+        final SmintIoAssetImpl asset,
+        final List<Locale> importLanguages,
+        final boolean includeCompoundAssets,
+        final boolean includeBinaryUpdates
+    ) {
 
-        for (final SyncLicenseTerm licenceTerm : licenseTerms) {
+        return this.<List<SyncBinary>>retryApiRequestAsync(
+            () -> {
+                this.setAccessTokenToApi(this.getAuthToken().getAccessToken());
+                return this._downloadsApi.getLicensePurchaseTransactionBinariesForSyncCall(
+                    asset.getCartPurchaseTransactionUuid(),
+                    asset.getLicensePurchaseTransactionUuid(),
+                    null
+                );
+            },
+            (response) -> this.getApiClient().handleResponse(response, SYNC_BINARY_LIST_TYPE)
 
-            // make sure we do not store editorial use information if no information is there!
-            if (licenceTerm.getIsEditorialUse() != null) {
-                if (licenceTerm.getIsEditorialUse().booleanValue()) {
-                    // if we have a restrictions, always indicate
+        ).handle((binaries, error) -> {
 
-                    isEditorialUse = true;
+            final Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+            if (cause instanceof ApiException) {
+                LOG.log(
+                    Level.SEVERE,
+                    "Failed to read binaries of content UUID " + asset.getUuid() + " from Smint.io API: ", cause
+                );
 
-                } else if (isEditorialUse == null) {
-                    // if we have no restriction, only store, if we have no other restriction
-                    isEditorialUse = false;
-                }
+            } else if (cause != null) {
+                throw error instanceof CompletionException ? (CompletionException) error
+                    : new CompletionException(error);
             }
-        }
-
-        final LocalizedContentElementDetail contentElement = apiAsset.getContentElement();
-        final SmintIoAssetImpl asset = new SmintIoAssetImpl()
-            .setContentElementUuid(contentElement.getUuid())
-            .setLicensePurchaseTransactionUuid(apiAsset.getUuid())
-            .setCartPurchaseTransactionUuid(apiAsset.getCartPurchaseTransactionUuid())
-            .setState(apiAsset.getState())
-            .setContentProvider(contentElement.getProvider())
-            .setContentType(contentElement.getContentType())
-            .setName(this.getValuesForImportLanguages(importLanguages, contentElement.getName()))
-            .setDescription(this.getValuesForImportLanguages(importLanguages, contentElement.getDescription()))
-            .setKeywords(this.getGroupedValuesForImportLanguages(importLanguages, contentElement.getKeywords()))
-            .setContentCategory(contentElement.getContentCategory())
-
-            .setReleaseDetails(this.getReleaseDetails(importLanguages, apiAsset))
-            .setCopyrightNotices(
-                this.getValuesForImportLanguages(importLanguages, contentElement.getCopyrightNotices())
-            )
 
-            .setProjectUuid(apiAsset.getProjectUuid())
-            .setProjectName(this.getValuesForImportLanguages(importLanguages, apiAsset.getProjectName()))
-
-            .setCollectionUuid(apiAsset.getCollectionUuid())
-            .setCollectionName(this.getValuesForImportLanguages(importLanguages, apiAsset.getCollectionName()))
-
-            .setLicenseeUuid(apiAsset.getLicenseeUuid())
-            .setLicenseeName(apiAsset.getLicenseeName())
-            .setLicenseType(apiAsset.getOffering() != null ? apiAsset.getOffering().getLicenseType() : null)
-            .setLicenseText(
-                this.getValuesForImportLanguages(
-                    importLanguages,
-                    apiAsset.getLicenseText() != null
-                        ? apiAsset.getLicenseText().getEffectiveText()
-                        : null
-                )
-            )
-
-            .setLicenseUrls(
-                this.getGroupedUrlValuesForImportLanguages(importLanguages, apiAsset.getOffering().getLicenseUrls())
-            )
-
-            .setLicenseTerms(this.getLicenseTerms(importLanguages, apiAsset))
-            .setDownloadConstraints(this.getDownloadConstraints(apiAsset))
-
-            .setIsEditorialUse(isEditorialUse)
-            .setHasRestrictiveLicenseTerms(
-                apiAsset.getHasPotentiallyRestrictiveLicenseTerms() != null
-                    ? apiAsset.getHasPotentiallyRestrictiveLicenseTerms()
-                    : false
-            )
-            .setPurchasedAt(apiAsset.getPurchasedAt())
-            .setCreatedAt(apiAsset.getCreatedAt())
-            .setLastUpdatedAt(
-                apiAsset.getLastUpdatedAt() != null ? apiAsset.getLastUpdatedAt()
-                    : apiAsset.getCreatedAt() != null ? apiAsset.getCreatedAt() : OffsetDateTime.now()
+            return this.setBinaries(
+                asset, cause == null ? binaries : null, importLanguages, includeCompoundAssets, includeBinaryUpdates
             );
+        });
+    }
 
 
-        try {
-            asset.setSmintIoUrl(
-                new URL(
-                    MessageFormat.format(
-                        SMINT_IO_CONTENT_ELEMENT_URL,
-                        settings.getTenantId(),
-                        apiAsset.getProjectUuid(),
-                        contentElement.getUuid()
-                    )
-                )
-            );
-        } catch (final MalformedURLException excp) {
-            LOG.log(Level.WARNING, "Invalid Smint.io asset URL!", excp);
-        }
-
+    /**
+     * Converts the binaries read from the Smint.io API and stores them with the asset.
+     *
+     * @param asset                the asset to store the binaries with.
+     * @param binaries             the binaries as read from the API or {@code null}.
+     * @param importLanguages      the languages to import.
+     * @param includeCoundAssets   whether compound assets are supported by the sync target.
+     * @param includeBinaryUpdates whether binary updates are supported by the sync target.
+     * @return the {@code asset}.
+     * @throws SmintIoSyncJobException if the binaries are not supported by the sync target.
+     */
+    private ISmintIoAsset setBinaries(
+        final SmintIoAssetImpl asset,
+        final List<SyncBinary> binaries,
+        final List<Locale> importLanguages,
+        final boolean includeCoundAssets,
+        final boolean includeBinaryUpdates
+    ) {
 
-        // get the binaries for this asset
-        if (apiAsset.getCanBeSynced()) {
+        final List<ISmintIoBinary> assetBinaries = new ArrayList<>();
+        if (binaries != null) {
 
-            List<SyncBinary> binaries = null;
-            try {
-                binaries = this.retryApiRequest(
-                    ThrowingSupplier.sneaky(() -> {
-                        this.setAccessTokenToApi(this.getAuthToken().getAccessToken());
-                        return this._downloadsApi.getLicensePurchaseTransactionBinariesForSync(
-                            asset.getCartPurchaseTransactionUuid(),
-                            asset.getLicensePurchaseTransactionUuid()
-                        );
-                    })
-                );
-            } catch (final ApiException excp) {
-                LOG.log(
-                    Level.SEVERE,
-                    "Failed to read binaries of content UUID " + asset.getUuid() + " from Smint.io API: ", excp
+            if (!includeCoundAssets && binaries.size() > 1) {
+                throw new SmintIoSyncJobException(
+                    SmintIoSyncJobException.SyncJobError.Generic,
+                    "SyncTarget does not support compound assets!"
                 );
             }
 
-            final List<ISmintIoBinary> assetBinaries = new ArrayList<>();
-            if (binaries != null) {
 
-                if (!includeCoundAssets && binaries.size() > 1) {
+            for (final SyncBinary binary : binaries) {
+
+
+                if (!includeBinaryUpdates && binary.getVersion() != null && binary.getVersion() > 1) {
+                    // binary version update
                     throw new SmintIoSyncJobException(
                         SmintIoSyncJobException.SyncJobError.Generic,
-                        "SyncTarget does not support compound assets!"
+                        "SyncTarget does not support binary updates!"
                     );
                 }
 
 
-                for (final SyncBinary binary : binaries) {
-
-
-                    if (!includeBinaryUpdates && binary.getVersion() != null && binary.getVersion() > 1) {
-                        // binary version update
-                        throw new SmintIoSyncJobException(
-                            SmintIoSyncJobException.SyncJobError.Generic,
-                            "SyncTarget does not support binary updates!"
-                        );
-                    }
-
-
-                    final SmintIoBinaryImpl convertedBinary = new SmintIoBinaryImpl()
-                        .setVersion(binary.getVersion() != null ? binary.getVersion() : 0)
-                        .setUuid(binary.getUuid())
-                        .setContentType(binary.getContentType())
-                        .setBinaryType(binary.getBinaryType())
-                        .setName(this.getValuesForImportLanguages(importLanguages, binary.getName()))
-                        .setDescription(this.getValuesForImportLanguages(importLanguages, binary.getDescription()))
-                        .setUsage(this.getValuesForImportLanguages(importLanguages, binary.getUsage()))
-                        .setRecommendedFileName(binary.getRecommendedFileName());
-
-                    if (binary.getCulture() != null && !binary.getCulture().isEmpty()) {
-                        convertedBinary.setLocale(new Locale(this.convertApiLanguage(binary.getCulture())));
-                    }
+                final SmintIoBinaryImpl convertedBinary = new SmintIoBinaryImpl()
+                    .setVersion(binary.getVersion() != null ? binary.getVersion() : 0)
+                    .setUuid(binary.getUuid())
+                    .setContentType(binary.getContentType())
+                    .setBinaryType(binary.getBinaryType())
+                    .setName(this.getValuesForImportLanguages(importLanguages, binary.getName()))
+                    .setDescription(this.getValuesForImportLanguages(importLanguages, binary.getDescription()))
+                    .setUsage(this.getValuesForImportLanguages(importLanguages, binary.getUsage()))
+                    .setRecommendedFileName(binary.getRecommendedFileName());
 
-                    try {
-                        final URL downloadURL = new URL(binary.getDownloadUrl());
-                        convertedBinary.setDownloadUrl(downloadURL);
+                if (binary.getCulture() != null && !binary.getCulture().isEmpty()) {
+                    convertedBinary.setLocale(new Locale(this.convertApiLanguage(binary.getCulture())));
+                }
 
-                    } catch (final MalformedURLException excp) {
-                        LOG.log(Level.WARNING, "Invalid Smint.io asset binary URL: " + binary.getDownloadUrl(), excp);
-                    }
+                try {
+                    final URL downloadURL = new URL(binary.getDownloadUrl());
+                    convertedBinary.setDownloadUrl(downloadURL);
 
-                    assetBinaries.add(convertedBinary);
+                } catch (final MalformedURLException excp) {
+                    LOG.log(Level.WARNING, "Invalid Smint.io asset binary URL: " + binary.getDownloadUrl(), excp);
                 }
 
-                if (assetBinaries.size() > 0) {
-                    asset.setBinaries(assetBinaries.toArray(new ISmintIoBinary[assetBinaries.size()]));
-                }
+                assetBinaries.add(convertedBinary);
+            }
+
+            if (assetBinaries.size() > 0) {
+                asset.setBinaries(assetBinaries.toArray(new ISmintIoBinary[assetBinaries.size()]));
             }
         }
 
+
         return asset;
     }
 
 
+    private List<Locale> getImportLanguages(final ISettingsModel settings) {
+        return Arrays.asList(settings.getImportLanguages())
+            .stream()
+            .map((lang) -> LocaleUtility.covertToISO2Locale(new Locale(lang)))
+            .collect(Collectors.toList());
+    }
+
+
     private String[] convertFromListToStringArray(final List<String> listOfItems) {
         return listOfItems != null && listOfItems.size() > 0 ? listOfItems.toArray(new String[listOfItems.size()])
             : null;
@@ -0,0 +1,442 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.providers.impl;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.text.MessageFormat;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import io.smint.clapi.consumer.generated.models.LicenseDownloadConstraints;
+import io.smint.clapi.consumer.generated.models.LicensePurchaseTransactionStateEnum;
+import io.smint.clapi.consumer.generated.models.LocalizedMetadataElement;
+import io.smint.clapi.consumer.generated.models.LocalizedReleaseDetails;
+import io.smint.clapi.consumer.generated.models.LocalizedString;
+import io.smint.clapi.consumer.generated.models.SyncLicenseTerm;
+import io.smint.clapi.consumer.integration.core.contracts.impl.SmintIoAssetImpl;
+
+
+// CHECKSTYLE.OFF: MultipleStringLiterals
+// CHECKSTYLE OFF: CyclomaticComplexity
+
+/**
+ * Decodes a page of license purchase transactions from a JSON stream directly into assets.
+ *
+ * <p>
+ * The generated Smint.io API client deserializes a whole page of license purchase transactions into an object graph of
+ * {@code SyncLicensePurchaseTransactionQueryResult}, which is then copied over to instances of
+ * {@link SmintIoAssetImpl}. Hence each asset is held in memory twice. This decoder reads the response body with a
+ * {@link JsonReader} instead and fills the assets while reading. Only small nested values, like localized texts or
+ * license terms, are read with the type adapters of the generated API client. Properties that are not needed for
+ * synchronization are skipped without being materialized.
+ * </p>
+ *
+ * <p>
+ * Binaries of the assets are not part of the page and need to be fetched separately.
+ * </p>
+ */
+class SmintIoAssetStreamDecoder {
+
+    private static final Logger LOG = Logger.getLogger(SmintIoAssetStreamDecoder.class.getName());
+
+    private static final Type LOCALIZED_STRINGS_TYPE = new TypeToken<List<LocalizedString>>() {
+    }.getType();
+    private static final Type LOCALIZED_METADATA_ELEMENTS_TYPE = new TypeToken<List<LocalizedMetadataElement>>() {
+    }.getType();
+    private static final Type LICENSE_TERMS_TYPE = new TypeToken<List<SyncLicenseTerm>>() {
+    }.getType();
+
+
+    private final SmintIoApiClientImpl _converter;
+    private final List<Locale> _importLanguages;
+    private final String _tenantId;
+
+    private final TypeAdapter<List<LocalizedString>> _localizedStringsAdapter;
+    private final TypeAdapter<List<LocalizedMetadataElement>> _localizedMetadataElementsAdapter;
+    private final TypeAdapter<List<SyncLicenseTerm>> _licenseTermsAdapter;
+    private final TypeAdapter<LicenseDownloadConstraints> _downloadConstraintsAdapter;
+    private final TypeAdapter<LocalizedReleaseDetails> _releaseDetailsAdapter;
+    private final TypeAdapter<LicensePurchaseTransactionStateEnum> _stateAdapter;
+    private final TypeAdapter<OffsetDateTime> _dateAdapter;
+
+
+    /**
+     * Create a new decoder.
+     *
+     * @param gson            the Gson instance of the generated Smint.io API client, holding all type adapters.
+     * @param converter       the API client, used to convert localized values to import languages.
+     * @param importLanguages the languages to import.
+     * @param tenantId        the tenant ID to create the Smint.io URL of the assets.
+     */
+    @SuppressWarnings("unchecked")
+    SmintIoAssetStreamDecoder(
+        final Gson gson,
+        final SmintIoApiClientImpl converter,
+        final List<Locale> importLanguages,
+        final String tenantId
+    ) {
+        Objects.requireNonNull(gson, "No Gson instance has been provided to decode JSON.");
+        Objects.requireNonNull(converter, "No converter has been provided to convert localized values.");
+
+        this._converter = converter;
+        this._importLanguages = importLanguages;
+        this._tenantId = tenantId;
+
+        this._localizedStringsAdapter = (TypeAdapter<List<LocalizedString>>) gson
+            .getAdapter(TypeToken.get(LOCALIZED_STRINGS_TYPE));
+        this._localizedMetadataElementsAdapter = (TypeAdapter<List<LocalizedMetadataElement>>) gson
+            .getAdapter(TypeToken.get(LOCALIZED_METADATA_ELEMENTS_TYPE));
+        this._licenseTermsAdapter = (TypeAdapter<List<SyncLicenseTerm>>) gson
+            .getAdapter(TypeToken.get(LICENSE_TERMS_TYPE));
+        this._downloadConstraintsAdapter = gson.getAdapter(LicenseDownloadConstraints.class);
+        this._releaseDetailsAdapter = gson.getAdapter(LocalizedReleaseDetails.class);
+        this._stateAdapter = gson.getAdapter(LicensePurchaseTransactionStateEnum.class);
+        this._dateAdapter = gson.getAdapter(OffsetDateTime.class);
+    }
+
+
+    /**
+     * Decodes a whole page of license purchase transactions.
+     *
+     * <p>
+     * License purchase transactions without a content element are ignored. Transactions that can not be synced are
+     * ignored, too, but they are taken into account for {@link SmintIoApiDataWithContinuationImpl#hasAssets()}.
+     * </p>
+     *
+     * @param reader the reader to read the JSON response body from.
+     * @return the decoded page with the assets in the same order as read from the stream.
+     * @throws IOException if reading from the stream fails or the JSON is malformed.
+     */
+    public SmintIoApiDataWithContinuationImpl<List<SmintIoAssetImpl>> decodePage(final JsonReader reader)
+        throws IOException {
+
+        final SmintIoApiDataWithContinuationImpl<List<SmintIoAssetImpl>> page =
+            new SmintIoApiDataWithContinuationImpl<>();
+        page.setResult(new ArrayList<>());
+
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return page;
+        }
+
+
+        boolean hasAnyAssets = false;
+        reader.beginObject();
+        while (reader.hasNext()) {
+
+            final String name = reader.nextName();
+            if ("continuation_uuid".equals(name)) {
+                page.setContinuationUuid(this.readString(reader));
+
+            } else if ("license_purchase_transactions".equals(name) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+
+                reader.beginArray();
+                while (reader.hasNext()) {
+
+                    final DecodedAsset decoded = this.decodeAsset(reader);
+                    if (decoded != null) {
+                        hasAnyAssets = true;
+                        if (decoded.canBeSynced) {
+                            page.getResult().add(decoded.asset);
+                        }
+                    }
+                }
+                reader.endArray();
+
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return page.setHasAssets(hasAnyAssets);
+    }
+
+
+    /**
+     * Decodes a single license purchase transaction.
+     *
+     * @param reader the reader, positioned at the start of the transaction object.
+     * @return the decoded asset or {@code null} if the transaction is {@code null} or has no content element.
+     * @throws IOException if reading from the stream fails or the JSON is malformed.
+     */
+    private DecodedAsset decodeAsset(final JsonReader reader) throws IOException {
+
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+
+
+        final DecodedAsset decoded = new DecodedAsset();
+        final SmintIoAssetImpl asset = decoded.asset;
+
+        boolean hasContentElement = false;
+        Boolean hasRestrictiveLicenseTerms = null;
+        OffsetDateTime createdAt = null;
+        OffsetDateTime lastUpdatedAt = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+
+            final String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+
+            switch (name) {
+                case "uuid":
+                    asset.setLicensePurchaseTransactionUuid(reader.nextString());
+                    break;
+                case "cart_purchase_transaction_uuid":
+                    asset.setCartPurchaseTransactionUuid(reader.nextString());
+                    break;
+                case "state":
+                    asset.setState(this._stateAdapter.read(reader));
+                    break;
+                case "project_uuid":
+                    asset.setProjectUuid(reader.nextString());
+                    break;
+                case "project_name":
+                    asset.setProjectName(this.readLocalizedStrings(reader));
+                    break;
+                case "collection_uuid":
+                    asset.setCollectionUuid(reader.nextString());
+                    break;
+                case "collection_name":
+                    asset.setCollectionName(this.readLocalizedStrings(reader));
+                    break;
+                case "licensee_uuid":
+                    asset.setLicenseeUuid(reader.nextString());
+                    break;
+                case "licensee_name":
+                    asset.setLicenseeName(reader.nextString());
+                    break;
+                case "offering":
+                    this.decodeOffering(reader, asset);
+                    break;
+                case "license_text":
+                    this.decodeLicenseText(reader, asset);
+                    break;
+                case "license_terms":
+                    final List<SyncLicenseTerm> licenseTerms = this._licenseTermsAdapter.read(reader);
+                    asset
+                        .setLicenseTerms(this._converter.getLicenseTerms(this._importLanguages, licenseTerms))
+                        .setIsEditorialUse(this._converter.getIsEditorialUse(licenseTerms));
+                    break;
+                case "license_download_constraints":
+                    asset.setDownloadConstraints(
+                        this._converter.getDownloadConstraints(this._downloadConstraintsAdapter.read(reader))
+                    );
+                    break;
+                case "has_potentially_restrictive_license_terms":
+                    hasRestrictiveLicenseTerms = reader.nextBoolean();
+                    break;
+                case "purchased_at":
+                    asset.setPurchasedAt(this._dateAdapter.read(reader));
+                    break;
+                case "created_at":
+                    createdAt = this._dateAdapter.read(reader);
+                    break;
+                case "last_updated_at":
+                    lastUpdatedAt = this._dateAdapter.read(reader);
+                    break;
+                case "can_be_synced":
+                    decoded.canBeSynced = reader.nextBoolean();
+                    break;
+                case "content_element":
+                    hasContentElement = true;
+                    this.decodeContentElement(reader, asset);
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+
+
+        if (!hasContentElement) {
+            return null;
+        }
+
+
+        asset
+            .setHasRestrictiveLicenseTerms(hasRestrictiveLicenseTerms != null ? hasRestrictiveLicenseTerms : false)
+            .setCreatedAt(createdAt)
+            .setLastUpdatedAt(
+                lastUpdatedAt != null ? lastUpdatedAt : createdAt != null ? createdAt : OffsetDateTime.now()
+            );
+
+        try {
+            asset.setSmintIoUrl(
+                new URL(
+                    MessageFormat.format(
+                        SmintIoApiClientImpl.SMINT_IO_CONTENT_ELEMENT_URL,
+                        this._tenantId,
+                        asset.getProjectUuid(),
+                        asset.getContentElementUuid()
+                    )
+                )
+            );
+        } catch (final MalformedURLException excp) {
+            LOG.log(Level.WARNING, "Invalid Smint.io asset URL!", excp);
+        }
+
+        return decoded;
+    }
+
+
+    private void decodeContentElement(final JsonReader reader, final SmintIoAssetImpl asset) throws IOException {
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+
+            final String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+
+            switch (name) {
+                case "uuid":
+                    asset.setContentElementUuid(reader.nextString());
+                    break;
+                case "provider":
+                    asset.setContentProvider(reader.nextString());
+                    break;
+                case "content_type":
+                    asset.setContentType(reader.nextString());
+                    break;
+                case "content_category":
+                    asset.setContentCategory(reader.nextString());
+                    break;
+                case "name":
+                    asset.setName(this.readLocalizedStrings(reader));
+                    break;
+                case "description":
+                    asset.setDescription(this.readLocalizedStrings(reader));
+                    break;
+                case "copyright_notices":
+                    asset.setCopyrightNotices(this.readLocalizedStrings(reader));
+                    break;
+                case "keywords":
+                    asset.setKeywords(
+                        this._converter.getGroupedValuesForImportLanguages(
+                            this._importLanguages, this._localizedMetadataElementsAdapter.read(reader)
+                        )
+                    );
+                    break;
+                case "release_details":
+                    final LocalizedReleaseDetails releaseDetails = this._releaseDetailsAdapter.read(reader);
+                    asset.setReleaseDetails(this._converter.getReleaseDetails(this._importLanguages, releaseDetails));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+    }
+
+
+    private void decodeOffering(final JsonReader reader, final SmintIoAssetImpl asset) throws IOException {
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+
+            final String name = reader.nextName();
+            if ("license_type".equals(name)) {
+                asset.setLicenseType(this.readString(reader));
+
+            } else if ("license_urls".equals(name)) {
+                asset.setLicenseUrls(
+                    this._converter.getGroupedUrlValuesForImportLanguages(
+                        this._importLanguages, this._localizedMetadataElementsAdapter.read(reader)
+                    )
+                );
+
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+
+    private void decodeLicenseText(final JsonReader reader, final SmintIoAssetImpl asset) throws IOException {
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+
+            if ("effective_text".equals(reader.nextName())) {
+                asset.setLicenseText(this.readLocalizedStrings(reader));
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+
+    private Map<Locale, String> readLocalizedStrings(final JsonReader reader) throws IOException {
+        return this._converter
+            .getValuesForImportLanguages(this._importLanguages, this._localizedStringsAdapter.read(reader));
+    }
+
+
+    private String readString(final JsonReader reader) throws IOException {
+
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+
+        return reader.nextString();
+    }
+
+
+    /**
+     * Holds a decoded asset along with transaction data, that is not part of the asset.
+     */
+    private static final class DecodedAsset {
+        private final SmintIoAssetImpl asset = new SmintIoAssetImpl();
+        private boolean canBeSynced = true;
+    }
+}
+
+// CHECKSTYLE ON: CyclomaticComplexity
+// CHECKSTYLE.ON: MultipleStringLiterals
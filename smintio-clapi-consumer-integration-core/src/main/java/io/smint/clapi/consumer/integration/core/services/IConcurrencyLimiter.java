@@ -0,0 +1,66 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.services;
+
+/**
+ * Limits the number of concurrent operations, like binary downloads.
+ *
+ * <p>
+ * Contrary to {@link IRateLimiter}, which limits the number of operations started per second, this limits the number of
+ * operations running at the same time. Every successful call to {@link #acquire()} must be followed by a call to
+ * {@link #release()} once the operation has finished.
+ * </p>
+ */
+public interface IConcurrencyLimiter {
+
+    /**
+     * Acquire a single permit, blocking until it is available.
+     *
+     * <p>
+     * In case the current thread is interrupted while waiting, the interrupt flag is restored and the method returns
+     * {@code false} immediately without acquiring a permit.
+     * </p>
+     *
+     * @return {@code true} if a permit has been acquired and must be released later on.
+     */
+    boolean acquire();
+
+
+    /**
+     * Release a permit that has been acquired before.
+     */
+    void release();
+
+
+    /**
+     * Provides the number of permits currently acquired.
+     *
+     * @return the number of running operations.
+     */
+    int getActivePermits();
+
+
+    /**
+     * Provides the maximum number of permits that can be acquired at the same time.
+     *
+     * @return the maximum number of permits or a value lower than {@code 1} if there is no limit.
+     */
+    int getMaxPermits();
+}
@@ -44,4 +44,19 @@ public interface IPushNotificationService {
      * @return {@code this} for Fluent Interface
      */
     IPushNotificationService stopNotificationService();
+
+
+    /**
+     * Checks whether notifications are currently received.
+     *
+     * <p>
+     * Scheduled synchronization runs are executed more often while notifications are not received. Implementations not
+     * able to tell are considered unhealthy, so no change is missed for long.
+     * </p>
+     *
+     * @return {@code true} if the service is connected and notifications are received.
+     */
+    default boolean isHealthy() {
+        return false;
+    }
 }
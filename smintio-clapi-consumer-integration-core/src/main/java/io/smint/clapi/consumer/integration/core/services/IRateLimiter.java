@@ -0,0 +1,97 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.services;
+
+/**
+ * Limits the rate of requests sent to the Smint.io platform.
+ *
+ * <p>
+ * All calls to the Smint.io RESTful API and all downloads of asset binaries share a single instance of a rate limiter
+ * for each tenant. Before a request is sent, a permit must be acquired with {@link #acquire()}. In case the allowed
+ * rate is exceeded, the calling thread is blocked until a permit becomes available. This avoids being throttled by the
+ * Smint.io platform with HTTP status {@code 429 - Too many requests}, which would cause cascading retries.
+ * </p>
+ *
+ * <p>
+ * Implementations must be thread safe. The time spent waiting for permits is recorded and exposed as metrics.
+ * </p>
+ */
+public interface IRateLimiter {
+
+    /**
+     * Acquire a single permit, blocking until it is available.
+     *
+     * <p>
+     * In case the current thread is interrupted while waiting, the interrupt flag is restored and the method returns
+     * immediately.
+     * </p>
+     *
+     * @return the time in milliseconds the caller has been blocked waiting for the permit.
+     */
+    long acquire();
+
+
+    /**
+     * Reserve a single permit without blocking and provide the time the caller needs to wait before using it.
+     *
+     * <p>
+     * This is used by asynchronous callers, that schedule their request on a timer instead of blocking a thread. The
+     * default implementation falls back to {@link #acquire()} and hence blocks until the permit is available.
+     * </p>
+     *
+     * @return the time in milliseconds to wait before the permit may be used, or {@code 0} to proceed immediately.
+     */
+    default long reserve() {
+        this.acquire();
+        return 0;
+    }
+
+
+    /**
+     * Provides the number of permits that have been acquired so far.
+     *
+     * @return the number of acquired permits.
+     */
+    long getAcquiredPermits();
+
+
+    /**
+     * Provides the number of permits that could not be served immediately and needed to wait.
+     *
+     * @return the number of throttled requests.
+     */
+    long getThrottledPermits();
+
+
+    /**
+     * Provides the total time all callers have been waiting for permits.
+     *
+     * @return the accumulated wait time in milliseconds.
+     */
+    long getTotalWaitTimeMillis();
+
+
+    /**
+     * Provides the longest time a single caller had to wait for a permit.
+     *
+     * @return the maximum wait time in milliseconds.
+     */
+    long getMaxWaitTimeMillis();
+}
@@ -0,0 +1,54 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.services;
+
+/**
+ * A job of a single Smint.io tenant, that provides information for fair-share scheduling among many tenants.
+ *
+ * <p>
+ * Executors running jobs of many tenants (see
+ * {@link io.smint.clapi.consumer.integration.core.services.impl.FairShareJobExecutor}) use this information to share
+ * their threads among the tenants and to prefer incremental synchronization jobs over long running bulk jobs. Jobs not
+ * implementing this interface are treated as bulk jobs of an unknown tenant.
+ * </p>
+ */
+public interface ITenantJob extends Runnable {
+
+    /**
+     * Provides the ID of the tenant this job is performed for.
+     *
+     * @return the tenant ID or {@code null} if unknown.
+     */
+    String getTenantId();
+
+
+    /**
+     * Tells whether this job performs a small incremental synchronization only.
+     *
+     * <p>
+     * Jobs triggered by push notifications do not synchronize meta data and only handle the few assets that have
+     * changed. Hence they are usually fast and are considered to be incremental. Scheduled jobs synchronize meta data,
+     * too, and may need to handle a large backlog of assets.
+     * </p>
+     *
+     * @return {@code true} if this is an incremental job.
+     */
+    boolean isIncremental();
+}
@@ -0,0 +1,211 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.services.impl;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+
+import javax.inject.Provider;
+
+import io.smint.clapi.consumer.integration.core.configuration.models.ISettingsModel;
+
+
+/**
+ * Decides when the next scheduled synchronization run is due, adapting the interval to push health and change rate.
+ *
+ * <p>
+ * The interval starts with the regular period while push notifications are received, and with
+ * {@link ISettingsModel#getMinPollIntervalSeconds()} while they are not. Every scheduled run, that does not find any
+ * changes, doubles the interval. While push notifications are received, it grows up to
+ * {@link ISettingsModel#getMaxPollIntervalSeconds()}. Otherwise it grows up to the regular period only, so polling is
+ * never less frequent than without push notifications. A run finding changes resets the interval.
+ * </p>
+ *
+ * <p>
+ * The schedule is checked by a timer ticking {@link #TICKS_PER_MIN_INTERVAL} times per minimum interval. Hence a change
+ * of push health is taken into account with the next tick, without re-scheduling the timer.
+ * </p>
+ */
+public class AdaptivePollingSchedule {
+
+    /**
+     * The number of timer ticks within the minimum interval, defining the accuracy of the schedule.
+     *
+     * <pre>
+     * {@code TICKS_PER_MIN_INTERVAL} = {@value #TICKS_PER_MIN_INTERVAL}
+     * </pre>
+     */
+    public static final int TICKS_PER_MIN_INTERVAL = 5;
+
+
+    private static final Logger LOG = Logger.getLogger(AdaptivePollingSchedule.class.getName());
+
+
+    private final Provider<ISettingsModel> _settings;
+    private final long _regularPeriodMillis;
+    private final LongSupplier _clock;
+
+    private long _lastPollMillis;
+    private int _unchangedPolls;
+    private boolean _isPolling;
+    private String _continuationUuidBeforePoll;
+
+
+    /**
+     * Create a new schedule, starting now.
+     *
+     * @param settings            the settings to read the bounds of the interval from.
+     * @param regularPeriodMillis the interval while push notifications are received, before backing off.
+     */
+    public AdaptivePollingSchedule(final Provider<ISettingsModel> settings, final long regularPeriodMillis) {
+        this(settings, regularPeriodMillis, System::currentTimeMillis);
+    }
+
+
+    /**
+     * Create a new schedule, starting now.
+     *
+     * @param settings            the settings to read the bounds of the interval from.
+     * @param regularPeriodMillis the interval while push notifications are received, before backing off.
+     * @param clock               provides the current time in milliseconds.
+     */
+    public AdaptivePollingSchedule(
+        final Provider<ISettingsModel> settings, final long regularPeriodMillis, final LongSupplier clock
+    ) {
+        this._settings = settings;
+        this._regularPeriodMillis = regularPeriodMillis;
+        this._clock = clock;
+
+        Objects.requireNonNull(this._settings, "Settings must not be null!");
+        Objects.requireNonNull(this._clock, "Clock must not be null!");
+
+        this._lastPollMillis = clock.getAsLong();
+    }
+
+
+    /**
+     * Provides the period of the timer to check the schedule with.
+     *
+     * @return the period in milliseconds - at least {@link AbstractScheduler#MINIMAL_PERIOD_MILLISECONDS}.
+     */
+    public long getTickMillis() {
+        return Math.max(
+            AbstractScheduler.MINIMAL_PERIOD_MILLISECONDS,
+            this.getMinIntervalMillis() / TICKS_PER_MIN_INTERVAL
+        );
+    }
+
+
+    /**
+     * Calculates the current interval between two scheduled runs.
+     *
+     * @param isPushHealthy whether push notifications are currently received.
+     * @return the interval in milliseconds, within the bounds defined by the settings.
+     */
+    public synchronized long getIntervalMillis(final boolean isPushHealthy) {
+        final long minInterval = this.getMinIntervalMillis();
+        final long maxInterval = Math.max(minInterval, this.getMaxIntervalMillis());
+        final long regularInterval = Math.min(Math.max(this._regularPeriodMillis, minInterval), maxInterval);
+
+        final long baseInterval = isPushHealthy ? regularInterval : minInterval;
+        final long backOffLimit = isPushHealthy ? maxInterval : regularInterval;
+
+        return Math.min(baseInterval << Math.min(this._unchangedPolls, Integer.SIZE), backOffLimit);
+    }
+
+
+    /**
+     * Checks whether the next scheduled run is due and marks it as started if so.
+     *
+     * @param isPushHealthy     whether push notifications are currently received.
+     * @param continuationUuid the continuation UUID stored before the run, to detect changes with.
+     * @return {@code true} if the run should be executed now, {@code false} if it is not due or still running.
+     */
+    public synchronized boolean startPollIfDue(final boolean isPushHealthy, final String continuationUuid) {
+        if (this._isPolling) {
+            return false;
+        }
+
+        final long now = this._clock.getAsLong();
+        final long interval = this.getIntervalMillis(isPushHealthy);
+        if (now - this._lastPollMillis < interval) {
+            return false;
+        }
+
+        LOG.fine(() -> "Scheduled synchronization is due after " + interval + " ms, push healthy: " + isPushHealthy);
+        this._lastPollMillis = now;
+        this._isPolling = true;
+        this._continuationUuidBeforePoll = continuationUuid;
+        return true;
+    }
+
+
+    /**
+     * Records the end of a scheduled run.
+     *
+     * <p>
+     * A run has found changes if it has stored a new continuation UUID, as it is stored only after assets have been
+     * synchronized.
+     * </p>
+     *
+     * @param continuationUuid the continuation UUID stored after the run.
+     */
+    public synchronized void finishPoll(final String continuationUuid) {
+        if (!this._isPolling) {
+            return;
+        }
+
+        this._isPolling = false;
+        if (Objects.equals(this._continuationUuidBeforePoll, continuationUuid)) {
+            this._unchangedPolls++;
+        } else {
+            this._unchangedPolls = 0;
+        }
+        this._continuationUuidBeforePoll = null;
+    }
+
+
+    /**
+     * Provides the number of consecutive scheduled runs, that did not find any changes.
+     *
+     * @return the number of runs.
+     */
+    public synchronized int getUnchangedPolls() {
+        return this._unchangedPolls;
+    }
+
+
+    private long getMinIntervalMillis() {
+        final ISettingsModel settings = this._settings.get();
+        final int minSeconds = settings != null ? settings.getMinPollIntervalSeconds()
+            : ISettingsModel.DEFAULT_MIN_POLL_INTERVAL_SECONDS;
+        return Math.max(AbstractScheduler.MINIMAL_PERIOD_MILLISECONDS, TimeUnit.SECONDS.toMillis(minSeconds));
+    }
+
+
+    private long getMaxIntervalMillis() {
+        final ISettingsModel settings = this._settings.get();
+        final int maxSeconds = settings != null ? settings.getMaxPollIntervalSeconds()
+            : ISettingsModel.DEFAULT_MAX_POLL_INTERVAL_SECONDS;
+        return TimeUnit.SECONDS.toMillis(maxSeconds);
+    }
+}
@@ -0,0 +1,121 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.services.impl;
+
+import io.smint.clapi.consumer.integration.core.services.IConcurrencyLimiter;
+
+
+/**
+ * Limits the number of concurrent operations, optionally nested into a limit shared with other limiters.
+ *
+ * <p>
+ * A permit is only granted if both this limiter and its parent limiter have a permit available. This way each tenant
+ * can be given its own slice of a limit shared by all tenants. The maximum number of permits can be changed at any time
+ * to re-balance the slices. Lowering the maximum does not revoke already acquired permits, but no new permits are
+ * granted until enough of them have been released.
+ * </p>
+ */
+public class ConcurrencyLimiter implements IConcurrencyLimiter {
+
+    private final IConcurrencyLimiter _parent;
+    private int _maxPermits;
+    private int _activePermits;
+
+
+    /**
+     * Create a new limiter.
+     *
+     * @param parent     the limiter shared with others or {@code null}.
+     * @param maxPermits the maximum number of concurrent operations or a value lower than {@code 1} to not limit
+     *                   them.
+     */
+    public ConcurrencyLimiter(final IConcurrencyLimiter parent, final int maxPermits) {
+        this._parent = parent;
+        this._maxPermits = maxPermits;
+    }
+
+
+    @Override
+    public boolean acquire() {
+
+        synchronized (this) {
+            while (this._maxPermits > 0 && this._activePermits >= this._maxPermits) {
+                try {
+                    this.wait();
+                } catch (final InterruptedException excp) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            this._activePermits++;
+        }
+
+
+        if (this._parent != null && !this._parent.acquire()) {
+            this.releaseOwnPermit();
+            return false;
+        }
+
+        return true;
+    }
+
+
+    @Override
+    public void release() {
+        if (this._parent != null) {
+            this._parent.release();
+        }
+        this.releaseOwnPermit();
+    }
+
+
+    @Override
+    public synchronized int getActivePermits() {
+        return this._activePermits;
+    }
+
+
+    @Override
+    public synchronized int getMaxPermits() {
+        return this._maxPermits;
+    }
+
+
+    /**
+     * Sets a new maximum number of concurrent operations and returns {@code this} for Fluent Interface.
+     *
+     * @param newMaxPermits the maximum number of concurrent operations or a value lower than {@code 1} to not limit
+     *                      them.
+     * @return {@code this}
+     */
+    public synchronized ConcurrencyLimiter setMaxPermits(final int newMaxPermits) {
+        this._maxPermits = newMaxPermits;
+        this.notifyAll();
+        return this;
+    }
+
+
+    private synchronized void releaseOwnPermit() {
+        if (this._activePermits > 0) {
+            this._activePermits--;
+            this.notifyAll();
+        }
+    }
+}
@@ -0,0 +1,351 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.services.impl;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import io.smint.clapi.consumer.integration.core.services.ITenantJob;
+
+
+/**
+ * Executes jobs of many tenants on a bounded number of threads, sharing the threads fairly among the tenants.
+ *
+ * <h2>Weighted fair share</h2>
+ * <p>
+ * Every tenant is assigned a weight (see {@link #setWeight(String, int)}). The time the tenant's jobs occupied a
+ * thread is accounted for the tenant, divided by its weight. Whenever a thread becomes available, the waiting job of
+ * the tenant with the lowest accounted time is executed next. Hence a tenant with weight {@code 2} receives twice the
+ * thread time of a tenant with weight {@code 1} in case both have jobs waiting. Tenants that have been idle do not
+ * accumulate credit, but start at the lowest accounted time of all tenants having jobs waiting or running, or at the
+ * accounted time of the most recently started job if there are none.
+ * </p>
+ *
+ * <h2>Incremental jobs first</h2>
+ * <p>
+ * Jobs implementing {@link ITenantJob} and reporting to be {@link ITenantJob#isIncremental() incremental} are always
+ * executed before any waiting bulk job. Additionally a number of threads can be reserved for incremental jobs, so a
+ * large number of long running bulk jobs, like the initial synchronization of tenants with many assets, never occupy
+ * all threads. This keeps the latency of handling push notifications predictable for all tenants.
+ * </p>
+ */
+public class FairShareJobExecutor implements Executor {
+
+    /**
+     * The weight of tenants, unless set otherwise.
+     *
+     * <pre>
+     * {@code DEFAULT_WEIGHT} = {@value #DEFAULT_WEIGHT}
+     * </pre>
+     */
+    public static final int DEFAULT_WEIGHT = 1;
+
+
+    private static final Logger LOG = Logger.getLogger(FairShareJobExecutor.class.getName());
+
+    private static final double NANOS_PER_MILLISECOND = TimeUnit.MILLISECONDS.toNanos(1);
+
+
+    private final ExecutorService _workers;
+    private final int _maxWorkers;
+    private final int _maxBulkWorkers;
+    private final Map<String, TenantShare> _tenants = new HashMap<>();
+    private int _runningJobs;
+    private int _runningBulkJobs;
+    private double _lastStartedVirtualTime;
+    private boolean _isShutdown;
+
+
+    /**
+     * Create a new executor.
+     *
+     * @param maxWorkers                 the maximum number of jobs executed in parallel. Values lower than {@code 1}
+     *                                   are treated as {@code 1}.
+     * @param reservedIncrementalWorkers the number of threads that only execute incremental jobs. At least one thread
+     *                                   is always available to bulk jobs.
+     */
+    public FairShareJobExecutor(final int maxWorkers, final int reservedIncrementalWorkers) {
+        this._maxWorkers = Math.max(1, maxWorkers);
+        this._maxBulkWorkers = Math.max(1, this._maxWorkers - Math.max(0, reservedIncrementalWorkers));
+
+        final AtomicInteger threadCounter = new AtomicInteger(0);
+        this._workers = Executors.newFixedThreadPool(
+            this._maxWorkers,
+            (job) -> new Thread(job, "smint.io-sync-job-" + threadCounter.getAndIncrement())
+        );
+    }
+
+
+    /**
+     * Sets the weight of a tenant and returns {@code this} for Fluent Interface.
+     *
+     * @param tenantId the ID of the tenant.
+     * @param weight   the weight of the tenant. Values lower than {@code 1} are treated as {@code 1}.
+     * @return {@code this}
+     */
+    public synchronized FairShareJobExecutor setWeight(final String tenantId, final int weight) {
+        this.getShare(tenantId)._weight = Math.max(1, weight);
+        return this;
+    }
+
+
+    /**
+     * Provides the weight of a tenant.
+     *
+     * @param tenantId the ID of the tenant.
+     * @return the weight of the tenant or {@link #DEFAULT_WEIGHT} if no weight has been set.
+     */
+    public synchronized int getWeight(final String tenantId) {
+        final TenantShare share = this._tenants.get(tenantId);
+        return share != null ? share._weight : DEFAULT_WEIGHT;
+    }
+
+
+    /**
+     * Removes a tenant and discards all its waiting jobs. Running jobs are not affected.
+     *
+     * @param tenantId the ID of the tenant to remove.
+     * @return {@code this}
+     */
+    public synchronized FairShareJobExecutor removeTenant(final String tenantId) {
+        final TenantShare share = this._tenants.remove(tenantId);
+        if (share != null) {
+            share._incrementalJobs.clear();
+            share._bulkJobs.clear();
+        }
+        return this;
+    }
+
+
+    @Override
+    public synchronized void execute(final Runnable job) {
+
+        if (job == null) {
+            return;
+        }
+
+        if (this._isShutdown) {
+            throw new RejectedExecutionException("The executor has already been shut down!");
+        }
+
+
+        final ITenantJob tenantJob = job instanceof ITenantJob ? (ITenantJob) job : null;
+        final boolean isIncremental = tenantJob != null && tenantJob.isIncremental();
+        final TenantShare share = this.getShare(tenantJob != null ? tenantJob.getTenantId() : null);
+
+        if (!share.isActive()) {
+            // idle tenants do not save up thread time
+            share._virtualTime = Math.max(share._virtualTime, this.getMinActiveVirtualTime(System.nanoTime()));
+        }
+
+        (isIncremental ? share._incrementalJobs : share._bulkJobs).add(job);
+        LOG.finer(() -> "Queued " + (isIncremental ? "incremental" : "bulk") + " job of tenant " + share._tenantId);
+
+        this.dispatch();
+    }
+
+
+    /**
+     * Provides the number of jobs waiting for a thread.
+     *
+     * @return the number of waiting jobs.
+     */
+    public synchronized int getWaitingJobs() {
+        int count = 0;
+        for (final TenantShare share : this._tenants.values()) {
+            count += share._incrementalJobs.size() + share._bulkJobs.size();
+        }
+        return count;
+    }
+
+
+    /**
+     * Provides the number of jobs currently executed.
+     *
+     * @return the number of running jobs.
+     */
+    public synchronized int getRunningJobs() {
+        return this._runningJobs;
+    }
+
+
+    /**
+     * Discards all waiting jobs and stops all threads once the running jobs have finished.
+     */
+    public synchronized void shutdown() {
+        this._isShutdown = true;
+        for (final TenantShare share : this._tenants.values()) {
+            share._incrementalJobs.clear();
+            share._bulkJobs.clear();
+        }
+        this._workers.shutdown();
+    }
+
+
+    private TenantShare getShare(final String tenantId) {
+        final String key = tenantId != null ? tenantId : "";
+        TenantShare share = this._tenants.get(key);
+        if (share == null) {
+            share = new TenantShare(key);
+            this._tenants.put(key, share);
+        }
+        return share;
+    }
+
+
+    private double getMinActiveVirtualTime(final long now) {
+
+        double minVirtualTime = this._lastStartedVirtualTime;
+        boolean hasActive = false;
+        for (final TenantShare share : this._tenants.values()) {
+            if (share.isActive()) {
+                final double virtualTime = share.getVirtualTime(now);
+                minVirtualTime = hasActive ? Math.min(minVirtualTime, virtualTime) : virtualTime;
+                hasActive = true;
+            }
+        }
+        return minVirtualTime;
+    }
+
+
+    private void dispatch() {
+
+        final long now = System.nanoTime();
+        while (this._runningJobs < this._maxWorkers) {
+
+            boolean isIncremental = true;
+            TenantShare next = this.findNextShare(true, now);
+            if (next == null && this._runningBulkJobs < this._maxBulkWorkers) {
+                isIncremental = false;
+                next = this.findNextShare(false, now);
+            }
+
+            if (next == null) {
+                return;
+            }
+
+            final Runnable job = isIncremental ? next._incrementalJobs.poll() : next._bulkJobs.poll();
+            this.start(next, job, isIncremental);
+        }
+    }
+
+
+    private TenantShare findNextShare(final boolean isIncremental, final long now) {
+
+        TenantShare next = null;
+        double nextVirtualTime = 0;
+        for (final TenantShare share : this._tenants.values()) {
+
+            final Queue<Runnable> jobs = isIncremental ? share._incrementalJobs : share._bulkJobs;
+            if (jobs.isEmpty()) {
+                continue;
+            }
+
+            final double virtualTime = share.getVirtualTime(now);
+            if (next == null || virtualTime < nextVirtualTime) {
+                next = share;
+                nextVirtualTime = virtualTime;
+            }
+        }
+        return next;
+    }
+
+
+    private void start(final TenantShare share, final Runnable job, final boolean isIncremental) {
+
+        final long startTime = System.nanoTime();
+        this._lastStartedVirtualTime = share.getVirtualTime(startTime);
+        this._runningJobs++;
+        if (!isIncremental) {
+            this._runningBulkJobs++;
+        }
+        share._runningJobs++;
+        share._runningSinceSum += startTime;
+
+        this._workers.execute(() -> {
+            try {
+                job.run();
+            } finally {
+                this.finished(share, isIncremental, startTime);
+            }
+        });
+    }
+
+
+    private synchronized void finished(final TenantShare share, final boolean isIncremental, final long startTime) {
+
+        final long now = System.nanoTime();
+        share._runningJobs--;
+        share._runningSinceSum -= startTime;
+        share._virtualTime += (now - startTime) / NANOS_PER_MILLISECOND / share._weight;
+
+        this._runningJobs--;
+        if (!isIncremental) {
+            this._runningBulkJobs--;
+        }
+
+        if (!this._isShutdown) {
+            this.dispatch();
+        }
+    }
+
+
+    /**
+     * Holds the waiting jobs and the accounted thread time of a single tenant.
+     */
+    private static class TenantShare {
+
+        private final String _tenantId;
+        private final Queue<Runnable> _incrementalJobs = new ArrayDeque<>();
+        private final Queue<Runnable> _bulkJobs = new ArrayDeque<>();
+        private int _weight = DEFAULT_WEIGHT;
+        private double _virtualTime;
+        private int _runningJobs;
+        private long _runningSinceSum;
+
+
+        TenantShare(final String tenantId) {
+            this._tenantId = tenantId;
+        }
+
+
+        boolean isActive() {
+            return this._runningJobs > 0 || !this._incrementalJobs.isEmpty() || !this._bulkJobs.isEmpty();
+        }
+
+
+        /**
+         * Provides the accounted thread time including the time of the currently running jobs.
+         */
+        double getVirtualTime(final long now) {
+            final long runningTime = this._runningJobs * now - this._runningSinceSum;
+            return this._virtualTime + runningTime / NANOS_PER_MILLISECOND / this._weight;
+        }
+    }
+}
@@ -20,6 +20,7 @@
 package io.smint.clapi.consumer.integration.core.services.impl;
 
 import java.util.Objects;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -42,16 +43,60 @@ import io.smint.clapi.consumer.integration.core.services.IPlatformScheduler;
  * thread is created. This helps to avoid blocking the timer queue by long running threads. A crashing thread will not
  * affect the timer, too.
  * </p>
+ *
+ * <p>
+ * In case many synchronization processes share a single scheduler (see
+ * {@link io.smint.clapi.consumer.integration.core.SmintIoSynchronizationHost}), creating a new thread for every job
+ * execution will make the number of threads grow with the number of tenants. Therefore an {@link Executor} can be
+ * passed to the constructor, which is used to execute all jobs instead. Using a bounded thread pool as executor limits
+ * the number of jobs running in parallel.
+ * </p>
  */
 @Singleton
 public class NativeThreadPoolScheduler extends AbstractScheduler<ScheduledFuture<?>> implements IPlatformScheduler {
 
     private static final Logger LOG = Logger.getLogger(NativeThreadPoolScheduler.class.getName());
 
+    /**
+     * The default number of timer threads.
+     *
+     * <pre>
+     * {@code DEFAULT_TIMER_THREADS} = {@value #DEFAULT_TIMER_THREADS}
+     * </pre>
+     */
+    public static final int DEFAULT_TIMER_THREADS = 3;
+
+
+    private final int _timerThreads;
+    private final Executor _jobExecutor;
     private ScheduledExecutorService _executor;
 
+
+    /**
+     * Create a new scheduler executing every job in a new thread.
+     */
+    public NativeThreadPoolScheduler() {
+        this(DEFAULT_TIMER_THREADS, null);
+    }
+
+
+    /**
+     * Create a new scheduler executing all jobs with the provided executor.
+     *
+     * @param timerThreads the number of threads used to trigger scheduled jobs. They do not execute the jobs
+     *                     themselves, so a low number is sufficient. Values lower than {@code 1} are treated as
+     *                     {@code 1}.
+     * @param jobExecutor  the executor to run the jobs with or {@code null} to create a new thread for every job
+     *                     execution.
+     */
+    public NativeThreadPoolScheduler(final int timerThreads, final Executor jobExecutor) {
+        this._timerThreads = Math.max(1, timerThreads);
+        this._jobExecutor = jobExecutor;
+    }
+
+
     @Override
-    public String scheduleAtFixedRate(final Runnable job, final long period) {
+    public synchronized String scheduleAtFixedRate(final Runnable job, final long period) {
         LOG.entering(this.getClass().getName(), "scheduleAtFixedRate ", new Object[] { job, new Long(period) });
 
         if (job == null || period < MINIMAL_PERIOD_MILLISECONDS) {
@@ -80,7 +125,7 @@ public class NativeThreadPoolScheduler extends AbstractScheduler<ScheduledFuture
 
 
     @Override
-    public IPlatformScheduler stopSchedule(final String jobKey) {
+    public synchronized IPlatformScheduler stopSchedule(final String jobKey) {
         LOG.entering(this.getClass().getName(), "stopSchedule ", new Object[] { jobKey });
 
         if (this._executor != null && jobKey != null && !jobKey.isEmpty()) {
@@ -114,7 +159,7 @@ public class NativeThreadPoolScheduler extends AbstractScheduler<ScheduledFuture
 
 
     @Override
-    public IPlatformScheduler cancel() {
+    public synchronized IPlatformScheduler cancel() {
         LOG.entering(this.getClass().getName(), "cancel ");
 
         // cancel all schedules
@@ -137,7 +182,7 @@ public class NativeThreadPoolScheduler extends AbstractScheduler<ScheduledFuture
 
 
     @Override
-    public IPlatformScheduler scheduleForImmediateExecution(final Runnable job) {
+    public synchronized IPlatformScheduler scheduleForImmediateExecution(final Runnable job) {
 
         LOG.entering(
             this.getClass().getName(), "scheduleForImmediateExecution ", new Object[] { job }
@@ -163,7 +208,7 @@ public class NativeThreadPoolScheduler extends AbstractScheduler<ScheduledFuture
 
     private void initScheduler() {
         if (this._executor == null) {
-            this._executor = Executors.newScheduledThreadPool(3);
+            this._executor = Executors.newScheduledThreadPool(this._timerThreads);
         }
 
         Objects.requireNonNull(this._executor, "Failed to create a scheduled executor pool!");
@@ -176,8 +221,14 @@ public class NativeThreadPoolScheduler extends AbstractScheduler<ScheduledFuture
         return () -> {
             // CHECKSTYLE.OFF: IllegalCatch
             try {
-                LOG.finer(() -> "Executing a timed job with key in new thread.");
-                new Thread(job).start();
+                if (this._jobExecutor != null) {
+                    LOG.finer(() -> "Executing a timed job with the job executor.");
+                    this._jobExecutor.execute(job);
+
+                } else {
+                    LOG.finer(() -> "Executing a timed job with key in new thread.");
+                    new Thread(job).start();
+                }
             } catch (final Exception ignore) {
                 LOG.log(Level.SEVERE, "Executing a timed job has failed!", ignore);
             }
@@ -24,15 +24,24 @@ import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
 import java.util.Vector;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import com.pusher.client.AuthorizationFailureException;
 import com.pusher.client.Authorizer;
 import com.pusher.client.Pusher;
 import com.pusher.client.PusherOptions;
@@ -59,6 +68,27 @@ import io.smint.clapi.consumer.integration.core.services.IPushNotificationServic
  * The pusher service instance maintains a connection to the channel for the synchronization tenant and executes the
  * provided job on every received notification.
  * </p>
+ *
+ * <p>
+ * If the connection is lost, re-connecting is scheduled on a timer shared by all instances, waiting
+ * {@link #PUSHER__RECONNECT_INITIAL_WAIT_MILLISEC} milliseconds at first and doubling the wait time with every failed
+ * attempt up to {@link #PUSHER__RECONNECT_WAIT_TIME} seconds. Notifications sent while disconnected are lost. Hence
+ * the jobs are executed once after the connection has been re-established, to catch up with all missed purchases.
+ * </p>
+ *
+ * <p>
+ * Jobs are never executed on the callback thread of Pusher, as a long running synchronization would stall heartbeats
+ * and re-connects. Notifications are handed over to a dispatcher thread and the callback returns immediately. As every
+ * notification triggers the same jobs, at most {@link #PUSHER__MAX_PENDING_NOTIFICATIONS} notifications are waiting
+ * for the dispatcher. Any further notification is merged with a waiting one, since the jobs triggered by the waiting
+ * notification will synchronize all purchases anyway.
+ * </p>
+ *
+ * <p>
+ * If a {@link SharedPusherConnection} is provided, no connection of its own is opened. The channel of the tenant is
+ * subscribed to the shared connection instead, authorized with the access token of the tenant. The shared connection
+ * takes care of re-connecting and tells this service to catch up afterwards.
+ * </p>
  */
 @Singleton
 public class PusherService implements IPushNotificationService, ConnectionEventListener {
@@ -114,33 +144,89 @@ public class PusherService implements IPushNotificationService, ConnectionEventL
 
 
     /**
-     * The time to wait for next reconnection attempt after network errors.
+     * The maximum time in seconds to wait for next reconnection attempt after network errors.
      */
     public static final int PUSHER__RECONNECT_WAIT_TIME = 30;
 
 
+    /**
+     * The time in milliseconds to wait for the first reconnection attempt after network errors.
+     *
+     * <p>
+     * The time is doubled with every failed attempt, up to {@link #PUSHER__RECONNECT_WAIT_TIME} seconds.
+     * </p>
+     *
+     * <pre>
+     *    {@code PUSHER__RECONNECT_INITIAL_WAIT_MILLISEC} = {@value #PUSHER__RECONNECT_INITIAL_WAIT_MILLISEC}
+     * </pre>
+     */
+    public static final long PUSHER__RECONNECT_INITIAL_WAIT_MILLISEC = 1000;
+
+
+    /**
+     * The maximum number of notifications waiting for the dispatcher, while the jobs are being executed.
+     *
+     * <pre>
+     *    {@code PUSHER__MAX_PENDING_NOTIFICATIONS} = {@value #PUSHER__MAX_PENDING_NOTIFICATIONS}
+     * </pre>
+     */
+    public static final int PUSHER__MAX_PENDING_NOTIFICATIONS = 1;
+
+
+    /**
+     * The time in seconds an idle dispatcher thread is kept alive.
+     */
+    private static final long PUSHER__DISPATCHER_KEEP_ALIVE_SECONDS = 60;
+
+
     /**
      * The application key used with authorizing Pusher.com service.
      */
-    private static final String PUSHER__APPLICATION_KEY = "32f31c26a83e09dc401b";
+    static final String PUSHER__APPLICATION_KEY = "32f31c26a83e09dc401b";
 
 
     private static final Logger LOG = Logger.getLogger(PusherService.class.getName());
 
+    private static ScheduledExecutorService reconnectTimer;
+
 
     private final ISettingsModel _settings;
     private final IAuthTokenStorage _tokenStorage;
+    private final SharedPusherConnection _sharedConnection;
     private Pusher _pusher;
     private final List<Runnable> _jobsToNotify = new Vector<>();
     private String _customApplicationKey;
     private Authorizer _customAuthorizer;
-    private boolean _isStarted = false;
+    private PusherOptions _customOptions;
+    private volatile boolean _isStarted = false;
+    private final AtomicBoolean _isCatchUpPending = new AtomicBoolean();
+    private ScheduledFuture<?> _scheduledReconnect;
+    private int _reconnectAttempts;
+    private ThreadPoolExecutor _dispatcher;
+    private volatile String _sharedChannelName;
 
 
-    @Inject
     public PusherService(final ISettingsModel settings, final IAuthTokenStorage authTokenStorage) {
+        this(settings, authTokenStorage, null);
+    }
+
+
+    /**
+     * Create a new service, that optionally subscribes to a connection shared with other tenants.
+     *
+     * @param settings         the settings to read tenant ID and channel ID from.
+     * @param authTokenStorage the storage of the OAuth access token to authorize with Smint.io.
+     * @param sharedConnection the connection shared by many tenants or {@code null} to open a connection of its own.
+     */
+    @Inject
+    public PusherService(
+        final ISettingsModel settings,
+        final IAuthTokenStorage authTokenStorage,
+        @Nullable final SharedPusherConnection sharedConnection
+    ) {
         this._settings = settings;
         this._tokenStorage = authTokenStorage;
+        this._sharedConnection = sharedConnection;
     }
 
 
@@ -156,6 +242,48 @@ public class PusherService implements IPushNotificationService, ConnectionEventL
     }
 
 
+    /**
+     * Create a new service connecting to a custom Pusher compatible server, eg: a local server for testing.
+     *
+     * @param customPusherAuthorizer the authorizer for private channels or {@code null} to use Smint.io.
+     * @param customApplicationKey   the application key or {@code null} to use the key of Smint.io.
+     * @param customOptions          the options defining the host and port of the server. Authorizer and re-connect
+     *                               settings are overwritten. If {@code null}, the Pusher.com cluster of Smint.io is
+     *                               used.
+     * @param settings               the settings to read tenant ID and channel ID from.
+     * @param authTokenStorage       the storage of the OAuth access token to authorize with Smint.io.
+     */
+    public PusherService(
+        final Authorizer customPusherAuthorizer,
+        final String customApplicationKey,
+        final PusherOptions customOptions,
+        final ISettingsModel settings,
+        final IAuthTokenStorage authTokenStorage
+    ) {
+        this(customPusherAuthorizer, customApplicationKey, settings, authTokenStorage);
+        this._customOptions = customOptions;
+    }
+
+
+    /**
+     * Create a new service subscribing to a shared connection with a custom authorizer, eg: for testing.
+     *
+     * @param sharedConnection       the connection shared by many tenants. Must not be {@code null}.
+     * @param customPusherAuthorizer the authorizer for the private channel or {@code null} to use Smint.io.
+     * @param settings               the settings to read tenant ID and channel ID from.
+     * @param authTokenStorage       the storage of the OAuth access token to authorize with Smint.io.
+     */
+    public PusherService(
+        final SharedPusherConnection sharedConnection,
+        final Authorizer customPusherAuthorizer,
+        final ISettingsModel settings,
+        final IAuthTokenStorage authTokenStorage
+    ) {
+        this(settings, authTokenStorage, sharedConnection);
+        this._customAuthorizer = customPusherAuthorizer;
+    }
+
+
     @Override
     public Future<IPushNotificationService> startNotificationService(final Runnable job) {
 
@@ -175,6 +303,11 @@ public class PusherService implements IPushNotificationService, ConnectionEventL
         }
 
 
+        if (this._sharedConnection != null) {
+            return this.subscribeToSharedConnection(channelID);
+        }
+
+
         if (this._pusher == null) {
             this._pusher = this.createPusherService(
                 this._settings,
@@ -216,6 +349,16 @@ public class PusherService implements IPushNotificationService, ConnectionEventL
 
         LOG.log(Level.FINE, "Shutting down Pusher notification service");
         this._isStarted = false;
+        this._isCatchUpPending.set(false);
+        this.cancelReconnect();
+        this.shutdownDispatcher();
+
+        synchronized (this) {
+            if (this._sharedChannelName != null) {
+                this._sharedConnection.unsubscribe(this._sharedChannelName);
+                this._sharedChannelName = null;
+            }
+        }
 
         if (this._pusher != null) {
 
@@ -235,9 +378,43 @@ public class PusherService implements IPushNotificationService, ConnectionEventL
     }
 
 
+    @Override
+    public boolean isHealthy() {
+        final String sharedChannelName = this._sharedChannelName;
+        if (sharedChannelName != null) {
+            return this._isStarted && this._sharedConnection.isSubscribed(sharedChannelName);
+        }
+
+        final Pusher pusher = this._pusher;
+        return this._isStarted && pusher != null && this._settings.getChannelId() > 0
+            && pusher.getConnection().getState() == ConnectionState.CONNECTED;
+    }
+
+
     @Override
     public void onConnectionStateChange(final ConnectionStateChange change) {
         LOG.info(() -> "Pusher connection state changed to " + change.getCurrentState());
+
+        final ConnectionState currentState = change.getCurrentState();
+        if (currentState == ConnectionState.CONNECTED) {
+
+            synchronized (this) {
+                this._reconnectAttempts = 0;
+            }
+
+            // notifications might have been missed while disconnected
+            if (this._isStarted && this._isCatchUpPending.getAndSet(false)) {
+                this.triggerCatchUpSync();
+            }
+
+        } else if (this._isStarted && change.getPreviousState() == ConnectionState.CONNECTED) {
+            this._isCatchUpPending.set(true);
+        }
+
+
+        if (currentState == ConnectionState.DISCONNECTED && this._isStarted) {
+            this.scheduleReconnect();
+        }
     }
 
 
@@ -261,46 +438,205 @@ public class PusherService implements IPushNotificationService, ConnectionEventL
                 || excp instanceof org.java_websocket.exceptions.InvalidDataException
 
             )) {
-            new Thread(() -> {
-                try {
-                    TimeUnit.SECONDS.sleep(PUSHER__RECONNECT_WAIT_TIME);
-                } catch (final InterruptedException ignore) {
-                    // ignore
-                }
+            this.scheduleReconnect();
+        }
+    }
 
-                if (this._pusher.getConnection().getState() == ConnectionState.DISCONNECTED
-                    || this._pusher.getConnection().getState() == ConnectionState.DISCONNECTING) {
 
-                    LOG.log(Level.FINE, "Initiating a re-connect to Pusher notification service");
-                    this._pusher.connect();
-                }
-            }).run();
+    /**
+     * Schedules a re-connect to Pusher, unless one is already scheduled.
+     *
+     * <p>
+     * The callback thread of Pusher must never be blocked. Hence waiting is done by the shared reconnect timer.
+     * </p>
+     */
+    private synchronized void scheduleReconnect() {
+        if (!this._isStarted || this._scheduledReconnect != null) {
+            return;
         }
+
+        final long delay = getReconnectDelay(this._reconnectAttempts++);
+        LOG.info(() -> "Re-connecting to Pusher notification service in " + delay + " ms.");
+
+        this._scheduledReconnect = getReconnectTimer().schedule(this::reconnect, delay, TimeUnit.MILLISECONDS);
     }
 
 
-    private PusherService subscribeToPusherChannel(final int channelId) {
+    private synchronized void cancelReconnect() {
+        if (this._scheduledReconnect != null) {
+            this._scheduledReconnect.cancel(false);
+            this._scheduledReconnect = null;
+        }
+        this._reconnectAttempts = 0;
+    }
 
-        final String channelName = MessageFormat.format(PUSHER__CHANNEL, channelId);
-        LOG.info(() -> "Pusher: subscribing to channel '" + channelName + "'");
 
+    private void reconnect() {
+        synchronized (this) {
+            this._scheduledReconnect = null;
+        }
+
+        final Pusher pusher = this._pusher;
+        if (!this._isStarted || pusher == null) {
+            return;
+        }
 
-        final List<Runnable> jobs = this._jobsToNotify;
-        final Runnable notifyAllJobs = () -> {
+        final ConnectionState state = pusher.getConnection().getState();
+        if (state == ConnectionState.DISCONNECTED) {
 
-            LOG.info(() -> "Pusher['" + channelName + "'] notifying all jobs: " + jobs.size());
+            LOG.log(Level.FINE, "Initiating a re-connect to Pusher notification service");
+            pusher.connect();
 
-            final Runnable[] allJobs = jobs.toArray(new Runnable[jobs.size()]);
-            for (int i = 0; i < allJobs.length; i++) {
-                final Runnable job = allJobs[i];
-                try {
-                    LOG.info("Pusher['" + channelName + "'] executing job " + i);
-                    job.run();
-                } catch (final RuntimeException ignore) {
-                    // ignore
+        } else if (state == ConnectionState.DISCONNECTING) {
+
+            // wait for the connection to be closed completely
+            this.scheduleReconnect();
+        }
+    }
+
+
+    /**
+     * Executes all jobs once to synchronize all purchases, whose notifications have been missed while disconnected.
+     *
+     * <p>
+     * The catch-up is dispatched like any other notification, so it is merged with notifications already waiting.
+     * </p>
+     */
+    private void triggerCatchUpSync() {
+        LOG.info("Re-connected to Pusher notification service. Synchronizing missed notifications.");
+
+        this.dispatchNotification(MessageFormat.format(PUSHER__CHANNEL, this._settings.getChannelId()));
+    }
+
+
+    /**
+     * Hands over a notification to the dispatcher thread, which executes all jobs.
+     *
+     * <p>
+     * This returns immediately. If the maximum number of notifications is already waiting, the notification is merged
+     * with them.
+     * </p>
+     *
+     * @param channelName the channel the notification has been received on.
+     */
+    private void dispatchNotification(final String channelName) {
+        this.getDispatcher().execute(() -> this.notifyAllJobs(channelName));
+    }
+
+
+    private synchronized ThreadPoolExecutor getDispatcher() {
+        if (this._dispatcher == null) {
+            this._dispatcher = createDispatcher();
+        }
+        return this._dispatcher;
+    }
+
+
+    /**
+     * Creates the dispatcher to execute the jobs on notifications with.
+     *
+     * <p>
+     * A single thread executes the jobs, while at most {@link #PUSHER__MAX_PENDING_NOTIFICATIONS} notifications are
+     * waiting. Any further notification is dropped, as it is merged with the waiting ones. The thread is only kept
+     * alive for a while after the last notification.
+     * </p>
+     *
+     * @return a new dispatcher - never {@code null}.
+     */
+    static ThreadPoolExecutor createDispatcher() {
+        final ThreadPoolExecutor dispatcher = new ThreadPoolExecutor(
+            1,
+            1,
+            PUSHER__DISPATCHER_KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(PUSHER__MAX_PENDING_NOTIFICATIONS),
+            (job) -> {
+                final Thread thread = new Thread(job, "smint.io-pusher-dispatch");
+                thread.setDaemon(true);
+                return thread;
+            },
+            (job, executor) -> {
+                if (!executor.isShutdown()) {
+                    LOG.fine("Pusher notification has been merged with a waiting notification.");
                 }
             }
-        };
+        );
+        dispatcher.allowCoreThreadTimeOut(true);
+        return dispatcher;
+    }
+
+
+    private synchronized void shutdownDispatcher() {
+        if (this._dispatcher != null) {
+            // running jobs are finished, but no new notification is accepted anymore
+            this._dispatcher.shutdown();
+            this._dispatcher = null;
+        }
+    }
+
+
+    /**
+     * Calculates the time to wait for the next re-connect attempt with exponential backoff.
+     *
+     * <p>
+     * A random jitter of up to a quarter of the wait time is added, so many tenants losing their connection at the
+     * same time do not re-connect at the very same time.
+     * </p>
+     *
+     * @param attempt the number of previously failed attempts, starting with {@code 0}.
+     * @return the time to wait in milliseconds.
+     */
+    static long getReconnectDelay(final int attempt) {
+        final long maxDelay = TimeUnit.SECONDS.toMillis(PUSHER__RECONNECT_WAIT_TIME);
+        final long delay = Math.min(
+            PUSHER__RECONNECT_INITIAL_WAIT_MILLISEC << Math.min(attempt, Integer.SIZE),
+            maxDelay
+        );
+        return delay + ThreadLocalRandom.current().nextLong((delay >> 2) + 1);
+    }
+
+
+    /**
+     * Provides the timer shared by all instances to schedule re-connects with.
+     *
+     * @return the timer - never {@code null}.
+     */
+    static synchronized ScheduledExecutorService getReconnectTimer() {
+        if (reconnectTimer == null) {
+            final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, (job) -> {
+                final Thread thread = new Thread(job, "smint.io-pusher-reconnect");
+                thread.setDaemon(true);
+                return thread;
+            });
+            timer.setRemoveOnCancelPolicy(true);
+            reconnectTimer = timer;
+        }
+        return reconnectTimer;
+    }
+
+
+    private void notifyAllJobs(final String channelName) {
+
+        LOG.info(() -> "Pusher['" + channelName + "'] notifying all jobs: " + this._jobsToNotify.size());
+
+        final Runnable[] allJobs = this._jobsToNotify.toArray(new Runnable[0]);
+        for (int i = 0; i < allJobs.length; i++) {
+            final Runnable job = allJobs[i];
+            try {
+                LOG.info("Pusher['" + channelName + "'] executing job " + i);
+                job.run();
+            } catch (final RuntimeException ignore) {
+                // ignore
+            }
+        }
+    }
+
+
+    private PusherService subscribeToPusherChannel(final int channelId) {
+
+        final String channelName = MessageFormat.format(PUSHER__CHANNEL, channelId);
+        LOG.info(() -> "Pusher: subscribing to channel '" + channelName + "'");
+
 
 
         final Channel channel = this._pusher.subscribePrivate(channelName);
@@ -313,8 +649,8 @@ public class PusherService implements IPushNotificationService, ConnectionEventL
 
             @Override
             public void onEvent(final PusherEvent arg0) {
-                // call all jobs
-                notifyAllJobs.run();
+                // never execute the jobs on the callback thread of Pusher
+                PusherService.this.dispatchNotification(channelName);
             }
 
             @Override
@@ -332,41 +668,104 @@ public class PusherService implements IPushNotificationService, ConnectionEventL
     }
 
 
-    private Pusher createPusherService(final ISettingsModel settings, final IAuthTokenModel authToken) {
+    private synchronized Future<IPushNotificationService> subscribeToSharedConnection(final int channelId) {
 
-        this.validateSettings(settings);
-        this.validateAuthToken(authToken);
+        if (this._sharedChannelName != null) {
+            return CompletableFuture.completedFuture(this);
+        }
 
-        final String pusherAuthEndpoint = MessageFormat.format(
-            PUSHER__OAUTH_SMINTIO_ENDPOINT, settings.getTenantId()
-        );
+        this.validateSettings(this._settings);
+        this.validateAuthToken(this._tokenStorage != null ? this._tokenStorage.get() : null);
 
-        Authorizer authorizer = this._customAuthorizer;
-        if (authorizer == null) {
-            authorizer = new HttpAuthorizer(pusherAuthEndpoint);
+        final String channelName = MessageFormat.format(PUSHER__CHANNEL, channelId);
+        final CompletableFuture<SharedPusherConnection> connected = this._sharedConnection.subscribe(
+            channelName,
+            this::authorizeSharedChannel,
+            new SharedPusherConnection.Subscriber() {
 
-            final String accessToken = authToken.getAccessToken();
-            if (accessToken != null && !accessToken.isEmpty()) {
+                @Override
+                public void onNotification(final String channel) {
+                    // never execute the jobs on the callback thread of Pusher
+                    PusherService.this.dispatchNotification(channel);
+                }
 
-                final Map<String, String> authorizationHeaders = new Hashtable<>();
-                authorizationHeaders.put("Authorization", "Bearer " + accessToken);
-                ((HttpAuthorizer) authorizer).setHeaders(authorizationHeaders);
+                @Override
+                public void onCatchUp(final String channel) {
+                    if (PusherService.this._isStarted) {
+                        PusherService.this.triggerCatchUpSync();
+                    }
+                }
             }
+        );
+        this._sharedChannelName = channelName;
+
+        return connected.thenApply((connection) -> this);
+    }
+
+
+    /**
+     * Authorizes the subscription to the channel on the shared connection with the current access token.
+     *
+     * <p>
+     * The access token is read on every subscription, as re-subscribing after re-connects may happen long after the
+     * token used with the first subscription has been refreshed.
+     * </p>
+     *
+     * @param channelName the channel to subscribe.
+     * @param socketId    the ID of the shared connection.
+     * @return the authorization.
+     * @throws AuthorizationFailureException if no valid access token is available.
+     */
+    private String authorizeSharedChannel(final String channelName, final String socketId) {
+        try {
+            final IAuthTokenModel authToken = this._tokenStorage != null ? this._tokenStorage.get() : null;
+            this.validateAuthToken(authToken);
+            return this.createAuthorizer(this._settings, authToken).authorize(channelName, socketId);
+
+        } catch (final SmintIoAuthenticatorException excp) {
+            throw new AuthorizationFailureException(excp.getMessage(), excp);
         }
+    }
+
+
+    private Pusher createPusherService(final ISettingsModel settings, final IAuthTokenModel authToken) {
+
+        this.validateSettings(settings);
+        this.validateAuthToken(authToken);
 
         return new Pusher(
             this._customApplicationKey != null && !this._customApplicationKey.isEmpty()
                 ? this._customApplicationKey
                 : PUSHER__APPLICATION_KEY,
-            new PusherOptions()
-                .setCluster(PUSHER__CLUSTER)
-                .setAuthorizer(authorizer)
+            (this._customOptions != null ? this._customOptions : new PusherOptions().setCluster(PUSHER__CLUSTER))
+                .setAuthorizer(this.createAuthorizer(settings, authToken))
                 .setMaxReconnectionAttempts(Integer.MAX_VALUE)
                 .setMaxReconnectGapInSeconds(PUSHER__RECONNECT_WAIT_TIME)
         );
     }
 
 
+    private Authorizer createAuthorizer(final ISettingsModel settings, final IAuthTokenModel authToken) {
+
+        if (this._customAuthorizer != null) {
+            return this._customAuthorizer;
+        }
+
+        final HttpAuthorizer authorizer = new HttpAuthorizer(
+            MessageFormat.format(PUSHER__OAUTH_SMINTIO_ENDPOINT, settings.getTenantId())
+        );
+
+        final String accessToken = authToken.getAccessToken();
+        if (accessToken != null && !accessToken.isEmpty()) {
+
+            final Map<String, String> authorizationHeaders = new Hashtable<>();
+            authorizationHeaders.put("Authorization", "Bearer " + accessToken);
+            authorizer.setHeaders(authorizationHeaders);
+        }
+        return authorizer;
+    }
+
+
     private void validateSettings(final ISettingsModel settings) {
 
         if (settings == null) {
@@ -0,0 +1,444 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.services.impl;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.pusher.client.AuthorizationFailureException;
+import com.pusher.client.Authorizer;
+import com.pusher.client.Pusher;
+import com.pusher.client.PusherOptions;
+import com.pusher.client.channel.Channel;
+import com.pusher.client.channel.PrivateChannelEventListener;
+import com.pusher.client.channel.PusherEvent;
+import com.pusher.client.connection.ConnectionEventListener;
+import com.pusher.client.connection.ConnectionState;
+import com.pusher.client.connection.ConnectionStateChange;
+
+
+/**
+ * Maintains a single connection to <a href="https://pusher.com">Pusher.com</a>, that is shared by many tenants.
+ *
+ * <p>
+ * Every {@link PusherService} on its own opens a websocket connection for the single channel of its tenant. Hosting
+ * many tenants in a single JVM, this results in as many connections, heartbeats and re-connect timers. Instead, all
+ * tenants can subscribe their private channel to this connection with
+ * {@link #subscribe(String, Authorizer, Subscriber)}. Events are routed to the subscriber of the channel they have
+ * been received on. Each subscription to a private channel is authorized with the authorizer provided by its
+ * subscriber, hence with the access token of its tenant.
+ * </p>
+ *
+ * <p>
+ * The connection is established with the first subscription and closed as soon as the last channel has been
+ * unsubscribed. If the connection is lost, re-connecting is scheduled on the timer shared with {@link PusherService},
+ * using the same exponential backoff. Pusher re-subscribes all channels after re-connecting. As notifications sent
+ * while disconnected are lost, all subscribers are told to catch up afterwards.
+ * </p>
+ *
+ * <p>
+ * Subscribers are called on the callback thread of Pusher and must return immediately.
+ * </p>
+ */
+public class SharedPusherConnection implements ConnectionEventListener {
+
+    private static final Logger LOG = Logger.getLogger(SharedPusherConnection.class.getName());
+
+
+    private final String _applicationKey;
+    private final PusherOptions _options;
+    private final Map<String, Registration> _registrations = new ConcurrentHashMap<>();
+    private final AtomicBoolean _isCatchUpPending = new AtomicBoolean();
+    private Pusher _pusher;
+    private CompletableFuture<SharedPusherConnection> _connected = new CompletableFuture<>();
+    private ScheduledFuture<?> _scheduledReconnect;
+    private int _reconnectAttempts;
+
+
+    /**
+     * Create a new connection to the Pusher.com cluster of Smint.io.
+     */
+    public SharedPusherConnection() {
+        this(null, null);
+    }
+
+
+    /**
+     * Create a new connection to a custom Pusher compatible server, eg: a local server for testing.
+     *
+     * @param customApplicationKey the application key or {@code null} to use the key of Smint.io.
+     * @param customOptions        the options defining the host and port of the server. Authorizer and re-connect
+     *                             settings are overwritten. If {@code null}, the Pusher.com cluster of Smint.io is
+     *                             used.
+     */
+    public SharedPusherConnection(final String customApplicationKey, final PusherOptions customOptions) {
+        this._applicationKey = customApplicationKey != null && !customApplicationKey.isEmpty()
+            ? customApplicationKey
+            : PusherService.PUSHER__APPLICATION_KEY;
+        this._options = customOptions != null
+            ? customOptions
+            : new PusherOptions().setCluster(PusherService.PUSHER__CLUSTER);
+    }
+
+
+    /**
+     * Subscribes to a private channel and connects to Pusher, if not yet connected.
+     *
+     * @param channelName the name of the private channel of the tenant, eg: {@code private-2-12}.
+     * @param authorizer  the authorizer of the tenant to authorize the subscription with.
+     * @param subscriber  receives all notifications sent to the channel.
+     * @return a future, that is completed as soon as the connection has been established.
+     * @throws NullPointerException     if any parameter is {@code null}.
+     * @throws IllegalArgumentException if the channel has already been subscribed.
+     */
+    public synchronized CompletableFuture<SharedPusherConnection> subscribe(
+        final String channelName,
+        final Authorizer authorizer,
+        final Subscriber subscriber
+    ) {
+        Objects.requireNonNull(channelName, "Invalid channel name has been provided.");
+        Objects.requireNonNull(authorizer, "Invalid authorizer has been provided.");
+        Objects.requireNonNull(subscriber, "Invalid subscriber has been provided.");
+
+        if (this._registrations.containsKey(channelName)) {
+            throw new IllegalArgumentException("The channel '" + channelName + "' has already been subscribed!");
+        }
+
+        LOG.info(() -> "Pusher: subscribing to channel '" + channelName + "' on the shared connection");
+
+        final Registration registration = new Registration(channelName, authorizer, subscriber);
+        this._registrations.put(channelName, registration);
+
+        final Pusher pusher = this.getPusher();
+        registration._channel = pusher.subscribePrivate(channelName);
+        registration._channel.bind(PusherService.PUSHER__EVENT_NAME, registration);
+
+        final ConnectionState state = pusher.getConnection().getState();
+        if (state == ConnectionState.CONNECTED) {
+            return CompletableFuture.completedFuture(this);
+        }
+
+        if (state == ConnectionState.DISCONNECTED && this._scheduledReconnect == null) {
+            pusher.connect(this);
+
+        } else if (state == ConnectionState.DISCONNECTING) {
+
+            // the connection is still being closed after the last channel has been unsubscribed
+            this.scheduleReconnect();
+        }
+        return this._connected;
+    }
+
+
+    /**
+     * Unsubscribes from a channel and disconnects from Pusher, if it has been the last channel.
+     *
+     * @param channelName the name of the channel to unsubscribe.
+     * @return {@code this}
+     */
+    public synchronized SharedPusherConnection unsubscribe(final String channelName) {
+
+        final Registration registration = channelName != null ? this._registrations.remove(channelName) : null;
+        if (registration == null) {
+            return this;
+        }
+
+        LOG.info(() -> "Pusher: unsubscribing from channel '" + channelName + "' on the shared connection");
+        this._pusher.unsubscribe(channelName);
+
+        if (this._registrations.isEmpty()) {
+            this.disconnect();
+        }
+        return this;
+    }
+
+
+    /**
+     * Checks whether notifications of the channel are currently received.
+     *
+     * @param channelName the name of the channel.
+     * @return {@code true} if connected and the subscription to the channel has succeeded.
+     */
+    public boolean isSubscribed(final String channelName) {
+        final Registration registration = channelName != null ? this._registrations.get(channelName) : null;
+        final Channel channel = registration != null ? registration._channel : null;
+        return channel != null && channel.isSubscribed() && this.isConnected();
+    }
+
+
+    /**
+     * Checks whether the connection to Pusher is currently established.
+     *
+     * @return {@code true} if connected.
+     */
+    public synchronized boolean isConnected() {
+        return this._pusher != null && this._pusher.getConnection().getState() == ConnectionState.CONNECTED;
+    }
+
+
+    /**
+     * Provides the number of subscribed channels.
+     *
+     * @return the number of channels.
+     */
+    public int getSubscriptionCount() {
+        return this._registrations.size();
+    }
+
+
+    /**
+     * Unsubscribes from all channels and closes the connection.
+     */
+    public synchronized void disconnect() {
+
+        if (this._pusher != null) {
+            for (final String channelName : this._registrations.keySet()) {
+                this._pusher.unsubscribe(channelName);
+            }
+        }
+        this._registrations.clear();
+        this._isCatchUpPending.set(false);
+        this.cancelReconnect();
+
+        if (this._pusher != null) {
+            LOG.log(Level.FINE, "Shutting down shared Pusher connection");
+            this._pusher.disconnect();
+        }
+    }
+
+
+    @Override
+    public void onConnectionStateChange(final ConnectionStateChange change) {
+        LOG.info(() -> "Shared Pusher connection state changed to " + change.getCurrentState());
+
+        final ConnectionState currentState = change.getCurrentState();
+        final boolean isInUse = !this._registrations.isEmpty();
+        if (currentState == ConnectionState.CONNECTED) {
+
+            final CompletableFuture<SharedPusherConnection> connected;
+            synchronized (this) {
+                this._reconnectAttempts = 0;
+                connected = this._connected;
+            }
+            connected.complete(this);
+
+            // notifications might have been missed while disconnected
+            if (isInUse && this._isCatchUpPending.getAndSet(false)) {
+                this.notifyCatchUp();
+            }
+
+        } else if (change.getPreviousState() == ConnectionState.CONNECTED) {
+
+            synchronized (this) {
+                this._connected = new CompletableFuture<>();
+            }
+            if (isInUse) {
+                this._isCatchUpPending.set(true);
+            }
+        }
+
+
+        if (currentState == ConnectionState.DISCONNECTED && isInUse) {
+            this.scheduleReconnect();
+        }
+    }
+
+
+    @Override
+    public void onError(final String message, final String code, final Exception excp) {
+        LOG.log(Level.WARNING, "A shared Pusher connection exception occured: " + message + " [" + code + "]", excp);
+
+        if (excp != null) {
+            final CompletableFuture<SharedPusherConnection> connected;
+            synchronized (this) {
+                connected = this._connected;
+                this._connected = new CompletableFuture<>();
+            }
+            connected.completeExceptionally(excp);
+        }
+    }
+
+
+    /**
+     * Authorizes a subscription with the authorizer of the tenant, that has subscribed the channel.
+     *
+     * @param channelName the channel to subscribe.
+     * @param socketId    the ID of the connection.
+     * @return the authorization as returned by the authorizer of the tenant.
+     * @throws AuthorizationFailureException if the channel has not been subscribed by any tenant.
+     */
+    private String authorize(final String channelName, final String socketId) {
+        final Registration registration = this._registrations.get(channelName);
+        if (registration == null) {
+            throw new AuthorizationFailureException("The channel '" + channelName + "' is not subscribed.");
+        }
+        return registration._authorizer.authorize(channelName, socketId);
+    }
+
+
+    private void notifyCatchUp() {
+        LOG.info("Re-connected to shared Pusher connection. Synchronizing missed notifications of all channels.");
+
+        for (final Registration registration : this._registrations.values()) {
+            try {
+                registration._subscriber.onCatchUp(registration._channelName);
+
+                // CHECKSTYLE OFF: IllegalCatch
+            } catch (final RuntimeException excp) {
+                LOG.log(Level.WARNING, excp, () -> "Pusher['" + registration._channelName + "'] catch up failed");
+            }
+            // CHECKSTYLE ON: IllegalCatch
+        }
+    }
+
+
+    private synchronized Pusher getPusher() {
+        if (this._pusher == null) {
+            this._pusher = new Pusher(
+                this._applicationKey,
+                this._options
+                    .setAuthorizer(this::authorize)
+                    .setMaxReconnectionAttempts(Integer.MAX_VALUE)
+                    .setMaxReconnectGapInSeconds(PusherService.PUSHER__RECONNECT_WAIT_TIME)
+            );
+        }
+        return this._pusher;
+    }
+
+
+    /**
+     * Schedules a re-connect to Pusher, unless one is already scheduled.
+     */
+    private synchronized void scheduleReconnect() {
+        if (this._registrations.isEmpty() || this._scheduledReconnect != null) {
+            return;
+        }
+
+        final long delay = PusherService.getReconnectDelay(this._reconnectAttempts++);
+        LOG.info(() -> "Re-connecting shared Pusher connection in " + delay + " ms.");
+
+        this._scheduledReconnect = PusherService.getReconnectTimer()
+            .schedule(this::reconnect, delay, TimeUnit.MILLISECONDS);
+    }
+
+
+    private synchronized void cancelReconnect() {
+        if (this._scheduledReconnect != null) {
+            this._scheduledReconnect.cancel(false);
+            this._scheduledReconnect = null;
+        }
+        this._reconnectAttempts = 0;
+    }
+
+
+    private synchronized void reconnect() {
+        this._scheduledReconnect = null;
+
+        if (this._registrations.isEmpty() || this._pusher == null) {
+            return;
+        }
+
+        final ConnectionState state = this._pusher.getConnection().getState();
+        if (state == ConnectionState.DISCONNECTED) {
+
+            LOG.log(Level.FINE, "Initiating a re-connect of the shared Pusher connection");
+            this._pusher.connect(this);
+
+        } else if (state == ConnectionState.DISCONNECTING) {
+
+            // wait for the connection to be closed completely
+            this.scheduleReconnect();
+        }
+    }
+
+
+    /**
+     * Receives the notifications of a single channel.
+     *
+     * <p>
+     * Both methods are called on the callback thread of Pusher. Hence they must return immediately.
+     * </p>
+     */
+    public interface Subscriber {
+
+        /**
+         * Called on every notification received on the channel.
+         *
+         * @param channelName the name of the channel.
+         */
+        void onNotification(String channelName);
+
+
+        /**
+         * Called after the connection has been re-established, as notifications might have been missed.
+         *
+         * @param channelName the name of the channel.
+         */
+        void onCatchUp(String channelName);
+    }
+
+
+    /**
+     * A subscribed channel, routing its events to the subscriber.
+     */
+    private static final class Registration implements PrivateChannelEventListener {
+
+        private final String _channelName;
+        private final Authorizer _authorizer;
+        private final Subscriber _subscriber;
+        private volatile Channel _channel;
+
+
+        Registration(final String channelName, final Authorizer authorizer, final Subscriber subscriber) {
+            this._channelName = channelName;
+            this._authorizer = authorizer;
+            this._subscriber = subscriber;
+        }
+
+
+        @Override
+        public void onSubscriptionSucceeded(final String channelName) {
+            LOG.info(() -> "Pusher: subscribing to channel '" + channelName + "' succeeded!");
+        }
+
+
+        @Override
+        public void onEvent(final PusherEvent event) {
+            this._subscriber.onNotification(this._channelName);
+        }
+
+
+        @Override
+        public void onAuthenticationFailure(final String message, final Exception excp) {
+            LOG.log(
+                Level.WARNING,
+                excp,
+                () -> "Pusher: subscribing to channel '" + this._channelName + "' failed! " + message
+            );
+        }
+    }
+}
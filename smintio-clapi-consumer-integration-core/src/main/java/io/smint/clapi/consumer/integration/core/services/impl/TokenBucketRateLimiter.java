@@ -0,0 +1,187 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.services.impl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import io.smint.clapi.consumer.integration.core.services.IRateLimiter;
+
+
+/**
+ * Implements a rate limiter based on the <a href="https://en.wikipedia.org/wiki/Token_bucket">token bucket</a>
+ * algorithm.
+ *
+ * <p>
+ * The bucket is refilled with a constant rate of permits per second up to a maximum number of stored permits (the
+ * <em>burst size</em>). Hence short bursts of requests are served immediately, whereas a constant high load is smoothed
+ * out to the configured rate. Permits are reserved in order of arrival, so waiting threads are served fairly and do not
+ * compete for the same refilled permit.
+ * </p>
+ *
+ * <p>
+ * In case the rate is not a positive number, the rate limiter does not limit at all and never blocks.
+ * </p>
+ */
+public class TokenBucketRateLimiter implements IRateLimiter {
+
+    private static final Logger LOG = Logger.getLogger(TokenBucketRateLimiter.class.getName());
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+
+    private final double _permitsPerNano;
+    private final double _maxStoredPermits;
+
+    private double _storedPermits;
+    private long _lastRefillNanos;
+
+    private final AtomicLong _acquiredPermits = new AtomicLong();
+    private final AtomicLong _throttledPermits = new AtomicLong();
+    private final AtomicLong _totalWaitNanos = new AtomicLong();
+    private final AtomicLong _maxWaitNanos = new AtomicLong();
+
+
+    /**
+     * Create a new rate limiter with a full bucket.
+     *
+     * @param permitsPerSecond the sustained rate of permits per second. If it is {@code 0} or negative, no limit is
+     *                         applied at all.
+     * @param burstSize        the maximum number of permits that can be acquired without waiting after a period of
+     *                         inactivity. Values lower than {@code 1} are treated as {@code 1}.
+     */
+    public TokenBucketRateLimiter(final double permitsPerSecond, final int burstSize) {
+        this._permitsPerNano = permitsPerSecond > 0 ? permitsPerSecond / NANOS_PER_SECOND : 0;
+        this._maxStoredPermits = Math.max(1, burstSize);
+        this._storedPermits = this._maxStoredPermits;
+        this._lastRefillNanos = System.nanoTime();
+    }
+
+
+    @Override
+    public long acquire() {
+
+        this._acquiredPermits.incrementAndGet();
+        if (this._permitsPerNano <= 0) {
+            return 0;
+        }
+
+
+        final long waitNanos = this.reservePermit(System.nanoTime());
+        if (waitNanos <= 0) {
+            return 0;
+        }
+
+
+        this._throttledPermits.incrementAndGet();
+        LOG.finer(() -> "Rate limit reached, waiting " + TimeUnit.NANOSECONDS.toMillis(waitNanos) + " ms for permit.");
+
+        final long start = System.nanoTime();
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } catch (final InterruptedException excp) {
+            Thread.currentThread().interrupt();
+        }
+
+        final long waited = System.nanoTime() - start;
+        this._totalWaitNanos.addAndGet(waited);
+        this._maxWaitNanos.accumulateAndGet(waited, Math::max);
+
+        return TimeUnit.NANOSECONDS.toMillis(waited);
+    }
+
+
+    @Override
+    public long reserve() {
+
+        this._acquiredPermits.incrementAndGet();
+        if (this._permitsPerNano <= 0) {
+            return 0;
+        }
+
+
+        final long waitNanos = this.reservePermit(System.nanoTime());
+        if (waitNanos <= 0) {
+            return 0;
+        }
+
+
+        // the caller is going to wait for the reserved time, so it is accounted right away
+        this._throttledPermits.incrementAndGet();
+        this._totalWaitNanos.addAndGet(waitNanos);
+        this._maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+    }
+
+
+    @Override
+    public long getAcquiredPermits() {
+        return this._acquiredPermits.get();
+    }
+
+
+    @Override
+    public long getThrottledPermits() {
+        return this._throttledPermits.get();
+    }
+
+
+    @Override
+    public long getTotalWaitTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this._totalWaitNanos.get());
+    }
+
+
+    @Override
+    public long getMaxWaitTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this._maxWaitNanos.get());
+    }
+
+
+    /**
+     * Reserve the next permit and calculate the time the caller needs to wait for it.
+     *
+     * <p>
+     * The bucket may become negative, which represents permits already reserved by waiting threads. Hence following
+     * callers need to wait longer, until all earlier reservations have been served.
+     * </p>
+     *
+     * @param nowNanos the current value of {@link System#nanoTime()}.
+     * @return the nano seconds to wait until the reserved permit is available, or {@code 0} to proceed immediately.
+     */
+    private synchronized long reservePermit(final long nowNanos) {
+
+        final long elapsed = nowNanos - this._lastRefillNanos;
+        if (elapsed > 0) {
+            this._storedPermits = Math
+                .min(this._maxStoredPermits, this._storedPermits + elapsed * this._permitsPerNano);
+            this._lastRefillNanos = nowNanos;
+        }
+
+
+        this._storedPermits -= 1;
+        if (this._storedPermits >= 0) {
+            return 0;
+        }
+
+        return (long) Math.ceil(-this._storedPermits / this._permitsPerNano);
+    }
+}
@@ -22,6 +22,7 @@ package io.smint.clapi.consumer.integration.core.target;
 import io.smint.clapi.consumer.integration.core.contracts.ISmintIoMetadataElement;
 import io.smint.clapi.consumer.integration.core.exceptions.SmintIoAuthenticatorException;
 import io.smint.clapi.consumer.integration.core.exceptions.SmintIoSyncJobException;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncRunReport;
 import io.smint.clapi.consumer.integration.core.target.impl.BaseSyncAsset;
 
 
@@ -719,6 +720,22 @@ public interface ISyncTarget {
      * </p>
      */
     void afterSync();
+
+
+    /**
+     * A hook to be called after all synchronization took place, receiving the figures of the run.
+     *
+     * <p>
+     * By default, this calls {@link #afterSync()}. Sync targets interested in the figures of the run, like the number
+     * of imported assets or the time spent in each stage, override this function instead. The report is still being
+     * recorded, hence the duration of the run and of its final stage are not complete yet.
+     * </p>
+     *
+     * @param report the figures of the run so far - never {@code null}.
+     */
+    default void afterSync(final ISyncRunReport report) {
+        this.afterSync();
+    }
 }
 
 // CHECKSTYLE OFF: MethodCount
@@ -19,6 +19,7 @@
 
 package io.smint.clapi.consumer.integration.core;
 
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Assertions;
@@ -85,6 +86,26 @@ public class TestNativeThreadPoolScheduler {
     }
 
 
+    @Test
+    @DisplayName("Jobs are executed with the provided executor.")
+    public void scheduleJobWithExecutor() throws InterruptedException {
+
+        final int[] executedJobs = new int[] { 0 };
+        final NativeThreadPoolScheduler scheduler = new NativeThreadPoolScheduler(1, (job) -> {
+            executedJobs[0]++;
+            job.run();
+        });
+
+        final CountDownLatch wasCalled = new CountDownLatch(1);
+        scheduler.scheduleForImmediateExecution(() -> wasCalled.countDown());
+
+        Assertions.assertTrue(wasCalled.await(1, TimeUnit.SECONDS), "Scheduled job has not been executed!");
+        Assertions.assertEquals(1, executedJobs[0], "Scheduled job has not been passed to the executor!");
+
+        scheduler.cancel();
+    }
+
+
     @Test
     @DisplayName("Jobs are executed multiple times after fixed period.")
     public void scheduleJobCheckAfterFixedPeriod() throws InterruptedException {
@@ -0,0 +1,106 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.smint.clapi.consumer.integration.core.services.impl.FairShareJobExecutor;
+import io.smint.clapi.consumer.integration.core.services.impl.NativeThreadPoolScheduler;
+
+
+// CHECKSTYLE.OFF: MultipleStringLiterals
+// CHECKSTYLE.OFF: MagicNumber
+
+@DisplayName("Test jobs triggered by push notifications: SmintIoSynchronization.class")
+public class TestSmintIoSynchronizationPushJobs {
+
+    private static final long TIMEOUT_MILLISEC = 5_000;
+
+
+    @Test
+    @DisplayName("Push jobs take the reserved thread while all bulk threads are busy.")
+    public void pushJobTakesReservedThread() throws Exception {
+
+        final FairShareJobExecutor executor = new FairShareJobExecutor(2, 1);
+        final NativeThreadPoolScheduler scheduler = new NativeThreadPoolScheduler(1, executor);
+        final CountDownLatch bulkStarted = new CountDownLatch(1);
+        final CountDownLatch releaseBulk = new CountDownLatch(1);
+        final CountDownLatch pushFinished = new CountDownLatch(1);
+        final AtomicReference<String> pushThread = new AtomicReference<>();
+
+        try {
+            scheduler.scheduleForImmediateExecution(
+                new SmintIoSynchronization.TenantJob("large-tenant", false, () -> {
+                    bulkStarted.countDown();
+                    this.await(releaseBulk);
+                })
+            );
+            Assertions.assertTrue(
+                bulkStarted.await(TIMEOUT_MILLISEC, TimeUnit.MILLISECONDS), "Bulk job has not been started!"
+            );
+            scheduler.scheduleForImmediateExecution(
+                new SmintIoSynchronization.TenantJob("other-tenant", false, () -> Thread.yield())
+            );
+
+
+            SmintIoSynchronization.createPushJobTrigger(
+                scheduler,
+                new SmintIoSynchronization.TenantJob("pushed-tenant", true, () -> {
+                    pushThread.set(Thread.currentThread().getName());
+                    pushFinished.countDown();
+                })
+            ).run();
+
+
+            Assertions.assertTrue(
+                pushFinished.await(TIMEOUT_MILLISEC, TimeUnit.MILLISECONDS),
+                "Push job has not been executed while the bulk thread is busy!"
+            );
+            Assertions.assertTrue(
+                pushThread.get().startsWith("smint.io-sync-job-"),
+                "Push job has not been executed by the shared executor but by " + pushThread.get()
+            );
+            Assertions.assertEquals(1, executor.getWaitingJobs(), "Bulk job must wait for the busy bulk thread!");
+
+        } finally {
+            releaseBulk.countDown();
+            scheduler.cancel();
+            executor.shutdown();
+        }
+    }
+
+
+    private void await(final CountDownLatch latch) {
+        try {
+            latch.await(TIMEOUT_MILLISEC, TimeUnit.MILLISECONDS);
+        } catch (final InterruptedException excp) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
+
+// CHECKSTYLE.ON: MultipleStringLiterals
+// CHECKSTYLE.ON: MagicNumber
@@ -0,0 +1,81 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.factory.impl;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import okhttp3.OkHttpClient;
+
+
+// CHECKSTYLE.OFF: MultipleStringLiterals
+
+@DisplayName("Test shared HTTP client: SmintIoHttpClientProvider.class")
+public class TestSmintIoHttpClientProvider {
+
+
+    @Test
+    @DisplayName("All providers return the same shared client.")
+    public void sharedClient() {
+
+        final OkHttpClient client = new SmintIoHttpClientProvider().get();
+
+        Assertions.assertNotNull(client, "No HTTP client has been provided!");
+        Assertions.assertSame(client, new SmintIoHttpClientProvider().get(), "HTTP client is not shared!");
+        Assertions.assertSame(client, SmintIoHttpClientProvider.getSharedClient(), "HTTP client is not shared!");
+        Assertions.assertEquals(
+            TimeUnit.SECONDS.toMillis(SmintIoHttpClientProvider.API_READ_TIMEOUT_SECONDS),
+            client.readTimeoutMillis(),
+            "Invalid read timeout for API calls!"
+        );
+        Assertions.assertEquals(
+            SmintIoHttpClientProvider.DISPATCHER_MAX_REQUESTS_PER_HOST,
+            client.dispatcher().getMaxRequestsPerHost(),
+            "Invalid maximum requests per host!"
+        );
+    }
+
+
+    @Test
+    @DisplayName("Download client shares connection pool and dispatcher but uses a longer read timeout.")
+    public void downloadClient() {
+
+        final OkHttpClient client = SmintIoHttpClientProvider.getSharedClient();
+        final OkHttpClient downloadClient = SmintIoHttpClientProvider.getDownloadClient(client);
+
+        Assertions.assertSame(
+            SmintIoHttpClientProvider.getSharedDownloadClient(),
+            downloadClient,
+            "Download client of the shared client is not shared!"
+        );
+        Assertions.assertSame(client.connectionPool(), downloadClient.connectionPool(), "Connection pool not shared!");
+        Assertions.assertSame(client.dispatcher(), downloadClient.dispatcher(), "Dispatcher is not shared!");
+        Assertions.assertEquals(
+            TimeUnit.SECONDS.toMillis(SmintIoHttpClientProvider.DOWNLOAD_READ_TIMEOUT_SECONDS),
+            downloadClient.readTimeoutMillis(),
+            "Invalid read timeout for downloads!"
+        );
+    }
+}
+
+// CHECKSTYLE.ON: MultipleStringLiterals
@@ -0,0 +1,131 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.factory.impl;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import okhttp3.OkHttpClient;
+
+import io.smint.clapi.consumer.integration.core.configuration.impl.AuthTokenMemoryStorage;
+import io.smint.clapi.consumer.integration.core.configuration.impl.SyncJobDataMemoryStorage;
+import io.smint.clapi.consumer.integration.core.configuration.models.impl.SettingsModelImpl;
+import io.smint.clapi.consumer.integration.core.factory.ISyncTargetFactory;
+import io.smint.clapi.consumer.integration.core.services.IPlatformScheduler;
+import io.smint.clapi.consumer.integration.core.services.impl.NativeThreadPoolScheduler;
+
+
+// CHECKSTYLE.OFF: MultipleStringLiterals
+
+@DisplayName("Test Guice module: SyncGuiceModule.class")
+public class TestSyncGuiceModule {
+
+
+    @Test
+    @DisplayName("Shared resources are provided to all tenants.")
+    public void sharedResourcesAreUsed() {
+
+        final OkHttpClient httpClient = new OkHttpClient();
+        final IPlatformScheduler scheduler = new NativeThreadPoolScheduler();
+        final ForkJoinPool pool = SyncGuiceModule.createAssetConversionPool(2);
+
+        final SyncGuiceModule tenant1 = new SyncGuiceModule(this.createFactory("tenant1"), httpClient, scheduler, pool);
+        final SyncGuiceModule tenant2 = new SyncGuiceModule(this.createFactory("tenant2"), httpClient, scheduler, pool);
+
+        Assertions.assertSame(httpClient, tenant1.getHttpClient(), "Shared HTTP client is not used!");
+        Assertions.assertSame(httpClient, tenant2.getHttpClient(), "Shared HTTP client is not used!");
+        Assertions.assertSame(scheduler, tenant1.getPlatformSchedulerProvider(), "Shared scheduler is not used!");
+        Assertions.assertSame(scheduler, tenant2.getPlatformSchedulerProvider(), "Shared scheduler is not used!");
+        Assertions.assertSame(pool, tenant1.getAssetConversionPool(), "Shared conversion pool is not used!");
+        Assertions.assertSame(pool, tenant2.getAssetConversionPool(), "Shared conversion pool is not used!");
+
+        Assertions.assertNotSame(
+            tenant1.getRateLimiter(), tenant2.getRateLimiter(), "Rate limiter must not be shared among tenants!"
+        );
+        Assertions.assertNotSame(
+            tenant1.getJobDataStorage(), tenant2.getJobDataStorage(), "Job data must not be shared among tenants!"
+        );
+
+        pool.shutdown();
+    }
+
+
+    @Test
+    @DisplayName("Private resources are created without shared resources.")
+    public void privateResourcesAreCreated() {
+
+        final SyncGuiceModule module = new SyncGuiceModule(this.createFactory("tenant"));
+
+        Assertions.assertNotNull(module.getPlatformSchedulerProvider(), "No scheduler has been created!");
+        Assertions.assertSame(
+            module.getPlatformSchedulerProvider(),
+            module.getPlatformSchedulerProvider(),
+            "Scheduler is not a singleton!"
+        );
+
+        final ForkJoinPool pool = module.getAssetConversionPool();
+        Assertions.assertNotNull(pool, "No conversion pool has been created!");
+        Assertions.assertEquals(1, pool.getParallelism(), "Conversion pool does not use configured parallelism!");
+        pool.shutdown();
+    }
+
+
+    @Test
+    @DisplayName("Only a private conversion pool is shut down and created again on demand.")
+    public void shutdownPrivateConversionPool() {
+
+        final SyncGuiceModule privateModule = new SyncGuiceModule(this.createFactory("tenant"));
+        final ForkJoinPool privatePool = privateModule.getAssetConversionPool();
+        privateModule.shutdownAssetConversionPool();
+
+        Assertions.assertTrue(privatePool.isShutdown(), "Private conversion pool has not been shut down!");
+        final ForkJoinPool recreatedPool = privateModule.getAssetConversionPool();
+        Assertions.assertNotSame(privatePool, recreatedPool, "Conversion pool has not been created again!");
+        Assertions.assertFalse(recreatedPool.isShutdown());
+        privateModule.shutdownAssetConversionPool();
+
+
+        final ForkJoinPool sharedPool = SyncGuiceModule.createAssetConversionPool(2);
+        final SyncGuiceModule sharedModule = new SyncGuiceModule(
+            this.createFactory("tenant"), null, null, sharedPool
+        );
+        sharedModule.shutdownAssetConversionPool();
+
+        Assertions.assertFalse(sharedPool.isShutdown(), "Shared conversion pool must not be shut down!");
+        Assertions.assertSame(sharedPool, sharedModule.getAssetConversionPool());
+        sharedPool.shutdown();
+    }
+
+
+    private ISyncTargetFactory createFactory(final String tenantId) {
+        return new DefaultSyncTargetFactory(
+            new AuthTokenMemoryStorage(),
+            () -> new SettingsModelImpl().setTenantId(tenantId),
+            null,
+            null,
+            new SyncJobDataMemoryStorage()
+        );
+    }
+}
+
+// CHECKSTYLE.ON: MultipleStringLiterals
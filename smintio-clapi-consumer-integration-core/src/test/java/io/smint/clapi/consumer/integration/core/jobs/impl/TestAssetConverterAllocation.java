@@ -0,0 +1,611 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.jobs.impl;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URL;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.inject.Provider;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoAsset;
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoBinary;
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoLicenseTerm;
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoMetadataElement;
+import io.smint.clapi.consumer.integration.core.contracts.impl.SmintIoAssetImpl;
+import io.smint.clapi.consumer.integration.core.contracts.impl.SmintIoBinaryImpl;
+import io.smint.clapi.consumer.integration.core.contracts.impl.SmintIoDownloadConstraintsImpl;
+import io.smint.clapi.consumer.integration.core.contracts.impl.SmintIoLicenseTermImpl;
+import io.smint.clapi.consumer.integration.core.contracts.impl.SmintIoMetadataElementImpl;
+import io.smint.clapi.consumer.integration.core.contracts.impl.SmintIoReleaseDetailsImpl;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncMetadataIdMapper;
+import io.smint.clapi.consumer.integration.core.target.ISyncDownloadConstraints;
+import io.smint.clapi.consumer.integration.core.target.ISyncLicenseTerm;
+import io.smint.clapi.consumer.integration.core.target.ISyncReleaseDetails;
+import io.smint.clapi.consumer.integration.core.target.ISyncTargetDataFactory;
+import io.smint.clapi.consumer.integration.core.target.impl.BaseSyncAsset;
+
+
+// CHECKSTYLE.OFF: MultipleStringLiterals
+// CHECKSTYLE.OFF: MagicNumber
+
+/**
+ * Benchmarks the heap allocations of converting assets with {@link AssetConverter}.
+ *
+ * <p>
+ * A compound asset with two binaries and three license terms is converted repeatedly. After warming up, the bytes
+ * allocated by the current thread are measured with {@link com.sun.management.ThreadMXBean}. The sync target objects
+ * created by the data factory are no-op implementations, so the measured allocations are dominated by the converter
+ * itself. The benchmark is skipped on JVMs that do not support measuring thread allocations and only run with the
+ * {@code benchmark} profile.
+ * </p>
+ */
+@DisplayName("Benchmark allocations of asset conversion: AssetConverter.class")
+public class TestAssetConverterAllocation {
+
+    private static final int WARMUP_ROUNDS = 20_000;
+    private static final int MEASURED_ROUNDS = 10_000;
+
+    /**
+     * The converted compound asset results in 3 sync assets with their wrappers, 9 license terms, 3 release details, 3
+     * download constraints, 2 download files and the arrays holding them. This is about 2.5 KB, the rest is headroom.
+     */
+    private static final long MAX_BYTES_PER_ASSET = 4 * 1024;
+
+    private static final Provider<File> NO_DOWNLOAD = () -> null;
+
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Steady-state conversion allocates hardly more than the sync target objects.")
+    public void allocationsPerConvertedAsset() throws Exception {
+
+        final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(
+            threadBean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threadBean).isThreadAllocatedMemorySupported(),
+            "JVM does not support measuring allocated memory of threads."
+        );
+        final com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+        allocationBean.setThreadAllocatedMemoryEnabled(true);
+
+
+        final AssetConverter converter = new AssetConverter(
+            new NoOpSyncTargetDataFactory(),
+            this.createIdMapper(),
+            (url, file) -> NO_DOWNLOAD,
+            new File(System.getProperty("java.io.tmpdir"))
+        );
+        final ISmintIoAsset[] rawAssets = new ISmintIoAsset[] { this.createRawAsset() };
+
+
+        long convertedCount = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            convertedCount += converter.convertAll(rawAssets).length;
+        }
+
+        final long threadId = Thread.currentThread().getId();
+        final long allocatedBefore = allocationBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            convertedCount += converter.convertAll(rawAssets).length;
+        }
+        final long bytesPerAsset = (allocationBean.getThreadAllocatedBytes(threadId) - allocatedBefore)
+            / MEASURED_ROUNDS;
+
+
+        Assertions.assertEquals(3L * (WARMUP_ROUNDS + MEASURED_ROUNDS), convertedCount, "Invalid conversion result!");
+        Assertions.assertTrue(
+            bytesPerAsset <= MAX_BYTES_PER_ASSET,
+            "Converting a single asset allocates " + bytesPerAsset + " bytes, exceeding " + MAX_BYTES_PER_ASSET
+        );
+    }
+
+
+    private ISyncMetadataIdMapper createIdMapper() {
+        return new DefaultSyncMetadataIdMapperImpl()
+            .addMappingOfContentProviders(this.createMetadata("getty"))
+            .addMappingOfContentTypes(this.createMetadata("image"))
+            .addMappingOfBinaryTypes(this.createMetadata("master", "preview"))
+            .addMappingOfContentCategories(this.createMetadata("editorial"))
+            .addMappingOfLicenseTypes(this.createMetadata("rights_managed"))
+            .addMappingOfReleaseStates(this.createMetadata("released"))
+            .addMappingOfLicenseExclusivities(this.createMetadata("exclusive"))
+            .addMappingOfLicenseUsages(this.createMetadata("print", "web"))
+            .addMappingOfLicenseSizes(this.createMetadata("small", "large"))
+            .addMappingOfLicensePlacements(this.createMetadata("cover"))
+            .addMappingOfLicenseDistributions(this.createMetadata("worldwide"))
+            .addMappingOfLicenseGeographies(this.createMetadata("europe", "asia"))
+            .addMappingOfLicenseIndustries(this.createMetadata("media"))
+            .addMappingOfLicenseLanguages(this.createMetadata("english"))
+            .addMappingOfLicenseUsageLimits(this.createMetadata("unlimited"));
+    }
+
+
+    private ISmintIoMetadataElement[] createMetadata(final String... keys) {
+        final ISmintIoMetadataElement[] elements = new ISmintIoMetadataElement[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            elements[i] = new SmintIoMetadataElementImpl()
+                .setKey(keys[i])
+                .setValues(this.createText(keys[i]))
+                .setTargetMetadataUuid("target-" + keys[i]);
+        }
+        return elements;
+    }
+
+
+    private Map<Locale, String> createText(final String text) {
+        final Map<Locale, String> localized = new HashMap<>();
+        localized.put(Locale.ENGLISH, text);
+        localized.put(Locale.GERMAN, text + " (de)");
+        return localized;
+    }
+
+
+    private ISmintIoAsset createRawAsset() throws Exception {
+
+        final ISmintIoLicenseTerm[] licenseTerms = new ISmintIoLicenseTerm[3];
+        for (int i = 0; i < licenseTerms.length; i++) {
+            licenseTerms[i] = new SmintIoLicenseTermImpl()
+                .setSequenceNumber(i + 1)
+                .setName(this.createText("license term " + i))
+                .setExclusivities(new String[] { "exclusive" })
+                .setAllowedUsages(new String[] { "print", "web" })
+                .setRestrictedSizes(new String[] { "large" })
+                .setAllowedPlacements(new String[] { "cover" })
+                .setAllowedDistributions(new String[] { "worldwide" })
+                .setRestrictedGeographies(new String[] { "europe", "asia" })
+                .setAllowedIndustries(new String[] { "media" })
+                .setAllowedLanguages(new String[] { "english" })
+                .setUsageLimits(new String[] { "unlimited" })
+                .setValidFrom(OffsetDateTime.now())
+                .setIsEditorialUse(Boolean.FALSE);
+        }
+
+
+        final ISmintIoBinary[] binaries = new ISmintIoBinary[2];
+        for (int i = 0; i < binaries.length; i++) {
+            binaries[i] = new SmintIoBinaryImpl()
+                .setUuid("binary-" + i)
+                .setContentType("image")
+                .setBinaryType(i == 0 ? "master" : "preview")
+                .setName(this.createText("binary " + i))
+                .setDescription(this.createText("binary description " + i))
+                .setUsage(this.createText("usage " + i))
+                .setDownloadUrl(new URL("https://example.com/binary-" + i))
+                .setRecommendedFileName("binary-" + i + ".jpg")
+                .setLocale(Locale.ENGLISH)
+                .setVersion(1);
+        }
+
+
+        return new SmintIoAssetImpl()
+            .setContentElementUuid("content-element")
+            .setLicensePurchaseTransactionUuid("lpt")
+            .setCartPurchaseTransactionUuid("cpt")
+            .setContentProvider("getty")
+            .setContentType("image")
+            .setContentCategory("editorial")
+            .setName(this.createText("asset"))
+            .setDescription(this.createText("asset description"))
+            .setKeywords(new HashMap<>())
+            .setCopyrightNotices(this.createText("copyright"))
+            .setProjectUuid("project")
+            .setProjectName(this.createText("project"))
+            .setCollectionUuid("collection")
+            .setCollectionName(this.createText("collection"))
+            .setLicenseeUuid("licensee")
+            .setLicenseeName("Licensee")
+            .setLicenseType("rights_managed")
+            .setLicenseText(this.createText("license text"))
+            .setLicenseTerms(licenseTerms)
+            .setDownloadConstraints(new SmintIoDownloadConstraintsImpl().setMaxDownloads(10).setMaxUsers(5))
+            .setReleaseDetails(
+                new SmintIoReleaseDetailsImpl()
+                    .setModelReleaseState("released")
+                    .setPropertyReleaseState("released")
+                    .setProviderReleaseComment(this.createText("release comment"))
+            )
+            .setIsEditorialUse(Boolean.FALSE)
+            .setBinaries(binaries)
+            .setSmintIoUrl(new URL("https://example.com/asset"))
+            .setPurchasedAt(OffsetDateTime.now())
+            .setCreatedAt(OffsetDateTime.now())
+            .setLastUpdatedAt(OffsetDateTime.now());
+    }
+
+
+    private static class NoOpSyncTargetDataFactory implements ISyncTargetDataFactory {
+
+        @Override
+        public BaseSyncAsset createSyncBinaryAsset() {
+            return new NoOpSyncAsset();
+        }
+
+        @Override
+        public BaseSyncAsset createSyncCompoundAsset() {
+            return new NoOpSyncAsset();
+        }
+
+        @Override
+        public ISyncLicenseTerm createSyncLicenseTerm() {
+            return new NoOpLicenseTerm();
+        }
+
+        @Override
+        public ISyncReleaseDetails createSyncReleaseDetails() {
+            return new NoOpReleaseDetails();
+        }
+
+        @Override
+        public ISyncDownloadConstraints createSyncDownloadConstraints() {
+            return new NoOpDownloadConstraints();
+        }
+    }
+
+
+    private static class NoOpSyncAsset extends BaseSyncAsset {
+
+        @Override
+        public BaseSyncAsset setTransactionUuid(final String smintIoId) {
+            return this;
+        }
+
+        @Override
+        public BaseSyncAsset setName(final Map<Locale, String> name) {
+            return this;
+        }
+
+        @Override
+        public BaseSyncAsset setContentElementUuid(final String contentElementUuid) {
+            return this;
+        }
+
+        @Override
+        public BaseSyncAsset setContentType(final String contentTypeKey) {
+            return this;
+        }
+
+        @Override
+        public BaseSyncAsset setContentProvider(final String contentProviderKey) {
+            return this;
+        }
+
+        @Override
+        public BaseSyncAsset setContentCategory(final String contentCategoryKey) {
+            return this;
+        }
+
+        @Override
+        public BaseSyncAsset setDescription(final Map<Locale, String> description) {
+            return this;
+        }
+
+        @Override
+        public BaseSyncAsset setSmintIoUrl(final URL smintIoUrl) {
+            return this;
+        }
+
+        @Override
+        public BaseSyncAsset setCreatedAt(final OffsetDateTime createdAt) {
+            return this;
+        }
+
+        @Override
+        public BaseSyncAsset setLastUpdatedAt(final OffsetDateTime lastUpdatedAt) {
+            return this;
+        }
+
+        @Override
+        public BaseSyncAsset setPurchasedAt(final OffsetDateTime purchasedAt) {
+            return this;
+        }
+
+        @Override
+        public BaseSyncAsset setCartPurchaseTransactionUuid(final String cartPurchaseTransactionUuid) {
+            return this;
+        }
+
+        @Override
+        public BaseSyncAsset setHasBeenCancelled(final boolean hasBeenCancelled) {
+            return this;
+        }
+
+        @Override
+        public BaseSyncAsset setProjectUuid(final String projectUuid) {
+            return this;
+        }
+
+        @Override
+        public BaseSyncAsset setProjectName(final Map<Locale, String> projectName) {
+            return this;
+        }
+
+        @Override
+        public BaseSyncAsset setCollectionUuid(final String collectionUuid) {
+            return this;
+        }
+
+        @Override
+        public BaseSyncAsset setCollectionName(final Map<Locale, String> collectionName) {
+            return this;
+        }
+
+        @Override
+        public BaseSyncAsset setKeywords(final Map<Locale, String[]> keywords) {
+            return this;
+        }
+
+        @Override
+        public BaseSyncAsset setCopyrightNotices(final Map<Locale, String> copyrightNotices) {
+            return this;
+        }
+
+        @Override
+        public BaseSyncAsset setIsEditorialUse(final Boolean isEditorialUse) {
+            return this;
+        }
+
+        @Override
+        public BaseSyncAsset setHasRestrictiveLicenseTerms(final boolean hasLicenseRestrictiveTerms) {
+            return this;
+        }
+
+        @Override
+        public BaseSyncAsset setLicenseType(final String licenseTypeKey) {
+            return this;
+        }
+
+        @Override
+        public BaseSyncAsset setLicenseeUuid(final String licenseeUuid) {
+            return this;
+        }
+
+        @Override
+        public BaseSyncAsset setLicenseeName(final String licenseeName) {
+            return this;
+        }
+
+        @Override
+        public BaseSyncAsset setLicenseText(final Map<Locale, String> licenseText) {
+            return this;
+        }
+
+        @Override
+        public BaseSyncAsset setLicenseUrls(final Map<Locale, String[]> licenseUrls) {
+            return this;
+        }
+
+        @Override
+        public BaseSyncAsset setLicenseTerms(final ISyncLicenseTerm[] licenseTerms) {
+            return this;
+        }
+
+        @Override
+        public BaseSyncAsset setDownloadConstraints(final ISyncDownloadConstraints downloadConstraints) {
+            return this;
+        }
+
+        @Override
+        public BaseSyncAsset setReleaseDetails(final ISyncReleaseDetails releaseDetails) {
+            return this;
+        }
+
+        @Override
+        public BaseSyncAsset setBinaryUuid(final String binaryUuid) {
+            return this;
+        }
+
+        @Override
+        public BaseSyncAsset setBinaryType(final String binaryTypeKey) {
+            return this;
+        }
+
+        @Override
+        public BaseSyncAsset setBinaryLocale(final Locale binaryLocale) {
+            return this;
+        }
+
+        @Override
+        public BaseSyncAsset setBinaryVersion(final int binaryVersion) {
+            return this;
+        }
+
+        @Override
+        public BaseSyncAsset setBinaryUsage(final Map<Locale, String> binaryUsage) {
+            return this;
+        }
+    }
+
+
+    private static class NoOpLicenseTerm implements ISyncLicenseTerm {
+
+        @Override
+        public ISyncLicenseTerm setSequenceNumber(final int sequenceNumber) {
+            return this;
+        }
+
+        @Override
+        public ISyncLicenseTerm setName(final Map<Locale, String> name) {
+            return this;
+        }
+
+        @Override
+        public ISyncLicenseTerm setExclusivities(final String[] exclusivityKeys) {
+            return this;
+        }
+
+        @Override
+        public ISyncLicenseTerm setAllowedUsages(final String[] usageKeys) {
+            return this;
+        }
+
+        @Override
+        public ISyncLicenseTerm setRestrictedUsages(final String[] usageKeys) {
+            return this;
+        }
+
+        @Override
+        public ISyncLicenseTerm setAllowedSizes(final String[] sizeKeys) {
+            return this;
+        }
+
+        @Override
+        public ISyncLicenseTerm setRestrictedSizes(final String[] sizeKeys) {
+            return this;
+        }
+
+        @Override
+        public ISyncLicenseTerm setAllowedPlacements(final String[] placementKeys) {
+            return this;
+        }
+
+        @Override
+        public ISyncLicenseTerm setRestrictedPlacements(final String[] placementKeys) {
+            return this;
+        }
+
+        @Override
+        public ISyncLicenseTerm setAllowedDistributions(final String[] distributionKeys) {
+            return this;
+        }
+
+        @Override
+        public ISyncLicenseTerm setRestrictedDistributions(final String[] distributionKeys) {
+            return this;
+        }
+
+        @Override
+        public ISyncLicenseTerm setAllowedGeographies(final String[] geographyKeys) {
+            return this;
+        }
+
+        @Override
+        public ISyncLicenseTerm setRestrictedGeographies(final String[] geographyKeys) {
+            return this;
+        }
+
+        @Override
+        public ISyncLicenseTerm setAllowedIndustries(final String[] industryKeys) {
+            return this;
+        }
+
+        @Override
+        public ISyncLicenseTerm setRestrictedIndustries(final String[] industryKeys) {
+            return this;
+        }
+
+        @Override
+        public ISyncLicenseTerm setAllowedLanguages(final String[] languages) {
+            return this;
+        }
+
+        @Override
+        public ISyncLicenseTerm setRestrictedLanguages(final String[] languages) {
+            return this;
+        }
+
+        @Override
+        public ISyncLicenseTerm setUsageLimits(final String[] usageLimitKeys) {
+            return this;
+        }
+
+        @Override
+        public ISyncLicenseTerm setValidFrom(final OffsetDateTime validFrom) {
+            return this;
+        }
+
+        @Override
+        public ISyncLicenseTerm setValidUntil(final OffsetDateTime validUntil) {
+            return this;
+        }
+
+        @Override
+        public ISyncLicenseTerm setToBeUsedUntil(final OffsetDateTime toBeUsedUntil) {
+            return this;
+        }
+
+        @Override
+        public ISyncLicenseTerm setIsEditorialUse(final Boolean isEditorialUse) {
+            return this;
+        }
+    }
+
+
+    private static class NoOpReleaseDetails implements ISyncReleaseDetails {
+
+        @Override
+        public ISyncReleaseDetails setModelReleaseState(final String modelReleaseStateKey) {
+            return this;
+        }
+
+        @Override
+        public ISyncReleaseDetails setPropertyReleaseState(final String propertyReleaseStateKey) {
+            return this;
+        }
+
+        @Override
+        public ISyncReleaseDetails setProviderAllowedUseComment(final Map<Locale, String> providerAllowedUseComment) {
+            return this;
+        }
+
+        @Override
+        public ISyncReleaseDetails setProviderReleaseComment(final Map<Locale, String> providerReleaseComment) {
+            return this;
+        }
+
+        @Override
+        public ISyncReleaseDetails setProviderUsageConstraints(final Map<Locale, String> providerUsageConstraints) {
+            return this;
+        }
+    }
+
+
+    private static class NoOpDownloadConstraints implements ISyncDownloadConstraints {
+
+        @Override
+        public ISyncDownloadConstraints setMaxUsers(final Integer maxUsers) {
+            return this;
+        }
+
+        @Override
+        public ISyncDownloadConstraints setMaxDownloads(final Integer maxDownloads) {
+            return this;
+        }
+
+        @Override
+        public ISyncDownloadConstraints setMaxReuses(final Integer maxReuses) {
+            return this;
+        }
+    }
+}
+
+// CHECKSTYLE.ON: MultipleStringLiterals
+// CHECKSTYLE.ON: MagicNumber
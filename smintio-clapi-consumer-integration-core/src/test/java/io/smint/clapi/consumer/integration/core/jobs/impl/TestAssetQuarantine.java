@@ -0,0 +1,268 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.jobs.impl;
+
+import java.net.URL;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.smint.clapi.consumer.integration.core.configuration.impl.SyncQuarantineMemoryStorage;
+import io.smint.clapi.consumer.integration.core.configuration.models.IQuarantinedAssetModel;
+import io.smint.clapi.consumer.integration.core.configuration.models.ISyncQuarantineModel;
+import io.smint.clapi.consumer.integration.core.configuration.models.impl.SettingsModelImpl;
+import io.smint.clapi.consumer.integration.core.configuration.models.impl.SyncQuarantineJsonConverter;
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoAsset;
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoBinary;
+import io.smint.clapi.consumer.integration.core.contracts.impl.SmintIoAssetImpl;
+import io.smint.clapi.consumer.integration.core.contracts.impl.SmintIoBinaryImpl;
+import io.smint.clapi.consumer.integration.core.factory.impl.SmintIoGsonProvider;
+
+
+// CHECKSTYLE.OFF: MultipleStringLiterals
+// CHECKSTYLE.OFF: MagicNumber
+
+@DisplayName("Test quarantine of failed assets: AssetQuarantine.class")
+public class TestAssetQuarantine {
+
+    @Test
+    @DisplayName("Failed asset is stored and retried after the delay.")
+    public void testQuarantine() throws Exception {
+
+        final SyncQuarantineMemoryStorage storage = new SyncQuarantineMemoryStorage();
+        final SettingsModelImpl settings = new SettingsModelImpl().setQuarantineRetrySeconds(0);
+        final AssetQuarantine quarantine = new AssetQuarantine(storage, () -> settings);
+
+        Assertions.assertTrue(quarantine.isEmpty());
+        Assertions.assertTrue(quarantine.quarantine(this.createAsset("lpt-1"), new IllegalStateException("failed")));
+        Assertions.assertFalse(quarantine.isEmpty());
+
+        final List<IQuarantinedAssetModel> dueAssets = quarantine.getDueAssets();
+        Assertions.assertEquals(1, dueAssets.size());
+        Assertions.assertEquals("lpt-1", dueAssets.get(0).getLicensePurchaseTransactionUuid());
+        Assertions.assertEquals(1, dueAssets.get(0).getAttempts());
+        Assertions.assertTrue(dueAssets.get(0).getError().contains("failed"));
+        Assertions.assertNotNull(dueAssets.get(0).getRawAsset());
+
+        final ISyncQuarantineModel stored = storage.getQuarantineData();
+        Assertions.assertNotNull(stored);
+        Assertions.assertEquals(1, stored.getQuarantinedAssets().length);
+
+
+        settings.setQuarantineRetrySeconds(60);
+        Assertions.assertTrue(quarantine.quarantine(this.createAsset("lpt-1"), new IllegalStateException("again")));
+        Assertions.assertTrue(quarantine.getDueAssets().isEmpty(), "Asset must not be due before the delay.");
+        Assertions.assertEquals(2, quarantine.getQuarantinedAssets().get(0).getAttempts());
+    }
+
+
+    @Test
+    @DisplayName("Asset without identifier is not put into quarantine.")
+    public void testQuarantineWithoutUuid() throws Exception {
+
+        final AssetQuarantine quarantine = new AssetQuarantine(
+            new SyncQuarantineMemoryStorage(),
+            () -> new SettingsModelImpl()
+        );
+
+        Assertions.assertFalse(quarantine.quarantine(null, new IllegalStateException("failed")));
+        Assertions.assertFalse(quarantine.quarantine(new SmintIoAssetImpl(), new IllegalStateException("failed")));
+        Assertions.assertTrue(quarantine.isEmpty());
+    }
+
+
+    @Test
+    @DisplayName("Asset is not retried anymore after the maximum of attempts.")
+    public void testMaxAttempts() throws Exception {
+
+        final SettingsModelImpl settings = new SettingsModelImpl()
+            .setQuarantineRetrySeconds(0)
+            .setQuarantineMaxAttempts(2);
+        final AssetQuarantine quarantine = new AssetQuarantine(new SyncQuarantineMemoryStorage(), () -> settings);
+
+        quarantine.quarantine(this.createAsset("lpt-1"), new IllegalStateException("failed"));
+        Assertions.assertEquals(1, quarantine.getDueAssets().size());
+
+        quarantine.quarantine(this.createAsset("lpt-1"), new IllegalStateException("failed"));
+        Assertions.assertTrue(quarantine.getDueAssets().isEmpty());
+        Assertions.assertNull(quarantine.getQuarantinedAssets().get(0).getNextRetryAt());
+        Assertions.assertFalse(quarantine.isEmpty(), "Exhausted asset must be kept for inspection.");
+    }
+
+
+    @Test
+    @DisplayName("Postponing a retry does not count another attempt.")
+    public void testPostpone() throws Exception {
+
+        final SettingsModelImpl settings = new SettingsModelImpl().setQuarantineRetrySeconds(60);
+        final AssetQuarantine quarantine = new AssetQuarantine(new SyncQuarantineMemoryStorage(), () -> settings);
+
+        Assertions.assertFalse(quarantine.postpone("lpt-1", new IllegalStateException("failed")));
+
+        quarantine.quarantine(this.createAsset("lpt-1"), new IllegalStateException("failed"));
+        Assertions.assertTrue(quarantine.postpone("lpt-1", new IllegalStateException("still failing")));
+
+        final IQuarantinedAssetModel asset = quarantine.getQuarantinedAssets().get(0);
+        Assertions.assertEquals(1, asset.getAttempts());
+        Assertions.assertTrue(asset.getError().contains("still failing"));
+        Assertions.assertTrue(quarantine.getDueAssets().isEmpty());
+    }
+
+
+    @Test
+    @DisplayName("Newer version of an asset replaces the older one.")
+    public void testKeepsNewestAsset() throws Exception {
+
+        final AssetQuarantine quarantine = new AssetQuarantine(
+            new SyncQuarantineMemoryStorage(),
+            () -> new SettingsModelImpl()
+        );
+
+        final OffsetDateTime now = OffsetDateTime.now();
+        quarantine.quarantine(this.createAsset("lpt-1").setLastUpdatedAt(now), new IllegalStateException("1"));
+        quarantine.quarantine(
+            this.createAsset("lpt-1").setLastUpdatedAt(now.minusDays(1)),
+            new IllegalStateException("2")
+        );
+        Assertions.assertEquals(now, quarantine.getQuarantinedAssets().get(0).getRawAsset().getLastUpdatedAt());
+
+        quarantine.quarantine(
+            this.createAsset("lpt-1").setLastUpdatedAt(now.plusDays(1)),
+            new IllegalStateException("3")
+        );
+        Assertions.assertEquals(
+            now.plusDays(1),
+            quarantine.getQuarantinedAssets().get(0).getRawAsset().getLastUpdatedAt()
+        );
+    }
+
+
+    @Test
+    @DisplayName("Released asset is removed from quarantine and storage.")
+    public void testRelease() throws Exception {
+
+        final SyncQuarantineMemoryStorage storage = new SyncQuarantineMemoryStorage();
+        final AssetQuarantine quarantine = new AssetQuarantine(storage, () -> new SettingsModelImpl());
+
+        quarantine.quarantine(this.createAsset("lpt-1"), new IllegalStateException("failed"));
+        quarantine.quarantine(this.createAsset("lpt-2"), new IllegalStateException("failed"));
+
+        Assertions.assertTrue(quarantine.release("lpt-1"));
+        Assertions.assertFalse(quarantine.release("lpt-1"));
+        Assertions.assertFalse(quarantine.release(null));
+
+        Assertions.assertEquals(1, quarantine.getQuarantinedAssets().size());
+        Assertions.assertEquals(1, storage.getQuarantineData().getQuarantinedAssets().length);
+        Assertions.assertEquals(
+            "lpt-2",
+            storage.getQuarantineData().getQuarantinedAssets()[0].getLicensePurchaseTransactionUuid()
+        );
+    }
+
+
+    @Test
+    @DisplayName("Quarantine is restored from its storage.")
+    public void testRestoreFromStorage() throws Exception {
+
+        final SyncQuarantineMemoryStorage storage = new SyncQuarantineMemoryStorage();
+        new AssetQuarantine(storage, () -> new SettingsModelImpl())
+            .quarantine(this.createAsset("lpt-1"), new IllegalStateException("failed"));
+
+        final AssetQuarantine restored = new AssetQuarantine(storage, () -> new SettingsModelImpl());
+        Assertions.assertFalse(restored.isEmpty());
+        Assertions.assertEquals("lpt-1", restored.getQuarantinedAssets().get(0).getLicensePurchaseTransactionUuid());
+    }
+
+
+    @Test
+    @DisplayName("Retry delay is doubled for each attempt up to the maximum.")
+    public void testRetryDelay() throws Exception {
+
+        Assertions.assertEquals(900, AssetQuarantine.getRetryDelay(900, 1));
+        Assertions.assertEquals(1800, AssetQuarantine.getRetryDelay(900, 2));
+        Assertions.assertEquals(3600, AssetQuarantine.getRetryDelay(900, 3));
+        Assertions.assertEquals(AssetQuarantine.MAX_RETRY_SECONDS, AssetQuarantine.getRetryDelay(900, 100));
+        Assertions.assertEquals(0, AssetQuarantine.getRetryDelay(0, 5));
+    }
+
+
+    @Test
+    @DisplayName("Quarantined assets survive encoding to JSON and decoding back.")
+    public void testJsonRoundTrip() throws Exception {
+
+        final SyncQuarantineMemoryStorage storage = new SyncQuarantineMemoryStorage();
+        final OffsetDateTime lastUpdatedAt = OffsetDateTime.parse("2020-02-20T10:15:30+01:00");
+        new AssetQuarantine(storage, () -> new SettingsModelImpl())
+            .quarantine(this.createAsset("lpt-1").setLastUpdatedAt(lastUpdatedAt), new IllegalStateException("x"));
+
+        final SyncQuarantineJsonConverter converter = new SyncQuarantineJsonConverter(new SmintIoGsonProvider().get());
+        final String json = converter.encode(storage.getQuarantineData());
+        final ISyncQuarantineModel decoded = converter.decode(json);
+
+        Assertions.assertNotNull(decoded);
+        Assertions.assertEquals(1, decoded.getQuarantinedAssets().length);
+
+        final IQuarantinedAssetModel asset = decoded.getQuarantinedAssets()[0];
+        Assertions.assertEquals("lpt-1", asset.getLicensePurchaseTransactionUuid());
+        Assertions.assertEquals(1, asset.getAttempts());
+        Assertions.assertNotNull(asset.getNextRetryAt());
+
+        final ISmintIoAsset rawAsset = asset.getRawAsset();
+        Assertions.assertTrue(rawAsset instanceof SmintIoAssetImpl);
+        Assertions.assertEquals("lpt-1", rawAsset.getLicensePurchaseTransactionUuid());
+        Assertions.assertTrue(lastUpdatedAt.isEqual(rawAsset.getLastUpdatedAt()));
+        Assertions.assertEquals("asset lpt-1", rawAsset.getName().get(Locale.ENGLISH));
+
+        final ISmintIoBinary[] binaries = rawAsset.getBinaries();
+        Assertions.assertNotNull(binaries);
+        Assertions.assertEquals(1, binaries.length);
+        Assertions.assertTrue(binaries[0] instanceof SmintIoBinaryImpl);
+        Assertions.assertEquals("binary-lpt-1", binaries[0].getUuid());
+        Assertions.assertEquals(new URL("https://example.com/lpt-1.jpg"), binaries[0].getDownloadUrl());
+    }
+
+
+    private SmintIoAssetImpl createAsset(final String uuid) throws Exception {
+        final Map<Locale, String> name = new HashMap<>();
+        name.put(Locale.ENGLISH, "asset " + uuid);
+
+        return new SmintIoAssetImpl()
+            .setLicensePurchaseTransactionUuid(uuid)
+            .setName(name)
+            .setBinaries(
+                new ISmintIoBinary[] {
+                    new SmintIoBinaryImpl()
+                        .setUuid("binary-" + uuid)
+                        .setDownloadUrl(new URL("https://example.com/" + uuid + ".jpg"))
+                        .setRecommendedFileName(uuid + ".jpg")
+                        .setVersion(1)
+                }
+            );
+    }
+}
+
+// CHECKSTYLE.ON: MultipleStringLiterals
+// CHECKSTYLE.ON: MagicNumber
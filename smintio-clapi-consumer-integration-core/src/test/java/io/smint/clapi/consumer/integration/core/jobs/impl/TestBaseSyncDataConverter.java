@@ -0,0 +1,147 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.jobs.impl;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoDataType;
+import io.smint.clapi.consumer.integration.core.target.ISyncDataType;
+
+
+// CHECKSTYLE.OFF: MultipleStringLiterals
+// CHECKSTYLE.OFF: MagicNumber
+
+@DisplayName("Test parallel conversion of data: BaseSyncDataConverter.class")
+public class TestBaseSyncDataConverter {
+
+
+    private ForkJoinPool _pool;
+
+
+    @BeforeEach
+    public void createPool() {
+        this._pool = new ForkJoinPool(4);
+    }
+
+
+    @AfterEach
+    public void shutdownPool() {
+        this._pool.shutdownNow();
+    }
+
+
+    @Test
+    @DisplayName("Parallel conversion preserves the order of the sources.")
+    public void parallelConversionPreservesOrder() {
+
+        final Source[] sources = new Source[100];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = new Source(i);
+        }
+
+        final Target[] targets = new DoublingConverter(-1).convertAll(sources, this._pool);
+
+        Assertions.assertEquals(sources.length * 2, targets.length, "Each source must be converted to two targets!");
+        for (int i = 0; i < sources.length; i++) {
+            Assertions.assertEquals(i * 2, targets[i * 2]._value, "Order of conversion has not been preserved!");
+            Assertions.assertEquals(i * 2 + 1, targets[i * 2 + 1]._value, "Order of conversion has not been preserved!");
+        }
+    }
+
+
+    @Test
+    @DisplayName("Parallel conversion throws the failure of a conversion.")
+    public void parallelConversionThrowsFailure() {
+
+        final Source[] sources = new Source[100];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = new Source(i);
+        }
+
+        final IllegalStateException excp = Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> new DoublingConverter(42).convertAll(sources, this._pool),
+            "Failure of conversion has not been propagated!"
+        );
+        Assertions.assertEquals("failed 42", excp.getMessage(), "Unexpected failure has been propagated!");
+    }
+
+
+    @Test
+    @DisplayName("Conversion without pool is performed sequentially.")
+    public void sequentialConversionWithoutPool() {
+
+        final Source[] sources = new Source[] { new Source(1), new Source(2) };
+        final Target[] targets = new DoublingConverter(-1).convertAll(sources, null);
+
+        Assertions.assertEquals(4, targets.length, "Each source must be converted to two targets!");
+        Assertions.assertEquals(2, targets[0]._value, "Order of conversion has not been preserved!");
+        Assertions.assertEquals(5, targets[3]._value, "Order of conversion has not been preserved!");
+        Assertions.assertNull(new DoublingConverter(-1).convertAll(null, this._pool), "Null must be passed on!");
+    }
+
+
+    private static class Source implements ISmintIoDataType {
+
+        private final int _value;
+
+        Source(final int value) {
+            this._value = value;
+        }
+    }
+
+
+    private static class Target implements ISyncDataType {
+
+        private final int _value;
+
+        Target(final int value) {
+            this._value = value;
+        }
+    }
+
+
+    private static class DoublingConverter extends BaseSyncDataConverter<Source, Target> {
+
+        private final int _failOn;
+
+        DoublingConverter(final int failOn) {
+            super(Target.class);
+            this._failOn = failOn;
+        }
+
+        @Override
+        public Target[] convert(final Source source) {
+            if (source._value == this._failOn) {
+                throw new IllegalStateException("failed " + source._value);
+            }
+            return new Target[] { new Target(source._value * 2), new Target(source._value * 2 + 1) };
+        }
+    }
+}
+
+// CHECKSTYLE.ON: MultipleStringLiterals
+// CHECKSTYLE.ON: MagicNumber
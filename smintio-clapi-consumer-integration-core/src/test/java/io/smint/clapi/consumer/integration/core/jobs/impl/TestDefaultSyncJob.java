@@ -0,0 +1,422 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.jobs.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import io.smint.clapi.consumer.integration.core.configuration.IAuthTokenStorage;
+import io.smint.clapi.consumer.integration.core.configuration.impl.SyncJobDataMemoryStorage;
+import io.smint.clapi.consumer.integration.core.configuration.impl.SyncQuarantineMemoryStorage;
+import io.smint.clapi.consumer.integration.core.configuration.models.IQuarantinedAssetModel;
+import io.smint.clapi.consumer.integration.core.configuration.models.impl.SettingsModelImpl;
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoAsset;
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoBinary;
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoMetadataElement;
+import io.smint.clapi.consumer.integration.core.contracts.impl.SmintIoAssetImpl;
+import io.smint.clapi.consumer.integration.core.contracts.impl.SmintIoBinaryImpl;
+import io.smint.clapi.consumer.integration.core.contracts.impl.SmintIoGenericMetadataImpl;
+import io.smint.clapi.consumer.integration.core.contracts.impl.SmintIoMetadataElementImpl;
+import io.smint.clapi.consumer.integration.core.contracts.impl.SmintIoReleaseDetailsImpl;
+import io.smint.clapi.consumer.integration.core.factory.ISmintIoDownloadProvider;
+import io.smint.clapi.consumer.integration.core.providers.ISmintIoApiClient;
+import io.smint.clapi.consumer.integration.core.providers.impl.SmintIoApiDataWithContinuationImpl;
+import io.smint.clapi.consumer.integration.core.target.ISyncReleaseDetails;
+import io.smint.clapi.consumer.integration.core.target.ISyncTarget;
+import io.smint.clapi.consumer.integration.core.target.ISyncTargetDataFactory;
+import io.smint.clapi.consumer.integration.core.target.impl.BaseSyncAsset;
+
+
+// CHECKSTYLE.OFF: MultipleStringLiterals
+// CHECKSTYLE.OFF: MagicNumber
+
+@DisplayName("Test isolating failed assets while synchronizing: DefaultSyncJob.class")
+public class TestDefaultSyncJob {
+
+    private SettingsModelImpl _settings;
+    private ISmintIoApiClient _smintIoClient;
+    private ISyncTarget _syncTarget;
+    private SyncJobDataMemoryStorage _jobDataStorage;
+    private AssetQuarantine _quarantine;
+    private DefaultSyncMetadataIdMapperImpl _idMapper;
+    private DefaultSyncJob _syncJob;
+
+    private final Map<BaseSyncAsset, String> _transactionUuids = new ConcurrentHashMap<>();
+    private final Set<String> _failingUuids = new HashSet<>();
+    private final List<String> _importedUuids = new ArrayList<>();
+    private final List<List<String>> _importedBatches = new ArrayList<>();
+    private boolean _isTargetDown;
+
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        this._settings = new SettingsModelImpl()
+            .setTenantId("test")
+            .setQuarantineRetrySeconds(0)
+            .setQuarantineMaxAttempts(10);
+
+        this._smintIoClient = Mockito.mock(ISmintIoApiClient.class);
+        Mockito.when(this._smintIoClient.getGenericMetadata()).thenReturn(
+            new SmintIoGenericMetadataImpl().setContentTypes(this.createElements("image", "video"))
+        );
+
+        final ISyncTargetDataFactory dataFactory = Mockito.mock(ISyncTargetDataFactory.class);
+        Mockito.when(dataFactory.createSyncBinaryAsset()).thenAnswer((invocation) -> this.createTargetAsset());
+        Mockito.when(dataFactory.createSyncCompoundAsset()).thenAnswer((invocation) -> this.createTargetAsset());
+        Mockito.when(dataFactory.createSyncReleaseDetails())
+            .thenAnswer((invocation) -> Mockito.mock(ISyncReleaseDetails.class));
+
+        this._syncTarget = Mockito.mock(ISyncTarget.class);
+        Mockito.when(this._syncTarget.beforeAssetsSync()).thenReturn(true);
+        Mockito.doAnswer(this::importTargetAssets).when(this._syncTarget).importNewTargetAssets(ArgumentMatchers.any());
+        Mockito.when(this._syncTarget.beforeGenericMetadataSync()).thenReturn(true);
+        Mockito.doAnswer((invocation) -> {
+            final ISmintIoMetadataElement[] elements = invocation.getArgument(0);
+            for (final ISmintIoMetadataElement element : elements) {
+                element.setTargetMetadataUuid("target-" + element.getKey());
+            }
+            return null;
+        }).when(this._syncTarget).importContentTypes(ArgumentMatchers.any());
+
+        this._jobDataStorage = new SyncJobDataMemoryStorage();
+        this._quarantine = new AssetQuarantine(new SyncQuarantineMemoryStorage(), () -> this._settings);
+
+        this._idMapper = new DefaultSyncMetadataIdMapperImpl();
+        this._idMapper.addMappingOfContentTypes(this.createElements("image"));
+
+        this._syncJob = new DefaultSyncJob(
+            () -> this._settings,
+            Mockito.mock(IAuthTokenStorage.class),
+            this._smintIoClient,
+            this._syncTarget,
+            dataFactory,
+            this._jobDataStorage,
+            Mockito.mock(ISmintIoDownloadProvider.class),
+            this._idMapper,
+            null,
+            null,
+            this._quarantine
+        );
+    }
+
+
+    @Test
+    @DisplayName("A single failing asset is put into quarantine, all others are imported.")
+    public void testIsolateFailedAsset() throws Exception {
+        this._failingUuids.add("lpt-b");
+        this.deliverPage("lpt-a", "lpt-b", "lpt-c");
+
+        this.synchronizeAssets();
+
+        Assertions.assertEquals(2, this._importedUuids.stream().distinct().count());
+        Assertions.assertTrue(this._importedUuids.contains("lpt-a"));
+        Assertions.assertTrue(this._importedUuids.contains("lpt-c"));
+        Assertions.assertFalse(this._importedUuids.contains("lpt-b"));
+
+        final List<IQuarantinedAssetModel> quarantinedAssets = this._quarantine.getQuarantinedAssets();
+        Assertions.assertEquals(1, quarantinedAssets.size());
+        Assertions.assertEquals("lpt-b", quarantinedAssets.get(0).getLicensePurchaseTransactionUuid());
+        Assertions.assertEquals(1, quarantinedAssets.get(0).getAttempts());
+        Assertions.assertEquals("next-page", this._jobDataStorage.getSyncProcessData().getContinuationUuid());
+    }
+
+
+    @Test
+    @DisplayName("Failing of all assets of a page is systemic, even if each slice holds a single asset only.")
+    public void testSystemicFailureOfPage() throws Exception {
+        this._settings.setMaxAssetsInFlight(1);
+        this._isTargetDown = true;
+        this.deliverPage("lpt-a", "lpt-b", "lpt-c");
+
+        Assertions.assertThrows(RuntimeException.class, this::synchronizeAssets);
+
+        Assertions.assertTrue(this._quarantine.isEmpty(), "Assets must not be quarantined in case of an outage.");
+        Assertions.assertNull(this._jobDataStorage.getSyncProcessData());
+    }
+
+
+    @Test
+    @DisplayName("A page made of broken assets only is put into quarantine and does not stall the synchronization.")
+    public void testPageOfBrokenAssets() throws Exception {
+        this._failingUuids.add("lpt-a");
+        this._failingUuids.add("lpt-b");
+        this.deliverPage("lpt-a", "lpt-b");
+
+        this.synchronizeAssets();
+
+        Assertions.assertTrue(this._importedUuids.isEmpty());
+        Assertions.assertEquals(2, this._quarantine.getQuarantinedAssets().size());
+        Assertions.assertEquals("next-page", this._jobDataStorage.getSyncProcessData().getContinuationUuid());
+    }
+
+
+    @Test
+    @DisplayName("Retries of broken assets only count another attempt.")
+    public void testCountFailedRetriesOfBrokenAssets() throws Exception {
+        this._quarantine.quarantine(this.createRawAsset("lpt-a"), new RuntimeException("failed before"));
+        this._quarantine.quarantine(this.createRawAsset("lpt-b"), new RuntimeException("failed before"));
+        this._failingUuids.add("lpt-a");
+        this._failingUuids.add("lpt-b");
+        this.deliverPage();
+
+        this.synchronizeAssets();
+
+        final List<IQuarantinedAssetModel> quarantinedAssets = this._quarantine.getQuarantinedAssets();
+        Assertions.assertEquals(2, quarantinedAssets.size());
+        for (final IQuarantinedAssetModel asset : quarantinedAssets) {
+            Assertions.assertEquals(2, asset.getAttempts(), "Broken assets must count another attempt.");
+        }
+    }
+
+
+    @Test
+    @DisplayName("Quarantined assets are retried and released once they have been imported.")
+    public void testReleaseRetriedAsset() throws Exception {
+        this._quarantine.quarantine(this.createRawAsset("lpt-a"), new RuntimeException("failed before"));
+        this.deliverPage();
+
+        this.synchronizeAssets();
+
+        Assertions.assertEquals(1, this._importedUuids.size());
+        Assertions.assertEquals("lpt-a", this._importedUuids.get(0));
+        Assertions.assertTrue(this._quarantine.isEmpty());
+    }
+
+
+    @Test
+    @DisplayName("Retries failing all together are postponed without counting another attempt.")
+    public void testPostponeFailedRetries() throws Exception {
+        this._settings.setMaxAssetsInFlight(1);
+        this._quarantine.quarantine(this.createRawAsset("lpt-a"), new RuntimeException("failed before"));
+        this._quarantine.quarantine(this.createRawAsset("lpt-b"), new RuntimeException("failed before"));
+        this._isTargetDown = true;
+        this.deliverPage();
+
+        this.synchronizeAssets();
+
+        final List<IQuarantinedAssetModel> quarantinedAssets = this._quarantine.getQuarantinedAssets();
+        Assertions.assertEquals(2, quarantinedAssets.size());
+        for (final IQuarantinedAssetModel asset : quarantinedAssets) {
+            Assertions.assertEquals(1, asset.getAttempts(), "Attempts must not be counted during an outage.");
+            Assertions.assertNotNull(asset.getNextRetryAt());
+        }
+    }
+
+
+    @Test
+    @DisplayName("Retries count another attempt if other retried assets succeed.")
+    public void testCountFailedRetry() throws Exception {
+        this._quarantine.quarantine(this.createRawAsset("lpt-a"), new RuntimeException("failed before"));
+        this._quarantine.quarantine(this.createRawAsset("lpt-b"), new RuntimeException("failed before"));
+        this._failingUuids.add("lpt-b");
+        this.deliverPage();
+
+        this.synchronizeAssets();
+
+        final List<IQuarantinedAssetModel> quarantinedAssets = this._quarantine.getQuarantinedAssets();
+        Assertions.assertEquals(1, quarantinedAssets.size());
+        Assertions.assertEquals("lpt-b", quarantinedAssets.get(0).getLicensePurchaseTransactionUuid());
+        Assertions.assertEquals(2, quarantinedAssets.get(0).getAttempts());
+    }
+
+
+    @Test
+    @DisplayName("Assets with unknown meta data are resumed after refreshing it and imported with all others.")
+    public void testResolveUnknownMetadata() throws Exception {
+        this.deliverRawAssets(this.createRawAsset("lpt-a", "image"), this.createRawAsset("lpt-b", "video"));
+
+        this.synchronizeAssets();
+
+        Mockito.verify(this._smintIoClient, Mockito.times(1)).getGenericMetadata();
+        Mockito.verify(this._syncTarget, Mockito.times(1)).importContentTypes(ArgumentMatchers.any());
+        Assertions.assertEquals("target-video", this._idMapper.getContentTypeId("video"));
+
+        Assertions.assertEquals(1, this._importedBatches.size(), "Resumed assets must be imported with all others.");
+        Assertions.assertEquals(Arrays.asList("lpt-a", "lpt-b"), this._importedBatches.get(0));
+        Assertions.assertTrue(this._quarantine.isEmpty());
+    }
+
+
+    @Test
+    @DisplayName("Assets with unresolvable meta data do not hide a systemic failure of all other assets.")
+    public void testSystemicFailureWithUnknownMetadata() throws Exception {
+        this._isTargetDown = true;
+        this.deliverRawAssets(
+            this.createRawAsset("lpt-a", "audio"),
+            this.createRawAsset("lpt-b", "image"),
+            this.createRawAsset("lpt-c", "image")
+        );
+
+        Assertions.assertThrows(RuntimeException.class, this::synchronizeAssets);
+
+        Assertions.assertTrue(this._quarantine.isEmpty(), "Assets must not be quarantined in case of an outage.");
+        Assertions.assertNull(this._jobDataStorage.getSyncProcessData());
+    }
+
+
+    @Test
+    @DisplayName("Assets with unresolvable meta data are put into quarantine.")
+    public void testQuarantineUnknownMetadata() throws Exception {
+        this.deliverRawAssets(
+            this.createRawAsset("lpt-a", "audio"),
+            this.createRawAsset("lpt-b", "image")
+        );
+
+        this.synchronizeAssets();
+
+        Assertions.assertEquals(Arrays.asList("lpt-b"), this._importedUuids);
+        final List<IQuarantinedAssetModel> quarantinedAssets = this._quarantine.getQuarantinedAssets();
+        Assertions.assertEquals(1, quarantinedAssets.size());
+        Assertions.assertEquals("lpt-a", quarantinedAssets.get(0).getLicensePurchaseTransactionUuid());
+    }
+
+
+    @Test
+    @DisplayName("Unknown release states are left out, without refreshing meta data or quarantining the asset.")
+    public void testSkipUnknownReleaseStates() throws Exception {
+        this.deliverRawAssets(
+            new SmintIoAssetImpl()
+                .setLicensePurchaseTransactionUuid("lpt-a")
+                .setContentType("image")
+                .setReleaseDetails(
+                    new SmintIoReleaseDetailsImpl()
+                        .setModelReleaseState("unknown-model-release")
+                        .setPropertyReleaseState("unknown-property-release")
+                )
+                .setBinaries(
+                    new ISmintIoBinary[] {
+                        new SmintIoBinaryImpl().setUuid("lpt-a-binary").setRecommendedFileName("lpt-a.jpg")
+                    }
+                )
+        );
+
+        this.synchronizeAssets();
+
+        Mockito.verify(this._smintIoClient, Mockito.never()).getGenericMetadata();
+        Assertions.assertEquals(Arrays.asList("lpt-a"), this._importedUuids);
+        Assertions.assertTrue(this._quarantine.isEmpty());
+    }
+
+
+    private void synchronizeAssets() throws Exception {
+        this._syncJob.synchronizeAssets("test", this._syncTarget, this._jobDataStorage, this._smintIoClient);
+    }
+
+
+    private void deliverPage(final String... uuids) throws Exception {
+        final ISmintIoAsset[] rawAssets = new ISmintIoAsset[uuids.length];
+        for (int i = 0; i < uuids.length; i++) {
+            rawAssets[i] = this.createRawAsset(uuids[i]);
+        }
+        this.deliverRawAssets(rawAssets);
+    }
+
+
+    private void deliverRawAssets(final ISmintIoAsset... rawAssets) throws Exception {
+        Mockito.when(this._smintIoClient.getAssets(ArgumentMatchers.any(), Mockito.anyBoolean(), Mockito.anyBoolean()))
+            .thenReturn(
+                new SmintIoApiDataWithContinuationImpl<ISmintIoAsset[]>()
+                    .setResult(rawAssets)
+                    .setContinuationUuid("next-page")
+                    .setHasAssets(rawAssets.length > 0)
+            )
+            .thenReturn(
+                new SmintIoApiDataWithContinuationImpl<ISmintIoAsset[]>()
+                    .setResult(new ISmintIoAsset[0])
+                    .setContinuationUuid("next-page")
+                    .setHasAssets(false)
+            );
+    }
+
+
+    private Void importTargetAssets(final InvocationOnMock invocation) {
+        final BaseSyncAsset[] assets = invocation.getArgument(0);
+        final List<String> uuids = new ArrayList<>();
+        for (final BaseSyncAsset asset : assets) {
+            final String uuid = this._transactionUuids.get(asset);
+            if (this._isTargetDown) {
+                throw new IllegalStateException("Sync target is not available.");
+            }
+            if (this._failingUuids.contains(uuid)) {
+                throw new IllegalStateException("Failed to import asset " + uuid);
+            }
+            uuids.add(uuid);
+        }
+        this._importedUuids.addAll(uuids);
+        this._importedBatches.add(uuids);
+        return null;
+    }
+
+
+    private BaseSyncAsset createTargetAsset() {
+        final Answer<Object> fluentSetters = (invocation) -> {
+            if ("setTransactionUuid".equals(invocation.getMethod().getName())) {
+                this._transactionUuids.put((BaseSyncAsset) invocation.getMock(), invocation.getArgument(0));
+            }
+            return Mockito.RETURNS_SELF.answer(invocation);
+        };
+        return Mockito.mock(BaseSyncAsset.class, fluentSetters);
+    }
+
+
+    private ISmintIoAsset createRawAsset(final String uuid) {
+        return this.createRawAsset(uuid, null);
+    }
+
+
+    private ISmintIoAsset createRawAsset(final String uuid, final String contentType) {
+        return new SmintIoAssetImpl()
+            .setLicensePurchaseTransactionUuid(uuid)
+            .setContentType(contentType)
+            .setBinaries(
+                new ISmintIoBinary[] {
+                    new SmintIoBinaryImpl().setUuid(uuid + "-binary").setRecommendedFileName(uuid + ".jpg")
+                }
+            );
+    }
+
+
+    private ISmintIoMetadataElement[] createElements(final String... keys) {
+        final ISmintIoMetadataElement[] elements = new ISmintIoMetadataElement[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            elements[i] = new SmintIoMetadataElementImpl()
+                .setKey(keys[i])
+                .setTargetMetadataUuid("target-" + keys[i]);
+        }
+        return elements;
+    }
+}
+
+// CHECKSTYLE.ON: MultipleStringLiterals
+// CHECKSTYLE.ON: MagicNumber
@@ -0,0 +1,223 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.jobs.impl;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.mockito.stubbing.Answer;
+
+import io.smint.clapi.consumer.integration.core.configuration.models.impl.SettingsModelImpl;
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoMetadataElement;
+import io.smint.clapi.consumer.integration.core.contracts.impl.SmintIoGenericMetadataImpl;
+import io.smint.clapi.consumer.integration.core.contracts.impl.SmintIoMetadataElementImpl;
+import io.smint.clapi.consumer.integration.core.exceptions.SmintIoUnknownMetadataException;
+import io.smint.clapi.consumer.integration.core.jobs.SyncMetadataCategoryEnum;
+import io.smint.clapi.consumer.integration.core.providers.ISmintIoApiClient;
+import io.smint.clapi.consumer.integration.core.target.ISyncTarget;
+
+
+// CHECKSTYLE.OFF: MultipleStringLiterals
+// CHECKSTYLE.OFF: MagicNumber
+
+@DisplayName("Test refreshing meta data of unknown keys: GenericMetadataRefresher.class")
+public class TestGenericMetadataRefresher {
+
+    private ISmintIoApiClient _smintIoClient;
+    private ISyncTarget _syncTarget;
+    private DefaultSyncMetadataIdMapperImpl _idMapper;
+    private AtomicLong _now;
+    private GenericMetadataRefresher _refresher;
+
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        this._smintIoClient = Mockito.mock(ISmintIoApiClient.class);
+        Mockito.when(this._smintIoClient.getGenericMetadata()).thenReturn(
+            new SmintIoGenericMetadataImpl()
+                .setContentTypes(this.createElements("image", "video"))
+                .setLicenseUsages(this.createElements("web"))
+        );
+
+        this._syncTarget = Mockito.mock(ISyncTarget.class);
+        Mockito.when(this._syncTarget.beforeGenericMetadataSync()).thenReturn(true);
+
+        // as by contract, the sync target stores its IDs with the imported elements
+        final Answer<Void> storeTargetIds = (invocation) -> {
+            final ISmintIoMetadataElement[] elements = invocation.getArgument(0);
+            for (int i = 0; elements != null && i < elements.length; i++) {
+                elements[i].setTargetMetadataUuid("target-" + elements[i].getKey());
+            }
+            return null;
+        };
+        Mockito.doAnswer(storeTargetIds).when(this._syncTarget).importContentTypes(ArgumentMatchers.any());
+        Mockito.doAnswer(storeTargetIds).when(this._syncTarget).importLicenseUsages(ArgumentMatchers.any());
+
+        this._idMapper = new DefaultSyncMetadataIdMapperImpl();
+        this._idMapper.addMappingOfContentTypes(this.createElements("image"));
+
+        this._now = new AtomicLong(0);
+        this._refresher = new GenericMetadataRefresher(
+            this._smintIoClient,
+            this._idMapper,
+            () -> new SettingsModelImpl().setMetadataCacheSeconds(60),
+            this._now::get
+        );
+    }
+
+
+    @Test
+    @DisplayName("Only the category of the unknown key is imported and added to the mapping.")
+    public void testRefreshAffectedCategory() throws Exception {
+
+        Assertions.assertNull(this._idMapper.getContentTypeId("video"));
+
+        Assertions.assertTrue(
+            this._refresher.refresh(
+                Collections.singletonList(this.unknownKey(SyncMetadataCategoryEnum.ContentTypesEnum, "video")),
+                this._syncTarget
+            )
+        );
+
+        Assertions.assertEquals("target-video", this._idMapper.getContentTypeId("video"));
+        Assertions.assertEquals("target-image", this._idMapper.getContentTypeId("image"));
+        Assertions.assertNull(this._idMapper.getLicenseUsageId("web"), "Other categories must not be imported.");
+
+        Mockito.verify(this._syncTarget).importContentTypes(ArgumentMatchers.any());
+        Mockito.verify(this._syncTarget, Mockito.never()).importLicenseUsages(ArgumentMatchers.any());
+        Mockito.verify(this._syncTarget).afterGenericMetadataSync();
+        Mockito.verify(this._smintIoClient, Mockito.times(1)).getGenericMetadata();
+    }
+
+
+    @Test
+    @DisplayName("Fetched meta data is re-used until the cache time elapsed.")
+    public void testCachedMetadata() throws Exception {
+
+        this._refresher.refresh(
+            Arrays.asList(
+                this.unknownKey(SyncMetadataCategoryEnum.ContentTypesEnum, "video"),
+                this.unknownKey(SyncMetadataCategoryEnum.LicenseUsagesEnum, "web")
+            ),
+            this._syncTarget
+        );
+
+        this._now.set(30_000);
+        Assertions.assertFalse(
+            this._refresher.refresh(
+                Collections.singletonList(this.unknownKey(SyncMetadataCategoryEnum.ContentTypesEnum, "audio")),
+                this._syncTarget
+            ),
+            "Key not part of the cached meta data must not be resolved."
+        );
+        Mockito.verify(this._smintIoClient, Mockito.times(1)).getGenericMetadata();
+
+        this._now.set(61_000);
+        this._refresher.refresh(
+            Collections.singletonList(this.unknownKey(SyncMetadataCategoryEnum.ContentTypesEnum, "audio")),
+            this._syncTarget
+        );
+        Mockito.verify(this._smintIoClient, Mockito.times(2)).getGenericMetadata();
+    }
+
+
+    @Test
+    @DisplayName("Meta data fully synchronized is used without fetching it again.")
+    public void testRememberedMetadata() throws Exception {
+
+        this._refresher.remember(
+            new SmintIoGenericMetadataImpl().setLicenseUsages(this.createElements("web"))
+        );
+
+        Assertions.assertTrue(
+            this._refresher.refresh(
+                Collections.singletonList(this.unknownKey(SyncMetadataCategoryEnum.LicenseUsagesEnum, "web")),
+                this._syncTarget
+            )
+        );
+        Assertions.assertEquals("target-web", this._idMapper.getLicenseUsageId("web"));
+        Mockito.verify(this._smintIoClient, Mockito.never()).getGenericMetadata();
+    }
+
+
+    @Test
+    @DisplayName("Nothing is imported if the sync target aborts the meta data sync.")
+    public void testAbortedBySyncTarget() throws Exception {
+
+        Mockito.when(this._syncTarget.beforeGenericMetadataSync()).thenReturn(false);
+
+        Assertions.assertFalse(
+            this._refresher.refresh(
+                Collections.singletonList(this.unknownKey(SyncMetadataCategoryEnum.ContentTypesEnum, "video")),
+                this._syncTarget
+            )
+        );
+        Assertions.assertNull(this._idMapper.getContentTypeId("video"));
+        Mockito.verify(this._syncTarget, Mockito.never()).importContentTypes(ArgumentMatchers.any());
+    }
+
+
+    @Test
+    @DisplayName("Each category maps to its own meta data.")
+    public void testCategories() throws Exception {
+
+        final SmintIoGenericMetadataImpl metadata = new SmintIoGenericMetadataImpl()
+            .setContentTypes(this.createElements("image"))
+            .setLicenseUsages(this.createElements("web"));
+
+        Assertions.assertSame(
+            metadata.getContentTypes(),
+            GenericMetadataRefresher.getElements(metadata, SyncMetadataCategoryEnum.ContentTypesEnum)
+        );
+        Assertions.assertSame(
+            metadata.getLicenseUsages(),
+            GenericMetadataRefresher.getElements(metadata, SyncMetadataCategoryEnum.LicenseUsagesEnum)
+        );
+        for (final SyncMetadataCategoryEnum category : SyncMetadataCategoryEnum.values()) {
+            GenericMetadataRefresher.importCategory(category, null, this._syncTarget, this._idMapper);
+        }
+    }
+
+
+    private SmintIoUnknownMetadataException unknownKey(final SyncMetadataCategoryEnum category, final String key) {
+        return new SmintIoUnknownMetadataException(category, key, "unknown key " + key);
+    }
+
+
+    private ISmintIoMetadataElement[] createElements(final String... keys) {
+        final ISmintIoMetadataElement[] elements = new ISmintIoMetadataElement[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            elements[i] = new SmintIoMetadataElementImpl()
+                .setKey(keys[i])
+                .setTargetMetadataUuid("target-" + keys[i]);
+        }
+        return elements;
+    }
+}
+
+// CHECKSTYLE.ON: MultipleStringLiterals
+// CHECKSTYLE.ON: MagicNumber
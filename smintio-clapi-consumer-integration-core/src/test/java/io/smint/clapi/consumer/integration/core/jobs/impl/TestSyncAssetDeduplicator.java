@@ -0,0 +1,156 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.jobs.impl;
+
+import java.time.OffsetDateTime;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoAsset;
+import io.smint.clapi.consumer.integration.core.contracts.impl.SmintIoAssetImpl;
+
+
+// CHECKSTYLE.OFF: MultipleStringLiterals
+// CHECKSTYLE.OFF: MagicNumber
+
+@DisplayName("Test dropping repeated assets: SyncAssetDeduplicator.class")
+public class TestSyncAssetDeduplicator {
+
+
+    @Test
+    @DisplayName("Pages without repeated assets are passed on as they are.")
+    public void noDuplicates() {
+
+        final OffsetDateTime now = OffsetDateTime.now();
+        final ISmintIoAsset[] page = new ISmintIoAsset[] {
+            this.createAsset("lpt-1", now),
+            null,
+            this.createAsset("lpt-2", now)
+        };
+
+        Assertions.assertSame(page, new SyncAssetDeduplicator().collapse(page), "Page must not be copied!");
+    }
+
+
+    @Test
+    @DisplayName("Within a page only the latest state of each asset is kept.")
+    public void collapseWithinPage() {
+
+        final OffsetDateTime now = OffsetDateTime.now();
+        final ISmintIoAsset latestOfFirst = this.createAsset("lpt-1", now.plusMinutes(1));
+        final ISmintIoAsset latestOfSecond = this.createAsset("lpt-2", now);
+        final ISmintIoAsset third = this.createAsset("lpt-3", now);
+
+        final ISmintIoAsset[] collapsed = new SyncAssetDeduplicator().collapse(
+            new ISmintIoAsset[] {
+                this.createAsset("lpt-1", now),
+                latestOfSecond,
+                latestOfFirst,
+                third,
+                this.createAsset("lpt-2", now.minusMinutes(1))
+            }
+        );
+
+        Assertions.assertArrayEquals(
+            new ISmintIoAsset[] { latestOfSecond, latestOfFirst, third },
+            collapsed,
+            "Only latest states must be kept in order of their latest occurrence!"
+        );
+    }
+
+
+    @Test
+    @DisplayName("Across pages an asset is passed on only if it has been updated since.")
+    public void collapseAcrossPages() {
+
+        final OffsetDateTime now = OffsetDateTime.now();
+        final SyncAssetDeduplicator deduplicator = new SyncAssetDeduplicator();
+
+        Assertions.assertEquals(
+            2,
+            deduplicator.collapse(
+                new ISmintIoAsset[] { this.createAsset("lpt-1", now), this.createAsset("lpt-2", now) }
+            ).length
+        );
+
+        final ISmintIoAsset updated = this.createAsset("lpt-2", now.plusSeconds(1));
+        final ISmintIoAsset unknownTime = this.createAsset("lpt-3", null);
+        final ISmintIoAsset[] collapsed = deduplicator.collapse(
+            new ISmintIoAsset[] {
+                this.createAsset("lpt-1", now),
+                this.createAsset("lpt-1", now.minusDays(1)),
+                updated,
+                unknownTime
+            }
+        );
+
+        Assertions.assertArrayEquals(
+            new ISmintIoAsset[] { updated, unknownTime },
+            collapsed,
+            "Assets not updated since must be dropped!"
+        );
+
+        Assertions.assertEquals(
+            1,
+            deduplicator.collapse(new ISmintIoAsset[] { this.createAsset("lpt-3", null) }).length,
+            "Assets without time of update must not be dropped across pages!"
+        );
+    }
+
+
+    @Test
+    @DisplayName("Across pages a re-delivery with the same time of update is dropped, a newer one is passed on.")
+    public void collapseEqualTimeAcrossPages() {
+
+        final OffsetDateTime now = OffsetDateTime.now();
+        final SyncAssetDeduplicator deduplicator = new SyncAssetDeduplicator();
+
+        final ISmintIoAsset first = this.createAsset("lpt-1", now);
+        Assertions.assertArrayEquals(
+            new ISmintIoAsset[] { first },
+            deduplicator.collapse(new ISmintIoAsset[] { first })
+        );
+
+        Assertions.assertEquals(
+            0,
+            deduplicator.collapse(new ISmintIoAsset[] { this.createAsset("lpt-1", now) }).length,
+            "Re-delivery with equal time of update must be dropped!"
+        );
+
+        final ISmintIoAsset newer = this.createAsset("lpt-1", now.plusNanos(1));
+        Assertions.assertArrayEquals(
+            new ISmintIoAsset[] { newer },
+            deduplicator.collapse(new ISmintIoAsset[] { newer }),
+            "Strictly newer occurrence must be passed on!"
+        );
+    }
+
+
+    private SmintIoAssetImpl createAsset(final String uuid, final OffsetDateTime lastUpdatedAt) {
+        return new SmintIoAssetImpl()
+            .setLicensePurchaseTransactionUuid(uuid)
+            .setLastUpdatedAt(lastUpdatedAt);
+    }
+}
+
+// CHECKSTYLE.ON: MultipleStringLiterals
+// CHECKSTYLE.ON: MagicNumber
@@ -0,0 +1,353 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.jobs.impl;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.inject.Provider;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.mockito.Mockito;
+
+import io.smint.clapi.consumer.integration.core.configuration.impl.SyncJobDataMemoryStorage;
+import io.smint.clapi.consumer.integration.core.configuration.models.ISyncJobDataModel;
+import io.smint.clapi.consumer.integration.core.configuration.models.impl.SettingsModelImpl;
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoAsset;
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoBinary;
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoGenericMetadata;
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoMetadataElement;
+import io.smint.clapi.consumer.integration.core.contracts.impl.SmintIoAssetImpl;
+import io.smint.clapi.consumer.integration.core.contracts.impl.SmintIoBinaryImpl;
+import io.smint.clapi.consumer.integration.core.contracts.impl.SmintIoMetadataElementImpl;
+import io.smint.clapi.consumer.integration.core.exceptions.SmintIoSyncJobException;
+import io.smint.clapi.consumer.integration.core.factory.impl.SyncGuiceModule;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncAssetSubscriber;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncAssetSubscription;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncMetadataIdMapper;
+import io.smint.clapi.consumer.integration.core.providers.ISmintIoApiClient;
+import io.smint.clapi.consumer.integration.core.providers.ISmintIoApiDataWithContinuation;
+import io.smint.clapi.consumer.integration.core.providers.impl.SmintIoApiDataWithContinuationImpl;
+import io.smint.clapi.consumer.integration.core.target.ISyncTarget;
+import io.smint.clapi.consumer.integration.core.target.ISyncTargetDataFactory;
+import io.smint.clapi.consumer.integration.core.target.impl.BaseSyncAsset;
+
+
+// CHECKSTYLE.OFF: MultipleStringLiterals
+// CHECKSTYLE.OFF: MagicNumber
+
+@DisplayName("Test streaming assets: SyncAssetPublisher")
+public class TestSyncAssetPublisher {
+
+
+    @Test
+    @DisplayName("Assets are passed on demand and continuation is stored once a page has been acknowledged.")
+    public void streamOnDemandAndCommitOnAcknowledge() throws Exception {
+
+        final PagedApiClient apiClient = new PagedApiClient(2, 1);
+        final SyncJobDataMemoryStorage storage = new SyncJobDataMemoryStorage();
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        this.createPublisher(apiClient, storage, this.createIdMapper()).subscribe(subscriber);
+        Assertions.assertNotNull(subscriber.subscription, "Subscription has not been passed to the subscriber!");
+        Assertions.assertEquals(0, apiClient.requestedPages.size(), "No page must be fetched without demand!");
+
+
+        subscriber.subscription.request(1);
+        Assertions.assertEquals(1, subscriber.assets.size(), "Invalid number of assets after first request!");
+        Assertions.assertEquals(1, apiClient.requestedPages.size(), "Only the first page must have been fetched!");
+
+        subscriber.subscription.request(1);
+        Assertions.assertEquals(2, subscriber.assets.size(), "Invalid number of assets after second request!");
+        Assertions.assertEquals(1, apiClient.requestedPages.size(), "The second page must not have been fetched!");
+
+
+        subscriber.subscription.acknowledge(1);
+        Assertions.assertNull(storage.getSyncProcessData(), "Page must not be committed before fully acknowledged!");
+
+        subscriber.subscription.acknowledge(1);
+        Assertions.assertEquals("page-1", this.getContinuationUuid(storage), "First page has not been committed!");
+
+
+        subscriber.subscription.request(10);
+        Assertions.assertEquals(3, subscriber.assets.size(), "Invalid number of assets after last request!");
+        Assertions.assertTrue(subscriber.isCompleted, "Stream has not been completed!");
+        Assertions.assertNull(subscriber.error, "No error must have been passed!");
+        Assertions.assertEquals("page-1", this.getContinuationUuid(storage), "Unacknowledged page was committed!");
+
+        subscriber.subscription.acknowledge(1);
+        Assertions.assertEquals("page-2", this.getContinuationUuid(storage), "Last page has not been committed!");
+        Assertions.assertArrayEquals(
+            new String[] { null, "page-1", "page-2" },
+            apiClient.requestedPages.toArray(new String[0]),
+            "Pages have not been requested with the continuation UUID of the previous page!"
+        );
+    }
+
+
+    @Test
+    @DisplayName("Acknowledging more assets than have been passed is rejected.")
+    public void acknowledgeTooMany() throws Exception {
+
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        this.createPublisher(new PagedApiClient(2), new SyncJobDataMemoryStorage(), this.createIdMapper())
+            .subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> subscriber.subscription.acknowledge(2));
+    }
+
+
+    @Test
+    @DisplayName("Only a single subscription is allowed at a time.")
+    public void rejectConcurrentSubscriber() throws Exception {
+
+        final SyncAssetPublisher publisher = this.createPublisher(
+            new PagedApiClient(2),
+            new SyncJobDataMemoryStorage(),
+            this.createIdMapper()
+        );
+
+        final RecordingSubscriber first = new RecordingSubscriber();
+        final RecordingSubscriber second = new RecordingSubscriber();
+        publisher.subscribe(first);
+        publisher.subscribe(second);
+
+        Assertions.assertNull(first.error, "First subscription must not fail!");
+        Assertions.assertTrue(second.error instanceof IllegalStateException, "Second subscriber was not rejected!");
+
+
+        first.subscription.cancel();
+        final RecordingSubscriber third = new RecordingSubscriber();
+        publisher.subscribe(third);
+        third.subscription.request(1);
+
+        Assertions.assertNull(third.error, "Subscription after cancelling the first must not fail!");
+        Assertions.assertEquals(1, third.assets.size(), "Invalid number of assets passed to third subscriber!");
+    }
+
+
+    @Test
+    @DisplayName("Streaming fails if meta data has not been synchronized.")
+    public void failWithoutMetadata() throws Exception {
+
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        final SyncAssetPublisher publisher = this.createPublisher(
+            new PagedApiClient(2),
+            new SyncJobDataMemoryStorage(),
+            new DefaultSyncMetadataIdMapperImpl()
+        );
+        publisher.subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+        Assertions.assertTrue(subscriber.error instanceof SmintIoSyncJobException, "Subscription did not fail!");
+        Assertions.assertEquals(0, subscriber.assets.size(), "No asset must have been passed!");
+    }
+
+
+    @Test
+    @DisplayName("The pool to convert assets is looked up for each conversion, as it is replaced on restart.")
+    public void convertWithReplacedPool() {
+
+        final PagedApiClient apiClient = new PagedApiClient(3, 3);
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        final ForkJoinPool stoppedPool = SyncGuiceModule.createAssetConversionPool(2);
+        final AtomicReference<ForkJoinPool> currentPool = new AtomicReference<>(stoppedPool);
+
+        this.createPublisher(apiClient, new SyncJobDataMemoryStorage(), this.createIdMapper(), currentPool::get)
+            .subscribe(subscriber);
+        subscriber.subscription.request(3);
+        Assertions.assertEquals(3, subscriber.assets.size(), "Invalid number of assets of the first page!");
+
+
+        // stopping and starting the synchronization replaces the pool
+        stoppedPool.shutdown();
+        final ForkJoinPool restartedPool = SyncGuiceModule.createAssetConversionPool(2);
+        currentPool.set(restartedPool);
+
+        try {
+            subscriber.subscription.request(3);
+            Assertions.assertNull(subscriber.error, "The assets must not be converted with the pool shut down!");
+            Assertions.assertEquals(6, subscriber.assets.size(), "Invalid number of assets of the second page!");
+
+        } finally {
+            restartedPool.shutdown();
+        }
+    }
+
+
+    private SyncAssetPublisher createPublisher(
+        final ISmintIoApiClient apiClient,
+        final SyncJobDataMemoryStorage storage,
+        final ISyncMetadataIdMapper idMapper
+    ) {
+        return this.createPublisher(apiClient, storage, idMapper, null);
+    }
+
+
+    private SyncAssetPublisher createPublisher(
+        final ISmintIoApiClient apiClient,
+        final SyncJobDataMemoryStorage storage,
+        final ISyncMetadataIdMapper idMapper,
+        final Provider<ForkJoinPool> conversionPool
+    ) {
+        final ISyncTargetDataFactory dataFactory = Mockito.mock(ISyncTargetDataFactory.class);
+        Mockito.when(dataFactory.createSyncBinaryAsset())
+            .thenAnswer((invocation) -> Mockito.mock(BaseSyncAsset.class, Answers.RETURNS_SELF));
+
+        return new SyncAssetPublisher(
+            () -> new SettingsModelImpl().setTenantId("tenant"),
+            apiClient,
+            Mockito.mock(ISyncTarget.class),
+            dataFactory,
+            storage,
+            (url, file) -> () -> null,
+            idMapper,
+            conversionPool
+        ).setExecutor(Runnable::run);
+    }
+
+
+    private String getContinuationUuid(final SyncJobDataMemoryStorage storage) {
+        final ISyncJobDataModel data = storage.getSyncProcessData();
+        return data != null ? data.getContinuationUuid() : null;
+    }
+
+
+    private ISyncMetadataIdMapper createIdMapper() {
+        final ISmintIoMetadataElement[] elements = new ISmintIoMetadataElement[] {
+            new SmintIoMetadataElementImpl().setKey("image").setTargetMetadataUuid("target-image")
+        };
+        return new DefaultSyncMetadataIdMapperImpl().addMappingOfContentTypes(elements);
+    }
+
+
+    /**
+     * Provides pages of assets, each with the given number of assets.
+     */
+    private static class PagedApiClient implements ISmintIoApiClient {
+
+        private final int[] _pageSizes;
+        private final List<String> requestedPages = new ArrayList<>();
+
+
+        PagedApiClient(final int... pageSizes) {
+            this._pageSizes = pageSizes;
+        }
+
+
+        @Override
+        public ISmintIoGenericMetadata getGenericMetadata() {
+            return null;
+        }
+
+
+        @Override
+        public ISmintIoApiDataWithContinuation<ISmintIoAsset[]> getAssets(
+            final String continuationUuid, final boolean includeCoundAssets, final boolean includeBinaryUpdates
+        ) {
+            this.requestedPages.add(continuationUuid);
+
+            final int page = this.requestedPages.size();
+            final ISmintIoAsset[] assets = new ISmintIoAsset[page <= this._pageSizes.length
+                ? this._pageSizes[page - 1]
+                : 0];
+            for (int i = 0; i < assets.length; i++) {
+                assets[i] = this.createAsset("lpt-" + page + "-" + i);
+            }
+
+            return new SmintIoApiDataWithContinuationImpl<ISmintIoAsset[]>()
+                .setResult(assets)
+                .setHasAssets(assets.length > 0)
+                .setContinuationUuid("page-" + page);
+        }
+
+
+        private ISmintIoAsset createAsset(final String uuid) {
+            final Map<Locale, String> name = new HashMap<>();
+            name.put(Locale.ENGLISH, uuid);
+
+            try {
+                return new SmintIoAssetImpl()
+                    .setLicensePurchaseTransactionUuid(uuid)
+                    .setContentType("image")
+                    .setName(name)
+                    .setBinaries(
+                        new ISmintIoBinary[] {
+                            new SmintIoBinaryImpl()
+                                .setUuid(uuid + "-binary")
+                                .setContentType("image")
+                                .setDownloadUrl(new URL("https://example.com/" + uuid))
+                                .setRecommendedFileName(uuid + ".jpg")
+                        }
+                    );
+
+            } catch (final MalformedURLException excp) {
+                throw new IllegalStateException(excp);
+            }
+        }
+    }
+
+
+    private static class RecordingSubscriber implements ISyncAssetSubscriber {
+
+        private final List<BaseSyncAsset> assets = new ArrayList<>();
+        private ISyncAssetSubscription subscription;
+        private Throwable error;
+        private boolean isCompleted;
+
+
+        @Override
+        public void onSubscribe(final ISyncAssetSubscription newSubscription) {
+            this.subscription = newSubscription;
+        }
+
+
+        @Override
+        public void onNext(final BaseSyncAsset asset) {
+            this.assets.add(asset);
+        }
+
+
+        @Override
+        public void onError(final Throwable newError) {
+            this.error = newError;
+        }
+
+
+        @Override
+        public void onComplete() {
+            this.isCompleted = true;
+        }
+    }
+}
+
+// CHECKSTYLE.ON: MultipleStringLiterals
+// CHECKSTYLE.ON: MagicNumber
@@ -0,0 +1,152 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.jobs.impl;
+
+import java.io.File;
+import java.net.URL;
+import java.nio.file.Files;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.smint.clapi.consumer.integration.core.configuration.models.impl.SmintIoAssetJsonConverter;
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoAsset;
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoBinary;
+import io.smint.clapi.consumer.integration.core.contracts.impl.SmintIoAssetImpl;
+import io.smint.clapi.consumer.integration.core.contracts.impl.SmintIoBinaryImpl;
+
+
+// CHECKSTYLE.OFF: MultipleStringLiterals
+// CHECKSTYLE.OFF: MagicNumber
+
+@DisplayName("Test spooling assets in catch-up mode: SyncAssetSpool.class")
+public class TestSyncAssetSpool {
+
+
+    @Test
+    @DisplayName("Spooled assets are collapsed to the latest state of each license purchase transaction.")
+    public void collapseToLatestState() throws Exception {
+
+        final OffsetDateTime now = OffsetDateTime.now();
+        final File spoolFile = File.createTempFile("smint_io-spool", ".tmp");
+
+        try (SyncAssetSpool spool = new SyncAssetSpool(spoolFile, new SmintIoAssetJsonConverter())) {
+
+            spool.append(
+                new ISmintIoAsset[] {
+                    this.createAsset("lpt-1", now, 1),
+                    this.createAsset("lpt-2", now, 1),
+                    null
+                }
+            );
+            spool.append(
+                new ISmintIoAsset[] {
+                    this.createAsset("lpt-1", now.plusMinutes(1), 2),
+                    this.createAsset("lpt-3", now, 1),
+                    this.createAsset("lpt-2", now.minusMinutes(1), 5)
+                }
+            );
+
+            Assertions.assertEquals(5, spool.getSpooledAssets(), "Null assets must not be spooled!");
+            Assertions.assertEquals(3, spool.getCollapsedAssets(), "Each LPT must be spooled only once!");
+
+            final ISmintIoAsset[] firstPage = spool.nextPage(2);
+            final ISmintIoAsset[] secondPage = spool.nextPage(2);
+            Assertions.assertNull(spool.nextPage(2), "No more assets must be left in spool!");
+
+            Assertions.assertNotNull(firstPage);
+            Assertions.assertNotNull(secondPage);
+            Assertions.assertEquals(2, firstPage.length);
+            Assertions.assertEquals(1, secondPage.length);
+
+            Assertions.assertEquals("lpt-2", firstPage[0].getLicensePurchaseTransactionUuid());
+            Assertions.assertEquals(1, firstPage[0].getBinaries()[0].getVersion(), "Older update must be dropped!");
+            Assertions.assertEquals("lpt-1", firstPage[1].getLicensePurchaseTransactionUuid());
+            Assertions.assertEquals(2, firstPage[1].getBinaries()[0].getVersion(), "Latest update must be kept!");
+            Assertions.assertEquals("asset lpt-1", firstPage[1].getName().get(Locale.ENGLISH));
+            Assertions.assertEquals("lpt-3", secondPage[0].getLicensePurchaseTransactionUuid());
+        }
+
+        Assertions.assertFalse(spoolFile.exists(), "Spool file must be deleted on close!");
+    }
+
+
+    @Test
+    @DisplayName("A cleared spool can be used again.")
+    public void reuseAfterClear() throws Exception {
+
+        final File spoolFile = new File(Files.createTempDirectory("smint_io-spool").toFile(), "catch-up.spool");
+
+        try (SyncAssetSpool spool = new SyncAssetSpool(spoolFile, new SmintIoAssetJsonConverter())) {
+
+            Assertions.assertNull(spool.nextPage(10), "Empty spool must not return any assets!");
+
+            spool.append(new ISmintIoAsset[] { this.createAsset("lpt-1", null, 1) });
+            Assertions.assertEquals(1, spool.nextPage(10).length);
+
+            Assertions.assertThrows(
+                IllegalStateException.class,
+                () -> spool.append(new ISmintIoAsset[] { this.createAsset("lpt-2", null, 1) }),
+                "Appending while reading must be rejected!"
+            );
+
+            spool.clear();
+            Assertions.assertEquals(0, spool.getSpooledAssets());
+
+            spool.append(new ISmintIoAsset[] { this.createAsset("lpt-2", null, 1) });
+            spool.append(new ISmintIoAsset[] { this.createAsset("lpt-2", null, 2) });
+            final ISmintIoAsset[] page = spool.nextPage(10);
+            Assertions.assertEquals(1, page.length);
+            Assertions.assertEquals(2, page[0].getBinaries()[0].getVersion(), "Later occurrence must win!");
+        } finally {
+            spoolFile.getParentFile().delete();
+        }
+    }
+
+
+    private SmintIoAssetImpl createAsset(final String uuid, final OffsetDateTime lastUpdatedAt, final int version)
+        throws Exception {
+
+        final Map<Locale, String> name = new HashMap<>();
+        name.put(Locale.ENGLISH, "asset " + uuid);
+
+        return new SmintIoAssetImpl()
+            .setLicensePurchaseTransactionUuid(uuid)
+            .setName(name)
+            .setLastUpdatedAt(lastUpdatedAt)
+            .setBinaries(
+                new ISmintIoBinary[] {
+                    new SmintIoBinaryImpl()
+                        .setUuid("binary-" + uuid)
+                        .setDownloadUrl(new URL("https://example.com/" + uuid + ".jpg"))
+                        .setRecommendedFileName(uuid + ".jpg")
+                        .setVersion(version)
+                }
+            );
+    }
+}
+
+// CHECKSTYLE.ON: MultipleStringLiterals
+// CHECKSTYLE.ON: MagicNumber
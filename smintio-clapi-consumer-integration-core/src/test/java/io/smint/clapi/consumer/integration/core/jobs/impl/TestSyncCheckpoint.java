@@ -0,0 +1,131 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.jobs.impl;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.smint.clapi.consumer.integration.core.configuration.ISyncJobDataStorage;
+import io.smint.clapi.consumer.integration.core.configuration.impl.SyncJobDataMemoryStorage;
+import io.smint.clapi.consumer.integration.core.configuration.models.ISyncJobDataModel;
+
+
+// CHECKSTYLE.OFF: MultipleStringLiterals
+// CHECKSTYLE.OFF: MagicNumber
+
+@DisplayName("Test storing the continuation UUID of asset synchronization: SyncCheckpoint.class")
+public class TestSyncCheckpoint {
+
+
+    @Test
+    @DisplayName("By default the continuation UUID is stored after every page.")
+    public void everyPage() {
+
+        final CountingStorage storage = new CountingStorage();
+        final SyncCheckpoint checkpoint = new SyncCheckpoint(storage, null, 1, 0, () -> 0L);
+
+        Assertions.assertFalse(checkpoint.isDeferred(), "Storing after every page must not be deferred!");
+        Assertions.assertTrue(checkpoint.advance("uuid-1"), "Continuation UUID must be stored after first page!");
+        Assertions.assertTrue(checkpoint.advance("uuid-2"), "Continuation UUID must be stored after second page!");
+        Assertions.assertEquals(2, storage.writes, "Each page must cause a write!");
+        Assertions.assertEquals("uuid-2", storage.getSyncProcessData().getContinuationUuid());
+        Assertions.assertFalse(checkpoint.isDirty(), "Checkpoint must not be dirty after having been stored!");
+        Assertions.assertFalse(checkpoint.flush(), "Nothing must be stored if not dirty!");
+        Assertions.assertEquals(2, storage.writes, "Flushing a clean checkpoint must not cause a write!");
+    }
+
+
+    @Test
+    @DisplayName("The continuation UUID is stored after a number of pages and on flush.")
+    public void everyNPages() {
+
+        final CountingStorage storage = new CountingStorage();
+        final SyncCheckpoint checkpoint = new SyncCheckpoint(storage, null, 3, 0, () -> 0L);
+
+        Assertions.assertTrue(checkpoint.isDeferred(), "Storing after multiple pages must be deferred!");
+        Assertions.assertFalse(checkpoint.advance("uuid-1"));
+        Assertions.assertFalse(checkpoint.advance("uuid-2"));
+        Assertions.assertTrue(checkpoint.isDirty(), "Checkpoint must be dirty before it is due!");
+        Assertions.assertEquals(0, storage.writes, "Nothing must be stored before it is due!");
+
+        Assertions.assertTrue(checkpoint.advance("uuid-3"), "Continuation UUID must be stored after third page!");
+        Assertions.assertEquals("uuid-3", storage.getSyncProcessData().getContinuationUuid());
+
+        Assertions.assertFalse(checkpoint.advance("uuid-4"));
+        Assertions.assertTrue(checkpoint.flush(), "Dirty continuation UUID must be stored on flush!");
+        Assertions.assertEquals("uuid-4", storage.getSyncProcessData().getContinuationUuid());
+        Assertions.assertEquals(2, storage.writes, "Only due pages and the flush must cause a write!");
+    }
+
+
+    @Test
+    @DisplayName("The continuation UUID is stored after some time has elapsed.")
+    public void everyTSeconds() {
+
+        final long[] now = new long[] { 1_000L };
+        final CountingStorage storage = new CountingStorage();
+        final SyncCheckpoint checkpoint = new SyncCheckpoint(storage, null, 0, 10, () -> now[0]);
+
+        now[0] += 5_000L;
+        Assertions.assertFalse(checkpoint.advance("uuid-1"), "Nothing must be stored before time elapsed!");
+
+        now[0] += 5_000L;
+        Assertions.assertTrue(checkpoint.advance("uuid-2"), "Continuation UUID must be stored after time elapsed!");
+        Assertions.assertEquals("uuid-2", storage.getSyncProcessData().getContinuationUuid());
+
+        now[0] += 9_999L;
+        Assertions.assertFalse(checkpoint.advance("uuid-3"), "Time must be measured from last store!");
+        Assertions.assertEquals(1, storage.writes);
+    }
+
+
+    @Test
+    @DisplayName("Without any policy the continuation UUID is only stored on flush.")
+    public void onlyAtEnd() {
+
+        final CountingStorage storage = new CountingStorage();
+        final SyncCheckpoint checkpoint = new SyncCheckpoint(storage, null, 0, 0, () -> Long.MAX_VALUE);
+
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertFalse(checkpoint.advance("uuid-" + i));
+        }
+        Assertions.assertEquals(0, storage.writes, "Nothing must be stored before flush!");
+
+        Assertions.assertTrue(checkpoint.flush());
+        Assertions.assertEquals(1, storage.writes);
+        Assertions.assertEquals("uuid-99", storage.getSyncProcessData().getContinuationUuid());
+    }
+
+
+    private static class CountingStorage extends SyncJobDataMemoryStorage {
+
+        private int writes;
+
+        @Override
+        public ISyncJobDataStorage storeSyncProcessData(final ISyncJobDataModel newProcessData) {
+            this.writes++;
+            return super.storeSyncProcessData(newProcessData);
+        }
+    }
+}
+
+// CHECKSTYLE.ON: MultipleStringLiterals
+// CHECKSTYLE.ON: MagicNumber
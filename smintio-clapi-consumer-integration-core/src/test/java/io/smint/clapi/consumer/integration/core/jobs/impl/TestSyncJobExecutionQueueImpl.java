@@ -0,0 +1,182 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.jobs.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.smint.clapi.consumer.integration.core.jobs.IQueuedSyncJob;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncJobQueueMetrics;
+import io.smint.clapi.consumer.integration.core.jobs.SyncJobPriorityEnum;
+
+
+// CHECKSTYLE.OFF: MultipleStringLiterals
+// CHECKSTYLE.OFF: MagicNumber
+
+@DisplayName("Test job execution queue: SyncJobExecutionQueueImpl")
+public class TestSyncJobExecutionQueueImpl {
+
+
+    @Test
+    @DisplayName("Waiting jobs are executed by priority: manual, push event, scheduled.")
+    public void executeByPriority() {
+
+        final SyncJobExecutionQueueImpl queue = new SyncJobExecutionQueueImpl();
+        final List<String> executed = new ArrayList<>();
+
+        queue.offerJob(SyncJobPriorityEnum.ScheduledEnum, true, () -> executed.add("scheduled"));
+        queue.offerJob(SyncJobPriorityEnum.PushEventEnum, false, () -> executed.add("push"));
+        queue.offerJob(SyncJobPriorityEnum.ManualEnum, false, () -> executed.add("manual"));
+        Assertions.assertEquals(3, queue.getMetrics().getWaitingJobs(), "Invalid number of waiting jobs!");
+
+        queue.run();
+
+        Assertions.assertArrayEquals(
+            new String[] { "manual", "push", "scheduled" },
+            executed.toArray(new String[0]),
+            "Jobs have not been executed by priority!"
+        );
+        Assertions.assertFalse(queue.isRunning(), "Queue must not be running after all jobs have been executed!");
+        Assertions.assertFalse(queue.hasWaitingJob(), "No job must be waiting after all jobs have been executed!");
+    }
+
+
+    @Test
+    @DisplayName("Duplicate jobs are merged and the caller is told so.")
+    public void mergeDuplicates() {
+
+        final SyncJobExecutionQueueImpl queue = new SyncJobExecutionQueueImpl();
+        final List<String> executed = new ArrayList<>();
+
+        final IQueuedSyncJob first = queue.offerJob(SyncJobPriorityEnum.PushEventEnum, false, () -> executed.add("1"));
+        final IQueuedSyncJob second = queue.offerJob(SyncJobPriorityEnum.PushEventEnum, false, () -> executed.add("2"));
+        final IQueuedSyncJob third = queue.offerJob(SyncJobPriorityEnum.PushEventEnum, true, () -> executed.add("3"));
+        final IQueuedSyncJob fourth = queue.offerJob(SyncJobPriorityEnum.PushEventEnum, false, () -> executed.add("4"));
+
+        Assertions.assertFalse(first.isMerged(), "First job must not be merged!");
+        Assertions.assertTrue(second.isMerged(), "Duplicate job has not been merged!");
+        Assertions.assertFalse(third.isMerged(), "Job syncing meta data must not be merged with one that does not!");
+        Assertions.assertTrue(fourth.isMerged(), "Job has not been merged with the job syncing meta data!");
+
+        queue.run();
+
+        Assertions.assertArrayEquals(
+            new String[] { "3" }, executed.toArray(new String[0]), "Only the job syncing meta data must be executed!"
+        );
+        Assertions.assertTrue(first.getCompletion().isDone(), "Replaced job has not been completed!");
+        Assertions.assertTrue(second.getCompletion().isDone(), "Merged job has not been completed!");
+
+        final ISyncJobQueueMetrics metrics = queue.getMetrics();
+        Assertions.assertEquals(4, metrics.getOfferedJobs(), "Invalid number of offered jobs!");
+        Assertions.assertEquals(2, metrics.getMergedJobs(), "Invalid number of merged jobs!");
+        Assertions.assertEquals(1, metrics.getExecutedJobs(), "Invalid number of executed jobs!");
+    }
+
+
+    @Test
+    @DisplayName("A failing job does not block the queue.")
+    public void continueAfterFailure() {
+
+        final SyncJobExecutionQueueImpl queue = new SyncJobExecutionQueueImpl();
+        final AtomicInteger executed = new AtomicInteger();
+
+        final IQueuedSyncJob failing = queue.offerJob(SyncJobPriorityEnum.ManualEnum, true, () -> {
+            throw new IllegalStateException("expected failure of test");
+        });
+        queue.offerJob(SyncJobPriorityEnum.ScheduledEnum, true, executed::incrementAndGet);
+        queue.run();
+
+        Assertions.assertTrue(failing.getCompletion().isCompletedExceptionally(), "Failure has not been reported!");
+        Assertions.assertEquals(1, executed.get(), "Job after failing job has not been executed!");
+        Assertions.assertEquals(1, queue.getMetrics().getFailedJobs(), "Invalid number of failed jobs!");
+        Assertions.assertFalse(queue.isRunning(), "Queue must not be running after a failure!");
+    }
+
+
+    @Test
+    @DisplayName("Concurrent callers never execute jobs in parallel and never lose a job.")
+    public void concurrentRuns() throws Exception {
+
+        final int threadCount = 8;
+        final int rounds = 2_000;
+        final SyncJobExecutionQueueImpl queue = new SyncJobExecutionQueueImpl();
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final CyclicBarrier barrier = new CyclicBarrier(threadCount);
+        final CountDownLatch finished = new CountDownLatch(threadCount);
+        final List<IQueuedSyncJob> queuedJobs = new ArrayList<>();
+
+        final Runnable job = () -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.yield();
+            running.decrementAndGet();
+        };
+
+        for (int i = 0; i < threadCount; i++) {
+            final SyncJobPriorityEnum priority = SyncJobPriorityEnum.values()[i % SyncJobPriorityEnum.values().length];
+            new Thread(() -> {
+                try {
+                    barrier.await();
+                    for (int round = 0; round < rounds; round++) {
+                        final IQueuedSyncJob queuedJob = queue.offerJob(priority, round % 2 == 0, job);
+                        synchronized (queuedJobs) {
+                            queuedJobs.add(queuedJob);
+                        }
+                        queue.run();
+                    }
+
+                } catch (final Exception excp) {
+                    throw new IllegalStateException(excp);
+
+                } finally {
+                    finished.countDown();
+                }
+            }).start();
+        }
+
+        Assertions.assertTrue(finished.await(60, TimeUnit.SECONDS), "Threads did not finish in time!");
+        Assertions.assertEquals(1, maxRunning.get(), "Jobs have been executed in parallel!");
+        Assertions.assertFalse(queue.hasWaitingJob(), "A job has been left in the queue!");
+
+        synchronized (queuedJobs) {
+            for (final IQueuedSyncJob queuedJob : queuedJobs) {
+                Assertions.assertTrue(queuedJob.getCompletion().isDone(), "A queued job has never been executed!");
+            }
+        }
+
+        final ISyncJobQueueMetrics metrics = queue.getMetrics();
+        Assertions.assertEquals(threadCount * rounds, metrics.getOfferedJobs(), "Invalid number of offered jobs!");
+        Assertions.assertTrue(
+            metrics.getExecutedJobs() + metrics.getMergedJobs() <= metrics.getOfferedJobs(),
+            "More jobs have been executed than offered!"
+        );
+    }
+}
+
+// CHECKSTYLE.ON: MultipleStringLiterals
+// CHECKSTYLE.ON: MagicNumber
@@ -0,0 +1,243 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.jobs.impl;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.smint.clapi.consumer.integration.core.configuration.models.impl.SettingsModelImpl;
+import io.smint.clapi.consumer.integration.core.exceptions.SmintIoSyncJobException;
+import io.smint.clapi.consumer.integration.core.exceptions.SmintIoSyncJobException.SyncJobError;
+import io.smint.clapi.consumer.integration.core.jobs.ICancellationToken;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncJobSupervisor.Stage;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncRunRecorder;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncRunReport;
+import io.smint.clapi.consumer.integration.core.jobs.SyncJobStageEnum;
+
+
+// CHECKSTYLE.OFF: MultipleStringLiterals
+// CHECKSTYLE.OFF: MagicNumber
+
+@DisplayName("Test supervising sync jobs: SyncJobSupervisorImpl")
+public class TestSyncJobSupervisorImpl {
+
+
+    @Test
+    @DisplayName("Cancelling a run executes all registered actions exactly once.")
+    public void cancelRunExecutesActions() {
+
+        final SyncJobSupervisorImpl supervisor = new SyncJobSupervisorImpl(() -> new SettingsModelImpl());
+        Assertions.assertFalse(supervisor.cancelRun("idle"), "An idle supervisor must not cancel anything!");
+
+        final ICancellationToken token = supervisor.beginRun();
+        Assertions.assertSame(token, supervisor.getCurrentToken(), "The token of the run is not the current one!");
+
+        final AtomicInteger executed = new AtomicInteger();
+        token.onCancel(executed::incrementAndGet);
+        token.onCancel(executed::incrementAndGet).close();
+
+        Assertions.assertTrue(supervisor.cancelRun("stopped"), "The running job has not been cancelled!");
+        supervisor.cancelRun("stopped again");
+
+        Assertions.assertEquals(1, executed.get(), "Only the registered action must have been executed once!");
+        Assertions.assertTrue(token.isCancelled(), "The token has not been cancelled!");
+        Assertions.assertEquals(SyncJobError.Cancelled, token.getCancellationType(), "Invalid cancellation type!");
+        Assertions.assertEquals("stopped", token.getCancellationReason(), "The first reason must be kept!");
+
+        token.onCancel(executed::incrementAndGet);
+        Assertions.assertEquals(2, executed.get(), "Late actions must be executed immediately!");
+
+        final SmintIoSyncJobException excp = Assertions.assertThrows(
+            SmintIoSyncJobException.class,
+            token::throwIfCancelled
+        );
+        Assertions.assertEquals(SyncJobError.Cancelled, excp.getErrorType(), "Invalid error type of exception!");
+
+        supervisor.endRun(token);
+        Assertions.assertFalse(supervisor.getCurrentToken().isCancelled(), "Idle token must never be cancelled!");
+    }
+
+
+    @Test
+    @DisplayName("Actions to execute at the end of a run are deferred until the run has ended.")
+    public void whenRunEndedDefersActions() {
+
+        final SyncJobSupervisorImpl supervisor = new SyncJobSupervisorImpl(() -> new SettingsModelImpl());
+        final AtomicInteger executed = new AtomicInteger();
+
+        supervisor.whenRunEnded(executed::incrementAndGet);
+        Assertions.assertEquals(1, executed.get(), "Without a run the action must be executed immediately!");
+
+        final ICancellationToken token = supervisor.beginRun();
+        supervisor.cancelRun("stopped");
+        supervisor.whenRunEnded(executed::incrementAndGet);
+        supervisor.whenRunEnded(() -> {
+            throw new IllegalStateException("failing action");
+        });
+        supervisor.whenRunEnded(executed::incrementAndGet);
+        Assertions.assertEquals(1, executed.get(), "The actions must not be executed while the run is active!");
+
+        supervisor.endRun(token);
+        Assertions.assertEquals(3, executed.get(), "All actions must have been executed at the end of the run!");
+
+        supervisor.endRun(supervisor.beginRun());
+        Assertions.assertEquals(3, executed.get(), "Actions must only be executed at the end of a single run!");
+    }
+
+
+    @Test
+    @DisplayName("The watchdog aborts a stage exceeding its time budget and interrupts the job.")
+    public void watchdogAbortsStalledStage() throws Exception {
+
+        final SyncJobSupervisorImpl supervisor = new SyncJobSupervisorImpl(
+            () -> new SettingsModelImpl().setSyncStageTimeoutSeconds(1)
+        );
+
+        final ICancellationToken token = supervisor.beginRun();
+        final CountDownLatch cancelled = new CountDownLatch(1);
+        token.onCancel(cancelled::countDown);
+
+        boolean wasInterrupted = false;
+        try (Stage stage = supervisor.beginStage(SyncJobStageEnum.ImportAssetsEnum)) {
+            Assertions.assertEquals(SyncJobStageEnum.ImportAssetsEnum, supervisor.getCurrentStage(), "Wrong stage!");
+
+            // simulates a sync target blocking forever
+            Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+
+        } catch (final InterruptedException excp) {
+            wasInterrupted = true;
+        }
+
+        Assertions.assertTrue(wasInterrupted, "The stalled job thread has not been interrupted!");
+        Assertions.assertTrue(cancelled.await(5, TimeUnit.SECONDS), "The run has not been cancelled!");
+        Assertions.assertEquals(SyncJobError.Stalled, token.getCancellationType(), "Invalid cancellation type!");
+        Assertions.assertTrue(
+            token.getCancellationReason().contains(SyncJobStageEnum.ImportAssetsEnum.name()),
+            "The reason does not name the stalled stage: " + token.getCancellationReason()
+        );
+
+        supervisor.endRun(token);
+        Assertions.assertFalse(Thread.currentThread().isInterrupted(), "The interrupt has not been cleared!");
+    }
+
+
+    @Test
+    @DisplayName("A stage finishing in time is not aborted by the watchdog.")
+    public void stageInTimeIsNotAborted() throws Exception {
+
+        final SyncJobSupervisorImpl supervisor = new SyncJobSupervisorImpl(
+            () -> new SettingsModelImpl().setSyncStageTimeoutSeconds(1)
+        );
+
+        final ICancellationToken token = supervisor.beginRun();
+        try (Stage stage = supervisor.beginStage(SyncJobStageEnum.FetchAssetsEnum)) {
+            Assertions.assertNotNull(stage, "No stage has been returned!");
+        }
+        Assertions.assertNull(supervisor.getCurrentStage(), "The stage has not been cleared when closed!");
+
+        Thread.sleep(1500);
+
+        Assertions.assertFalse(token.isCancelled(), "The run must not have been cancelled!");
+        Assertions.assertFalse(Thread.interrupted(), "The job thread must not have been interrupted!");
+        supervisor.endRun(token);
+    }
+
+
+    @Test
+    @DisplayName("The report of a run collects its figures and attributes retries to the current stage.")
+    public void runReportCollectsFigures() throws Exception {
+
+        final SyncJobSupervisorImpl supervisor = new SyncJobSupervisorImpl(() -> new SettingsModelImpl());
+        Assertions.assertNull(supervisor.getLastRunReport(), "No report must be available before the first run!");
+        supervisor.getCurrentRecorder().recordPageFetched(10);
+
+        final ICancellationToken token = supervisor.beginRun();
+        final ISyncRunRecorder recorder = supervisor.getCurrentRecorder();
+        recorder.recordContinuationUuid("first");
+
+        try (Stage stage = supervisor.beginStage(SyncJobStageEnum.FetchAssetsEnum)) {
+            recorder.recordPageFetched(10);
+            recorder.recordRetry();
+            recorder.recordRetry();
+            Thread.sleep(50);
+        }
+        try (Stage stage = supervisor.beginStage(SyncJobStageEnum.ImportAssetsEnum)) {
+            recorder.recordImportedAssets(3, 2, 1);
+            recorder.recordSkippedAssets(1);
+            recorder.recordDownloadedBytes(1024);
+            recorder.recordRetry();
+        }
+        recorder.recordRetry();
+        recorder.recordContinuationUuid("second");
+        supervisor.endRun(token);
+
+        recorder.recordPageFetched(10);
+        recorder.recordFailedAssets(10);
+
+        final ISyncRunReport report = supervisor.getLastRunReport();
+        Assertions.assertNotNull(report, "No report has been stored at the end of the run!");
+        Assertions.assertEquals(1, report.getPagesFetched(), "Invalid number of pages!");
+        Assertions.assertEquals(3, report.getNewAssets(), "Invalid number of new assets!");
+        Assertions.assertEquals(2, report.getUpdatedAssets(), "Invalid number of updated assets!");
+        Assertions.assertEquals(1, report.getCompoundAssets(), "Invalid number of compound assets!");
+        Assertions.assertEquals(1, report.getSkippedAssets(), "Invalid number of skipped assets!");
+        Assertions.assertEquals(0, report.getFailedAssets(), "Figures recorded after the run must be ignored!");
+        Assertions.assertEquals(1024, report.getBytesDownloaded(), "Invalid number of downloaded bytes!");
+        Assertions.assertEquals(4, report.getRetries(), "Invalid number of retries!");
+        Assertions.assertEquals(2, report.getStageRetries(SyncJobStageEnum.FetchAssetsEnum), "Invalid retries!");
+        Assertions.assertEquals(1, report.getStageRetries(SyncJobStageEnum.ImportAssetsEnum), "Invalid retries!");
+        Assertions.assertTrue(
+            report.getStageDurationMillis(SyncJobStageEnum.FetchAssetsEnum) >= 50,
+            "The duration of the stage has not been recorded!"
+        );
+        Assertions.assertTrue(report.getDurationMillis() >= 50, "Invalid duration of the run!");
+        Assertions.assertEquals("second", report.getContinuationUuid(), "Invalid continuation UUID!");
+        Assertions.assertTrue(report.isSuccessful(), "The run must have been successful!");
+    }
+
+
+    @Test
+    @DisplayName("The report of a cancelled run contains the cancellation as its error.")
+    public void runReportOfCancelledRun() {
+
+        final SyncJobSupervisorImpl supervisor = new SyncJobSupervisorImpl(() -> new SettingsModelImpl());
+
+        final ICancellationToken token = supervisor.beginRun();
+        supervisor.cancelRun("stopped");
+        supervisor.endRun(token);
+
+        final ISyncRunReport report = supervisor.getLastRunReport();
+        Assertions.assertFalse(report.isSuccessful(), "A cancelled run must not be successful!");
+        Assertions.assertTrue(report.getError() instanceof SmintIoSyncJobException, "Invalid type of error!");
+        Assertions.assertEquals(
+            SyncJobError.Cancelled,
+            ((SmintIoSyncJobException) report.getError()).getErrorType(),
+            "Invalid error type of the report!"
+        );
+    }
+}
+
+// CHECKSTYLE.ON: MultipleStringLiterals
+// CHECKSTYLE.ON: MagicNumber
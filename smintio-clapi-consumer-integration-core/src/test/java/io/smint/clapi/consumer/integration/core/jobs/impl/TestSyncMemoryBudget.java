@@ -0,0 +1,79 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.jobs.impl;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+
+// CHECKSTYLE.OFF: MultipleStringLiterals
+// CHECKSTYLE.OFF: MagicNumber
+
+@DisplayName("Test memory budget of asset synchronization: SyncMemoryBudget.class")
+public class TestSyncMemoryBudget {
+
+
+    @Test
+    @DisplayName("Without any restriction the whole page is processed at once.")
+    public void unbounded() {
+
+        final SyncMemoryBudget budget = new SyncMemoryBudget(0, 0, () -> Long.MAX_VALUE);
+
+        Assertions.assertFalse(budget.isBounded(), "Budget without restrictions must not be bounded!");
+        Assertions.assertEquals(100, budget.nextSliceSize(100), "Whole page must be processed at once!");
+        Assertions.assertEquals(0, budget.nextSliceSize(0), "Nothing must be processed for empty pages!");
+    }
+
+
+    @Test
+    @DisplayName("Maximum assets in flight restrict the slice size.")
+    public void maxAssetsInFlight() {
+
+        final SyncMemoryBudget budget = new SyncMemoryBudget(10, 0, () -> Long.MAX_VALUE);
+
+        Assertions.assertTrue(budget.isBounded(), "Budget with restrictions must be bounded!");
+        Assertions.assertEquals(10, budget.nextSliceSize(100), "Slice must be restricted to assets in flight!");
+        Assertions.assertEquals(5, budget.nextSliceSize(5), "Slice must not exceed remaining assets!");
+    }
+
+
+    @Test
+    @DisplayName("Heap budget reduces the slice size down to a single asset.")
+    public void heapBudget() {
+
+        final long[] usedHeap = new long[] { 0 };
+        final SyncMemoryBudget budget = new SyncMemoryBudget(0, 1, () -> usedHeap[0]);
+
+        Assertions.assertTrue(budget.isBounded(), "Budget with restrictions must be bounded!");
+        Assertions.assertEquals(
+            4, budget.nextSliceSize(100), "Slice must be restricted to the assets fitting into the heap budget!"
+        );
+
+        usedHeap[0] = 1024L * 1024L - SyncMemoryBudget.ESTIMATED_BYTES_PER_ASSET;
+        Assertions.assertEquals(1, budget.nextSliceSize(100), "Slice must be restricted to the headroom left!");
+
+        usedHeap[0] = 2L * 1024L * 1024L;
+        Assertions.assertEquals(1, budget.nextSliceSize(100), "Exceeded budget must still process a single asset!");
+    }
+}
+
+// CHECKSTYLE.ON: MultipleStringLiterals
+// CHECKSTYLE.ON: MagicNumber
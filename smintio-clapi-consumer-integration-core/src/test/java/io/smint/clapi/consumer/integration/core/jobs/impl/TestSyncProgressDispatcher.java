@@ -0,0 +1,230 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.jobs.impl;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.smint.clapi.consumer.integration.core.configuration.models.impl.SettingsModelImpl;
+import io.smint.clapi.consumer.integration.core.jobs.ICancellationToken;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncJobSupervisor.Stage;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncProgressListener;
+import io.smint.clapi.consumer.integration.core.jobs.ISyncRunReport;
+import io.smint.clapi.consumer.integration.core.jobs.SyncJobStageEnum;
+
+
+// CHECKSTYLE.OFF: MultipleStringLiterals
+// CHECKSTYLE.OFF: MagicNumber
+
+@DisplayName("Test passing progress of sync jobs to listeners: SyncProgressDispatcher")
+public class TestSyncProgressDispatcher {
+
+
+    @Test
+    @DisplayName("A slow listener does not stall the run and receives the progress in order.")
+    public void slowListenerDoesNotStall() throws Exception {
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch finished = new CountDownLatch(1);
+        final List<String> received = new CopyOnWriteArrayList<>();
+
+        final SyncProgressDispatcher dispatcher = new SyncProgressDispatcher()
+            .addListener(new ISyncProgressListener() {
+
+                @Override
+                public void onPageFetched(final int assets) {
+                    try {
+                        release.await();
+                    } catch (final InterruptedException excp) {
+                        Thread.currentThread().interrupt();
+                    }
+                    received.add("page " + assets);
+                }
+
+
+                @Override
+                public void onAssetsImported(final int newAssets, final int updatedAssets) {
+                    received.add("imported " + newAssets + "/" + updatedAssets);
+                }
+
+
+                @Override
+                public void onRunFinished(final ISyncRunReport report) {
+                    finished.countDown();
+                }
+            })
+            .addListener(new ISyncProgressListener() {
+
+                @Override
+                public void onAssetsImported(final int newAssets, final int updatedAssets) {
+                    throw new IllegalStateException("failing listener");
+                }
+            });
+
+        final long start = System.nanoTime();
+        dispatcher.onPageFetched(10);
+        dispatcher.onAssetsImported(7, 3);
+        dispatcher.onRunFinished(new SyncRunReport().finish());
+        Assertions.assertTrue(
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 500,
+            "Dispatching progress must not wait for the listeners!"
+        );
+        Assertions.assertTrue(received.isEmpty(), "The listener must not have been called on the calling thread!");
+
+        release.countDown();
+        Assertions.assertTrue(finished.await(5, TimeUnit.SECONDS), "The end of the run has not been received!");
+        Assertions.assertEquals(Arrays.asList("page 10", "imported 7/3"), received, "Invalid progress received!");
+    }
+
+
+    @Test
+    @DisplayName("Progress is added up while too many calls are waiting for a blocked listener.")
+    public void progressIsAddedUpForBlockedListener() throws Exception {
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch finished = new CountDownLatch(1);
+        final List<Long> received = new CopyOnWriteArrayList<>();
+        final List<SyncJobStageEnum> finishedStages = new CopyOnWriteArrayList<>();
+
+        final SyncProgressDispatcher dispatcher = new SyncProgressDispatcher()
+            .addListener(new ISyncProgressListener() {
+
+                @Override
+                public void onDownloadProgress(final long bytes) {
+                    try {
+                        release.await();
+                    } catch (final InterruptedException excp) {
+                        Thread.currentThread().interrupt();
+                    }
+                    received.add(bytes);
+                }
+
+
+                @Override
+                public void onStageFinished(final SyncJobStageEnum stage, final long durationMillis) {
+                    finishedStages.add(stage);
+                }
+
+
+                @Override
+                public void onRunFinished(final ISyncRunReport report) {
+                    finished.countDown();
+                }
+            });
+
+        long totalBytes = 0;
+        for (int i = 0; i < SyncProgressDispatcher.MAX_PENDING_PROGRESS * 2; i++) {
+            dispatcher.onDownloadProgress(i);
+            totalBytes += i;
+        }
+
+        // the end of the stage and the run must never be dropped, even if too many calls are waiting
+        dispatcher.onStageFinished(SyncJobStageEnum.ImportAssetsEnum, 10);
+        dispatcher.onRunFinished(new SyncRunReport().finish());
+        release.countDown();
+
+        Assertions.assertTrue(finished.await(5, TimeUnit.SECONDS), "The end of the run has not been received!");
+        Assertions.assertTrue(
+            received.size() <= SyncProgressDispatcher.MAX_PENDING_PROGRESS + 1,
+            "Progress must have been added up while the listener was blocked!"
+        );
+        Assertions.assertEquals(0L, received.get(0), "The first progress must have been received!");
+        Assertions.assertEquals(
+            totalBytes,
+            received.stream().mapToLong(Long::longValue).sum(),
+            "The added up progress must match the total!"
+        );
+        Assertions.assertEquals(
+            Arrays.asList(SyncJobStageEnum.ImportAssetsEnum),
+            finishedStages,
+            "The end of the stage has not been received!"
+        );
+    }
+
+
+    @Test
+    @DisplayName("The supervisor passes recorded progress, stage timing and the report to its listeners.")
+    public void supervisorPassesProgress() throws Exception {
+
+        final SyncJobSupervisorImpl supervisor = new SyncJobSupervisorImpl(() -> new SettingsModelImpl());
+        final CountDownLatch finished = new CountDownLatch(1);
+        final List<String> received = new CopyOnWriteArrayList<>();
+
+        supervisor.addProgressListener(new ISyncProgressListener() {
+
+            @Override
+            public void onPageFetched(final int assets) {
+                received.add("page " + assets);
+            }
+
+
+            @Override
+            public void onAssetsConverted(final int assets) {
+                received.add("converted " + assets);
+            }
+
+
+            @Override
+            public void onDownloadProgress(final long bytes) {
+                received.add("bytes " + bytes);
+            }
+
+
+            @Override
+            public void onStageFinished(final SyncJobStageEnum stage, final long durationMillis) {
+                received.add("stage " + stage);
+            }
+
+
+            @Override
+            public void onRunFinished(final ISyncRunReport report) {
+                received.add("finished " + report.getPagesFetched());
+                finished.countDown();
+            }
+        });
+
+        final ICancellationToken token = supervisor.beginRun();
+        try (Stage stage = supervisor.beginStage(SyncJobStageEnum.FetchAssetsEnum)) {
+            supervisor.getCurrentRecorder().recordPageFetched(5);
+        }
+        supervisor.getCurrentRecorder().recordConvertedAssets(4);
+        supervisor.getCurrentRecorder().recordDownloadedBytes(2048);
+        supervisor.endRun(token);
+
+        Assertions.assertTrue(finished.await(5, TimeUnit.SECONDS), "The end of the run has not been received!");
+        Assertions.assertEquals(
+            Arrays.asList(
+                "page 5", "stage " + SyncJobStageEnum.FetchAssetsEnum, "converted 4", "bytes 2048", "finished 1"
+            ),
+            received,
+            "Invalid progress received!"
+        );
+    }
+}
+
+// CHECKSTYLE.ON: MultipleStringLiterals
+// CHECKSTYLE.ON: MagicNumber
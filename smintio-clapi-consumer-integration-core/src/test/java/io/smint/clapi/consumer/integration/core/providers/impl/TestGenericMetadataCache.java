@@ -0,0 +1,171 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.providers.impl;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoGenericMetadata;
+import io.smint.clapi.consumer.integration.core.contracts.ISmintIoMetadataElement;
+import io.smint.clapi.consumer.integration.core.contracts.impl.SmintIoGenericMetadataImpl;
+import io.smint.clapi.consumer.integration.core.contracts.impl.SmintIoMetadataElementImpl;
+
+
+// CHECKSTYLE.OFF: MultipleStringLiterals
+// CHECKSTYLE.OFF: MagicNumber
+
+@DisplayName("Test caching of generic meta data: GenericMetadataCache")
+public class TestGenericMetadataCache {
+
+    private static final String KEY = "tenant|[en]";
+
+
+    @Test
+    @DisplayName("Cached meta data is used within its time to live only.")
+    public void testTimeToLive() throws Exception {
+
+        final AtomicLong now = new AtomicLong(0);
+        final GenericMetadataCache cache = new GenericMetadataCache(now::get);
+        final ISmintIoGenericMetadata metadata = new SmintIoGenericMetadataImpl();
+
+        Assertions.assertNull(cache.get(KEY, 1000));
+        Assertions.assertSame(metadata, cache.store(this.createResponse(200, "\"v1\""), KEY, metadata));
+
+        now.set(999);
+        Assertions.assertNotNull(cache.get(KEY, 1000));
+        Assertions.assertNull(cache.get("tenant|[de]", 1000), "Meta data of other import languages must not be used.");
+
+        now.set(1000);
+        Assertions.assertNull(cache.get(KEY, 1000));
+    }
+
+
+    @Test
+    @DisplayName("Request is conditional with the ETag of the cached response.")
+    public void testConditionalRequest() throws Exception {
+
+        final GenericMetadataCache cache = new GenericMetadataCache();
+        final Request request = this.createRequest();
+
+        Assertions.assertSame(request, cache.toConditionalRequest(request, KEY), "Nothing cached yet.");
+
+        cache.store(this.createResponse(200, null), KEY, new SmintIoGenericMetadataImpl());
+        Assertions.assertSame(request, cache.toConditionalRequest(request, KEY), "Response without ETag.");
+
+        cache.store(this.createResponse(200, "\"v1\""), KEY, new SmintIoGenericMetadataImpl());
+        Assertions.assertEquals(
+            "\"v1\"",
+            cache.toConditionalRequest(request, KEY).header(GenericMetadataCache.HEADER_IF_NONE_MATCH)
+        );
+        Assertions.assertSame(request, cache.toConditionalRequest(request, "other|[en]"), "Other tenant.");
+    }
+
+
+    @Test
+    @DisplayName("Not modified response provides the cached meta data and restarts its time to live.")
+    public void testNotModified() throws Exception {
+
+        final AtomicLong now = new AtomicLong(0);
+        final GenericMetadataCache cache = new GenericMetadataCache(now::get);
+        final ISmintIoGenericMetadata metadata = new SmintIoGenericMetadataImpl();
+        cache.store(this.createResponse(200, "\"v1\""), KEY, metadata);
+
+        now.set(5000);
+        Assertions.assertNull(cache.get(KEY, 1000));
+        Assertions.assertNull(cache.getNotModified(this.createResponse(200, "\"v2\""), KEY), "Modified response.");
+        Assertions.assertNotNull(cache.getNotModified(this.createResponse(304, "\"v1\""), KEY));
+        Assertions.assertNotNull(cache.get(KEY, 1000), "Time to live must start over.");
+    }
+
+
+    @Test
+    @DisplayName("Each caller receives its own copy of the meta data without any IDs of the sync target.")
+    public void testCopies() throws Exception {
+
+        final Map<Locale, String> values = new HashMap<>();
+        values.put(Locale.ENGLISH, "Getty Images");
+        final SmintIoGenericMetadataImpl metadata = new SmintIoGenericMetadataImpl().setContentProviders(
+            new ISmintIoMetadataElement[] {
+                new SmintIoMetadataElementImpl().setKey("getty").setValues(values)
+            }
+        );
+
+        final GenericMetadataCache cache = new GenericMetadataCache(() -> 0L);
+        cache.store(this.createResponse(200, "\"v1\""), KEY, metadata);
+        metadata.getContentProviders()[0].setTargetMetadataUuid("stored-by-first-caller");
+
+        final ISmintIoGenericMetadata first = cache.get(KEY, 1000);
+        Assertions.assertNotSame(metadata, first);
+        Assertions.assertNull(
+            first.getContentProviders()[0].getTargetMetadataUuid(),
+            "Changes to stored meta data must not be cached!"
+        );
+        Assertions.assertEquals("getty", first.getContentProviders()[0].getKey());
+        Assertions.assertEquals("Getty Images", first.getContentProviders()[0].getValues().get(Locale.ENGLISH));
+
+        first.getContentProviders()[0].setTargetMetadataUuid("target-1");
+
+        final ISmintIoGenericMetadata second = cache.get(KEY, 1000);
+        Assertions.assertNotSame(first.getContentProviders()[0], second.getContentProviders()[0]);
+        Assertions.assertNull(
+            second.getContentProviders()[0].getTargetMetadataUuid(),
+            "Changes of a previous caller must not be visible to the next one!"
+        );
+
+        final ISmintIoGenericMetadata notModified = cache.getNotModified(this.createResponse(304, "\"v1\""), KEY);
+        Assertions.assertNull(notModified.getContentProviders()[0].getTargetMetadataUuid());
+        Assertions.assertNull(notModified.getContentTypes(), "Empty categories must stay empty.");
+    }
+
+
+    private Request createRequest() {
+        return new Request.Builder().url("https://tenant.clapi.smint.io/consumer/v1/metadata/sync").build();
+    }
+
+
+    private Response createResponse(final int code, final String etag) {
+        final Response.Builder response = new Response.Builder()
+            .request(this.createRequest())
+            .protocol(Protocol.HTTP_1_1)
+            .code(code)
+            .message(code == 304 ? "Not Modified" : "OK")
+            .body(ResponseBody.create(MediaType.get("application/json"), code == 304 ? "" : "{}"));
+
+        if (etag != null) {
+            response.header(GenericMetadataCache.HEADER_ETAG, etag);
+        }
+        return response.build();
+    }
+}
+
+// CHECKSTYLE.ON: MultipleStringLiterals
+// CHECKSTYLE.ON: MagicNumber
@@ -0,0 +1,103 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.providers.impl;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.Locale;
+
+import com.google.gson.stream.JsonReader;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.smint.clapi.consumer.generated.JSON;
+import io.smint.clapi.consumer.integration.core.contracts.impl.SmintIoAssetImpl;
+
+
+// CHECKSTYLE.OFF: MultipleStringLiterals
+// CHECKSTYLE.OFF: MagicNumber
+
+@DisplayName("Test streaming decoding of Smint.io API responses: SmintIoAssetStreamDecoder")
+public class TestSmintIoAssetStreamDecoder extends TestSminIoApiClientBase {
+
+
+    @Test
+    @DisplayName("decoding a page of license purchase transactions.")
+    public void testDecodePage() throws Exception {
+
+        final String[] importLanguages = new String[] { "en" };
+        final SmintIoApiClientImpl clientApi = this.createApiClient(importLanguages);
+        final SmintIoAssetStreamDecoder decoder = new SmintIoAssetStreamDecoder(
+            new JSON().getGson(), clientApi, this.convertImportLanguages(importLanguages), "test"
+        );
+
+        final String json = "{\n" +
+            "  \"continuation_uuid\": \"next-page\",\n" +
+            "  \"count\": 3,\n" +
+            "  \"unknown_field\": { \"nested\": [1, 2, 3] },\n" +
+            "  \"license_purchase_transactions\": [\n" +
+            "    {\n" +
+            "      \"uuid\": \"79468\",\n" +
+            "      \"state\": \"completed\",\n" +
+            "      \"can_be_synced\": true,\n" +
+            "      \"project_name\": [ { \"culture\": \"en\", \"value\": \"Testprojekt\" } ],\n" +
+            "      \"content_element\": {\n" +
+            "        \"uuid\": \"2:0:61019726\",\n" +
+            "        \"provider\": \"adobestock\",\n" +
+            "        \"name\": [\n" +
+            "          { \"culture\": \"en\", \"value\": \"little mouse\" },\n" +
+            "          { \"culture\": \"de\", \"value\": \"Kleine Maus\" }\n" +
+            "        ]\n" +
+            "      }\n" +
+            "    },\n" +
+            "    {\n" +
+            "      \"uuid\": \"79469\",\n" +
+            "      \"can_be_synced\": false,\n" +
+            "      \"content_element\": { \"uuid\": \"2:0:1\" }\n" +
+            "    },\n" +
+            "    {\n" +
+            "      \"uuid\": \"79470\"\n" +
+            "    }\n" +
+            "  ]\n" +
+            "}";
+
+        final SmintIoApiDataWithContinuationImpl<List<SmintIoAssetImpl>> page;
+        try (final JsonReader reader = new JsonReader(new StringReader(json))) {
+            page = decoder.decodePage(reader);
+        }
+
+        Assertions.assertNotNull(page, "Failed to decode page of assets!");
+        Assertions.assertEquals("next-page", page.getContinuationUuid(), "Invalid continuation UUID decoded!");
+        Assertions.assertTrue(page.hasAssets(), "Page has not been detected to contain assets!");
+        Assertions.assertEquals(1, page.getResult().size(), "Only synchronizable assets must be decoded!");
+
+        final SmintIoAssetImpl asset = page.getResult().get(0);
+        Assertions.assertEquals("79468", asset.getLicensePurchaseTransactionUuid(), "Invalid LPT UUID decoded!");
+        Assertions.assertEquals("2:0:61019726", asset.getContentElementUuid(), "Invalid content UUID decoded!");
+        Assertions.assertEquals(1, asset.getName().size(), "Only import languages must be decoded!");
+        Assertions.assertEquals("little mouse", asset.getName().get(Locale.ENGLISH), "Invalid name decoded!");
+        Assertions.assertNotNull(asset.getLastUpdatedAt(), "Missing last update time must be defaulted!");
+    }
+}
+
+// CHECKSTYLE.ON: MultipleStringLiterals
+// CHECKSTYLE.ON: MagicNumber
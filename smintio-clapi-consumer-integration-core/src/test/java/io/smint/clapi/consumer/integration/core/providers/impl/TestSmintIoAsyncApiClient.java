@@ -0,0 +1,171 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.providers.impl;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.pivovarit.function.ThrowingFunction;
+import com.pivovarit.function.ThrowingSupplier;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import okhttp3.Call;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import io.smint.clapi.consumer.generated.ApiException;
+import io.smint.clapi.consumer.integration.core.authenticator.IAuthTokenRefreshUtility;
+import io.smint.clapi.consumer.integration.core.configuration.impl.AuthTokenMemoryStorage;
+import io.smint.clapi.consumer.integration.core.configuration.models.ISettingsModel;
+import io.smint.clapi.consumer.integration.core.configuration.models.impl.AuthTokenImpl;
+
+
+// CHECKSTYLE.OFF: MultipleStringLiterals
+// CHECKSTYLE.OFF: MagicNumber
+
+@DisplayName("Test asynchronous requests: SmintIoApiClientImpl")
+public class TestSmintIoAsyncApiClient extends TestSminIoApiClientBase {
+
+
+    @Test
+    @DisplayName("failed requests are retried without blocking the caller.")
+    public void testRetryWithoutBlocking() throws Exception {
+
+        final AtomicInteger requestCount = new AtomicInteger(0);
+        final SmintIoApiClientImpl clientApi = this.createApiClient(new String[] { "en" });
+
+        final long start = System.currentTimeMillis();
+        final CompletableFuture<String> result = this.retryApiRequestAsync(clientApi, requestCount, 503);
+        final long duration = System.currentTimeMillis() - start;
+
+        Assertions.assertTrue(duration < SmintIoApiClientImpl.RETRY_WAIT_FOR_NEXT_RETRY, "Caller has been blocked!");
+        Assertions.assertEquals(
+            "synced",
+            result.get(SmintIoApiClientImpl.RETRY_WAIT_FOR_NEXT_RETRY * 3, TimeUnit.MILLISECONDS),
+            "Failed request has not been retried!"
+        );
+        Assertions.assertEquals(2, requestCount.get(), "Invalid count of requests!");
+    }
+
+
+    @Test
+    @DisplayName("the OAuth token is refreshed on the executor of the HTTP client, not on the retry timer.")
+    public void testRefreshTokenOffRetryTimer() throws Exception {
+
+        final AtomicReference<String> refreshingThread = new AtomicReference<>();
+        final IAuthTokenRefreshUtility tokenRefreshUtility = Mockito.mock(IAuthTokenRefreshUtility.class);
+        Mockito.when(tokenRefreshUtility.refreshOAuthToken(ArgumentMatchers.any())).thenAnswer((invocation) -> {
+            refreshingThread.set(Thread.currentThread().getName());
+            return new AuthTokenImpl().setAccessToken("refreshed");
+        });
+
+        final ISettingsModel settings = this.createSettings(new String[] { "en" });
+        final SmintIoApiClientImpl clientApi = new SmintIoApiClientImpl(
+            () -> settings,
+            new AuthTokenMemoryStorage(),
+            tokenRefreshUtility,
+            null,
+            null,
+            null,
+            null
+        );
+
+        final AtomicInteger requestCount = new AtomicInteger(0);
+        Assertions.assertEquals(
+            "synced",
+            this.retryApiRequestAsync(clientApi, requestCount, 401)
+                .get(SmintIoApiClientImpl.RETRY_WAIT_FOR_NEXT_RETRY * 3, TimeUnit.MILLISECONDS),
+            "Unauthorized request has not been retried!"
+        );
+
+        Assertions.assertEquals(2, requestCount.get(), "Invalid count of requests!");
+        Assertions.assertNotNull(refreshingThread.get(), "OAuth token has not been refreshed!");
+        Assertions.assertNotEquals(
+            "smint.io-api-retry",
+            refreshingThread.get(),
+            "OAuth token must not be refreshed on the retry timer!"
+        );
+    }
+
+
+    /**
+     * Sends a request asynchronously, whose first try fails with the provided HTTP status code.
+     *
+     * @param clientApi        the client to send the request with.
+     * @param requestCount     counts the tries of the request.
+     * @param failedStatusCode the HTTP status code of the first try.
+     * @return the result of the request.
+     */
+    @SuppressWarnings("unchecked")
+    private CompletableFuture<String> retryApiRequestAsync(
+        final SmintIoApiClientImpl clientApi,
+        final AtomicInteger requestCount,
+        final int failedStatusCode
+    ) throws Exception {
+
+        final OkHttpClient httpClient = new OkHttpClient.Builder()
+            .addInterceptor((chain) -> {
+                final boolean isFirstRequest = requestCount.incrementAndGet() == 1;
+                return new Response.Builder()
+                    .request(chain.request())
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(isFirstRequest ? failedStatusCode : 200)
+                    .message(isFirstRequest ? "Failed" : "OK")
+                    .body(ResponseBody.create(MediaType.get("text/plain"), isFirstRequest ? "" : "synced"))
+                    .build();
+            })
+            .build();
+
+        final ThrowingSupplier<Call, ApiException> callFactory = () -> httpClient.newCall(
+            new Request.Builder().url("https://test.clapi.smint.io/consumer/v1/").build()
+        );
+        final ThrowingFunction<Response, String, ApiException> responseHandler = (response) -> {
+            if (!response.isSuccessful()) {
+                throw new ApiException(response.message(), response.code(), null, null);
+            }
+            try {
+                return response.body().string();
+            } catch (final IOException excp) {
+                throw new ApiException(excp);
+            }
+        };
+
+        final Method retryApiRequestAsync = this.getPrivateFunction(
+            clientApi, "retryApiRequestAsync", ThrowingSupplier.class, ThrowingFunction.class
+        );
+        return (CompletableFuture<String>) retryApiRequestAsync.invoke(clientApi, callFactory, responseHandler);
+    }
+}
+
+// CHECKSTYLE.ON: MultipleStringLiterals
+// CHECKSTYLE.ON: MagicNumber
@@ -0,0 +1,394 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.services.impl;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.pusher.client.AuthorizationFailureException;
+import com.pusher.client.Authorizer;
+import com.pusher.client.PusherOptions;
+
+import org.java_websocket.WebSocket;
+import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.server.WebSocketServer;
+
+
+/**
+ * A local websocket server speaking enough of the Pusher protocol to test {@link PusherService} without Pusher.com.
+ *
+ * <p>
+ * The server supports establishing a connection, subscribing to private channels, that are authorized with the
+ * signature created by {@link #getAuthorizer()}, ping and pong and delivering events with
+ * {@link #trigger(String, String, String)}. Failures are induced with {@link #disconnectAll(int)}, which closes all
+ * connections, and {@link #stop()} followed by {@link #start()}, which simulates an outage of the server. The server
+ * keeps its port across restarts.
+ * </p>
+ */
+public class LocalPusherServer implements AutoCloseable {
+
+    /**
+     * The application key clients must use.
+     */
+    public static final String APP_KEY = "local-app-key";
+
+
+    /**
+     * A close code telling Pusher clients to re-connect immediately.
+     */
+    public static final int CLOSE_RECONNECT_IMMEDIATELY = 4200;
+
+
+    private static final String APP_SECRET = "local-app-secret";
+    private static final String HOST = "localhost";
+    private static final String PRIVATE_CHANNEL_PREFIX = "private-";
+    private static final long START_TIMEOUT_SECONDS = 10;
+    private static final int STOP_TIMEOUT_MILLISEC = 1000;
+    private static final int ERROR_INVALID_SIGNATURE = 4009;
+
+
+    private final Map<WebSocket, Set<String>> _subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger _socketIds = new AtomicInteger();
+    private final Object _subscriptionMonitor = new Object();
+    private int _subscriptionCount;
+    private int _port;
+    private Server _server;
+
+
+    /**
+     * Starts the server, on a random free port on first start and on the same port afterwards.
+     *
+     * @return {@code this}
+     * @throws InterruptedException if interrupted while waiting for the server to start.
+     */
+    public synchronized LocalPusherServer start() throws InterruptedException {
+        if (this._server != null) {
+            return this;
+        }
+
+        final Server server = new Server(new InetSocketAddress(HOST, this._port));
+        server.setReuseAddr(true);
+        server.start();
+
+        if (!server._started.await(START_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Local Pusher server did not start in time.");
+        }
+
+        this._port = server.getPort();
+        this._server = server;
+        return this;
+    }
+
+
+    /**
+     * Stops the server, closing all connections.
+     *
+     * @return {@code this}
+     * @throws InterruptedException if interrupted while waiting for the server to stop.
+     */
+    public synchronized LocalPusherServer stop() throws InterruptedException {
+        if (this._server != null) {
+            this._server.stop(STOP_TIMEOUT_MILLISEC);
+            this._server = null;
+            this._subscriptions.clear();
+        }
+        return this;
+    }
+
+
+    @Override
+    public void close() throws InterruptedException {
+        this.stop();
+    }
+
+
+    /**
+     * Closes all connections, as Pusher.com does on maintenance.
+     *
+     * @param code the close code to send to the clients.
+     * @return the number of closed connections.
+     */
+    public int disconnectAll(final int code) {
+        int count = 0;
+        for (final WebSocket connection : this._subscriptions.keySet()) {
+            connection.close(code, "Connection closed by local Pusher server");
+            count++;
+        }
+        return count;
+    }
+
+
+    /**
+     * Sends an event to all clients subscribed to the channel.
+     *
+     * @param channel the channel to send the event to.
+     * @param event   the name of the event.
+     * @param data    the data of the event.
+     * @return the number of clients the event has been sent to.
+     */
+    public int trigger(final String channel, final String event, final String data) {
+        final String message = this.createMessage(event, channel, data);
+
+        int count = 0;
+        for (final Map.Entry<WebSocket, Set<String>> subscription : this._subscriptions.entrySet()) {
+            if (subscription.getValue().contains(channel) && subscription.getKey().isOpen()) {
+                subscription.getKey().send(message);
+                count++;
+            }
+        }
+        return count;
+    }
+
+
+    /**
+     * Waits for the total number of successful subscriptions since creation to reach a value.
+     *
+     * @param count         the number of subscriptions to wait for.
+     * @param timeoutMillis the maximum time to wait.
+     * @return {@code true} if the number has been reached in time.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public boolean awaitSubscriptions(final int count, final long timeoutMillis) throws InterruptedException {
+        final long end = System.currentTimeMillis() + timeoutMillis;
+        synchronized (this._subscriptionMonitor) {
+            while (this._subscriptionCount < count) {
+                final long wait = end - System.currentTimeMillis();
+                if (wait <= 0) {
+                    return false;
+                }
+                this._subscriptionMonitor.wait(wait);
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * Provides the total number of successful subscriptions since creation.
+     *
+     * @return the number of subscriptions.
+     */
+    public int getSubscriptionCount() {
+        synchronized (this._subscriptionMonitor) {
+            return this._subscriptionCount;
+        }
+    }
+
+
+    /**
+     * Provides the number of currently open client connections.
+     *
+     * @return the number of connections.
+     */
+    public int getConnectionCount() {
+        return this._subscriptions.size();
+    }
+
+
+    /**
+     * Provides the options for Pusher clients to connect to this server.
+     *
+     * @return new options pointing to this server.
+     */
+    public PusherOptions getClientOptions() {
+        return new PusherOptions()
+            .setHost(HOST)
+            .setWsPort(this._port)
+            .setEncrypted(false);
+    }
+
+
+    /**
+     * Provides an authorizer signing subscriptions to private channels, that are accepted by this server.
+     *
+     * @return the authorizer.
+     */
+    public Authorizer getAuthorizer() {
+        return this.createAuthorizer(APP_SECRET);
+    }
+
+
+    /**
+     * Provides an authorizer creating invalid signatures, that are rejected by this server.
+     *
+     * @return the authorizer.
+     */
+    public Authorizer getInvalidAuthorizer() {
+        return this.createAuthorizer("invalid-" + APP_SECRET);
+    }
+
+
+    private Authorizer createAuthorizer(final String secret) {
+        return (channel, socketId) -> {
+            final JsonObject auth = new JsonObject();
+            try {
+                auth.addProperty("auth", APP_KEY + ":" + sign(secret, socketId + ":" + channel));
+            } catch (final GeneralSecurityException excp) {
+                throw new AuthorizationFailureException(excp);
+            }
+            return auth.toString();
+        };
+    }
+
+
+    private String createMessage(final String event, final String channel, final String data) {
+        final JsonObject message = new JsonObject();
+        message.addProperty("event", event);
+        if (channel != null) {
+            message.addProperty("channel", channel);
+        }
+        message.addProperty("data", data);
+        return message.toString();
+    }
+
+
+    private void onSubscribe(final WebSocket connection, final JsonObject data) throws GeneralSecurityException {
+        final String channel = data.get("channel").getAsString();
+
+        if (channel.startsWith(PRIVATE_CHANNEL_PREFIX)) {
+            final JsonElement auth = data.get("auth");
+            final String expectedAuth = APP_KEY + ":" + sign(APP_SECRET, connection.getAttachment() + ":" + channel);
+
+            if (auth == null || !expectedAuth.equals(auth.getAsString())) {
+                final JsonObject error = new JsonObject();
+                error.addProperty("code", ERROR_INVALID_SIGNATURE);
+                error.addProperty("message", "Invalid signature for channel " + channel);
+
+                final JsonObject message = new JsonObject();
+                message.addProperty("event", "pusher:error");
+                message.add("data", error);
+                connection.send(message.toString());
+                return;
+            }
+        }
+
+        this._subscriptions.computeIfAbsent(connection, (key) -> ConcurrentHashMap.newKeySet()).add(channel);
+        connection.send(this.createMessage("pusher_internal:subscription_succeeded", channel, "{}"));
+
+        synchronized (this._subscriptionMonitor) {
+            this._subscriptionCount++;
+            this._subscriptionMonitor.notifyAll();
+        }
+    }
+
+
+    private static String sign(final String secret, final String value) throws GeneralSecurityException {
+        final Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+
+        final StringBuilder hex = new StringBuilder();
+        for (final byte b : mac.doFinal(value.getBytes(StandardCharsets.UTF_8))) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+
+    /**
+     * The websocket server implementing the Pusher protocol.
+     */
+    private final class Server extends WebSocketServer {
+
+        private final CountDownLatch _started = new CountDownLatch(1);
+
+
+        Server(final InetSocketAddress address) {
+            super(address);
+        }
+
+
+        @Override
+        public void onStart() {
+            this._started.countDown();
+        }
+
+
+        @Override
+        public void onOpen(final WebSocket connection, final ClientHandshake handshake) {
+            final String socketId = "1000." + LocalPusherServer.this._socketIds.incrementAndGet();
+            connection.setAttachment(socketId);
+            LocalPusherServer.this._subscriptions.put(connection, ConcurrentHashMap.newKeySet());
+
+            final JsonObject data = new JsonObject();
+            data.addProperty("socket_id", socketId);
+            data.addProperty("activity_timeout", 120);
+            connection.send(
+                LocalPusherServer.this.createMessage("pusher:connection_established", null, data.toString())
+            );
+        }
+
+
+        @Override
+        public void onMessage(final WebSocket connection, final String message) {
+            final JsonObject json = new JsonParser().parse(message).getAsJsonObject();
+            final String event = json.get("event").getAsString();
+
+            final JsonElement data = json.get("data");
+            final JsonObject dataObject = data == null || data.isJsonNull() ? new JsonObject()
+                : data.isJsonObject() ? data.getAsJsonObject()
+                : new JsonParser().parse(data.getAsString()).getAsJsonObject();
+
+            try {
+                if ("pusher:subscribe".equals(event)) {
+                    LocalPusherServer.this.onSubscribe(connection, dataObject);
+
+                } else if ("pusher:unsubscribe".equals(event)) {
+                    final Set<String> channels = LocalPusherServer.this._subscriptions.get(connection);
+                    if (channels != null) {
+                        channels.remove(dataObject.get("channel").getAsString());
+                    }
+
+                } else if ("pusher:ping".equals(event)) {
+                    connection.send(LocalPusherServer.this.createMessage("pusher:pong", null, "{}"));
+                }
+
+            } catch (final GeneralSecurityException excp) {
+                connection.close();
+            }
+        }
+
+
+        @Override
+        public void onClose(final WebSocket connection, final int code, final String reason, final boolean remote) {
+            LocalPusherServer.this._subscriptions.remove(connection);
+        }
+
+
+        @Override
+        public void onError(final WebSocket connection, final Exception excp) {
+            if (connection == null) {
+                this._started.countDown();
+            }
+        }
+    }
+}
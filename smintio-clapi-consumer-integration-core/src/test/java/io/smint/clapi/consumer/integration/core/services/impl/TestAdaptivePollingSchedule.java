@@ -0,0 +1,114 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.services.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.smint.clapi.consumer.integration.core.configuration.models.impl.SettingsModelImpl;
+
+
+// CHECKSTYLE.OFF: MultipleStringLiterals
+// CHECKSTYLE.OFF: MagicNumber
+
+@DisplayName("Test adaptive polling: AdaptivePollingSchedule")
+public class TestAdaptivePollingSchedule {
+
+    private static final long MINUTE = 60_000L;
+    private static final long HOUR = 60 * MINUTE;
+
+
+    private final SettingsModelImpl _settings = new SettingsModelImpl()
+        .setMinPollIntervalSeconds(300)
+        .setMaxPollIntervalSeconds(6 * 3600);
+
+
+    @Test
+    @DisplayName("Polling is frequent while push is down and rare while push is healthy.")
+    public void intervalDependsOnPushHealth() {
+
+        final AdaptivePollingSchedule schedule = new AdaptivePollingSchedule(() -> this._settings, HOUR, () -> 0L);
+
+        Assertions.assertEquals(5 * MINUTE, schedule.getIntervalMillis(false), "Push down must use minimum interval!");
+        Assertions.assertEquals(HOUR, schedule.getIntervalMillis(true), "Healthy push must use the regular period!");
+        Assertions.assertEquals(MINUTE, schedule.getTickMillis(), "Invalid tick of the timer!");
+    }
+
+
+    @Test
+    @DisplayName("Polls without changes back off within the bounds, a poll with changes resets the interval.")
+    public void backOffWithoutChanges() {
+
+        final AtomicLong clock = new AtomicLong();
+        final AdaptivePollingSchedule schedule = new AdaptivePollingSchedule(() -> this._settings, HOUR, clock::get);
+
+        for (int i = 0; i < 10; i++) {
+            clock.addAndGet(schedule.getIntervalMillis(true));
+            Assertions.assertTrue(schedule.startPollIfDue(true, "same"), "Poll " + i + " must be due!");
+            Assertions.assertFalse(schedule.startPollIfDue(true, "same"), "A running poll must not start again!");
+            schedule.finishPoll("same");
+        }
+
+        Assertions.assertEquals(10, schedule.getUnchangedPolls(), "Invalid number of polls without changes!");
+        Assertions.assertEquals(6 * HOUR, schedule.getIntervalMillis(true), "Backing off must stop at maximum!");
+        Assertions.assertEquals(HOUR, schedule.getIntervalMillis(false), "Push down must not back off beyond regular!");
+
+
+        clock.addAndGet(HOUR);
+        Assertions.assertTrue(schedule.startPollIfDue(false, "same"), "Push went down, so poll must be due!");
+        schedule.finishPoll("changed");
+
+        Assertions.assertEquals(0, schedule.getUnchangedPolls(), "Changes must reset backing off!");
+        Assertions.assertEquals(5 * MINUTE, schedule.getIntervalMillis(false), "Interval has not been reset!");
+    }
+
+
+    @Test
+    @DisplayName("A poll is not due before its interval has passed.")
+    public void notDueBeforeInterval() {
+
+        final AtomicLong clock = new AtomicLong();
+        final AdaptivePollingSchedule schedule = new AdaptivePollingSchedule(() -> this._settings, HOUR, clock::get);
+
+        clock.addAndGet(HOUR - 1);
+        Assertions.assertFalse(schedule.startPollIfDue(true, null), "Poll must not be due yet!");
+        Assertions.assertTrue(schedule.startPollIfDue(false, null), "Poll must be due as push is down!");
+    }
+
+
+    @Test
+    @DisplayName("Invalid bounds are corrected.")
+    public void invalidBounds() {
+
+        final SettingsModelImpl settings = new SettingsModelImpl()
+            .setMinPollIntervalSeconds(7200)
+            .setMaxPollIntervalSeconds(60);
+        final AdaptivePollingSchedule schedule = new AdaptivePollingSchedule(() -> settings, HOUR, () -> 0L);
+
+        Assertions.assertEquals(2 * HOUR, schedule.getIntervalMillis(true), "Minimum must take precedence!");
+        Assertions.assertEquals(2 * HOUR, schedule.getIntervalMillis(false), "Minimum must take precedence!");
+    }
+}
+
+// CHECKSTYLE.ON: MultipleStringLiterals
+// CHECKSTYLE.ON: MagicNumber
@@ -0,0 +1,97 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.services.impl;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+
+// CHECKSTYLE.OFF: MultipleStringLiterals
+// CHECKSTYLE.OFF: MagicNumber
+
+@DisplayName("Test concurrency limiter: ConcurrencyLimiter.class")
+public class TestConcurrencyLimiter {
+
+
+    @Test
+    @DisplayName("Permits of the parent limiter are shared among its children.")
+    public void parentLimitIsShared() throws InterruptedException {
+
+        final ConcurrencyLimiter shared = new ConcurrencyLimiter(null, 2);
+        final ConcurrencyLimiter tenant1 = new ConcurrencyLimiter(shared, 2);
+        final ConcurrencyLimiter tenant2 = new ConcurrencyLimiter(shared, 2);
+
+        Assertions.assertTrue(tenant1.acquire(), "Failed to acquire first permit!");
+        Assertions.assertTrue(tenant1.acquire(), "Failed to acquire second permit!");
+        Assertions.assertEquals(2, shared.getActivePermits(), "Permits are not acquired from parent!");
+
+        final CountDownLatch acquired = new CountDownLatch(1);
+        final Thread waiting = new Thread(() -> {
+            tenant2.acquire();
+            acquired.countDown();
+        });
+        waiting.start();
+
+        Assertions.assertFalse(acquired.await(50, TimeUnit.MILLISECONDS), "Shared limit has been exceeded!");
+
+        tenant1.release();
+        Assertions.assertTrue(acquired.await(1, TimeUnit.SECONDS), "Released permit has not been passed on!");
+        Assertions.assertEquals(1, tenant1.getActivePermits(), "Invalid count of active permits!");
+        Assertions.assertEquals(1, tenant2.getActivePermits(), "Invalid count of active permits!");
+    }
+
+
+    @Test
+    @DisplayName("Raising the maximum wakes up waiting threads.")
+    public void raiseMaxPermits() throws InterruptedException {
+
+        final ConcurrencyLimiter limiter = new ConcurrencyLimiter(null, 1);
+        Assertions.assertTrue(limiter.acquire(), "Failed to acquire permit!");
+
+        final CountDownLatch acquired = new CountDownLatch(1);
+        new Thread(() -> {
+            limiter.acquire();
+            acquired.countDown();
+        }).start();
+
+        Assertions.assertFalse(acquired.await(50, TimeUnit.MILLISECONDS), "Limit has been exceeded!");
+        limiter.setMaxPermits(2);
+        Assertions.assertTrue(acquired.await(1, TimeUnit.SECONDS), "Waiting thread has not been woken up!");
+    }
+
+
+    @Test
+    @DisplayName("Non-positive maximum does not limit at all.")
+    public void unlimited() {
+
+        final ConcurrencyLimiter limiter = new ConcurrencyLimiter(null, 0);
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertTrue(limiter.acquire(), "Unlimited limiter must never block!");
+        }
+        Assertions.assertEquals(100, limiter.getActivePermits(), "Invalid count of active permits!");
+    }
+}
+
+// CHECKSTYLE.ON: MultipleStringLiterals
+// CHECKSTYLE.ON: MagicNumber
@@ -0,0 +1,181 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.services.impl;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.smint.clapi.consumer.integration.core.services.ITenantJob;
+
+
+// CHECKSTYLE.OFF: MultipleStringLiterals
+// CHECKSTYLE.OFF: MagicNumber
+
+@DisplayName("Test fair-share executor: FairShareJobExecutor.class")
+public class TestFairShareJobExecutor {
+
+
+    @Test
+    @DisplayName("Incremental jobs are executed before waiting bulk jobs.")
+    public void incrementalJobsFirst() throws InterruptedException {
+
+        final FairShareJobExecutor executor = new FairShareJobExecutor(1, 0);
+        final List<String> executed = new CopyOnWriteArrayList<>();
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final CountDownLatch finished = new CountDownLatch(3);
+
+        executor.execute(new Job("blocker", false, () -> this.await(blocker), finished, executed));
+        executor.execute(new Job("bulk", false, null, finished, executed));
+        executor.execute(new Job("incremental", true, null, finished, executed));
+        blocker.countDown();
+
+        Assertions.assertTrue(finished.await(1, TimeUnit.SECONDS), "Jobs have not been executed!");
+        Assertions.assertEquals("incremental", executed.get(1), "Incremental job has not been executed first!");
+        Assertions.assertEquals("bulk", executed.get(2), "Bulk job has not been executed last!");
+
+        executor.shutdown();
+    }
+
+
+    @Test
+    @DisplayName("Tenants having used less thread time are preferred.")
+    public void preferTenantWithLessThreadTime() throws InterruptedException {
+
+        final FairShareJobExecutor executor = new FairShareJobExecutor(1, 0);
+        final List<String> executed = new CopyOnWriteArrayList<>();
+        final CountDownLatch finished = new CountDownLatch(3);
+
+        executor.execute(new Job("heavy", false, () -> this.sleep(50), finished, executed));
+        executor.execute(new Job("heavy", false, null, finished, executed));
+        executor.execute(new Job("light", false, null, finished, executed));
+
+        Assertions.assertTrue(finished.await(1, TimeUnit.SECONDS), "Jobs have not been executed!");
+        Assertions.assertEquals("light", executed.get(1), "Tenant with less thread time has not been preferred!");
+
+        executor.shutdown();
+    }
+
+
+    @Test
+    @DisplayName("Threads reserved for incremental jobs are not used by bulk jobs.")
+    public void reservedThreadsForIncrementalJobs() throws InterruptedException {
+
+        final FairShareJobExecutor executor = new FairShareJobExecutor(2, 1);
+        final List<String> executed = new CopyOnWriteArrayList<>();
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final CountDownLatch finished = new CountDownLatch(3);
+
+        executor.execute(new Job("bulk1", false, () -> this.await(blocker), finished, executed));
+        executor.execute(new Job("bulk2", false, null, finished, executed));
+        executor.execute(new Job("incremental", true, null, finished, executed));
+
+        Assertions.assertTrue(this.waitFor(() -> executed.contains("incremental")), "Incremental job is blocked!");
+        Assertions.assertFalse(executed.contains("bulk2"), "Bulk job has been executed on reserved thread!");
+        Assertions.assertEquals(1, executor.getWaitingJobs(), "Bulk job is not waiting!");
+
+        blocker.countDown();
+        Assertions.assertTrue(finished.await(1, TimeUnit.SECONDS), "Jobs have not been executed!");
+
+        executor.shutdown();
+    }
+
+
+    private boolean waitFor(final BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 100 && !condition.getAsBoolean(); i++) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        return condition.getAsBoolean();
+    }
+
+
+    private void await(final CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (final InterruptedException excp) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+
+    private void sleep(final long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (final InterruptedException excp) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+
+    private static class Job implements ITenantJob {
+
+        private final String _tenantId;
+        private final boolean _isIncremental;
+        private final Runnable _work;
+        private final CountDownLatch _finished;
+        private final List<String> _executed;
+
+
+        Job(
+            final String tenantId,
+            final boolean isIncremental,
+            final Runnable work,
+            final CountDownLatch finished,
+            final List<String> executed
+        ) {
+            this._tenantId = tenantId;
+            this._isIncremental = isIncremental;
+            this._work = work;
+            this._finished = finished;
+            this._executed = executed;
+        }
+
+
+        @Override
+        public void run() {
+            this._executed.add(this._tenantId);
+            if (this._work != null) {
+                this._work.run();
+            }
+            this._finished.countDown();
+        }
+
+
+        @Override
+        public String getTenantId() {
+            return this._tenantId;
+        }
+
+
+        @Override
+        public boolean isIncremental() {
+            return this._isIncremental;
+        }
+    }
+}
+
+// CHECKSTYLE.ON: MultipleStringLiterals
+// CHECKSTYLE.ON: MagicNumber
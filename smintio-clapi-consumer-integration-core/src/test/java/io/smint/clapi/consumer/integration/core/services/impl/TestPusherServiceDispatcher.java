@@ -0,0 +1,105 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.services.impl;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+
+// CHECKSTYLE.OFF: MultipleStringLiterals
+// CHECKSTYLE.OFF: MagicNumber
+
+@DisplayName("Test PusherService: dispatching notifications")
+public class TestPusherServiceDispatcher {
+
+    private static final long TIMEOUT_MILLISEC = 10_000;
+
+
+    @Test
+    @DisplayName("Notifications exceeding the waiting ones are merged while a job is running.")
+    public void mergeNotificationsWhileRunning() throws Exception {
+
+        final ThreadPoolExecutor dispatcher = PusherService.createDispatcher();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch finished = new CountDownLatch(1 + PusherService.PUSHER__MAX_PENDING_NOTIFICATIONS);
+        final AtomicInteger executions = new AtomicInteger();
+
+        final Runnable job = () -> {
+            executions.incrementAndGet();
+            started.countDown();
+            try {
+                release.await();
+            } catch (final InterruptedException excp) {
+                Thread.currentThread().interrupt();
+            }
+            finished.countDown();
+        };
+
+        try {
+            dispatcher.execute(job);
+            Assertions.assertTrue(started.await(TIMEOUT_MILLISEC, TimeUnit.MILLISECONDS), "Job has not been started!");
+
+            for (int i = 0; i < 10; i++) {
+                dispatcher.execute(job);
+            }
+            Assertions.assertEquals(
+                PusherService.PUSHER__MAX_PENDING_NOTIFICATIONS,
+                dispatcher.getQueue().size(),
+                "Notifications exceeding the waiting ones must be dropped!"
+            );
+
+            release.countDown();
+            Assertions.assertTrue(finished.await(TIMEOUT_MILLISEC, TimeUnit.MILLISECONDS), "Jobs have not finished!");
+
+            dispatcher.shutdown();
+            Assertions.assertTrue(dispatcher.awaitTermination(TIMEOUT_MILLISEC, TimeUnit.MILLISECONDS));
+            Assertions.assertEquals(1 + PusherService.PUSHER__MAX_PENDING_NOTIFICATIONS, executions.get());
+
+        } finally {
+            release.countDown();
+            dispatcher.shutdownNow();
+        }
+    }
+
+
+    @Test
+    @DisplayName("Notifications are dropped silently after the dispatcher has been shut down.")
+    public void dropNotificationsAfterShutdown() throws Exception {
+
+        final ThreadPoolExecutor dispatcher = PusherService.createDispatcher();
+        dispatcher.shutdown();
+
+        final AtomicInteger executions = new AtomicInteger();
+        dispatcher.execute(executions::incrementAndGet);
+
+        Assertions.assertTrue(dispatcher.awaitTermination(TIMEOUT_MILLISEC, TimeUnit.MILLISECONDS));
+        Assertions.assertEquals(0, executions.get());
+    }
+}
+
+// CHECKSTYLE.ON: MultipleStringLiterals
+// CHECKSTYLE.ON: MagicNumber
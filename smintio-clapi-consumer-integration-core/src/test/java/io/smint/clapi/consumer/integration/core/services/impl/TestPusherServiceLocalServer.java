@@ -0,0 +1,350 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.services.impl;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import io.smint.clapi.consumer.integration.core.configuration.IAuthTokenStorage;
+import io.smint.clapi.consumer.integration.core.configuration.models.IAuthTokenModel;
+import io.smint.clapi.consumer.integration.core.configuration.models.impl.SettingsModelImpl;
+import io.smint.clapi.consumer.integration.core.jobs.SyncJobPriorityEnum;
+import io.smint.clapi.consumer.integration.core.jobs.impl.SyncJobExecutionQueueImpl;
+import io.smint.clapi.consumer.integration.core.target.ISyncTarget;
+import io.smint.clapi.consumer.integration.core.target.impl.BaseSyncAsset;
+
+
+// CHECKSTYLE.OFF: MultipleStringLiterals
+// CHECKSTYLE.OFF: MagicNumber
+
+/**
+ * Benchmarks the latency of push notifications and the time to re-connect, using a {@link LocalPusherServer}.
+ *
+ * <p>
+ * Each notification is passed through the same path as in production: from the websocket to {@link PusherService},
+ * its dispatcher, the job execution queue and finally to {@link ISyncTarget#importNewTargetAssets(BaseSyncAsset[])}.
+ * Fetching assets from Smint.io is not part of the measurement, as it depends on the Smint.io API. The measured values
+ * are published as report entries, so they can be compared when tuning the dispatcher and the re-connect settings.
+ * The asserted limits are generous, to detect regressions like blocking the websocket thread only.
+ * </p>
+ *
+ * <p>
+ * Benchmarks are tagged with {@code benchmark} and excluded from the default build. Run them with the Maven profile
+ * {@code benchmark}. Instead of sleeping, the tests wait for events of the server, the sync target or the log of
+ * {@link PusherService}.
+ * </p>
+ */
+@DisplayName("Benchmark push latency and re-connects: PusherService with LocalPusherServer")
+public class TestPusherServiceLocalServer {
+
+    private static final int CHANNEL_ID = 16;
+    private static final String CHANNEL = MessageFormat.format(PusherService.PUSHER__CHANNEL, CHANNEL_ID);
+    private static final long TIMEOUT_MILLISEC = 10_000;
+    private static final Logger PUSHER_LOG = Logger.getLogger(PusherService.class.getName());
+
+
+    private LocalPusherServer _server;
+    private PusherService _service;
+    private SyncJobExecutionQueueImpl _queue;
+    private BlockingQueue<Long> _importsStarted;
+    private BlockingQueue<Long> _imports;
+    private AtomicInteger _importCount;
+    private volatile CountDownLatch _importGate;
+    private LogLatch _logLatch;
+    private Level _pusherLogLevel;
+
+
+    @BeforeEach
+    public void startServer() throws Exception {
+        this._server = new LocalPusherServer().start();
+        this._queue = new SyncJobExecutionQueueImpl();
+        this._importsStarted = new LinkedBlockingQueue<>();
+        this._imports = new LinkedBlockingQueue<>();
+        this._importCount = new AtomicInteger();
+        this._importGate = null;
+
+        this._logLatch = new LogLatch();
+        this._pusherLogLevel = PUSHER_LOG.getLevel();
+        PUSHER_LOG.setLevel(Level.FINE);
+        PUSHER_LOG.addHandler(this._logLatch);
+    }
+
+
+    @AfterEach
+    public void stopServer() throws Exception {
+        if (this._importGate != null) {
+            this._importGate.countDown();
+        }
+        if (this._service != null) {
+            this._service.stopNotificationService();
+        }
+        this._server.close();
+
+        PUSHER_LOG.removeHandler(this._logLatch);
+        PUSHER_LOG.setLevel(this._pusherLogLevel);
+    }
+
+
+    @Test
+    @DisplayName("Subscribing to a private channel with an invalid signature is rejected.")
+    public void rejectInvalidSignature() throws Exception {
+
+        this._service = this.createService(this._server.getInvalidAuthorizer());
+        this._service.startNotificationService(this.createJob()).get(TIMEOUT_MILLISEC, TimeUnit.MILLISECONDS);
+
+        Assertions.assertFalse(this._server.awaitSubscriptions(1, 1000), "Invalid signature has been accepted!");
+        Assertions.assertEquals(0, this._server.trigger(CHANNEL, PusherService.PUSHER__EVENT_NAME, "{}"));
+    }
+
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Measure latency from push event to import into sync target.")
+    public void measureEventToImportLatency(final TestReporter reporter) throws Exception {
+
+        this.startService();
+
+        final int events = 50;
+        final long[] latencies = new long[events];
+        for (int i = 0; i < events; i++) {
+
+            final long sent = System.nanoTime();
+            Assertions.assertEquals(1, this._server.trigger(CHANNEL, PusherService.PUSHER__EVENT_NAME, "{}"));
+
+            final Long imported = this._imports.poll(TIMEOUT_MILLISEC, TimeUnit.MILLISECONDS);
+            Assertions.assertNotNull(imported, "Event " + i + " has not been imported!");
+            latencies[i] = TimeUnit.NANOSECONDS.toMicros(imported - sent);
+        }
+
+        Arrays.sort(latencies);
+        final long p50 = latencies[events / 2];
+        final long p95 = latencies[events * 95 / 100];
+        final long max = latencies[events - 1];
+        reporter.publishEntry("Push event to import latency [us]", "p50: " + p50 + ", p95: " + p95 + ", max: " + max);
+
+        Assertions.assertTrue(p95 < TimeUnit.SECONDS.toMicros(1), "Push latency is far too high: " + p95 + " us");
+    }
+
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("A long running import neither blocks the connection nor piles up jobs.")
+    public void longImportDoesNotBlockConnection() throws Exception {
+
+        this._importGate = new CountDownLatch(1);
+        this.startService();
+
+        final CountDownLatch merged = this._logLatch.await("Pusher notification has been merged", 9);
+        Assertions.assertEquals(1, this._server.trigger(CHANNEL, PusherService.PUSHER__EVENT_NAME, "{}"));
+        Assertions.assertNotNull(
+            this._importsStarted.poll(TIMEOUT_MILLISEC, TimeUnit.MILLISECONDS),
+            "Import has not been started!"
+        );
+
+        // all events while importing must be merged into a single import: one is waiting, all others are merged
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertEquals(1, this._server.trigger(CHANNEL, PusherService.PUSHER__EVENT_NAME, "{}"));
+        }
+        Assertions.assertTrue(merged.await(TIMEOUT_MILLISEC, TimeUnit.MILLISECONDS), "Events have not been merged!");
+        Assertions.assertTrue(this._service.isHealthy(), "Connection has been stalled by the running import!");
+
+        this._importGate.countDown();
+        Assertions.assertNotNull(this._imports.poll(TIMEOUT_MILLISEC, TimeUnit.MILLISECONDS), "No import!");
+        Assertions.assertNotNull(this._imports.poll(TIMEOUT_MILLISEC, TimeUnit.MILLISECONDS), "No merged import!");
+        Assertions.assertEquals(2, this._importCount.get(), "Invalid number of imports!");
+
+        Assertions.assertTrue(this._service.isHealthy(), "Connection has been stalled by the long import!");
+        Assertions.assertEquals(1, this._server.getSubscriptionCount(), "Connection must not have been renewed!");
+    }
+
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Measure time to re-connect and catch up after connections are closed or the server is down.")
+    public void measureReconnectAndCatchUp(final TestReporter reporter) throws Exception {
+
+        this.startService();
+
+        final int rounds = 3;
+        for (int i = 1; i <= rounds; i++) {
+
+            final long disconnected = System.nanoTime();
+            Assertions.assertEquals(1, this._server.disconnectAll(LocalPusherServer.CLOSE_RECONNECT_IMMEDIATELY));
+
+            final Long caughtUp = this._imports.poll(TIMEOUT_MILLISEC * 2, TimeUnit.MILLISECONDS);
+            Assertions.assertNotNull(caughtUp, "No catch-up sync after re-connect " + i + "!");
+            Assertions.assertTrue(this._server.awaitSubscriptions(i + 1, TIMEOUT_MILLISEC), "Not subscribed again!");
+            reporter.publishEntry(
+                "Re-connect " + i + " to catch-up sync [ms]",
+                String.valueOf(TimeUnit.NANOSECONDS.toMillis(caughtUp - disconnected))
+            );
+        }
+
+
+        // simulate an outage of the server, lasting until a re-connect failed
+        final CountDownLatch reconnectFailed = this._logLatch.await("An Pusher", 1);
+        this._server.stop();
+        Assertions.assertTrue(
+            reconnectFailed.await(TIMEOUT_MILLISEC * 2, TimeUnit.MILLISECONDS),
+            "No re-connect has been attempted during the outage!"
+        );
+        final long restarted = System.nanoTime();
+        this._server.start();
+
+        final Long caughtUp = this._imports.poll(TIMEOUT_MILLISEC * 4, TimeUnit.MILLISECONDS);
+        Assertions.assertNotNull(caughtUp, "No catch-up sync after outage of the server!");
+        reporter.publishEntry(
+            "Server restart to catch-up sync [ms]",
+            String.valueOf(TimeUnit.NANOSECONDS.toMillis(caughtUp - restarted))
+        );
+
+        Assertions.assertTrue(this._server.awaitSubscriptions(rounds + 2, TIMEOUT_MILLISEC), "Not subscribed again!");
+        Assertions.assertEquals(1, this._server.trigger(CHANNEL, PusherService.PUSHER__EVENT_NAME, "{}"));
+        Assertions.assertNotNull(
+            this._imports.poll(TIMEOUT_MILLISEC, TimeUnit.MILLISECONDS),
+            "No import after outage of the server!"
+        );
+    }
+
+
+    private void startService() throws Exception {
+        this._service = this.createService(this._server.getAuthorizer());
+        this._service.startNotificationService(this.createJob()).get(TIMEOUT_MILLISEC, TimeUnit.MILLISECONDS);
+
+        Assertions.assertTrue(this._server.awaitSubscriptions(1, TIMEOUT_MILLISEC), "Channel has not been subscribed!");
+    }
+
+
+    private PusherService createService(final com.pusher.client.Authorizer authorizer) {
+
+        final IAuthTokenModel authData = mock(IAuthTokenModel.class);
+        when(authData.isSuccess()).thenReturn(true);
+        when(authData.getAccessToken()).thenReturn("test");
+
+        final IAuthTokenStorage tokenStorage = mock(IAuthTokenStorage.class);
+        when(tokenStorage.get()).thenReturn(authData);
+
+        return new PusherService(
+            authorizer,
+            LocalPusherServer.APP_KEY,
+            this._server.getClientOptions(),
+            new SettingsModelImpl().setTenantId("test").setChannelId(CHANNEL_ID),
+            tokenStorage
+        );
+    }
+
+
+    private Runnable createJob() {
+
+        final ISyncTarget syncTarget = mock(ISyncTarget.class);
+        doAnswer((invocation) -> {
+            this._importsStarted.add(System.nanoTime());
+            final CountDownLatch importGate = this._importGate;
+            if (importGate != null) {
+                importGate.await();
+            }
+            this._importCount.incrementAndGet();
+            this._imports.add(System.nanoTime());
+            return null;
+        }).when(syncTarget).importNewTargetAssets(any());
+
+        return () -> {
+            this._queue.offerJob(
+                SyncJobPriorityEnum.PushEventEnum,
+                false,
+                () -> syncTarget.importNewTargetAssets(new BaseSyncAsset[0])
+            );
+            this._queue.run();
+        };
+    }
+
+
+    /**
+     * Counts down latches for log records of {@link PusherService}, that start with a certain message.
+     */
+    private static final class LogLatch extends Handler {
+
+        private final List<String> _prefixes = new CopyOnWriteArrayList<>();
+        private final List<CountDownLatch> _latches = new CopyOnWriteArrayList<>();
+
+
+        LogLatch() {
+            this.setLevel(Level.ALL);
+        }
+
+
+        CountDownLatch await(final String messagePrefix, final int count) {
+            final CountDownLatch latch = new CountDownLatch(count);
+            this._prefixes.add(messagePrefix);
+            this._latches.add(latch);
+            return latch;
+        }
+
+
+        @Override
+        public void publish(final LogRecord record) {
+            final String message = record != null ? record.getMessage() : null;
+            for (int i = 0; message != null && i < this._prefixes.size(); i++) {
+                if (message.startsWith(this._prefixes.get(i))) {
+                    this._latches.get(i).countDown();
+                }
+            }
+        }
+
+
+        @Override
+        public void flush() {
+            // nothing to flush
+        }
+
+
+        @Override
+        public void close() {
+            // nothing to close
+        }
+    }
+}
+
+// CHECKSTYLE.ON: MultipleStringLiterals
+// CHECKSTYLE.ON: MagicNumber
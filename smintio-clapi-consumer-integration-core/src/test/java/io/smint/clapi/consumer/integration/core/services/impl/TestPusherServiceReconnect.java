@@ -0,0 +1,63 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.services.impl;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+
+// CHECKSTYLE.OFF: MultipleStringLiterals
+// CHECKSTYLE.OFF: MagicNumber
+
+@DisplayName("Test PusherService: re-connecting")
+public class TestPusherServiceReconnect {
+
+
+    @Test
+    @DisplayName("The wait time for re-connects grows exponentially up to the maximum.")
+    public void reconnectDelayGrowsExponentially() {
+
+        final long initial = PusherService.PUSHER__RECONNECT_INITIAL_WAIT_MILLISEC;
+        final long max = TimeUnit.SECONDS.toMillis(PusherService.PUSHER__RECONNECT_WAIT_TIME);
+
+        for (int attempt = 0; attempt < 100; attempt++) {
+
+            final long expected = Math.min(initial << Math.min(attempt, Integer.SIZE), max);
+            final long delay = PusherService.getReconnectDelay(attempt);
+
+            Assertions.assertTrue(delay >= expected, "Wait time of attempt " + attempt + " is too short: " + delay);
+            Assertions.assertTrue(
+                delay <= expected + expected / 4,
+                "Wait time of attempt " + attempt + " exceeds its jitter: " + delay
+            );
+        }
+
+        Assertions.assertTrue(
+            PusherService.getReconnectDelay(0) < PusherService.PUSHER__RECONNECT_WAIT_TIME * 1000L,
+            "The first attempt must not wait for the maximum time!"
+        );
+    }
+}
+
+// CHECKSTYLE.ON: MultipleStringLiterals
+// CHECKSTYLE.ON: MagicNumber
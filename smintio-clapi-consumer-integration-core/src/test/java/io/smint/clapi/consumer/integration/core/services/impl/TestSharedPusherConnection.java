@@ -0,0 +1,208 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.services.impl;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import com.pusher.client.Authorizer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.smint.clapi.consumer.integration.core.configuration.IAuthTokenStorage;
+import io.smint.clapi.consumer.integration.core.configuration.models.IAuthTokenModel;
+import io.smint.clapi.consumer.integration.core.configuration.models.impl.SettingsModelImpl;
+
+
+// CHECKSTYLE.OFF: MultipleStringLiterals
+// CHECKSTYLE.OFF: MagicNumber
+
+@DisplayName("Test multiplexing tenants: SharedPusherConnection")
+public class TestSharedPusherConnection {
+
+    private static final long TIMEOUT_MILLISEC = 10_000;
+
+
+    private LocalPusherServer _server;
+    private SharedPusherConnection _connection;
+    private final List<PusherService> _services = new ArrayList<>();
+
+
+    @BeforeEach
+    public void startServer() throws Exception {
+        this._server = new LocalPusherServer().start();
+        this._connection = new SharedPusherConnection(LocalPusherServer.APP_KEY, this._server.getClientOptions());
+    }
+
+
+    @AfterEach
+    public void stopServer() throws Exception {
+        for (final PusherService service : this._services) {
+            service.stopNotificationService();
+        }
+        this._connection.disconnect();
+        this._server.close();
+    }
+
+
+    @Test
+    @DisplayName("Many tenants share a single connection and only receive the events of their own channel.")
+    public void routeEventsToTenants() throws Exception {
+
+        final BlockingQueue<Integer> notifications = new LinkedBlockingQueue<>();
+        for (int channelId = 1; channelId <= 3; channelId++) {
+            this.startTenant(channelId, this._server.getAuthorizer(), notifications);
+        }
+
+        Assertions.assertTrue(this._server.awaitSubscriptions(3, TIMEOUT_MILLISEC), "Not subscribed!");
+        Assertions.assertEquals(1, this._server.getConnectionCount(), "Tenants do not share the connection!");
+        Assertions.assertEquals(3, this._connection.getSubscriptionCount());
+
+        Assertions.assertEquals(1, this._server.trigger(getChannel(2), PusherService.PUSHER__EVENT_NAME, "{}"));
+        Assertions.assertEquals(2, notifications.poll(TIMEOUT_MILLISEC, TimeUnit.MILLISECONDS));
+
+        Assertions.assertEquals(1, this._server.trigger(getChannel(3), PusherService.PUSHER__EVENT_NAME, "{}"));
+        Assertions.assertEquals(3, notifications.poll(TIMEOUT_MILLISEC, TimeUnit.MILLISECONDS));
+
+        Assertions.assertNull(notifications.poll(500, TimeUnit.MILLISECONDS), "Event has been routed to many tenants!");
+    }
+
+
+    @Test
+    @DisplayName("A tenant failing to authorize its channel does not affect other tenants.")
+    public void authorizePerTenant() throws Exception {
+
+        final BlockingQueue<Integer> notifications = new LinkedBlockingQueue<>();
+        final PusherService valid = this.startTenant(1, this._server.getAuthorizer(), notifications);
+        final PusherService invalid = this.startTenant(2, this._server.getInvalidAuthorizer(), notifications);
+
+        Assertions.assertTrue(awaitHealthy(valid), "Tenant with valid authorization must be healthy!");
+        Assertions.assertFalse(this._server.awaitSubscriptions(2, 1000), "Invalid signature has been accepted!");
+
+        Assertions.assertFalse(invalid.isHealthy(), "Tenant with invalid authorization must not be healthy!");
+
+        Assertions.assertEquals(0, this._server.trigger(getChannel(2), PusherService.PUSHER__EVENT_NAME, "{}"));
+        Assertions.assertEquals(1, this._server.trigger(getChannel(1), PusherService.PUSHER__EVENT_NAME, "{}"));
+        Assertions.assertEquals(1, notifications.poll(TIMEOUT_MILLISEC, TimeUnit.MILLISECONDS));
+    }
+
+
+    @Test
+    @DisplayName("All tenants catch up after re-connecting the shared connection.")
+    public void catchUpAllTenants() throws Exception {
+
+        final BlockingQueue<Integer> notifications = new LinkedBlockingQueue<>();
+        this.startTenant(1, this._server.getAuthorizer(), notifications);
+        this.startTenant(2, this._server.getAuthorizer(), notifications);
+        Assertions.assertTrue(this._server.awaitSubscriptions(2, TIMEOUT_MILLISEC), "Not subscribed!");
+
+        Assertions.assertEquals(1, this._server.disconnectAll(LocalPusherServer.CLOSE_RECONNECT_IMMEDIATELY));
+
+        final Integer first = notifications.poll(TIMEOUT_MILLISEC * 2, TimeUnit.MILLISECONDS);
+        final Integer second = notifications.poll(TIMEOUT_MILLISEC, TimeUnit.MILLISECONDS);
+        Assertions.assertNotNull(first, "No catch-up sync after re-connect!");
+        Assertions.assertNotNull(second, "No catch-up sync after re-connect!");
+        Assertions.assertEquals(3, first + second, "Not all tenants have caught up!");
+
+        Assertions.assertTrue(this._server.awaitSubscriptions(4, TIMEOUT_MILLISEC), "Not subscribed again!");
+        Assertions.assertEquals(1, this._server.getConnectionCount(), "Tenants do not share the connection!");
+    }
+
+
+    @Test
+    @DisplayName("The connection is closed after the last tenant has stopped.")
+    public void disconnectAfterLastTenant() throws Exception {
+
+        final BlockingQueue<Integer> notifications = new LinkedBlockingQueue<>();
+        final PusherService first = this.startTenant(1, this._server.getAuthorizer(), notifications);
+        final PusherService second = this.startTenant(2, this._server.getAuthorizer(), notifications);
+        Assertions.assertTrue(awaitHealthy(first), "Not subscribed!");
+        Assertions.assertTrue(awaitHealthy(second), "Not subscribed!");
+
+        first.stopNotificationService();
+        Assertions.assertFalse(first.isHealthy());
+        Assertions.assertTrue(second.isHealthy());
+        Assertions.assertTrue(this._connection.isConnected());
+
+        second.stopNotificationService();
+        Assertions.assertEquals(0, this._connection.getSubscriptionCount());
+
+        final long end = System.currentTimeMillis() + TIMEOUT_MILLISEC;
+        while (this._server.getConnectionCount() > 0 && System.currentTimeMillis() < end) {
+            Thread.sleep(50);
+        }
+        Assertions.assertEquals(0, this._server.getConnectionCount(), "Connection has not been closed!");
+    }
+
+
+    private PusherService startTenant(
+        final int channelId,
+        final Authorizer authorizer,
+        final BlockingQueue<Integer> notifications
+    ) throws Exception {
+
+        final IAuthTokenModel authData = mock(IAuthTokenModel.class);
+        when(authData.isSuccess()).thenReturn(true);
+        when(authData.getAccessToken()).thenReturn("token-" + channelId);
+
+        final IAuthTokenStorage tokenStorage = mock(IAuthTokenStorage.class);
+        when(tokenStorage.get()).thenReturn(authData);
+
+        final PusherService service = new PusherService(
+            this._connection,
+            authorizer,
+            new SettingsModelImpl().setTenantId("tenant-" + channelId).setChannelId(channelId),
+            tokenStorage
+        );
+        this._services.add(service);
+
+        service.startNotificationService(() -> notifications.add(channelId))
+            .get(TIMEOUT_MILLISEC, TimeUnit.MILLISECONDS);
+        return service;
+    }
+
+
+    private static boolean awaitHealthy(final PusherService service) throws InterruptedException {
+        final long end = System.currentTimeMillis() + TIMEOUT_MILLISEC;
+        while (!service.isHealthy() && System.currentTimeMillis() < end) {
+            Thread.sleep(10);
+        }
+        return service.isHealthy();
+    }
+
+
+    private static String getChannel(final int channelId) {
+        return MessageFormat.format(PusherService.PUSHER__CHANNEL, channelId);
+    }
+}
+
+// CHECKSTYLE.ON: MultipleStringLiterals
+// CHECKSTYLE.ON: MagicNumber
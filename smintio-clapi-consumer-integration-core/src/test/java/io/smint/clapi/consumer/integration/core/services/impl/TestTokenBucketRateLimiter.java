@@ -0,0 +1,103 @@
+// MIT License
+//
+// Copyright (c) 2019 Smint.io GmbH
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+// documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+// rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+// permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice (including the next paragraph) shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+// WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+// COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+// OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+//
+// SPDX-License-Identifier: MIT
+
+package io.smint.clapi.consumer.integration.core.services.impl;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+
+// CHECKSTYLE.OFF: MultipleStringLiterals
+// CHECKSTYLE.OFF: MagicNumber
+
+@DisplayName("Test token bucket rate limiter: TokenBucketRateLimiter.class")
+public class TestTokenBucketRateLimiter {
+
+
+    @Test
+    @DisplayName("Burst of permits is served without waiting.")
+    public void burstWithoutWaiting() {
+
+        final TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(1, 5);
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertEquals(0, rateLimiter.acquire(), "Permit within burst size must not wait!");
+        }
+
+        Assertions.assertEquals(5, rateLimiter.getAcquiredPermits(), "Invalid count of acquired permits!");
+        Assertions.assertEquals(0, rateLimiter.getThrottledPermits(), "No permit should have been throttled!");
+        Assertions.assertEquals(0, rateLimiter.getTotalWaitTimeMillis(), "No wait time should have been recorded!");
+    }
+
+
+    @Test
+    @DisplayName("Exceeding the burst size waits for the next permit.")
+    public void waitForPermitAfterBurst() {
+
+        final TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(20, 1);
+        rateLimiter.acquire();
+
+        final long start = System.currentTimeMillis();
+        rateLimiter.acquire();
+        rateLimiter.acquire();
+        final long duration = System.currentTimeMillis() - start;
+
+        Assertions.assertTrue(duration >= 80, "Rate limiter did not wait for permits: " + duration + " ms");
+        Assertions.assertEquals(3, rateLimiter.getAcquiredPermits(), "Invalid count of acquired permits!");
+        Assertions.assertEquals(2, rateLimiter.getThrottledPermits(), "Invalid count of throttled permits!");
+        Assertions.assertTrue(rateLimiter.getTotalWaitTimeMillis() >= 80, "Wait time has not been recorded!");
+        Assertions.assertTrue(rateLimiter.getMaxWaitTimeMillis() >= 40, "Maximum wait time has not been recorded!");
+    }
+
+
+    @Test
+    @DisplayName("Reserving permits does not block.")
+    public void reserveWithoutBlocking() {
+
+        final TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(10, 1);
+        Assertions.assertEquals(0, rateLimiter.reserve(), "Permit within burst size must not wait!");
+
+        final long start = System.currentTimeMillis();
+        final long firstWait = rateLimiter.reserve();
+        final long secondWait = rateLimiter.reserve();
+        final long duration = System.currentTimeMillis() - start;
+
+        Assertions.assertTrue(duration < 50, "Reserving permits has blocked for " + duration + " ms");
+        Assertions.assertTrue(firstWait >= 80, "Invalid wait time for first reserved permit: " + firstWait);
+        Assertions.assertTrue(secondWait >= 180, "Invalid wait time for second reserved permit: " + secondWait);
+        Assertions.assertEquals(2, rateLimiter.getThrottledPermits(), "Invalid count of throttled permits!");
+    }
+
+
+    @Test
+    @DisplayName("Non-positive rate does not limit at all.")
+    public void unlimitedRate() {
+
+        final TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(0, 1);
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertEquals(0, rateLimiter.acquire(), "Unlimited rate limiter must never wait!");
+        }
+
+        Assertions.assertEquals(100, rateLimiter.getAcquiredPermits(), "Invalid count of acquired permits!");
+        Assertions.assertEquals(0, rateLimiter.getThrottledPermits(), "No permit should have been throttled!");
+    }
+}
+
+// CHECKSTYLE.ON: MultipleStringLiterals
+// CHECKSTYLE.ON: MagicNumber